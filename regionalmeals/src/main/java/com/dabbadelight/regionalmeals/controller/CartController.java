@@ -0,0 +1,98 @@
+package com.dabbadelight.regionalmeals.controller;
+
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.dabbadelight.regionalmeals.model.DTO.CartCheckoutRequestDTO;
+import com.dabbadelight.regionalmeals.model.DTO.CartDTO;
+import com.dabbadelight.regionalmeals.model.DTO.OrderResponseDTO;
+import com.dabbadelight.regionalmeals.service.CartService;
+import com.dabbadelight.regionalmeals.service.IdempotencyService;
+
+// In-memory cart; nothing is written until checkout places the order
+@RestController
+@RequestMapping("/api/cart")
+public class CartController {
+
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    private final CartService cartService;
+    private final IdempotencyService idempotencyService;
+
+    public CartController(CartService cartService, IdempotencyService idempotencyService) {
+        this.cartService = cartService;
+        this.idempotencyService = idempotencyService;
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<?> getStats() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (!hasAdminRole(auth)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body("Access denied. Admin privileges required.");
+        }
+        return ResponseEntity.ok(cartService.getStats());
+    }
+
+    @GetMapping("/{userId}")
+    public ResponseEntity<CartDTO> getCart(@PathVariable Long userId) {
+        return ResponseEntity.ok(cartService.getCart(userId));
+    }
+
+    @PostMapping("/{userId}/items")
+    public ResponseEntity<CartDTO> addItem(@PathVariable Long userId, @RequestBody Map<String, Object> payload) {
+        Long itemId = Long.valueOf(payload.get("itemId").toString());
+        int quantity = payload.containsKey("quantity") ? (int) payload.get("quantity") : 1;
+        return ResponseEntity.ok(cartService.addItem(userId, itemId, quantity));
+    }
+
+    @PutMapping("/{userId}/items/{itemId}")
+    public ResponseEntity<CartDTO> setItemQuantity(@PathVariable Long userId, @PathVariable Long itemId,
+            @RequestBody Map<String, Object> payload) {
+        int quantity = (int) payload.get("quantity");
+        return ResponseEntity.ok(cartService.setItemQuantity(userId, itemId, quantity));
+    }
+
+    @DeleteMapping("/{userId}/items/{itemId}")
+    public ResponseEntity<CartDTO> removeItem(@PathVariable Long userId, @PathVariable Long itemId) {
+        return ResponseEntity.ok(cartService.removeItem(userId, itemId));
+    }
+
+    @DeleteMapping("/{userId}")
+    public ResponseEntity<Void> clearCart(@PathVariable Long userId) {
+        cartService.clearCart(userId);
+        return ResponseEntity.noContent().build();
+    }
+
+    // With an Idempotency-Key, a retried checkout gets the placed order back instead of "Cart is empty"
+    @PostMapping("/{userId}/checkout")
+    public ResponseEntity<?> checkout(@PathVariable Long userId,
+            @RequestBody(required = false) CartCheckoutRequestDTO request,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        if (idempotencyKey == null) {
+            OrderResponseDTO order = cartService.checkout(userId, request);
+            return new ResponseEntity<>(order, HttpStatus.CREATED);
+        }
+        return idempotencyService.execute(idempotencyKey, "POST /api/cart/" + userId + "/checkout", request,
+                () -> new ResponseEntity<>(cartService.checkout(userId, request), HttpStatus.CREATED));
+    }
+
+    private boolean hasAdminRole(Authentication auth) {
+        return auth != null && auth.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN") ||
+                              a.getAuthority().equals("ROLE_SUPERADMIN"));
+    }
+}
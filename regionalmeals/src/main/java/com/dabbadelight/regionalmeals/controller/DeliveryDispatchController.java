@@ -0,0 +1,53 @@
+package com.dabbadelight.regionalmeals.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.dabbadelight.regionalmeals.model.DTO.DeliveryBatchConfirmDTO;
+import com.dabbadelight.regionalmeals.service.DeliveryDispatchService;
+
+@RestController
+@RequestMapping("/api/dispatch")
+public class DeliveryDispatchController {
+
+    private final DeliveryDispatchService deliveryDispatchService;
+
+    public DeliveryDispatchController(DeliveryDispatchService deliveryDispatchService) {
+        this.deliveryDispatchService = deliveryDispatchService;
+    }
+
+    @GetMapping("/{menuId}/batches")
+    public ResponseEntity<?> getBatches(@PathVariable Long menuId) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (!hasAdminRole(auth)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body("Access denied. Admin privileges required.");
+        }
+        return ResponseEntity.ok(deliveryDispatchService.getBatches(menuId));
+    }
+
+    // One result per order; orders still CONFIRMED come back REJECTED and stay in their batch
+    @PostMapping("/{menuId}/batches/confirm")
+    public ResponseEntity<?> confirmBatch(@PathVariable Long menuId, @RequestBody DeliveryBatchConfirmDTO request) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (!hasAdminRole(auth)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body("Access denied. Admin privileges required.");
+        }
+        return ResponseEntity.ok(deliveryDispatchService.confirmBatch(menuId, request.getOrderIds()));
+    }
+
+    private boolean hasAdminRole(Authentication auth) {
+        return auth != null && auth.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN") ||
+                              a.getAuthority().equals("ROLE_SUPERADMIN"));
+    }
+}
@@ -0,0 +1,77 @@
+package com.dabbadelight.regionalmeals.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.dabbadelight.regionalmeals.model.DTO.KitchenTicketDTO;
+import com.dabbadelight.regionalmeals.service.KitchenBoardService;
+
+@RestController
+@RequestMapping("/api/kitchen-board")
+public class KitchenBoardController {
+
+    private final KitchenBoardService kitchenBoardService;
+
+    public KitchenBoardController(KitchenBoardService kitchenBoardService) {
+        this.kitchenBoardService = kitchenBoardService;
+    }
+
+    @GetMapping("/{menuId}")
+    public ResponseEntity<?> getBoard(@PathVariable Long menuId) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (!hasAdminRole(auth)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body("Access denied. Admin privileges required.");
+        }
+        return ResponseEntity.ok(kitchenBoardService.getBoard(menuId));
+    }
+
+    // First a 'snapshot' event with the whole board, then one 'ticket' event per change
+    @GetMapping(value = "/{menuId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<?> streamBoard(@PathVariable Long menuId) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (!hasAdminRole(auth)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body("Access denied. Admin privileges required.");
+        }
+        return ResponseEntity.ok(kitchenBoardService.subscribe(menuId));
+    }
+
+    @PostMapping("/{menuId}/claim")
+    public ResponseEntity<?> claimNext(@PathVariable Long menuId) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (!hasAdminRole(auth)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body("Access denied. Admin privileges required.");
+        }
+        KitchenTicketDTO ticket = kitchenBoardService.claimNext(menuId);
+        if (ticket == null) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(ticket);
+    }
+
+    @PostMapping("/{menuId}/tickets/{orderId}/claim")
+    public ResponseEntity<?> claim(@PathVariable Long menuId, @PathVariable Long orderId) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (!hasAdminRole(auth)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body("Access denied. Admin privileges required.");
+        }
+        return ResponseEntity.ok(kitchenBoardService.claim(menuId, orderId));
+    }
+
+    private boolean hasAdminRole(Authentication auth) {
+        return auth != null && auth.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN") || 
+                              a.getAuthority().equals("ROLE_SUPERADMIN"));
+    }
+}
@@ -0,0 +1,58 @@
+package com.dabbadelight.regionalmeals.controller;
+
+import java.time.LocalDateTime;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.dabbadelight.regionalmeals.service.KitchenCapacityService;
+
+// Live slot utilization, served from the in-memory counters
+@RestController
+@RequestMapping("/api/kitchen-capacity")
+public class KitchenCapacityController {
+
+    private final KitchenCapacityService kitchenCapacityService;
+
+    public KitchenCapacityController(KitchenCapacityService kitchenCapacityService) {
+        this.kitchenCapacityService = kitchenCapacityService;
+    }
+
+    @GetMapping
+    public ResponseEntity<?> getUtilization(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) Integer slots) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (!hasAdminRole(auth)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body("Access denied. Admin privileges required.");
+        }
+        return ResponseEntity.ok(kitchenCapacityService.getUtilization(null, from, slots));
+    }
+
+    @GetMapping("/{menuId}")
+    public ResponseEntity<?> getKitchenUtilization(@PathVariable Long menuId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) Integer slots) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (!hasAdminRole(auth)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body("Access denied. Admin privileges required.");
+        }
+        return ResponseEntity.ok(kitchenCapacityService.getUtilization(menuId, from, slots));
+    }
+
+    private boolean hasAdminRole(Authentication auth) {
+        return auth != null && auth.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN") ||
+                              a.getAuthority().equals("ROLE_SUPERADMIN"));
+    }
+}
@@ -0,0 +1,52 @@
+package com.dabbadelight.regionalmeals.controller;
+
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.dabbadelight.regionalmeals.service.OrderArchiveService;
+
+@RestController
+@RequestMapping("/api/order-archive")
+public class OrderArchiveController {
+
+    private final OrderArchiveService orderArchiveService;
+
+    public OrderArchiveController(OrderArchiveService orderArchiveService) {
+        this.orderArchiveService = orderArchiveService;
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<?> getStats() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (!hasAdminRole(auth)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body("Access denied. Admin privileges required.");
+        }
+        return ResponseEntity.ok(orderArchiveService.getStats());
+    }
+
+    @PostMapping("/run")
+    public ResponseEntity<?> run() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (!hasAdminRole(auth)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body("Access denied. Admin privileges required.");
+        }
+        int archived = orderArchiveService.archiveEligibleOrders();
+        return ResponseEntity.ok(Map.of("ordersArchived", archived));
+    }
+
+    private boolean hasAdminRole(Authentication auth) {
+        return auth != null && auth.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN") || 
+                              a.getAuthority().equals("ROLE_SUPERADMIN"));
+    }
+}
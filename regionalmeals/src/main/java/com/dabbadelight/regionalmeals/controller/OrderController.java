@@ -1,39 +1,86 @@
 package com.dabbadelight.regionalmeals.controller;
 
+import java.net.URI;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.format.annotation.DateTimeFormat;
+
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.dabbadelight.regionalmeals.model.DTO.BulkStatusUpdateRequestDTO;
+import com.dabbadelight.regionalmeals.model.DTO.OrderIntakeDTO;
+import com.dabbadelight.regionalmeals.model.DTO.OrderItemsPatchDTO;
+import com.dabbadelight.regionalmeals.model.DTO.OrderPageDTO;
 import com.dabbadelight.regionalmeals.model.DTO.OrderRequestDTO;
 import com.dabbadelight.regionalmeals.model.DTO.OrderResponseDTO;
+import com.dabbadelight.regionalmeals.model.DTO.OrderSearchCriteria;
+import com.dabbadelight.regionalmeals.model.DTO.OrderStatusHistoryDTO;
+import com.dabbadelight.regionalmeals.model.enums.OrderStatus;
 import com.dabbadelight.regionalmeals.model.Orders.Order;
+import com.dabbadelight.regionalmeals.service.IdempotencyService;
+import com.dabbadelight.regionalmeals.service.OrderIntakeService;
 import com.dabbadelight.regionalmeals.service.OrderService;
+import com.dabbadelight.regionalmeals.service.OrderStatusHistoryService;
 
 @RestController
 @RequestMapping("/api/order")
 public class OrderController {
 
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final OrderService orderService;
+    private final IdempotencyService idempotencyService;
+    private final OrderIntakeService orderIntakeService;
+    private final OrderStatusHistoryService orderStatusHistoryService;
 
-    public OrderController (OrderService orderService) {
+    public OrderController (OrderService orderService, IdempotencyService idempotencyService,
+                            ObjectProvider<OrderIntakeService> orderIntakeProvider,
+                            OrderStatusHistoryService orderStatusHistoryService) {
         this.orderService = orderService;
+        this.idempotencyService = idempotencyService;
+        this.orderStatusHistoryService = orderStatusHistoryService;
+        this.orderIntakeService = orderIntakeProvider.getIfAvailable();
     }
 
+    // With an Idempotency-Key, a retried request gets the first response back instead of a second order
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<OrderResponseDTO> createOrder(@RequestBody OrderRequestDTO orderRequest) {
-        OrderResponseDTO savedOrder = orderService.createOrder(orderRequest);
-        return new ResponseEntity<>(savedOrder, HttpStatus.CREATED);
+    public ResponseEntity<?> createOrder(@RequestBody OrderRequestDTO orderRequest,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return placeOrder(orderRequest);
+        }
+        return idempotencyService.execute(idempotencyKey, "POST /api/order", orderRequest,
+                () -> placeOrder(orderRequest));
+    }
+
+    // In async intake mode the order is only queued: 202 with a handle to poll instead of 201
+    private ResponseEntity<?> placeOrder(OrderRequestDTO orderRequest) {
+        if (orderIntakeService == null) {
+            OrderResponseDTO savedOrder = orderService.createOrder(orderRequest);
+            return new ResponseEntity<>(savedOrder, HttpStatus.CREATED);
+        }
+        OrderIntakeDTO intake = orderIntakeService.submit(orderRequest);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/order/intake/" + intake.getHandle()))
+                .body(intake);
     }
 
     
@@ -43,11 +90,87 @@ public class OrderController {
         return ResponseEntity.ok(orderItem);
     }
 
+    // Status changes oldest first; the latest few seconds may still be waiting to be written
+    @GetMapping("/{id}/history")
+    public ResponseEntity<List<OrderStatusHistoryDTO>> getOrderHistory(@PathVariable Long id) {
+        return ResponseEntity.ok(orderStatusHistoryService.getHistory(id));
+    }
+
     @GetMapping
     public ResponseEntity<List<OrderResponseDTO>> getAllOrders() {
         return ResponseEntity.ok(orderService.getAllOrders());
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<OrderPageDTO> getOrdersPage(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        OrderSearchCriteria criteria = OrderSearchCriteria.builder()
+                .status(status)
+                .userId(userId)
+                .from(from)
+                .to(to)
+                .build();
+        return ResponseEntity.ok(orderService.getOrdersPage(criteria, cursor, size));
+    }
+
+    // Support lookups: any mix of filters, each served by an index, paged like /page
+    @GetMapping("/search")
+    public ResponseEntity<?> searchOrders(
+            @RequestParam(required = false) String phone,
+            @RequestParam(required = false) String pincode,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Double minAmount,
+            @RequestParam(required = false) Double maxAmount,
+            @RequestParam(required = false) Long itemId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (!hasAdminRole(auth)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body("Access denied. Admin privileges required.");
+        }
+        OrderSearchCriteria criteria = OrderSearchCriteria.builder()
+                .phone(phone == null || phone.isBlank() ? null : phone.trim())
+                .pincode(pincode == null || pincode.isBlank() ? null : pincode.trim())
+                .status(status)
+                .from(from)
+                .to(to)
+                .minAmount(minAmount)
+                .maxAmount(maxAmount)
+                .itemId(itemId)
+                .build();
+        return ResponseEntity.ok(orderService.getOrdersPage(criteria, cursor, size));
+    }
+
+    // Dispatch runs: one transaction for the whole list, with a result per order
+    @PatchMapping("/status")
+    public ResponseEntity<?> updateOrderStatuses(@RequestBody BulkStatusUpdateRequestDTO request) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (!hasAdminRole(auth)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body("Access denied. Admin privileges required.");
+        }
+        return ResponseEntity.ok(orderService.updateOrderStatuses(request.getOrderIds(), request.getStatus()));
+    }
+
+    // Kitchen closing for the day: cancels all its open orders and restocks them in one transaction
+    @PostMapping("/menu/{menuId}/cancel")
+    public ResponseEntity<?> cancelOrdersForMenu(@PathVariable Long menuId) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (!hasAdminRole(auth)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body("Access denied. Admin privileges required.");
+        }
+        return ResponseEntity.ok(orderService.cancelOrdersForMenu(menuId));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Order> updateOrder(@PathVariable Long id, @RequestBody Order order) {
         Order updatedOrder = orderService.updateOrder(id, order);
@@ -67,11 +190,27 @@ public class OrderController {
     }
 
     @PostMapping("/{orderId}/items")
-    public ResponseEntity<Order> addItemToOrder(@PathVariable Long orderId, @RequestBody Map<String, Object> payload) {
+    public ResponseEntity<?> addItemToOrder(@PathVariable Long orderId, @RequestBody Map<String, Object> payload,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
         Long itemId = Long.valueOf(payload.get("itemId").toString());
         int quantity = (int) payload.get("quantity");
-        Order updatedOrder = orderService.addItemToOrder(orderId, itemId, quantity);
-        return ResponseEntity.ok(updatedOrder);
+        if (idempotencyKey == null) {
+            Order updatedOrder = orderService.addItemToOrder(orderId, itemId, quantity);
+            return ResponseEntity.ok(updatedOrder);
+        }
+        return idempotencyService.execute(idempotencyKey, "POST /api/order/" + orderId + "/items", payload,
+                () -> ResponseEntity.ok(orderService.addItemToOrder(orderId, itemId, quantity)));
+    }
+
+    // Many line changes for a pending order in one call: one stock write per direction and one save
+    @PatchMapping("/{orderId}/items")
+    public ResponseEntity<?> updateOrderItems(@PathVariable Long orderId, @RequestBody OrderItemsPatchDTO patch,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return ResponseEntity.ok(orderService.updateOrderItems(orderId, patch.getChanges()));
+        }
+        return idempotencyService.execute(idempotencyKey, "PATCH /api/order/" + orderId + "/items", patch,
+                () -> ResponseEntity.ok(orderService.updateOrderItems(orderId, patch.getChanges())));
     }
 
     @DeleteMapping("/{orderId}/items/{orderItemId}")
@@ -79,4 +218,10 @@ public class OrderController {
         Order updatedOrder = orderService.removeItemFromOrder(orderId, orderItemId);
         return ResponseEntity.ok(updatedOrder);
     }
+
+    private boolean hasAdminRole(Authentication auth) {
+        return auth != null && auth.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN") || 
+                              a.getAuthority().equals("ROLE_SUPERADMIN"));
+    }
 }
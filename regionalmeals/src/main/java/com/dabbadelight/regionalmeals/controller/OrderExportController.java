@@ -0,0 +1,84 @@
+package com.dabbadelight.regionalmeals.controller;
+
+import java.time.LocalDateTime;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.dabbadelight.regionalmeals.model.DTO.OrderSearchCriteria;
+import com.dabbadelight.regionalmeals.model.enums.OrderStatus;
+import com.dabbadelight.regionalmeals.service.OrderExportService;
+
+@RestController
+@RequestMapping("/api/order/export")
+public class OrderExportController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv");
+
+    private final OrderExportService orderExportService;
+
+    public OrderExportController(OrderExportService orderExportService) {
+        this.orderExportService = orderExportService;
+    }
+
+    @GetMapping
+    public ResponseEntity<?> exportOrders(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) Long menuId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (!hasAdminRole(auth)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body("Access denied. Admin privileges required.");
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+
+        OrderSearchCriteria criteria = OrderSearchCriteria.builder()
+                .status(status)
+                .from(from)
+                .to(to)
+                .build();
+
+        // The body is written on an async thread after this method returns, straight from the DB cursor
+        StreamingResponseBody body;
+        MediaType contentType;
+        switch (format.toLowerCase()) {
+            case "ndjson" -> {
+                contentType = NDJSON;
+                body = out -> orderExportService.exportNdjson(criteria, menuId, out);
+            }
+            case "csv" -> {
+                contentType = CSV;
+                body = out -> orderExportService.exportCsv(criteria, menuId, out);
+            }
+            default -> throw new IllegalArgumentException("Unsupported export format: " + format);
+        }
+
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"orders." + format.toLowerCase() + "\"")
+                .body(body);
+    }
+
+    private boolean hasAdminRole(Authentication auth) {
+        return auth != null && auth.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN") || 
+                              a.getAuthority().equals("ROLE_SUPERADMIN"));
+    }
+}
@@ -0,0 +1,48 @@
+package com.dabbadelight.regionalmeals.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.dabbadelight.regionalmeals.model.DTO.OrderIntakeDTO;
+import com.dabbadelight.regionalmeals.service.OrderIntakeService;
+
+@RestController
+@RequestMapping("/api/order/intake")
+@ConditionalOnProperty(name = "order.intake.async.enabled", havingValue = "true")
+public class OrderIntakeController {
+
+    private final OrderIntakeService orderIntakeService;
+
+    public OrderIntakeController(OrderIntakeService orderIntakeService) {
+        this.orderIntakeService = orderIntakeService;
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<?> getStats() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (!hasAdminRole(auth)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body("Access denied. Admin privileges required.");
+        }
+        return ResponseEntity.ok(orderIntakeService.getStats());
+    }
+
+    // Handle from the 202 response of POST /api/order
+    @GetMapping("/{handle}")
+    public ResponseEntity<OrderIntakeDTO> getStatus(@PathVariable String handle) {
+        return ResponseEntity.ok(orderIntakeService.getStatus(handle));
+    }
+
+    private boolean hasAdminRole(Authentication auth) {
+        return auth != null && auth.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN") || 
+                              a.getAuthority().equals("ROLE_SUPERADMIN"));
+    }
+}
@@ -0,0 +1,40 @@
+package com.dabbadelight.regionalmeals.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.dabbadelight.regionalmeals.service.OrderStageTimingService;
+
+// Time-in-stage percentiles per kitchen over the recent window, slowest stage first
+@RestController
+@RequestMapping("/api/order-stage-timings")
+public class OrderStageTimingController {
+
+    private final OrderStageTimingService orderStageTimingService;
+
+    public OrderStageTimingController(OrderStageTimingService orderStageTimingService) {
+        this.orderStageTimingService = orderStageTimingService;
+    }
+
+    @GetMapping
+    public ResponseEntity<?> getStageTimings(@RequestParam(required = false) Long menuId) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (!hasAdminRole(auth)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body("Access denied. Admin privileges required.");
+        }
+        return ResponseEntity.ok(orderStageTimingService.getStageTimings(menuId));
+    }
+
+    private boolean hasAdminRole(Authentication auth) {
+        return auth != null && auth.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN") ||
+                              a.getAuthority().equals("ROLE_SUPERADMIN"));
+    }
+}
@@ -0,0 +1,63 @@
+package com.dabbadelight.regionalmeals.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.dabbadelight.regionalmeals.service.OrderStatusCountService;
+
+// Open-order counts per kitchen and status, from memory
+@RestController
+@RequestMapping("/api/order-counts")
+public class OrderStatusCountController {
+
+    private final OrderStatusCountService orderStatusCountService;
+
+    public OrderStatusCountController(OrderStatusCountService orderStatusCountService) {
+        this.orderStatusCountService = orderStatusCountService;
+    }
+
+    @GetMapping
+    public ResponseEntity<?> getAllCounts() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (!hasAdminRole(auth)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body("Access denied. Admin privileges required.");
+        }
+        return ResponseEntity.ok(orderStatusCountService.getAllCounts());
+    }
+
+    @GetMapping("/{menuId}")
+    public ResponseEntity<?> getCounts(@PathVariable Long menuId) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (!hasAdminRole(auth)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body("Access denied. Admin privileges required.");
+        }
+        return ResponseEntity.ok(orderStatusCountService.getCounts(menuId));
+    }
+
+    // First a 'snapshot' event, then a 'counts' event per changed kitchen at most once per push interval
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<?> streamCounts(@RequestParam(required = false) Long menuId) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (!hasAdminRole(auth)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body("Access denied. Admin privileges required.");
+        }
+        return ResponseEntity.ok(orderStatusCountService.subscribe(menuId));
+    }
+
+    private boolean hasAdminRole(Authentication auth) {
+        return auth != null && auth.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN") ||
+                              a.getAuthority().equals("ROLE_SUPERADMIN"));
+    }
+}
@@ -0,0 +1,43 @@
+package com.dabbadelight.regionalmeals.controller;
+
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.dabbadelight.regionalmeals.model.User.User;
+import com.dabbadelight.regionalmeals.service.OrderTrackingService;
+
+@RestController
+@RequestMapping("/api/order/track")
+public class OrderTrackingController {
+
+    private final OrderTrackingService orderTrackingService;
+
+    public OrderTrackingController(OrderTrackingService orderTrackingService) {
+        this.orderTrackingService = orderTrackingService;
+    }
+
+    // EventSource resends the id of the last event it saw in Last-Event-ID when it reconnects
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter trackMyOrders(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        User currentUser = (User) authentication.getPrincipal();
+        return orderTrackingService.subscribe(currentUser.getId(), parseEventId(lastEventId));
+    }
+
+    private Long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid Last-Event-ID: " + lastEventId);
+        }
+    }
+}
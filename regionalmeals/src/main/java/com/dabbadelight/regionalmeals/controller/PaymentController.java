@@ -0,0 +1,73 @@
+package com.dabbadelight.regionalmeals.controller;
+
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.dabbadelight.regionalmeals.model.DTO.PaymentCallbackAckDTO;
+import com.dabbadelight.regionalmeals.model.DTO.PaymentCallbackDTO;
+import com.dabbadelight.regionalmeals.model.DTO.PaymentSessionDTO;
+import com.dabbadelight.regionalmeals.service.PaymentService;
+
+@RestController
+@RequestMapping("/api/payments")
+public class PaymentController {
+
+    private static final String SIGNATURE_HEADER = "X-Payment-Signature";
+
+    private final PaymentService paymentService;
+
+    public PaymentController(PaymentService paymentService) {
+        this.paymentService = paymentService;
+    }
+
+    @PostMapping("/{orderId}/session")
+    public ResponseEntity<PaymentSessionDTO> startPayment(@PathVariable Long orderId) {
+        return new ResponseEntity<>(paymentService.startPayment(orderId), HttpStatus.CREATED);
+    }
+
+    // Called by the gateway, authenticated by its signature; answers as soon as the callback is stored,
+    // and answers a redelivery the same way
+    @PostMapping("/callback")
+    public ResponseEntity<PaymentCallbackAckDTO> receiveCallback(@RequestBody PaymentCallbackDTO callback,
+            @RequestHeader(value = SIGNATURE_HEADER, required = false) String signature) {
+        return ResponseEntity.ok(paymentService.receiveCallback(callback, signature));
+    }
+
+    @PostMapping("/reconcile")
+    public ResponseEntity<?> reconcile() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (!hasAdminRole(auth)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body("Access denied. Admin privileges required.");
+        }
+        int settled = paymentService.reconcile();
+        return ResponseEntity.ok(Map.of("ordersSettled", settled));
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<?> getStats() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (!hasAdminRole(auth)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body("Access denied. Admin privileges required.");
+        }
+        return ResponseEntity.ok(paymentService.getStats());
+    }
+
+    private boolean hasAdminRole(Authentication auth) {
+        return auth != null && auth.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN") ||
+                              a.getAuthority().equals("ROLE_SUPERADMIN"));
+    }
+}
@@ -0,0 +1,80 @@
+package com.dabbadelight.regionalmeals.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.dabbadelight.regionalmeals.model.Kitchen.Promotion;
+import com.dabbadelight.regionalmeals.service.PromotionService;
+
+import jakarta.validation.Valid;
+
+// Promotion rules; changes take effect at checkout as soon as they are saved
+@RestController
+@RequestMapping("/api/promotions")
+public class PromotionController {
+
+    private final PromotionService promotionService;
+
+    public PromotionController(PromotionService promotionService) {
+        this.promotionService = promotionService;
+    }
+
+    @GetMapping
+    public ResponseEntity<?> getAllPromotions() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (!hasAdminRole(auth)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body("Access denied. Admin privileges required.");
+        }
+        return ResponseEntity.ok(promotionService.getAllPromotions());
+    }
+
+    @PostMapping
+    public ResponseEntity<?> createPromotion(@Valid @RequestBody Promotion promotion) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (!hasAdminRole(auth)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body("Access denied. Admin privileges required.");
+        }
+        promotion.setCreatedBy(auth.getName());
+        return ResponseEntity.status(HttpStatus.CREATED).body(promotionService.createPromotion(promotion));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<?> updatePromotion(@PathVariable Long id, @Valid @RequestBody Promotion promotion) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (!hasAdminRole(auth)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body("Access denied. Admin privileges required.");
+        }
+        promotion.setUpdatedBy(auth.getName());
+        return ResponseEntity.ok(promotionService.updatePromotion(id, promotion));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> deletePromotion(@PathVariable Long id) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (!hasAdminRole(auth)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body("Access denied. Admin privileges required.");
+        }
+        promotionService.deletePromotion(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    private boolean hasAdminRole(Authentication auth) {
+        return auth != null && auth.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN") ||
+                              a.getAuthority().equals("ROLE_SUPERADMIN"));
+    }
+}
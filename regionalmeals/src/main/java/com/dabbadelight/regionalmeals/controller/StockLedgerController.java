@@ -0,0 +1,58 @@
+package com.dabbadelight.regionalmeals.controller;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.dabbadelight.regionalmeals.model.DTO.StockReconciliationDTO;
+import com.dabbadelight.regionalmeals.service.StockLedgerService;
+
+@RestController
+@RequestMapping("/api/stock-ledger")
+@ConditionalOnProperty(name = "stock.ledger.enabled", havingValue = "true")
+public class StockLedgerController {
+
+    private final StockLedgerService stockLedgerService;
+
+    public StockLedgerController(StockLedgerService stockLedgerService) {
+        this.stockLedgerService = stockLedgerService;
+    }
+
+    @GetMapping("/reconcile")
+    public ResponseEntity<?> reconcile() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (!hasAdminRole(auth)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body("Access denied. Admin privileges required.");
+        }
+
+        List<StockReconciliationDTO> mismatches = stockLedgerService.reconcile();
+        return ResponseEntity.ok(mismatches);
+    }
+
+    @PostMapping("/flush")
+    public ResponseEntity<?> flush() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (!hasAdminRole(auth)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body("Access denied. Admin privileges required.");
+        }
+
+        stockLedgerService.flush();
+        return ResponseEntity.noContent().build();
+    }
+
+    private boolean hasAdminRole(Authentication auth) {
+        return auth != null && auth.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN") || 
+                              a.getAuthority().equals("ROLE_SUPERADMIN"));
+    }
+}
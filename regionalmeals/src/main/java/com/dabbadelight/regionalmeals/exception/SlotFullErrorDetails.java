@@ -0,0 +1,23 @@
+package com.dabbadelight.regionalmeals.exception;
+
+import java.time.LocalDateTime;
+
+public class SlotFullErrorDetails extends ErrorDetails {
+    private LocalDateTime nextAvailableSlot;
+
+    public SlotFullErrorDetails() {}
+
+    public SlotFullErrorDetails(LocalDateTime timestamp, String message, String details, String errorCode,
+                                LocalDateTime nextAvailableSlot) {
+        super(timestamp, message, details, errorCode);
+        this.nextAvailableSlot = nextAvailableSlot;
+    }
+
+    public LocalDateTime getNextAvailableSlot() {
+        return nextAvailableSlot;
+    }
+
+    public void setNextAvailableSlot(LocalDateTime nextAvailableSlot) {
+        this.nextAvailableSlot = nextAvailableSlot;
+    }
+}
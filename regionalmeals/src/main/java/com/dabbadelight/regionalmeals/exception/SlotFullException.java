@@ -0,0 +1,20 @@
+package com.dabbadelight.regionalmeals.exception;
+
+import java.time.LocalDateTime;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import lombok.Getter;
+
+@Getter
+@ResponseStatus(value = HttpStatus.CONFLICT)
+public class SlotFullException extends RuntimeException {
+
+    private final LocalDateTime nextAvailableSlot;  // null if nothing within the lookahead has room
+
+    public SlotFullException(String message, LocalDateTime nextAvailableSlot) {
+        super(message);
+        this.nextAvailableSlot = nextAvailableSlot;
+    }
+}
@@ -0,0 +1,28 @@
+package com.dabbadelight.regionalmeals.model.DTO;
+
+import com.dabbadelight.regionalmeals.model.enums.OrderStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusResultDTO {
+
+    public enum Outcome {
+        UPDATED,
+        UNCHANGED,
+        REJECTED,
+        NOT_FOUND
+    }
+
+    private Long orderId;
+    private Outcome outcome;
+    private OrderStatus previousStatus;
+    private OrderStatus orderStatus;
+    private String message;
+}
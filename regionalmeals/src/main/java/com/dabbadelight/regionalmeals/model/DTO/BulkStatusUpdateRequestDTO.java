@@ -0,0 +1,20 @@
+package com.dabbadelight.regionalmeals.model.DTO;
+
+import java.util.List;
+
+import com.dabbadelight.regionalmeals.model.enums.OrderStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusUpdateRequestDTO {
+
+    private List<Long> orderIds;
+    private OrderStatus status;
+}
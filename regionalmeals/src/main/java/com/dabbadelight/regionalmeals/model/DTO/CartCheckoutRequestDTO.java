@@ -0,0 +1,21 @@
+package com.dabbadelight.regionalmeals.model.DTO;
+
+import java.time.LocalDateTime;
+
+import com.dabbadelight.regionalmeals.model.enums.PaymentMode;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartCheckoutRequestDTO {
+
+    private PaymentMode paymentMode;  // CASH when not given
+    private LocalDateTime promisedSlot;  // optional
+    private String couponCode;           // optional
+}
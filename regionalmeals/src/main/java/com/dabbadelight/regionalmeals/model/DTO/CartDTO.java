@@ -0,0 +1,38 @@
+package com.dabbadelight.regionalmeals.model.DTO;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartDTO {
+
+    private Long userId;
+    private List<CartLineDTO> lines;
+    private int totalQuantity;
+    private double totalAmount;
+    private LocalDateTime updatedAt;
+    private LocalDateTime expiresAt;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CartLineDTO {
+        private Long itemId;
+        private String name;
+        private Long menuId;
+        private boolean veg;
+        private boolean available;
+        private int quantity;
+        private double unitPrice;  // current catalog price; the order keeps the price at checkout
+        private double lineTotal;
+    }
+}
@@ -0,0 +1,31 @@
+package com.dabbadelight.regionalmeals.model.DTO;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartHoldStatsDTO {
+
+    private long holdTtlMinutes;
+
+    //inventory currently held by carts
+    private long pendingCarts;
+    private long pendingUnitsHeld;
+    private long staleCarts;
+    private long staleUnitsHeld;
+
+    //sweeper progress since startup
+    private long sweeps;
+    private long cartsReleased;
+    private long unitsReleased;
+    private LocalDateTime lastSweepAt;
+    private int lastSweepCarts;
+    private long lastSweepMillis;
+}
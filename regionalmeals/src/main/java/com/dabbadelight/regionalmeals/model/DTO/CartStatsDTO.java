@@ -0,0 +1,30 @@
+package com.dabbadelight.regionalmeals.model.DTO;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartStatsDTO {
+
+    //store right now
+    private int carts;
+    private int maxCarts;
+    private long ttlMinutes;
+    private int catalogItems;
+    private LocalDateTime catalogRefreshedAt;
+
+    //since startup
+    private long edits;
+    private long rejectedEdits;
+    private long cartsRejected;
+    private long cartsExpired;
+    private long checkouts;
+    private long failedCheckouts;
+}
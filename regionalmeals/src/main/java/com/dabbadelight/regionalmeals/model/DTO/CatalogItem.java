@@ -0,0 +1,18 @@
+package com.dabbadelight.regionalmeals.model.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// Cached view of an item for cart edits; stock is only a hint until checkout reserves it
+@Data
+@AllArgsConstructor
+public class CatalogItem {
+
+    private Long id;
+    private String name;
+    private double price;
+    private int stock;
+    private boolean available;
+    private boolean veg;
+    private Long menuId;
+}
@@ -0,0 +1,17 @@
+package com.dabbadelight.regionalmeals.model.DTO;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeliveryBatchConfirmDTO {
+
+    private List<Long> orderIds;  // the stops of a proposed batch, as the dispatcher saw them
+}
@@ -0,0 +1,42 @@
+package com.dabbadelight.regionalmeals.model.DTO;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.dabbadelight.regionalmeals.model.enums.OrderStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Proposed run from one kitchen to one pincode within one slot window
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeliveryBatchDTO {
+
+    private String batchId;
+    private Long menuId;
+    private String pincode;  // null for orders whose user has no address; those go out alone
+    private LocalDateTime windowStart;
+    private LocalDateTime windowEnd;
+    private int orderCount;
+    private int readyCount;
+    private boolean ready;  // every order is PREPARING, so the whole batch can go out now
+
+    private List<Stop> stops;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Stop {
+        private Long orderId;
+        private Long userId;
+        private OrderStatus orderStatus;
+        private LocalDateTime promisedSlot;
+        private LocalDateTime createdAt;
+    }
+}
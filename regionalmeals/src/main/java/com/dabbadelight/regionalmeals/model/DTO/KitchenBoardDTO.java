@@ -0,0 +1,21 @@
+package com.dabbadelight.regionalmeals.model.DTO;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class KitchenBoardDTO {
+
+    private Long menuId;
+
+    //both in cooking order: promised slot, then order time
+    private List<KitchenTicketDTO> waiting;
+    private List<KitchenTicketDTO> inProgress;
+}
@@ -0,0 +1,23 @@
+package com.dabbadelight.regionalmeals.model.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class KitchenBoardDeltaDTO {
+
+    public enum Type {
+        UPSERTED,
+        REMOVED
+    }
+
+    private Type type;
+    private Long menuId;
+    private Long orderId;
+    private KitchenTicketDTO ticket;   // null when removed
+}
@@ -0,0 +1,37 @@
+package com.dabbadelight.regionalmeals.model.DTO;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.dabbadelight.regionalmeals.model.enums.KitchenTicketStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// The part of one order a single kitchen has to cook
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class KitchenTicketDTO {
+
+    private Long orderId;
+    private Long menuId;
+    private KitchenTicketStatus status;
+    private LocalDateTime promisedSlot;
+    private LocalDateTime createdAt;
+    private List<Line> items;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Line {
+
+        private Long itemId;
+        private String itemName;
+        private int quantity;
+    }
+}
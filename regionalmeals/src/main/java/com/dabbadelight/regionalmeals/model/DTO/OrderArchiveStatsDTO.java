@@ -0,0 +1,26 @@
+package com.dabbadelight.regionalmeals.model.DTO;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderArchiveStatsDTO {
+
+    private long archiveAfterDays;
+    private int chunkSize;
+
+    //archiver progress since startup
+    private long runs;
+    private long ordersArchived;
+    private long linesArchived;
+    private LocalDateTime lastRunAt;
+    private int lastRunOrders;
+    private long lastRunMillis;
+}
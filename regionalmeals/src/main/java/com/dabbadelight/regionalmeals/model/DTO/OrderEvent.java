@@ -0,0 +1,55 @@
+package com.dabbadelight.regionalmeals.model.DTO;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.dabbadelight.regionalmeals.model.enums.OrderEventType;
+import com.dabbadelight.regionalmeals.model.enums.OrderStatus;
+import com.dabbadelight.regionalmeals.model.enums.PaymentMode;
+import com.dabbadelight.regionalmeals.model.enums.PaymentStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Order change as delivered on the in-process event bus. Carries the order's state after the
+// change, so listeners don't need to read the order back.
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderEvent {
+
+    //delivery metadata, filled in by the outbox relay
+    private Long eventId;
+    private String dedupeKey;
+
+    private OrderEventType type;
+    private Long orderId;
+    private Long userId;
+    private OrderStatus previousStatus;   // null unless the status changed
+    private OrderStatus orderStatus;
+    private PaymentMode paymentMode;
+    private PaymentStatus paymentStatus;
+    private double totalAmount;
+    private LocalDateTime promisedSlot;
+    private LocalDateTime orderCreatedAt;
+    private LocalDateTime occurredAt;
+
+    private List<Line> lines;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Line {
+
+        private Long itemId;
+        private String itemName;
+        private Long menuId;
+        private int quantity;
+        private double price;
+        private boolean claimed;   // the line's kitchen has started on it
+    }
+}
@@ -0,0 +1,32 @@
+package com.dabbadelight.regionalmeals.model.DTO;
+
+import java.time.LocalDateTime;
+
+import com.dabbadelight.regionalmeals.model.enums.OrderStatus;
+import com.dabbadelight.regionalmeals.model.enums.PaymentMode;
+import com.dabbadelight.regionalmeals.model.enums.PaymentStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One order line with its order's columns, read straight from the export cursor
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderExportRow {
+
+    private Long orderId;
+    private LocalDateTime createdAt;
+    private OrderStatus orderStatus;
+    private PaymentMode paymentMode;
+    private PaymentStatus paymentStatus;
+    private Double totalAmount;
+    private Long userId;
+
+    private Long itemId;
+    private String itemName;
+    private Long menuId;
+    private Integer quantity;
+    private Double priceAtPurchase;
+}
@@ -0,0 +1,25 @@
+package com.dabbadelight.regionalmeals.model.DTO;
+
+import java.time.LocalDateTime;
+
+import com.dabbadelight.regionalmeals.model.enums.OrderIntakeStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Where an accepted order request is in the placement queue; order is set once it is PLACED
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderIntakeDTO {
+
+    private String handle;
+    private OrderIntakeStatus status;
+    private LocalDateTime acceptedAt;
+    private LocalDateTime completedAt;
+    private OrderResponseDTO order;
+    private String error;
+}
@@ -0,0 +1,29 @@
+package com.dabbadelight.regionalmeals.model.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderIntakeStatsDTO {
+
+    //queue right now
+    private int queueDepth;
+    private int queueCapacity;
+    private long oldestQueuedMillis;
+    private int workers;
+
+    //since startup
+    private long accepted;
+    private long rejected;
+    private long placed;
+    private long failed;
+    private long batches;
+    private double avgBatchSize;
+    private double avgWaitMillis;
+    private long maxWaitMillis;
+}
@@ -0,0 +1,33 @@
+package com.dabbadelight.regionalmeals.model.DTO;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Line changes for a pending order, applied in list order as one edit
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderItemsPatchDTO {
+
+    private List<LineChange> changes;
+
+    public enum Operation {
+        SET,     // set the item's quantity; 0 removes it
+        REMOVE
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LineChange {
+        private Operation op;
+        private Long itemId;
+        private int quantity;  // SET only
+    }
+}
@@ -0,0 +1,20 @@
+package com.dabbadelight.regionalmeals.model.DTO;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderPageDTO {
+
+    private List<OrderResponseDTO> orders;
+    private int size;
+    private boolean hasMore;
+    private String nextCursor;   // pass back as ?cursor= to get the next page; null on the last page
+}
@@ -0,0 +1,21 @@
+package com.dabbadelight.regionalmeals.model.DTO;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Outcome of one request in a batch placement: the order, or why it was not placed
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderPlacementResultDTO {
+
+    private OrderResponseDTO order;
+    private String error;
+    private boolean slotFull;
+    private LocalDateTime nextAvailableSlot;  // null unless slotFull and a later slot has room
+}
@@ -1,5 +1,6 @@
 package com.dabbadelight.regionalmeals.model.DTO;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import com.dabbadelight.regionalmeals.model.enums.OrderStatus;
@@ -21,6 +22,8 @@ public class OrderRequestDTO {
     private PaymentMode paymentMode;
     private PaymentStatus paymentStatus;
     private OrderStatus orderStatus;
+    private LocalDateTime promisedSlot;  // optional
+    private String couponCode;           // optional; automatic promotions apply without one
 
     private List<OrderItemRequestDTO> orderItems;  // Note: OrderItemRequestDTO (not OrderItemDTO)
 
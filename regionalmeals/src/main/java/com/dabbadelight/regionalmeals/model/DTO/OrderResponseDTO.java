@@ -37,10 +37,14 @@ public class OrderResponseDTO {
     //order items;
 
     private List<OrderItemDTO> items;
-    private double totalAmount;
+    private double totalAmount;          // after discountAmount
+    private double discountAmount;
+    private Long promotionId;            // promotion the discount came from, if any
+    private LocalDateTime promisedSlot;
 
      private LocalDateTime createdAt;   // Add this field
     private LocalDateTime updatedAt; 
+    private boolean archived;          // read from orders_archive
 
     @Data
     @Builder
@@ -0,0 +1,28 @@
+package com.dabbadelight.regionalmeals.model.DTO;
+
+import java.time.LocalDateTime;
+
+import com.dabbadelight.regionalmeals.model.enums.OrderStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderSearchCriteria {
+
+    // Every filter is optional; only the ones that are set end up in the query
+    private OrderStatus status;
+    private Long userId;
+    private LocalDateTime from;   // inclusive, on createdAt
+    private LocalDateTime to;     // exclusive, on createdAt
+    private String phone;         // the customer's phone number
+    private String pincode;       // any of the customer's addresses
+    private Double minAmount;     // inclusive, on totalAmount
+    private Double maxAmount;     // inclusive, on totalAmount
+    private Long itemId;          // at least one line of this item
+}
@@ -0,0 +1,22 @@
+package com.dabbadelight.regionalmeals.model.DTO;
+
+import java.util.Map;
+
+import com.dabbadelight.regionalmeals.model.enums.OrderStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Open orders per status at one kitchen; an order drawing from several kitchens counts at each
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusCountsDTO {
+
+    private Long menuId;
+    private Map<OrderStatus, Long> counts;
+    private long total;
+}
@@ -0,0 +1,22 @@
+package com.dabbadelight.regionalmeals.model.DTO;
+
+import java.time.LocalDateTime;
+
+import com.dabbadelight.regionalmeals.model.enums.OrderStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusHistoryDTO {
+
+    private OrderStatus fromStatus;   // null for the order's creation
+    private OrderStatus toStatus;
+    private LocalDateTime changedAt;
+    private Long secondsInFromStatus; // null when the previous change is not in the history
+}
@@ -0,0 +1,23 @@
+package com.dabbadelight.regionalmeals.model.DTO;
+
+import java.time.LocalDateTime;
+
+import com.dabbadelight.regionalmeals.model.enums.OrderStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusUpdateDTO {
+
+    private Long eventId;
+    private Long orderId;
+    private OrderStatus previousStatus;
+    private OrderStatus orderStatus;
+    private LocalDateTime occurredAt;
+}
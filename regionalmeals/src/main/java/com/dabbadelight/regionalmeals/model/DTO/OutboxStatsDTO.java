@@ -0,0 +1,31 @@
+package com.dabbadelight.regionalmeals.model.DTO;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxStatsDTO {
+
+    //backlog waiting for the relay
+    private long pendingEvents;
+    private long oldestPendingAgeMillis;
+
+    //relay progress since startup
+    private long delivered;
+    private long failedAttempts;
+    private long deadLettered;
+    private long duplicatesSkipped;
+    private long lastDeliveryLagMillis;
+    private double eventsPerSecond;      // delivered events per second of relay work
+    private long relayRuns;
+    private LocalDateTime lastRunAt;
+    private int lastRunEvents;
+    private long lastRunMillis;
+}
@@ -0,0 +1,17 @@
+package com.dabbadelight.regionalmeals.model.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Returned to the gateway once a callback is safely stored; duplicate when it had been seen before
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentCallbackAckDTO {
+
+    private String eventId;
+    private boolean duplicate;
+}
@@ -0,0 +1,22 @@
+package com.dabbadelight.regionalmeals.model.DTO;
+
+import com.dabbadelight.regionalmeals.model.enums.PaymentStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Payment result as posted by the gateway; eventId is the gateway's own id for the notification
+// and is the same on every redelivery of it
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentCallbackDTO {
+
+    private String eventId;
+    private Long orderId;
+    private PaymentStatus status;
+    private double amount;
+}
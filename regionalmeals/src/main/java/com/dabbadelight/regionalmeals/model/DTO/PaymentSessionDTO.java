@@ -0,0 +1,19 @@
+package com.dabbadelight.regionalmeals.model.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentSessionDTO {
+
+    private Long orderId;
+    private String gateway;
+    private String reference;     // the gateway's id for this payment
+    private String redirectUrl;   // where the customer completes the payment; null if the gateway has none
+    private double amount;
+}
@@ -0,0 +1,28 @@
+package com.dabbadelight.regionalmeals.model.DTO;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentStatsDTO {
+
+    private String gateway;
+
+    //callbacks stored but not yet applied to their orders
+    private long pendingCallbacks;
+
+    //since startup
+    private long callbacksReceived;
+    private long duplicateCallbacks;
+    private long rejectedCallbacks;  // amount didn't match the order total, or no such order
+    private long ordersSettled;
+    private long ordersReconciled;
+    private LocalDateTime lastReconciledAt;
+}
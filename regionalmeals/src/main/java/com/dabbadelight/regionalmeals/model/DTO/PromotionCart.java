@@ -0,0 +1,66 @@
+package com.dabbadelight.regionalmeals.model.DTO;
+
+import java.util.Arrays;
+
+// Cart lines as the promotion engine reads them: parallel primitive arrays, so a cart can be
+// filled and evaluated without allocating. Reusable through clear(). menuId is 0 for an item
+// without a menu.
+public final class PromotionCart {
+
+    private long[] itemIds;
+    private long[] menuIds;
+    private int[] quantities;
+    private double[] unitPrices;
+    private int size;
+
+    public PromotionCart(int capacity) {
+        int initial = Math.max(1, capacity);
+        itemIds = new long[initial];
+        menuIds = new long[initial];
+        quantities = new int[initial];
+        unitPrices = new double[initial];
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public void add(long itemId, long menuId, int quantity, double unitPrice) {
+        if (size == itemIds.length) {
+            int grown = size * 2;
+            itemIds = Arrays.copyOf(itemIds, grown);
+            menuIds = Arrays.copyOf(menuIds, grown);
+            quantities = Arrays.copyOf(quantities, grown);
+            unitPrices = Arrays.copyOf(unitPrices, grown);
+        }
+        itemIds[size] = itemId;
+        menuIds[size] = menuId;
+        quantities[size] = quantity;
+        unitPrices[size] = unitPrice;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long itemId(int line) {
+        return itemIds[line];
+    }
+
+    public long menuId(int line) {
+        return menuIds[line];
+    }
+
+    public int quantity(int line) {
+        return quantities[line];
+    }
+
+    public double unitPrice(int line) {
+        return unitPrices[line];
+    }
+
+    public double lineTotal(int line) {
+        return unitPrices[line] * quantities[line];
+    }
+}
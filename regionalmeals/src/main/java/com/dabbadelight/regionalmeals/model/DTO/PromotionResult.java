@@ -0,0 +1,30 @@
+package com.dabbadelight.regionalmeals.model.DTO;
+
+// Best promotion found for a cart; filled in by the engine, so one instance can be reused per thread
+public final class PromotionResult {
+
+    private long promotionId;   // 0 when nothing applies
+    private double discount;
+
+    public void clear() {
+        promotionId = 0;
+        discount = 0;
+    }
+
+    public void set(long promotionId, double discount) {
+        this.promotionId = promotionId;
+        this.discount = discount;
+    }
+
+    public boolean isApplied() {
+        return promotionId != 0;
+    }
+
+    public long getPromotionId() {
+        return promotionId;
+    }
+
+    public double getDiscount() {
+        return discount;
+    }
+}
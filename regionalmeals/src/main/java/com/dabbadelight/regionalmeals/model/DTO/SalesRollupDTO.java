@@ -0,0 +1,34 @@
+package com.dabbadelight.regionalmeals.model.DTO;
+
+import java.time.LocalDateTime;
+
+import com.dabbadelight.regionalmeals.model.enums.RollupDimension;
+import com.dabbadelight.regionalmeals.model.enums.RollupGranularity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesRollupDTO {
+
+    private RollupDimension dimension;
+    private Long dimensionId;
+    private String label;        // menu name, item name or payment mode
+    private RollupGranularity granularity;
+    private LocalDateTime bucketStart;
+
+    private long orderCount;
+    private long quantity;
+    private double grossAmount;          // before promotion discounts
+    private double discountAmount;
+    private long cancelledCount;
+    private long cancelledQuantity;
+    private double cancelledAmount;
+    private double cancelledDiscountAmount;
+    private double netAmount;            // what customers paid for sales that stood
+}
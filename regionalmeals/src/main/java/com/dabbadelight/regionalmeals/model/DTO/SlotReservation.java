@@ -0,0 +1,29 @@
+package com.dabbadelight.regionalmeals.model.DTO;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import lombok.Getter;
+import lombok.Setter;
+
+// Dabbas an order holds in its slot, per kitchen; released at most once
+@Getter
+public class SlotReservation {
+
+    private final LocalDateTime slotStart;
+    private final Map<Long, Integer> unitsByMenu;
+    @Setter
+    private volatile Long orderId;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    public SlotReservation(LocalDateTime slotStart, Map<Long, Integer> unitsByMenu) {
+        this.slotStart = slotStart;
+        this.unitsByMenu = unitsByMenu;
+    }
+
+    // True for the one caller that gets to give the units back
+    public boolean markReleased() {
+        return released.compareAndSet(false, true);
+    }
+}
@@ -0,0 +1,24 @@
+package com.dabbadelight.regionalmeals.model.DTO;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Live fill of one kitchen slot; capacity, remaining and utilization are null when the kitchen has no limit
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlotUtilizationDTO {
+
+    private Long menuId;
+    private LocalDateTime slotStart;
+    private LocalDateTime slotEnd;
+    private Integer capacity;
+    private int reserved;
+    private Integer remaining;
+    private Double utilization;
+}
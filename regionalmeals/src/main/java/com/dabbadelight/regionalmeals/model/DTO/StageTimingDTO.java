@@ -0,0 +1,25 @@
+package com.dabbadelight.regionalmeals.model.DTO;
+
+import com.dabbadelight.regionalmeals.model.enums.OrderStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Time orders of one kitchen spent in a stage before leaving it, over the recent window.
+// Percentiles are histogram bucket bounds, within about 10% of the exact value.
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StageTimingDTO {
+
+    private Long menuId;
+    private OrderStatus stage;
+    private long count;
+    private long p50Seconds;
+    private long p95Seconds;
+    private long p99Seconds;
+    private long maxSeconds;
+}
@@ -0,0 +1,20 @@
+package com.dabbadelight.regionalmeals.model.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReconciliationDTO {
+
+    private Long itemId;
+    private int ledgerStock;       // available quantity held in memory
+    private int pendingDelta;      // not yet flushed to the item table
+    private int uncommitted;       // taken by reservations whose transaction is still open
+    private Integer databaseStock; // null when the item no longer exists
+    private boolean consistent;
+}
@@ -15,6 +15,7 @@ import jakarta.persistence.OneToMany;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
@@ -47,6 +48,11 @@ public class Menu {
     @Column(name = "is_active", nullable = false)
     private boolean isActive = true;
 
+    // Dabbas the kitchen can cook per slot; null means no limit
+    @Min(value = 0, message = "Slot capacity must be non-negative")
+    @Column(name = "slot_capacity")
+    private Integer slotCapacity;
+
     @Column(name = "created_by", nullable = false)
     private String createdBy;
 
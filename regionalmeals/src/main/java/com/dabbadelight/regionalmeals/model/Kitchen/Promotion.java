@@ -0,0 +1,105 @@
+package com.dabbadelight.regionalmeals.model.Kitchen;
+
+import java.time.LocalDateTime;
+
+import com.dabbadelight.regionalmeals.model.enums.PromotionType;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// A discount rule. Without a code it applies by itself to every eligible order; with one, only
+// when the customer enters it. An order gets the single best promotion it qualifies for.
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "promotion", indexes = {
+    @Index(name = "uk_promotion_code", columnList = "code", unique = true),
+    @Index(name = "idx_promotion_active", columnList = "is_active, id")
+})
+public class Promotion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotBlank(message = "Promotion name is required.")
+    @Size(max = 100, message = "Promotion name can atmost have 100 characters.")
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    // Stored upper-case; matched ignoring case
+    @Size(max = 64, message = "Coupon code can atmost have 64 characters.")
+    @Column(length = 64)
+    private String code;
+
+    @NotNull(message = "Promotion type is required.")
+    @Column(nullable = false)
+    private PromotionType type;
+
+    @Column(name = "menu_id")
+    private Long menuId;      // MENU_PERCENT_OFF only
+
+    @Column(name = "item_id")
+    private Long itemId;      // FREE_ITEM only
+
+    // Amount off, or percent off for MENU_PERCENT_OFF; unused for FREE_ITEM
+    @PositiveOrZero(message = "Promotion value must be non-negative")
+    @Column(nullable = false)
+    private double value;
+
+    // Order amount (menu amount for MENU_PERCENT_OFF) needed to qualify
+    @PositiveOrZero(message = "Minimum order amount must be non-negative")
+    @Column(name = "min_order_amount", nullable = false)
+    private double minOrderAmount;
+
+    // Cap on the discount; 0 means no cap
+    @PositiveOrZero(message = "Maximum discount must be non-negative")
+    @Column(name = "max_discount", nullable = false)
+    private double maxDiscount;
+
+    @Column(name = "is_active", nullable = false)
+    private boolean isActive = true;
+
+    @Column(name = "starts_at")
+    private LocalDateTime startsAt;
+
+    @Column(name = "ends_at")
+    private LocalDateTime endsAt;
+
+    @Column(name = "created_by", nullable = false)
+    private String createdBy;
+
+    @Column(name = "updated_by")
+    private String updatedBy;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
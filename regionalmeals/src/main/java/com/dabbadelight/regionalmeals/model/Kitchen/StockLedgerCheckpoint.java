@@ -0,0 +1,31 @@
+package com.dabbadelight.regionalmeals.model.Kitchen;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Highest stock ledger flush committed to the item table, advanced in the same transaction as
+// the flushed deltas; journal segments at or below it are never replayed
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "stock_ledger_checkpoint")
+public class StockLedgerCheckpoint {
+
+    @Id
+    private Long id;
+
+    @Column(name = "last_flush_id", nullable = false)
+    private long lastFlushId;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
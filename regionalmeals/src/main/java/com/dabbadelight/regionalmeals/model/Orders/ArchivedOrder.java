@@ -0,0 +1,83 @@
+package com.dabbadelight.regionalmeals.model.Orders;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.dabbadelight.regionalmeals.model.User.User;
+import com.dabbadelight.regionalmeals.model.enums.OrderStatus;
+import com.dabbadelight.regionalmeals.model.enums.PaymentMode;
+import com.dabbadelight.regionalmeals.model.enums.PaymentStatus;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// A DELIVERED or CANCELLED order moved out of orders by the archiver. Same columns and id as the
+// hot row, written only by OrderArchiveRepository; the entity exists for reads.
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "orders_archive", indexes = {
+    @Index(name = "idx_orders_archive_user_created_at", columnList = "user_id, created_at, id"),
+    @Index(name = "idx_orders_archive_status_created_at", columnList = "order_status, created_at, id"),
+    @Index(name = "idx_orders_archive_created_at", columnList = "created_at, id")
+})
+public class ArchivedOrder {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private PaymentMode paymentMode;
+
+    @Column(nullable = false)
+    private PaymentStatus paymentStatus;
+
+    @Column(nullable = false)
+    private OrderStatus orderStatus;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    @OneToMany(mappedBy = "order")
+    private List<ArchivedOrderItem> orderItems;
+
+    @Column(nullable = false)
+    private double totalAmount;
+
+    @Column(name = "discount_amount", nullable = false)
+    private double discountAmount;
+
+    @Column(name = "promotion_id")
+    private Long promotionId;
+
+    @Column(name = "coupon_code", length = 64)
+    private String couponCode;
+
+    @Column(name = "first_order", nullable = false)
+    private boolean firstOrder;
+
+    @Column(name = "promised_slot")
+    private LocalDateTime promisedSlot;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -16,6 +16,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -32,7 +33,12 @@ import lombok.NoArgsConstructor;
 @Entity
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+    @Index(name = "idx_orders_status_updated_at", columnList = "order_status, updated_at, id"),
+    @Index(name = "idx_orders_user_created_at", columnList = "user_id, created_at, id"),
+    @Index(name = "idx_orders_status_created_at", columnList = "order_status, created_at, id"),
+    @Index(name = "idx_orders_created_at", columnList = "created_at, id")
+})
 public class Order {
 
     @Id
@@ -60,9 +66,29 @@ public class Order {
     @JsonManagedReference(value = "order-items")
     private List<OrderItem> orderItems;
 
+    // What the customer pays: the lines less discountAmount
     @Column(nullable = false)
     private double totalAmount;
 
+    // Discount from the best promotion for the current lines, re-priced whenever they change
+    @Column(name = "discount_amount", nullable = false)
+    private double discountAmount;
+
+    @Column(name = "promotion_id")
+    private Long promotionId;
+
+    // What the promotion is priced from: the coupon the order was placed with, and whether it was
+    // placed as the user's first order
+    @Column(name = "coupon_code", length = 64)
+    private String couponCode;
+
+    @Column(name = "first_order", nullable = false)
+    private boolean firstOrder;
+
+    // Time the kitchen promised the meal for; kitchens cook in this order. Null means as soon as possible
+    @Column(name = "promised_slot")
+    private LocalDateTime promisedSlot;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -72,6 +98,7 @@ public class Order {
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
     }
 
     @PreUpdate
@@ -81,9 +108,9 @@ public class Order {
 
     public void calculateTotalAmount() {
         if (orderItems != null && !orderItems.isEmpty()) {
-            this.totalAmount = orderItems.stream()
+            this.totalAmount = Math.max(0, orderItems.stream()
                                          .mapToDouble(OrderItem::getTotal)
-                                         .sum();
+                                         .sum() - discountAmount);
         } else {
             this.totalAmount = 0;
         }
@@ -1,5 +1,7 @@
 package com.dabbadelight.regionalmeals.model.Orders;
 
+import java.time.LocalDateTime;
+
 import com.dabbadelight.regionalmeals.model.Kitchen.Item;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 
@@ -43,6 +45,9 @@ public class OrderItem {
     @Column(nullable = false)
     private double priceAtPurchase;
 
+    // Set when the line's kitchen claims its ticket on the kitchen board
+    private LocalDateTime claimedAt;
+
     public double getTotal() {
         return quantity * priceAtPurchase;
     }
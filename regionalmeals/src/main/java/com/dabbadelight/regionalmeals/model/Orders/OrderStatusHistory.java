@@ -0,0 +1,50 @@
+package com.dabbadelight.regionalmeals.model.Orders;
+
+import java.time.LocalDateTime;
+
+import com.dabbadelight.regionalmeals.model.enums.OrderStatus;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One status change of an order; rows are only ever inserted, by OrderStatusHistoryAppendRepository
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "order_status_history", indexes = {
+    @Index(name = "idx_order_status_history_order_changed_at", columnList = "order_id, changed_at, id"),
+    @Index(name = "idx_order_status_history_transition_changed_at", columnList = "to_status, from_status, changed_at"),
+    @Index(name = "uk_order_status_history_dedupe_key", columnList = "dedupe_key", unique = true)
+})
+public class OrderStatusHistory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(name = "from_status")
+    private OrderStatus fromStatus;   // null when the order was created
+
+    @Column(name = "to_status", nullable = false)
+    private OrderStatus toStatus;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    // Outbox dedupe key of the event the row came from, so a redelivered event adds nothing
+    @Column(name = "dedupe_key", nullable = false, length = 64)
+    private String dedupeKey;
+}
@@ -0,0 +1,57 @@
+package com.dabbadelight.regionalmeals.model.Orders;
+
+import java.time.LocalDateTime;
+
+import com.dabbadelight.regionalmeals.model.enums.OrderEventType;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Order change written in the same transaction as the change itself; the relay publishes it later
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "outbox_event", indexes = {
+    @Index(name = "idx_outbox_event_published_at", columnList = "published_at, id"),
+    @Index(name = "uk_outbox_event_dedupe_key", columnList = "dedupe_key", unique = true)
+})
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(name = "event_type", nullable = false)
+    private OrderEventType eventType;
+
+    @Column(name = "dedupe_key", nullable = false, length = 64)
+    private String dedupeKey;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+}
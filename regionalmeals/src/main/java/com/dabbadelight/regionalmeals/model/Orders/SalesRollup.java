@@ -0,0 +1,71 @@
+package com.dabbadelight.regionalmeals.model.Orders;
+
+import java.time.LocalDateTime;
+
+import com.dabbadelight.regionalmeals.model.enums.RollupDimension;
+import com.dabbadelight.regionalmeals.model.enums.RollupGranularity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Sales of one menu, item or payment mode in one hour or day. dimension_id is the menu id, the
+// item id or the PaymentMode ordinal. Rows only ever grow by deltas, see SalesRollupWriteRepository.
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "sales_rollup", indexes = {
+    @Index(name = "uk_sales_rollup_bucket", columnList = "dimension, granularity, bucket_start, dimension_id", unique = true)
+})
+public class SalesRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private RollupDimension dimension;
+
+    @Column(name = "dimension_id", nullable = false)
+    private Long dimensionId;
+
+    @Column(nullable = false)
+    private RollupGranularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    @Column(nullable = false)
+    private long quantity;
+
+    // Line amounts before any promotion discount
+    @Column(name = "gross_amount", nullable = false)
+    private double grossAmount;
+
+    @Column(name = "discount_amount", nullable = false)
+    private double discountAmount;
+
+    @Column(name = "cancelled_count", nullable = false)
+    private long cancelledCount;
+
+    @Column(name = "cancelled_quantity", nullable = false)
+    private long cancelledQuantity;
+
+    @Column(name = "cancelled_amount", nullable = false)
+    private double cancelledAmount;
+
+    @Column(name = "cancelled_discount_amount", nullable = false)
+    private double cancelledDiscountAmount;
+}
@@ -0,0 +1,31 @@
+package com.dabbadelight.regionalmeals.model.Orders;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Outbox event already counted into sales_rollup, so a redelivered event is not counted twice
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "sales_rollup_applied_event", indexes = {
+    @Index(name = "idx_sales_rollup_applied_event_applied_at", columnList = "applied_at")
+})
+public class SalesRollupAppliedEvent {
+
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Column(name = "applied_at", nullable = false)
+    private LocalDateTime appliedAt;
+}
@@ -0,0 +1,56 @@
+package com.dabbadelight.regionalmeals.model.Payment;
+
+import java.time.LocalDateTime;
+
+import com.dabbadelight.regionalmeals.model.enums.PaymentStatus;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One callback from the payment gateway, inserted once per gateway event id by
+// PaymentCallbackAppendRepository; appliedAt is set once it has been applied to the order, and
+// rejectedReason when it was applied without settling the order
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "payment_callback", indexes = {
+    @Index(name = "uk_payment_callback_event_id", columnList = "event_id", unique = true),
+    @Index(name = "idx_payment_callback_applied_at", columnList = "applied_at, id")
+})
+public class PaymentCallback {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false, length = 128)
+    private String eventId;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(name = "payment_status", nullable = false)
+    private PaymentStatus paymentStatus;
+
+    @Column(nullable = false)
+    private double amount;
+
+    @Column(name = "received_at", nullable = false)
+    private LocalDateTime receivedAt;
+
+    @Column(name = "applied_at")
+    private LocalDateTime appliedAt;
+
+    @Column(name = "rejected_reason")
+    private String rejectedReason;
+}
@@ -0,0 +1,8 @@
+package com.dabbadelight.regionalmeals.model.enums;
+
+public enum KitchenTicketStatus {
+
+    WAITING,
+    IN_PROGRESS
+
+}
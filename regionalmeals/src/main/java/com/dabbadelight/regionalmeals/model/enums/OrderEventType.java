@@ -0,0 +1,10 @@
+package com.dabbadelight.regionalmeals.model.enums;
+
+public enum OrderEventType {
+
+    CREATED,
+    STATUS_CHANGED,
+    UPDATED,
+    DELETED
+
+}
@@ -0,0 +1,9 @@
+package com.dabbadelight.regionalmeals.model.enums;
+
+public enum OrderIntakeStatus {
+
+    QUEUED,
+    PLACED,
+    FAILED
+
+}
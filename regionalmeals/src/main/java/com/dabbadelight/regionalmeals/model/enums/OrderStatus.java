@@ -7,6 +7,17 @@ public enum OrderStatus {
     CONFIRMED,
     PREPARING,
     OUT_FOR_DELIVERY,
-    DELIVERED
+    DELIVERED;
+
+    // Forward moves of the order lifecycle; anything not yet out for delivery can still be cancelled
+    public boolean canTransitionTo(OrderStatus next) {
+        return switch (this) {
+            case PENDING -> next == CONFIRMED || next == CANCELLED;
+            case CONFIRMED -> next == PREPARING || next == CANCELLED;
+            case PREPARING -> next == OUT_FOR_DELIVERY || next == CANCELLED;
+            case OUT_FOR_DELIVERY -> next == DELIVERED;
+            case CANCELLED, DELIVERED -> false;
+        };
+    }
 
 }
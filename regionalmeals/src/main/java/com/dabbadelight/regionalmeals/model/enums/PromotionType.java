@@ -0,0 +1,8 @@
+package com.dabbadelight.regionalmeals.model.enums;
+
+public enum PromotionType {
+    FLAT_OFF,            // value off the order
+    MENU_PERCENT_OFF,    // value percent off the lines of one menu
+    FREE_ITEM,           // one unit of an item free once the order reaches the minimum amount
+    FIRST_ORDER          // value off a user's first order
+}
@@ -0,0 +1,9 @@
+package com.dabbadelight.regionalmeals.model.enums;
+
+public enum RollupDimension {
+
+    MENU,
+    ITEM,
+    PAYMENT_MODE
+
+}
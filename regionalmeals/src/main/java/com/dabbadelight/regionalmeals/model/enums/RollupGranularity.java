@@ -0,0 +1,8 @@
+package com.dabbadelight.regionalmeals.model.enums;
+
+public enum RollupGranularity {
+
+    HOUR,
+    DAY
+
+}
@@ -1,8 +1,12 @@
 package com.dabbadelight.regionalmeals.repository;
 
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.dabbadelight.regionalmeals.model.User.Address;
@@ -10,5 +14,11 @@ import com.dabbadelight.regionalmeals.model.User.Address;
 @Repository
 public interface AddressRepository extends JpaRepository<Address, Long>{
     
-    List<Address> findByUserId(Long userId);
+    // Filters on the user_id column directly; the derived query joins user first
+    @Query("SELECT a FROM Address a WHERE a.user.id = :userId")
+    List<Address> findByUserId(@Param("userId") Long userId);
+
+    // Addresses for many users in one query, for rendering order lists
+    @EntityGraph(attributePaths = "user")
+    List<Address> findByUserIdInOrderByIdAsc(Collection<Long> userIds);
 }
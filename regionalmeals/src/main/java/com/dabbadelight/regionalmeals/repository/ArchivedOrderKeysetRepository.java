@@ -0,0 +1,14 @@
+package com.dabbadelight.regionalmeals.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.dabbadelight.regionalmeals.model.DTO.OrderCursor;
+import com.dabbadelight.regionalmeals.model.Orders.ArchivedOrder;
+
+public interface ArchivedOrderKeysetRepository {
+
+    // Same as OrderKeysetRepository.findKeysByKeyset, over orders_archive
+    List<OrderCursor> findKeysByKeyset(Specification<ArchivedOrder> spec, int limit);
+}
@@ -0,0 +1,39 @@
+package com.dabbadelight.regionalmeals.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.dabbadelight.regionalmeals.model.DTO.OrderCursor;
+import com.dabbadelight.regionalmeals.model.Orders.ArchivedOrder;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+public class ArchivedOrderKeysetRepositoryImpl implements ArchivedOrderKeysetRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<OrderCursor> findKeysByKeyset(Specification<ArchivedOrder> spec, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<OrderCursor> query = cb.createQuery(OrderCursor.class);
+        Root<ArchivedOrder> root = query.from(ArchivedOrder.class);
+
+        query.select(cb.construct(OrderCursor.class, root.get("createdAt"), root.get("id")));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(cb.desc(root.get("createdAt")), cb.desc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -0,0 +1,28 @@
+package com.dabbadelight.regionalmeals.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.dabbadelight.regionalmeals.model.Orders.ArchivedOrder;
+import com.dabbadelight.regionalmeals.model.enums.OrderStatus;
+
+@Repository
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, Long>, ArchivedOrderKeysetRepository,
+        OrderArchiveRepository {
+
+    @EntityGraph(attributePaths = {"user", "orderItems", "orderItems.item", "orderItems.item.menu"})
+    List<ArchivedOrder> findWithItemsByIdIn(Collection<Long> ids);
+
+    @EntityGraph(attributePaths = {"user", "orderItems", "orderItems.item", "orderItems.item.menu"})
+    List<ArchivedOrder> findWithItemsByUserIdOrderByCreatedAtDesc(Long userId);
+
+    @Query("SELECT DISTINCT o.user.id FROM ArchivedOrder o WHERE o.user.id IN :userIds AND o.orderStatus NOT IN :excludedStatuses")
+    List<Long> findUserIdsWithOrders(@Param("userIds") Collection<Long> userIds,
+                                     @Param("excludedStatuses") Collection<OrderStatus> excludedStatuses);
+}
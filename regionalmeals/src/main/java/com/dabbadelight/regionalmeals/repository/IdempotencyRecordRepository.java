@@ -0,0 +1,41 @@
+package com.dabbadelight.regionalmeals.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.dabbadelight.regionalmeals.model.IdempotencyRecord;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+
+    Optional<IdempotencyRecord> findByKeyHash(String keyHash);
+
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.completed = true, r.responseStatus = :status, "
+            + "r.responseBody = :body, r.responseHeaders = :headers, r.expiresAt = :expiresAt WHERE r.id = :id")
+    int markCompleted(@Param("id") Long id, @Param("status") int status, @Param("body") String body,
+                      @Param("headers") String headers, @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.id = :id")
+    int deleteRecord(@Param("id") Long id);
+
+    // Heartbeat for claims whose action is still running on this instance
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.expiresAt = :expiresAt WHERE r.id IN :ids AND r.completed = false")
+    int extendClaims(@Param("ids") Collection<Long> ids, @Param("expiresAt") LocalDateTime expiresAt);
+
+    // Only while still expired, so a claim renewed in the meantime is left to its holder
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.id = :id AND r.expiresAt < :now")
+    int deleteIfExpired(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
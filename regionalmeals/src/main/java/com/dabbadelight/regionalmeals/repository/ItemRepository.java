@@ -1,22 +1,32 @@
 package com.dabbadelight.regionalmeals.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.dabbadelight.regionalmeals.model.DTO.CatalogItem;
 import com.dabbadelight.regionalmeals.model.Kitchen.Item;
 
 @Repository
-public interface ItemRepository extends JpaRepository<Item, Long> {
+public interface ItemRepository extends JpaRepository<Item, Long>, ItemStockRepository {
     
-    // Basic menu-related queries
-    List<Item> findByMenuId(Long menuId);
-    List<Item> findByMenuIdAndIsAvailableTrue(Long menuId);
-    List<Item> findByMenuIdAndIsVegTrue(Long menuId);
-    List<Item> findByMenuIdAndIsVegFalse(Long menuId);
+    // Basic menu-related queries. Written out because the derived versions left join menu and
+    // filter on menu.id, which keeps the planner off the item (menu_id, ...) indexes.
+    @Query("SELECT i FROM Item i WHERE i.menu.id = :menuId")
+    List<Item> findByMenuId(@Param("menuId") Long menuId);
+    @Query("SELECT i FROM Item i WHERE i.menu.id = :menuId AND i.isAvailable = true")
+    List<Item> findByMenuIdAndIsAvailableTrue(@Param("menuId") Long menuId);
+    @Query("SELECT i FROM Item i WHERE i.menu.id = :menuId AND i.isVeg = true")
+    List<Item> findByMenuIdAndIsVegTrue(@Param("menuId") Long menuId);
+    @Query("SELECT i FROM Item i WHERE i.menu.id = :menuId AND i.isVeg = false")
+    List<Item> findByMenuIdAndIsVegFalse(@Param("menuId") Long menuId);
     
     // Availability queries
     List<Item> findByIsAvailableTrueOrderByCreatedAtDesc();
@@ -61,6 +71,37 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
     @Query("SELECT AVG(i.price) FROM Item i WHERE i.menu.id = :menuId AND i.isAvailable = true")
     Double getAveragePriceByMenuId(@Param("menuId") Long menuId);
     
+    // Stock levels only, without loading menus
+    @Query("SELECT i.stock FROM Item i WHERE i.id = :id")
+    Optional<Integer> findStockById(@Param("id") Long id);
+    
+    @Query("SELECT i.id, i.stock FROM Item i")
+    List<Object[]> findAllStockLevels();
+    
+    // Updates that leave stock alone, for when the stock ledger owns that column: saving a loaded
+    // entity would write back its stale stock over deltas the ledger has flushed since. Clearing
+    // detaches what was loaded, so nothing flushes that stale copy later in the request either.
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE Item i SET i.name = :name, i.details = :details, i.price = :price, i.isVeg = :veg, "
+            + "i.isAvailable = :available, i.updatedBy = :updatedBy, i.updatedAt = :updatedAt WHERE i.id = :id")
+    int updateDetails(@Param("id") Long id, @Param("name") String name, @Param("details") String details,
+                      @Param("price") double price, @Param("veg") boolean veg, @Param("available") boolean available,
+                      @Param("updatedBy") String updatedBy, @Param("updatedAt") LocalDateTime updatedAt);
+    
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE Item i SET i.isAvailable = :available, i.updatedBy = :updatedBy, i.updatedAt = :updatedAt WHERE i.id = :id")
+    int updateAvailability(@Param("id") Long id, @Param("available") boolean available,
+                           @Param("updatedBy") String updatedBy, @Param("updatedAt") LocalDateTime updatedAt);
+    
+    // Just what a cart needs to show and check a line, without loading menus
+    @Query("SELECT new com.dabbadelight.regionalmeals.model.DTO.CatalogItem(i.id, i.name, i.price, i.stock, i.isAvailable, i.isVeg, i.menu.id) FROM Item i")
+    List<CatalogItem> findCatalog();
+
+    @Query("SELECT new com.dabbadelight.regionalmeals.model.DTO.CatalogItem(i.id, i.name, i.price, i.stock, i.isAvailable, i.isVeg, i.menu.id) FROM Item i WHERE i.id = :id")
+    Optional<CatalogItem> findCatalogItemById(@Param("id") Long id);
+    
     @Query("SELECT i FROM Item i WHERE i.name LIKE %:keyword% OR i.details LIKE %:keyword% AND i.isAvailable = true ORDER BY i.createdAt DESC")
     List<Item> searchAvailableItems(@Param("keyword") String keyword);
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.dabbadelight.regionalmeals.repository;
+
+import java.util.List;
+import java.util.Map;
+
+public interface ItemStockRepository {
+
+    // Conditionally decrement stock for every item in one JDBC batch.
+    // Returns the ids whose stock was too low (those rows are left untouched).
+    List<Long> decrementStock(Map<Long, Integer> quantities, String updatedBy);
+
+    // Apply relative stock changes (stock = stock + delta) for every item in one JDBC batch.
+    void applyStockDeltas(Map<Long, Integer> deltas, String updatedBy);
+}
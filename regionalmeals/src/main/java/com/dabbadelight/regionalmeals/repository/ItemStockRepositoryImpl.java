@@ -0,0 +1,82 @@
+package com.dabbadelight.regionalmeals.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+public class ItemStockRepositoryImpl implements ItemStockRepository {
+
+    private static final String DECREMENT_STOCK_SQL =
+            "UPDATE item SET stock = stock - ?, updated_by = ?, updated_at = ? WHERE id = ? AND stock >= ?";
+
+    private static final String APPLY_STOCK_DELTA_SQL =
+            "UPDATE item SET stock = stock + ?, updated_by = ?, updated_at = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ItemStockRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<Long> decrementStock(Map<Long, Integer> quantities, String updatedBy) {
+        // Sorted by id so concurrent batches always lock item rows in the same order
+        List<Map.Entry<Long, Integer>> rows = new ArrayList<>(new TreeMap<>(quantities).entrySet());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        int[] updateCounts = jdbcTemplate.batchUpdate(DECREMENT_STOCK_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Map.Entry<Long, Integer> row = rows.get(i);
+                ps.setInt(1, row.getValue());
+                ps.setString(2, updatedBy);
+                ps.setTimestamp(3, now);
+                ps.setLong(4, row.getKey());
+                ps.setInt(5, row.getValue());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+
+        List<Long> shortItemIds = new ArrayList<>();
+        for (int i = 0; i < updateCounts.length; i++) {
+            if (updateCounts[i] == 0) {
+                shortItemIds.add(rows.get(i).getKey());
+            }
+        }
+        return shortItemIds;
+    }
+
+    @Override
+    public void applyStockDeltas(Map<Long, Integer> deltas, String updatedBy) {
+        List<Map.Entry<Long, Integer>> rows = new ArrayList<>(new TreeMap<>(deltas).entrySet());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.batchUpdate(APPLY_STOCK_DELTA_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Map.Entry<Long, Integer> row = rows.get(i);
+                ps.setInt(1, row.getValue());
+                ps.setString(2, updatedBy);
+                ps.setTimestamp(3, now);
+                ps.setLong(4, row.getKey());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+    }
+}
@@ -3,6 +3,8 @@ package com.dabbadelight.regionalmeals.repository;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.dabbadelight.regionalmeals.model.Kitchen.KitchenAddress;
@@ -10,6 +12,8 @@ import com.dabbadelight.regionalmeals.model.Kitchen.KitchenAddress;
 @Repository
 public interface KitchenAddressRepository extends JpaRepository<KitchenAddress, Long> {
 
-    List<KitchenAddress> findByMenuId(Long menuId);
+    // Filters on the menu_id column directly; the derived query joins menu first
+    @Query("SELECT ka FROM KitchenAddress ka WHERE ka.menu.id = :menuId")
+    List<KitchenAddress> findByMenuId(@Param("menuId") Long menuId);
 
 }
@@ -37,4 +37,8 @@ public interface MenuRepository extends JpaRepository<Menu, Long> {
     // Count active menus by creator
     @Query("SELECT COUNT(m) FROM Menu m WHERE m.createdBy = :createdBy AND m.isActive = true")
     long countActiveMenusByCreatedBy(@Param("createdBy") String createdBy);
+
+    // (menu id, slot capacity) for kitchens with a limit
+    @Query("SELECT m.id, m.slotCapacity FROM Menu m WHERE m.slotCapacity IS NOT NULL")
+    List<Object[]> findSlotCapacities();
 }
\ No newline at end of file
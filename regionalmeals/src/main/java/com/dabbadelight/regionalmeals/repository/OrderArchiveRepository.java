@@ -0,0 +1,11 @@
+package com.dabbadelight.regionalmeals.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public interface OrderArchiveRepository {
+
+    // Copies the orders and their lines into the archive tables and deletes them from the hot
+    // tables, in the caller's transaction. The orders must already be locked. Returns lines moved.
+    int moveToArchive(Collection<Long> orderIds, LocalDateTime archivedAt);
+}
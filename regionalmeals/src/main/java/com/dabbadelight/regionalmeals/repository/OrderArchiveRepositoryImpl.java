@@ -0,0 +1,41 @@
+package com.dabbadelight.regionalmeals.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+public class OrderArchiveRepositoryImpl implements OrderArchiveRepository {
+
+    private static final String COPY_ORDERS_SQL =
+            "INSERT INTO orders_archive (id, payment_mode, payment_status, order_status, user_id, total_amount, "
+            + "discount_amount, promotion_id, coupon_code, first_order, promised_slot, created_at, updated_at, archived_at) "
+            + "SELECT id, payment_mode, payment_status, order_status, user_id, total_amount, "
+            + "discount_amount, promotion_id, coupon_code, first_order, promised_slot, created_at, updated_at, :archivedAt "
+            + "FROM orders WHERE id IN (:ids)";
+
+    private static final String COPY_LINES_SQL =
+            "INSERT INTO order_item_archive (id, order_id, item_id, quantity, price_at_purchase) "
+            + "SELECT id, order_id, item_id, quantity, price_at_purchase FROM order_item WHERE order_id IN (:ids)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public OrderArchiveRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    @Override
+    public int moveToArchive(Collection<Long> orderIds, LocalDateTime archivedAt) {
+        Map<String, Object> params = Map.of("ids", orderIds, "archivedAt", Timestamp.valueOf(archivedAt));
+
+        // Parents first on the way in, children first on the way out, so foreign keys hold throughout
+        jdbcTemplate.update(COPY_ORDERS_SQL, params);
+        int lines = jdbcTemplate.update(COPY_LINES_SQL, params);
+        jdbcTemplate.update("DELETE FROM order_item WHERE order_id IN (:ids)", params);
+        jdbcTemplate.update("DELETE FROM orders WHERE id IN (:ids)", params);
+        return lines;
+    }
+}
@@ -0,0 +1,14 @@
+package com.dabbadelight.regionalmeals.repository;
+
+import java.util.stream.Stream;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.dabbadelight.regionalmeals.model.DTO.OrderExportRow;
+import com.dabbadelight.regionalmeals.model.Orders.Order;
+
+public interface OrderExportRepository {
+
+    // Forward-only stream of order lines ordered by order id; must be consumed inside a transaction and closed
+    Stream<OrderExportRow> streamExportRows(Specification<Order> spec, Long menuId, int fetchSize);
+}
@@ -0,0 +1,67 @@
+package com.dabbadelight.regionalmeals.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.dabbadelight.regionalmeals.model.DTO.OrderExportRow;
+import com.dabbadelight.regionalmeals.model.Kitchen.Item;
+import com.dabbadelight.regionalmeals.model.Orders.Order;
+import com.dabbadelight.regionalmeals.model.Orders.OrderItem;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+public class OrderExportRepositoryImpl implements OrderExportRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<OrderExportRow> streamExportRows(Specification<Order> spec, Long menuId, int fetchSize) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<OrderExportRow> query = cb.createQuery(OrderExportRow.class);
+        Root<Order> order = query.from(Order.class);
+        Join<Order, OrderItem> line = order.join("orderItems");
+        Join<OrderItem, Item> item = line.join("item");
+
+        // Scalar projection: rows never become managed entities, so the session does not grow
+        query.select(cb.construct(OrderExportRow.class,
+                order.get("id"),
+                order.get("createdAt"),
+                order.get("orderStatus"),
+                order.get("paymentMode"),
+                order.get("paymentStatus"),
+                order.get("totalAmount"),
+                order.get("user").get("id"),
+                item.get("id"),
+                item.get("name"),
+                item.get("menu").get("id"),
+                line.get("quantity"),
+                line.get("priceAtPurchase")));
+
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate orderPredicate = spec.toPredicate(order, query, cb);
+        if (orderPredicate != null) {
+            predicates.add(orderPredicate);
+        }
+        if (menuId != null) {
+            predicates.add(cb.equal(item.get("menu").get("id"), menuId));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+        query.orderBy(cb.asc(order.get("id")), cb.asc(line.get("id")));
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+}
@@ -1,11 +1,53 @@
 package com.dabbadelight.regionalmeals.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.dabbadelight.regionalmeals.model.Orders.OrderItem;
+import com.dabbadelight.regionalmeals.model.enums.OrderStatus;
 
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long>{
 
+    // Total quantity per item id across the given orders
+    @Query("SELECT oi.item.id, SUM(oi.quantity) FROM OrderItem oi WHERE oi.order.id IN :orderIds GROUP BY oi.item.id")
+    List<Object[]> sumQuantityByItemForOrders(@Param("orderIds") Collection<Long> orderIds);
+
+    // (order id, menu id, slot time, units) for orders in the given statuses whose slot is from 'from' on;
+    // orders with a promised slot and ASAP orders (slot = creation time) are read separately so both use an index
+    @Query("SELECT o.id, i.menu.id, o.promisedSlot, SUM(oi.quantity) FROM OrderItem oi JOIN oi.order o JOIN oi.item i " +
+           "WHERE o.promisedSlot >= :from AND o.orderStatus IN :statuses GROUP BY o.id, i.menu.id, o.promisedSlot")
+    List<Object[]> sumUnitsByMenuForOrdersPromisedFrom(@Param("from") LocalDateTime from,
+                                                       @Param("statuses") Collection<OrderStatus> statuses);
+
+    @Query("SELECT o.id, i.menu.id, o.createdAt, SUM(oi.quantity) FROM OrderItem oi JOIN oi.order o JOIN oi.item i " +
+           "WHERE o.promisedSlot IS NULL AND o.createdAt >= :from AND o.orderStatus IN :statuses GROUP BY o.id, i.menu.id, o.createdAt")
+    List<Object[]> sumUnitsByMenuForAsapOrdersFrom(@Param("from") LocalDateTime from,
+                                                   @Param("statuses") Collection<OrderStatus> statuses);
+
+    // Same for ASAP orders confirmed from a pending cart, with the time of that change as the slot time
+    @Query("SELECT o.id, i.menu.id, h.changedAt, SUM(oi.quantity) FROM OrderStatusHistory h, OrderItem oi JOIN oi.order o JOIN oi.item i " +
+           "WHERE h.toStatus = com.dabbadelight.regionalmeals.model.enums.OrderStatus.CONFIRMED " +
+           "AND h.fromStatus = com.dabbadelight.regionalmeals.model.enums.OrderStatus.PENDING " +
+           "AND h.changedAt >= :from AND o.id = h.orderId AND o.promisedSlot IS NULL AND o.orderStatus IN :statuses " +
+           "GROUP BY o.id, i.menu.id, h.changedAt")
+    List<Object[]> sumUnitsByMenuForAsapOrdersConfirmedFrom(@Param("from") LocalDateTime from,
+                                                            @Param("statuses") Collection<OrderStatus> statuses);
+
+    // (order id, status, menu id) for every kitchen each order in the given statuses draws from
+    @Query("SELECT DISTINCT o.id, o.orderStatus, i.menu.id FROM OrderItem oi JOIN oi.order o JOIN oi.item i " +
+           "WHERE o.orderStatus IN :statuses AND i.menu IS NOT NULL")
+    List<Object[]> findMenusForOrdersInStatuses(@Param("statuses") Collection<OrderStatus> statuses);
+
+    // Ids, ascending, of orders in the given statuses with at least one line from the menu
+    @Query("SELECT DISTINCT oi.order.id FROM OrderItem oi WHERE oi.item.menu.id = :menuId " +
+           "AND oi.order.orderStatus IN :statuses ORDER BY oi.order.id")
+    List<Long> findOrderIdsByMenuAndStatuses(@Param("menuId") Long menuId,
+                                             @Param("statuses") Collection<OrderStatus> statuses);
 }
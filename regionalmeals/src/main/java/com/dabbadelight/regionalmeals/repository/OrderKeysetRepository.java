@@ -0,0 +1,14 @@
+package com.dabbadelight.regionalmeals.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.dabbadelight.regionalmeals.model.DTO.OrderCursor;
+import com.dabbadelight.regionalmeals.model.Orders.Order;
+
+public interface OrderKeysetRepository {
+
+    // (createdAt, id) of the first orders matching the spec in (createdAt DESC, id DESC) order
+    List<OrderCursor> findKeysByKeyset(Specification<Order> spec, int limit);
+}
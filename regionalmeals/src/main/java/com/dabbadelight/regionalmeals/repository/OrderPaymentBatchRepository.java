@@ -0,0 +1,11 @@
+package com.dabbadelight.regionalmeals.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface OrderPaymentBatchRepository {
+
+    // Marks the online orders among ids whose payment is still PENDING as COMPLETED, in one JDBC
+    // batch; returns the ids that were settled by this call
+    List<Long> settlePayments(Collection<Long> orderIds);
+}
@@ -0,0 +1,62 @@
+package com.dabbadelight.regionalmeals.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.dabbadelight.regionalmeals.model.enums.PaymentMode;
+import com.dabbadelight.regionalmeals.model.enums.PaymentStatus;
+
+public class OrderPaymentBatchRepositoryImpl implements OrderPaymentBatchRepository {
+
+    private static final String SETTLE_SQL =
+            "UPDATE orders SET payment_status = ?, updated_at = ? WHERE id = ? AND payment_status = ? AND payment_mode = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderPaymentBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<Long> settlePayments(Collection<Long> orderIds) {
+        // Sorted by id so this never deadlocks against the bulk status updates, which lock the same way
+        List<Long> ids = new ArrayList<>(new TreeSet<>(orderIds));
+        if (ids.isEmpty()) {
+            return ids;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        int[] updateCounts = jdbcTemplate.batchUpdate(SETTLE_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setInt(1, PaymentStatus.COMPLETED.ordinal());
+                ps.setTimestamp(2, now);
+                ps.setLong(3, ids.get(i));
+                ps.setInt(4, PaymentStatus.PENDING.ordinal());
+                ps.setInt(5, PaymentMode.ONLINE.ordinal());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return ids.size();
+            }
+        });
+
+        List<Long> settled = new ArrayList<>();
+        for (int i = 0; i < updateCounts.length; i++) {
+            if (updateCounts[i] != 0) {
+                settled.add(ids.get(i));
+            }
+        }
+        return settled;
+    }
+}
@@ -1,22 +1,105 @@
 package com.dabbadelight.regionalmeals.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.dabbadelight.regionalmeals.model.Orders.Order;
 import com.dabbadelight.regionalmeals.model.User.User;
 import com.dabbadelight.regionalmeals.model.enums.OrderStatus;
+import com.dabbadelight.regionalmeals.model.enums.PaymentMode;
+import com.dabbadelight.regionalmeals.model.enums.PaymentStatus;
+
+import jakarta.persistence.LockModeType;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long>{
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderKeysetRepository,
+        OrderExportRepository, OrderStatusBatchRepository, OrderPaymentBatchRepository {
 
     List<Order> findByUserAndOrderStatus(User user, OrderStatus orderStatus);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Order o WHERE o.id = :id")
+    Optional<Order> findByIdForUpdate(@Param("id") Long id);
+
+    // Row locks in id order, so overlapping bulk updates can't deadlock
+    @Query(value = "SELECT id FROM orders WHERE id IN (:ids) ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<Long> lockIdsIn(@Param("ids") Collection<Long> ids);
+
+    // (id, total amount) of the orders, row-locked in id order, so the total can't change before they're settled
+    @Query(value = "SELECT id, total_amount FROM orders WHERE id IN (:ids) ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<Object[]> lockTotalsIn(@Param("ids") Collection<Long> ids);
+
+    // List queries fetch user, lines, items and their menus together so rendering issues no further selects
+    @EntityGraph(attributePaths = {"user", "orderItems", "orderItems.item", "orderItems.item.menu"})
     List<Order> findByOrderStatusOrderByCreatedAtDesc(OrderStatus orderStatus);
+
+    @EntityGraph(attributePaths = {"user", "orderItems", "orderItems.item", "orderItems.item.menu"})
     List<Order> findByUserOrderByCreatedAtDesc(User user);
 
+    @EntityGraph(attributePaths = {"user", "orderItems", "orderItems.item", "orderItems.item.menu"})
+    @Query("SELECT o FROM Order o")
+    List<Order> findAllWithItems();
+
+    @EntityGraph(attributePaths = {"user", "orderItems", "orderItems.item", "orderItems.item.menu"})
+    List<Order> findWithItemsByOrderStatusIn(Collection<OrderStatus> statuses);
+
+    @EntityGraph(attributePaths = {"user", "orderItems", "orderItems.item", "orderItems.item.menu"})
+    List<Order> findWithItemsByIdIn(Collection<Long> ids);
+
     List<Order> findByOrderStatus(OrderStatus orderStatus);
 
+    // Users among userIds past their first order: they have an order outside the excluded statuses,
+    // or an uncancelled one that was placed as their first order and is still pending
+    @Query("SELECT DISTINCT o.user.id FROM Order o WHERE o.user.id IN :userIds "
+            + "AND (o.orderStatus NOT IN :excludedStatuses OR (o.firstOrder = true AND o.orderStatus <> :cancelled))")
+    List<Long> findUserIdsPastFirstOrder(@Param("userIds") Collection<Long> userIds,
+                                         @Param("excludedStatuses") Collection<OrderStatus> excludedStatuses,
+                                         @Param("cancelled") OrderStatus cancelled);
+
+    // Keyset page, by id, of orders in a payment mode and status placed before the cutoff
+    @Query("SELECT o.id FROM Order o WHERE o.paymentStatus = :paymentStatus AND o.paymentMode = :paymentMode "
+            + "AND o.orderStatus <> :excludedStatus AND o.createdAt < :cutoff AND o.id > :afterId ORDER BY o.id")
+    List<Long> findIdsByPayment(@Param("paymentStatus") PaymentStatus paymentStatus,
+                                @Param("paymentMode") PaymentMode paymentMode,
+                                @Param("excludedStatus") OrderStatus excludedStatus,
+                                @Param("cutoff") LocalDateTime cutoff,
+                                @Param("afterId") Long afterId, Limit limit);
+
+    // Keyset page of (id, updated_at) for orders in a status untouched since the cutoff.
+    // Rows are locked for the caller's transaction; rows locked by others are skipped.
+    @Query(value = "SELECT o.id, o.updated_at FROM orders o WHERE o.order_status = :status AND o.updated_at < :cutoff "
+            + "AND (o.updated_at > :afterUpdatedAt OR (o.updated_at = :afterUpdatedAt AND o.id > :afterId)) "
+            + "ORDER BY o.updated_at, o.id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Object[]> lockStaleOrderKeys(@Param("status") int statusOrdinal, @Param("cutoff") LocalDateTime cutoff,
+                                      @Param("afterUpdatedAt") LocalDateTime afterUpdatedAt,
+                                      @Param("afterId") Long afterId, @Param("limit") int limit);
+
+    // Oldest orders in a status untouched since the cutoff, locked for the archiver; rows locked by others are skipped
+    @Query(value = "SELECT o.id FROM orders o WHERE o.order_status = :status AND o.updated_at < :cutoff "
+            + "ORDER BY o.updated_at, o.id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockArchivableIds(@Param("status") int statusOrdinal, @Param("cutoff") LocalDateTime cutoff,
+                                 @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE Order o SET o.orderStatus = :status, o.updatedAt = :updatedAt WHERE o.id IN :ids")
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids, @Param("status") OrderStatus status,
+                           @Param("updatedAt") LocalDateTime updatedAt);
+
+    // Returns a single row of [order count, total quantity] held by orders in a status since before the cutoff
+    @Query("SELECT COUNT(DISTINCT o.id), COALESCE(SUM(oi.quantity), 0) FROM OrderItem oi JOIN oi.order o "
+            + "WHERE o.orderStatus = :status AND o.updatedAt < :cutoff")
+    List<Object[]> sumHeldQuantityBefore(@Param("status") OrderStatus status, @Param("cutoff") LocalDateTime cutoff);
+
 }
 
@@ -0,0 +1,124 @@
+package com.dabbadelight.regionalmeals.repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.dabbadelight.regionalmeals.model.DTO.OrderCursor;
+import com.dabbadelight.regionalmeals.model.DTO.OrderSearchCriteria;
+import com.dabbadelight.regionalmeals.model.User.Address;
+import com.dabbadelight.regionalmeals.model.User.User;
+import com.dabbadelight.regionalmeals.model.enums.OrderStatus;
+
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+public final class OrderSpecifications {
+
+    private OrderSpecifications() {
+    }
+
+    // Combine only the filters that are set, so the query touches as few columns as possible.
+    // Generic so the same filters run against orders and orders_archive, which share attribute names.
+    public static <T> Specification<T> matching(OrderSearchCriteria criteria, OrderCursor after) {
+        List<Specification<T>> specs = new ArrayList<>();
+        if (criteria.getStatus() != null) {
+            specs.add(hasStatus(criteria.getStatus()));
+        }
+        if (criteria.getUserId() != null) {
+            specs.add(placedBy(criteria.getUserId()));
+        }
+        if (criteria.getFrom() != null) {
+            specs.add(createdFrom(criteria.getFrom()));
+        }
+        if (criteria.getTo() != null) {
+            specs.add(createdBefore(criteria.getTo()));
+        }
+        if (criteria.getPhone() != null) {
+            specs.add(placedByPhone(criteria.getPhone()));
+        }
+        if (criteria.getPincode() != null) {
+            specs.add(deliveredToPincode(criteria.getPincode()));
+        }
+        if (criteria.getMinAmount() != null) {
+            specs.add(amountAtLeast(criteria.getMinAmount()));
+        }
+        if (criteria.getMaxAmount() != null) {
+            specs.add(amountAtMost(criteria.getMaxAmount()));
+        }
+        if (criteria.getItemId() != null) {
+            specs.add(containsItem(criteria.getItemId()));
+        }
+        if (after != null) {
+            specs.add(after(after));
+        }
+        return Specification.allOf(specs);
+    }
+
+    public static <T> Specification<T> hasStatus(OrderStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("orderStatus"), status);
+    }
+
+    public static <T> Specification<T> placedBy(Long userId) {
+        return (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
+    }
+
+    // The customer filters are id subqueries rather than joins: user and address are only read when
+    // asked for, through their phone and pincode indexes, and the order row never fans out
+    public static <T> Specification<T> placedByPhone(String phone) {
+        return (root, query, cb) -> {
+            Subquery<Long> users = query.subquery(Long.class);
+            Root<User> user = users.from(User.class);
+            users.select(user.get("id")).where(cb.equal(user.get("phone"), phone));
+            return root.get("user").get("id").in(users);
+        };
+    }
+
+    public static <T> Specification<T> deliveredToPincode(String pincode) {
+        return (root, query, cb) -> {
+            Subquery<Long> users = query.subquery(Long.class);
+            Root<Address> address = users.from(Address.class);
+            users.select(address.get("user").get("id")).where(cb.equal(address.get("pincode"), pincode));
+            return root.get("user").get("id").in(users);
+        };
+    }
+
+    public static <T> Specification<T> amountAtLeast(double amount) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("totalAmount"), amount);
+    }
+
+    public static <T> Specification<T> amountAtMost(double amount) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("totalAmount"), amount);
+    }
+
+    // Lines of the same entity family as root, so this works for archived orders too
+    @SuppressWarnings("unchecked")
+    public static <T> Specification<T> containsItem(Long itemId) {
+        return (root, query, cb) -> {
+            Subquery<Long> orders = query.subquery(Long.class);
+            Root<T> order = orders.from((Class<T>) root.getJavaType());
+            Join<T, ?> line = order.join("orderItems");
+            orders.select(order.get("id")).where(cb.equal(line.get("item").get("id"), itemId));
+            return root.get("id").in(orders);
+        };
+    }
+
+    public static <T> Specification<T> createdFrom(LocalDateTime from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createdAt"), from);
+    }
+
+    public static <T> Specification<T> createdBefore(LocalDateTime to) {
+        return (root, query, cb) -> cb.lessThan(root.get("createdAt"), to);
+    }
+
+    // Everything strictly after the cursor in (createdAt DESC, id DESC) order
+    public static <T> Specification<T> after(OrderCursor cursor) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("createdAt"), cursor.getCreatedAt()),
+                cb.and(cb.equal(root.get("createdAt"), cursor.getCreatedAt()),
+                        cb.lessThan(root.get("id"), cursor.getId())));
+    }
+}
@@ -0,0 +1,13 @@
+package com.dabbadelight.regionalmeals.repository;
+
+import java.util.List;
+import java.util.Map;
+
+import com.dabbadelight.regionalmeals.model.enums.OrderStatus;
+
+public interface OrderStatusBatchRepository {
+
+    // Moves each order from its expected status to the new one in one JDBC batch; returns the ids whose
+    // status was no longer the expected one
+    List<Long> transitionStatuses(Map<Long, OrderStatus> expectedById, OrderStatus status);
+}
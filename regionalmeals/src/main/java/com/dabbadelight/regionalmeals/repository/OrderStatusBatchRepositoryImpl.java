@@ -0,0 +1,58 @@
+package com.dabbadelight.regionalmeals.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.dabbadelight.regionalmeals.model.enums.OrderStatus;
+
+public class OrderStatusBatchRepositoryImpl implements OrderStatusBatchRepository {
+
+    private static final String TRANSITION_SQL =
+            "UPDATE orders SET order_status = ?, updated_at = ? WHERE id = ? AND order_status = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderStatusBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<Long> transitionStatuses(Map<Long, OrderStatus> expectedById, OrderStatus status) {
+        // Sorted by id so concurrent batches always lock order rows in the same order
+        List<Map.Entry<Long, OrderStatus>> rows = new ArrayList<>(new TreeMap<>(expectedById).entrySet());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        int[] updateCounts = jdbcTemplate.batchUpdate(TRANSITION_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Map.Entry<Long, OrderStatus> row = rows.get(i);
+                ps.setInt(1, status.ordinal());
+                ps.setTimestamp(2, now);
+                ps.setLong(3, row.getKey());
+                ps.setInt(4, row.getValue().ordinal());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+
+        List<Long> staleIds = new ArrayList<>();
+        for (int i = 0; i < updateCounts.length; i++) {
+            if (updateCounts[i] == 0) {
+                staleIds.add(rows.get(i).getKey());
+            }
+        }
+        return staleIds;
+    }
+}
@@ -0,0 +1,11 @@
+package com.dabbadelight.regionalmeals.repository;
+
+import java.util.List;
+
+import com.dabbadelight.regionalmeals.model.Orders.OrderStatusHistory;
+
+public interface OrderStatusHistoryAppendRepository {
+
+    // Inserts all rows with one JDBC batch; rows whose dedupe key is already stored are skipped
+    void appendAll(List<OrderStatusHistory> rows);
+}
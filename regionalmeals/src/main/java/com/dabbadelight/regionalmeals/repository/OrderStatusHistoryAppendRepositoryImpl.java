@@ -0,0 +1,49 @@
+package com.dabbadelight.regionalmeals.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.dabbadelight.regionalmeals.model.Orders.OrderStatusHistory;
+
+public class OrderStatusHistoryAppendRepositoryImpl implements OrderStatusHistoryAppendRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT IGNORE INTO order_status_history (order_id, from_status, to_status, changed_at, dedupe_key) "
+            + "VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderStatusHistoryAppendRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void appendAll(List<OrderStatusHistory> rows) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                OrderStatusHistory row = rows.get(i);
+                ps.setLong(1, row.getOrderId());
+                if (row.getFromStatus() == null) {
+                    ps.setNull(2, Types.TINYINT);
+                } else {
+                    ps.setInt(2, row.getFromStatus().ordinal());
+                }
+                ps.setInt(3, row.getToStatus().ordinal());
+                ps.setTimestamp(4, Timestamp.valueOf(row.getChangedAt()));
+                ps.setString(5, row.getDedupeKey());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+    }
+}
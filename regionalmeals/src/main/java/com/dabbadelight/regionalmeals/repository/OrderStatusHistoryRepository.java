@@ -0,0 +1,19 @@
+package com.dabbadelight.regionalmeals.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.dabbadelight.regionalmeals.model.Orders.OrderStatusHistory;
+
+public interface OrderStatusHistoryRepository extends JpaRepository<OrderStatusHistory, Long>, OrderStatusHistoryAppendRepository {
+
+    List<OrderStatusHistory> findByOrderIdOrderByChangedAtAscIdAsc(Long orderId);
+
+    // (order id, time of its latest status change)
+    @Query("SELECT h.orderId, MAX(h.changedAt) FROM OrderStatusHistory h WHERE h.orderId IN :orderIds GROUP BY h.orderId")
+    List<Object[]> findLastChangeByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+}
@@ -0,0 +1,11 @@
+package com.dabbadelight.regionalmeals.repository;
+
+import java.util.List;
+
+import com.dabbadelight.regionalmeals.model.Orders.OutboxEvent;
+
+public interface OutboxAppendRepository {
+
+    // Inserts all events with one JDBC batch in the caller's transaction
+    void appendAll(List<OutboxEvent> events);
+}
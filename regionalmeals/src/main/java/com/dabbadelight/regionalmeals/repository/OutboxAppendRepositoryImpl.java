@@ -0,0 +1,44 @@
+package com.dabbadelight.regionalmeals.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.dabbadelight.regionalmeals.model.Orders.OutboxEvent;
+
+public class OutboxAppendRepositoryImpl implements OutboxAppendRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO outbox_event (order_id, event_type, dedupe_key, payload, created_at, attempts) "
+            + "VALUES (?, ?, ?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OutboxAppendRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void appendAll(List<OutboxEvent> events) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                OutboxEvent event = events.get(i);
+                ps.setLong(1, event.getOrderId());
+                ps.setInt(2, event.getEventType().ordinal());
+                ps.setString(3, event.getDedupeKey());
+                ps.setString(4, event.getPayload());
+                ps.setTimestamp(5, Timestamp.valueOf(event.getCreatedAt()));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return events.size();
+            }
+        });
+    }
+}
@@ -0,0 +1,9 @@
+package com.dabbadelight.regionalmeals.repository;
+
+import com.dabbadelight.regionalmeals.model.Payment.PaymentCallback;
+
+public interface PaymentCallbackAppendRepository {
+
+    // Inserts the callback unless one with the same event id exists; false for a duplicate
+    boolean insertIfAbsent(PaymentCallback callback);
+}
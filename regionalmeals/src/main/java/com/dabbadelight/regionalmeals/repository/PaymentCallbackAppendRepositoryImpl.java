@@ -0,0 +1,30 @@
+package com.dabbadelight.regionalmeals.repository;
+
+import java.sql.Timestamp;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.dabbadelight.regionalmeals.model.Payment.PaymentCallback;
+
+public class PaymentCallbackAppendRepositoryImpl implements PaymentCallbackAppendRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT IGNORE INTO payment_callback (event_id, order_id, payment_status, amount, received_at) "
+            + "VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PaymentCallbackAppendRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public boolean insertIfAbsent(PaymentCallback callback) {
+        return jdbcTemplate.update(INSERT_SQL,
+                callback.getEventId(),
+                callback.getOrderId(),
+                callback.getPaymentStatus().ordinal(),
+                callback.getAmount(),
+                Timestamp.valueOf(callback.getReceivedAt())) > 0;
+    }
+}
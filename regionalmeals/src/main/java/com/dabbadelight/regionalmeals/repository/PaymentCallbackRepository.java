@@ -0,0 +1,29 @@
+package com.dabbadelight.regionalmeals.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.dabbadelight.regionalmeals.model.Payment.PaymentCallback;
+
+public interface PaymentCallbackRepository extends JpaRepository<PaymentCallback, Long>, PaymentCallbackAppendRepository {
+
+    // Oldest unapplied callbacks first, so an order sees its callbacks in the order they arrived
+    List<PaymentCallback> findByAppliedAtIsNullOrderByIdAsc(Limit limit);
+
+    long countByAppliedAtIsNull();
+
+    @Modifying
+    @Query("UPDATE PaymentCallback c SET c.appliedAt = :appliedAt WHERE c.id IN :ids")
+    int markApplied(@Param("ids") Collection<Long> ids, @Param("appliedAt") LocalDateTime appliedAt);
+
+    @Modifying
+    @Query("UPDATE PaymentCallback c SET c.rejectedReason = :reason WHERE c.id = :id")
+    int markRejected(@Param("id") Long id, @Param("reason") String reason);
+}
@@ -0,0 +1,15 @@
+package com.dabbadelight.regionalmeals.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.dabbadelight.regionalmeals.model.Kitchen.Promotion;
+
+public interface PromotionRepository extends JpaRepository<Promotion, Long> {
+
+    List<Promotion> findByIsActiveTrue();
+
+    Optional<Promotion> findByCode(String code);
+}
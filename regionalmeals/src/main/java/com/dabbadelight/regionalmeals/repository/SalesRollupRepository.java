@@ -0,0 +1,20 @@
+package com.dabbadelight.regionalmeals.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.dabbadelight.regionalmeals.model.Orders.SalesRollup;
+import com.dabbadelight.regionalmeals.model.enums.RollupDimension;
+import com.dabbadelight.regionalmeals.model.enums.RollupGranularity;
+
+public interface SalesRollupRepository extends JpaRepository<SalesRollup, Long>, SalesRollupWriteRepository {
+
+    // Both read straight off the unique key (dimension, granularity, bucket_start, dimension_id)
+    List<SalesRollup> findByDimensionAndGranularityAndBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStartAscDimensionIdAsc(
+            RollupDimension dimension, RollupGranularity granularity, LocalDateTime from, LocalDateTime to);
+
+    List<SalesRollup> findByDimensionAndGranularityAndDimensionIdAndBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStartAsc(
+            RollupDimension dimension, RollupGranularity granularity, Long dimensionId, LocalDateTime from, LocalDateTime to);
+}
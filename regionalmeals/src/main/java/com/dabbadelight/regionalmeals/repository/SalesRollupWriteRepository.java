@@ -0,0 +1,17 @@
+package com.dabbadelight.regionalmeals.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+import com.dabbadelight.regionalmeals.model.Orders.SalesRollup;
+
+public interface SalesRollupWriteRepository {
+
+    // Records the event as applied; false if it already was
+    boolean markApplied(Long eventId, LocalDateTime appliedAt);
+
+    // Adds each row's counters to its bucket, creating missing buckets, with one JDBC batch
+    void accumulate(Collection<SalesRollup> deltas);
+
+    int deleteAppliedBefore(LocalDateTime cutoff);
+}
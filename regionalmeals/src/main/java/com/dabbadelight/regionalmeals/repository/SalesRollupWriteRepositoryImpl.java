@@ -0,0 +1,86 @@
+package com.dabbadelight.regionalmeals.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.dabbadelight.regionalmeals.model.Orders.SalesRollup;
+
+public class SalesRollupWriteRepositoryImpl implements SalesRollupWriteRepository {
+
+    private static final String MARK_APPLIED_SQL =
+            "INSERT IGNORE INTO sales_rollup_applied_event (event_id, applied_at) VALUES (?, ?)";
+
+    private static final String ACCUMULATE_SQL =
+            "INSERT INTO sales_rollup (dimension, dimension_id, granularity, bucket_start, order_count, quantity, "
+            + "gross_amount, discount_amount, cancelled_count, cancelled_quantity, cancelled_amount, "
+            + "cancelled_discount_amount) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE order_count = order_count + VALUES(order_count), "
+            + "quantity = quantity + VALUES(quantity), gross_amount = gross_amount + VALUES(gross_amount), "
+            + "discount_amount = discount_amount + VALUES(discount_amount), "
+            + "cancelled_count = cancelled_count + VALUES(cancelled_count), "
+            + "cancelled_quantity = cancelled_quantity + VALUES(cancelled_quantity), "
+            + "cancelled_amount = cancelled_amount + VALUES(cancelled_amount), "
+            + "cancelled_discount_amount = cancelled_discount_amount + VALUES(cancelled_discount_amount)";
+
+    // Same order as the unique key, so concurrent batches lock bucket rows in the same order
+    private static final Comparator<SalesRollup> KEY_ORDER = Comparator
+            .comparing(SalesRollup::getDimension)
+            .thenComparing(SalesRollup::getGranularity)
+            .thenComparing(SalesRollup::getBucketStart)
+            .thenComparing(SalesRollup::getDimensionId);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SalesRollupWriteRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public boolean markApplied(Long eventId, LocalDateTime appliedAt) {
+        return jdbcTemplate.update(MARK_APPLIED_SQL, eventId, Timestamp.valueOf(appliedAt)) > 0;
+    }
+
+    @Override
+    public void accumulate(Collection<SalesRollup> deltas) {
+        List<SalesRollup> rows = new ArrayList<>(deltas);
+        rows.sort(KEY_ORDER);
+
+        jdbcTemplate.batchUpdate(ACCUMULATE_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                SalesRollup row = rows.get(i);
+                ps.setInt(1, row.getDimension().ordinal());
+                ps.setLong(2, row.getDimensionId());
+                ps.setInt(3, row.getGranularity().ordinal());
+                ps.setTimestamp(4, Timestamp.valueOf(row.getBucketStart()));
+                ps.setLong(5, row.getOrderCount());
+                ps.setLong(6, row.getQuantity());
+                ps.setDouble(7, row.getGrossAmount());
+                ps.setDouble(8, row.getDiscountAmount());
+                ps.setLong(9, row.getCancelledCount());
+                ps.setLong(10, row.getCancelledQuantity());
+                ps.setDouble(11, row.getCancelledAmount());
+                ps.setDouble(12, row.getCancelledDiscountAmount());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+    }
+
+    @Override
+    public int deleteAppliedBefore(LocalDateTime cutoff) {
+        return jdbcTemplate.update("DELETE FROM sales_rollup_applied_event WHERE applied_at < ?", Timestamp.valueOf(cutoff));
+    }
+}
@@ -0,0 +1,21 @@
+package com.dabbadelight.regionalmeals.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.dabbadelight.regionalmeals.model.Kitchen.StockLedgerCheckpoint;
+
+@Repository
+public interface StockLedgerCheckpointRepository extends JpaRepository<StockLedgerCheckpoint, Long> {
+
+    // Never moves backwards, so a late retry of an older flush cannot undo a newer one
+    @Modifying
+    @Query("UPDATE StockLedgerCheckpoint c SET c.lastFlushId = :flushId, c.updatedAt = :updatedAt "
+            + "WHERE c.id = :id AND c.lastFlushId < :flushId")
+    int advance(@Param("id") Long id, @Param("flushId") long flushId, @Param("updatedAt") LocalDateTime updatedAt);
+}
@@ -1,24 +1,37 @@
 package com.dabbadelight.regionalmeals.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import com.dabbadelight.regionalmeals.model.User.User;
 import com.dabbadelight.regionalmeals.model.enums.Role;
 
+import jakarta.persistence.LockModeType;
+
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    // Row locks in id order, so placements that depend on a user's order history run one at a time per user
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id IN :ids ORDER BY u.id")
+    List<User> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
     // Find users by role
     List<User> findByRole(Role role);
     
-    // Find user by email OR phone
-    Optional<User> findByEmailOrPhone(String email, String phone);
+    // Find user by email OR phone. Two unique-key lookups instead of one OR predicate, which
+    // the planner can only answer by scanning the user table
+    default Optional<User> findByEmailOrPhone(String email, String phone) {
+        return findByEmail(email).or(() -> findByPhone(phone));
+    }
     
-    // Check if user exists by phone OR email
-    @Query("SELECT CASE WHEN COUNT(u) > 0 THEN true ELSE false END FROM User u WHERE u.phone = :phone OR u.email = :email")
-    boolean existsByPhoneOrEmail(@Param("phone") String phone, @Param("email") String email);
+    // Check if user exists by phone OR email, one unique-key probe per column for the same reason
+    default boolean existsByPhoneOrEmail(String phone, String email) {
+        return existsByPhone(phone) || existsByEmail(email);
+    }
     
     // Additional helpful methods
     Optional<User> findByEmail(String email);
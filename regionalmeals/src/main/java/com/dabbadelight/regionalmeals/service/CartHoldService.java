@@ -0,0 +1,11 @@
+package com.dabbadelight.regionalmeals.service;
+
+import com.dabbadelight.regionalmeals.model.DTO.CartHoldStatsDTO;
+
+public interface CartHoldService {
+
+    // Release stock held by PENDING orders whose hold has expired; returns the number of carts released
+    int sweepExpiredHolds();
+
+    CartHoldStatsDTO getStats();
+}
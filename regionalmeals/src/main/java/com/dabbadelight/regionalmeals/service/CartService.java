@@ -0,0 +1,27 @@
+package com.dabbadelight.regionalmeals.service;
+
+import com.dabbadelight.regionalmeals.model.DTO.CartCheckoutRequestDTO;
+import com.dabbadelight.regionalmeals.model.DTO.CartDTO;
+import com.dabbadelight.regionalmeals.model.DTO.CartStatsDTO;
+import com.dabbadelight.regionalmeals.model.DTO.OrderResponseDTO;
+
+public interface CartService {
+
+    // Empty cart if the user has none
+    CartDTO getCart(Long userId);
+
+    // Adds quantity to the item's line
+    CartDTO addItem(Long userId, Long itemId, int quantity);
+
+    // Sets the item's line to quantity; 0 removes it
+    CartDTO setItemQuantity(Long userId, Long itemId, int quantity);
+
+    CartDTO removeItem(Long userId, Long itemId);
+
+    void clearCart(Long userId);
+
+    // Places the cart as one order and empties it; on failure the cart is kept as it was
+    OrderResponseDTO checkout(Long userId, CartCheckoutRequestDTO request);
+
+    CartStatsDTO getStats();
+}
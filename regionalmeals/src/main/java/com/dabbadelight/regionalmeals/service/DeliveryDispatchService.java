@@ -0,0 +1,15 @@
+package com.dabbadelight.regionalmeals.service;
+
+import java.util.List;
+
+import com.dabbadelight.regionalmeals.model.DTO.BulkStatusResultDTO;
+import com.dabbadelight.regionalmeals.model.DTO.DeliveryBatchDTO;
+
+public interface DeliveryDispatchService {
+
+    // Open orders of the kitchen grouped by pincode and slot window, most urgent window first
+    List<DeliveryBatchDTO> getBatches(Long menuId);
+
+    // Sends the given orders of this kitchen OUT_FOR_DELIVERY in one bulk transition
+    List<BulkStatusResultDTO> confirmBatch(Long menuId, List<Long> orderIds);
+}
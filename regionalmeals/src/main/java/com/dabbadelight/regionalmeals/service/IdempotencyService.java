@@ -0,0 +1,13 @@
+package com.dabbadelight.regionalmeals.service;
+
+import java.util.function.Supplier;
+
+import org.springframework.http.ResponseEntity;
+
+public interface IdempotencyService {
+
+    // Runs action once per (caller, operation, key); repeats get the stored response instead.
+    // request is the body the key was first used with; reusing the key with another body is rejected.
+    ResponseEntity<?> execute(String idempotencyKey, String operation, Object request,
+                              Supplier<ResponseEntity<?>> action);
+}
@@ -0,0 +1,18 @@
+package com.dabbadelight.regionalmeals.service;
+
+import java.time.LocalDateTime;
+
+import com.dabbadelight.regionalmeals.model.DTO.CatalogItem;
+
+public interface ItemCatalogService {
+
+    // From the cache; an item not seen since the last refresh is looked up by id once
+    CatalogItem getItem(Long itemId);
+
+    // Cache only, null if unknown; for rendering things that were validated earlier
+    CatalogItem getCachedItem(Long itemId);
+
+    int size();
+
+    LocalDateTime getRefreshedAt();
+}
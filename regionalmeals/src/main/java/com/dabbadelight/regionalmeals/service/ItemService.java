@@ -1,12 +1,16 @@
 package com.dabbadelight.regionalmeals.service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+
 import com.dabbadelight.regionalmeals.model.Kitchen.Item;
 
 public interface ItemService {
     // Basic CRUD operations
     Item createItem(Item item);
     Item getItemById(Long id);
+    List<Item> getItemsByIds(Collection<Long> ids);
     List<Item> getAllItems();
     Item updateItem(Long id, Item item);
     void deleteItem(Long id);
@@ -24,6 +28,9 @@ public interface ItemService {
     Item updateStock(Long id, int newStock, String updatedBy);
     Item increaseStock(Long id, int amount, String updatedBy);
     Item decreaseStock(Long id, int amount, String updatedBy);
+    void reserveStock(Map<Long, Integer> quantities, String updatedBy);
+    void releaseStock(Map<Long, Integer> quantities, String updatedBy);
+    int getAvailableStock(Item item);
     
     // Search operations
     List<Item> searchItemsByName(String name);
@@ -0,0 +1,19 @@
+package com.dabbadelight.regionalmeals.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.dabbadelight.regionalmeals.model.DTO.KitchenBoardDTO;
+import com.dabbadelight.regionalmeals.model.DTO.KitchenTicketDTO;
+
+public interface KitchenBoardService {
+
+    KitchenBoardDTO getBoard(Long menuId);
+
+    // Takes the most urgent waiting ticket and moves its order to PREPARING; null when nothing is waiting
+    KitchenTicketDTO claimNext(Long menuId);
+
+    KitchenTicketDTO claim(Long menuId, Long orderId);
+
+    // Stream of this kitchen's ticket changes, starting with a snapshot of the board
+    SseEmitter subscribe(Long menuId);
+}
@@ -0,0 +1,31 @@
+package com.dabbadelight.regionalmeals.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import com.dabbadelight.regionalmeals.model.DTO.SlotReservation;
+import com.dabbadelight.regionalmeals.model.DTO.SlotUtilizationDTO;
+
+public interface KitchenCapacityService {
+
+    // Takes the order's dabbas out of its slot at every kitchen it draws from, or throws SlotFullException
+    // naming the next slot with room. Inside a transaction, a rollback gives them back.
+    SlotReservation reserve(LocalDateTime promisedSlot, Map<Long, Integer> itemQuantities);
+
+    void release(SlotReservation reservation);
+
+    // Ties a reservation to the placed order, so cancelling the order frees it
+    void attach(Long orderId, SlotReservation reservation);
+
+    // Moves an order's place in its slot to its new line quantities. Only growth is checked against the
+    // limit and throws SlotFullException; inside a transaction, a rollback puts the old place back.
+    // A slot that has already started can't be resized into and throws IllegalArgumentException.
+    void resize(Long orderId, LocalDateTime slotAt, Map<Long, Integer> itemQuantities);
+
+    // null removes the limit
+    void updateCapacity(Long menuId, Integer capacity);
+
+    // Slots from 'from' on, for one kitchen or, with no menuId, every kitchen with a limit or bookings
+    List<SlotUtilizationDTO> getUtilization(Long menuId, LocalDateTime from, Integer slots);
+}
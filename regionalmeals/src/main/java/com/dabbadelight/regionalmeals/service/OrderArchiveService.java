@@ -0,0 +1,11 @@
+package com.dabbadelight.regionalmeals.service;
+
+import com.dabbadelight.regionalmeals.model.DTO.OrderArchiveStatsDTO;
+
+public interface OrderArchiveService {
+
+    // Moves DELIVERED and CANCELLED orders past the archive age into the archive tables; returns orders moved
+    int archiveEligibleOrders();
+
+    OrderArchiveStatsDTO getStats();
+}
@@ -0,0 +1,15 @@
+package com.dabbadelight.regionalmeals.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.dabbadelight.regionalmeals.model.DTO.OrderSearchCriteria;
+
+public interface OrderExportService {
+
+    // Streams matching orders to out as one JSON object per line, items nested; returns the number of orders written
+    long exportNdjson(OrderSearchCriteria criteria, Long menuId, OutputStream out) throws IOException;
+
+    // Streams matching order lines to out as CSV with a header row; returns the number of lines written
+    long exportCsv(OrderSearchCriteria criteria, Long menuId, OutputStream out) throws IOException;
+}
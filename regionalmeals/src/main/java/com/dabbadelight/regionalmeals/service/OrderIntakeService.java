@@ -0,0 +1,16 @@
+package com.dabbadelight.regionalmeals.service;
+
+import com.dabbadelight.regionalmeals.model.DTO.OrderIntakeDTO;
+import com.dabbadelight.regionalmeals.model.DTO.OrderIntakeStatsDTO;
+import com.dabbadelight.regionalmeals.model.DTO.OrderRequestDTO;
+
+public interface OrderIntakeService {
+
+    // Checks the request without touching the database and queues it for placement.
+    // Throws TooManyRequestsException when the queue is full.
+    OrderIntakeDTO submit(OrderRequestDTO request);
+
+    OrderIntakeDTO getStatus(String handle);
+
+    OrderIntakeStatsDTO getStats();
+}
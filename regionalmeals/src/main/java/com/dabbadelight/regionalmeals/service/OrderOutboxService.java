@@ -0,0 +1,25 @@
+package com.dabbadelight.regionalmeals.service;
+
+import java.util.Collection;
+
+import com.dabbadelight.regionalmeals.model.DTO.OutboxStatsDTO;
+import com.dabbadelight.regionalmeals.model.Orders.Order;
+import com.dabbadelight.regionalmeals.model.enums.OrderEventType;
+import com.dabbadelight.regionalmeals.model.enums.OrderStatus;
+
+public interface OrderOutboxService {
+
+    // Writes an event for a change already applied to order; must run inside the change's transaction
+    void record(OrderEventType type, Order order, OrderStatus previousStatus);
+
+    // Same for several orders at once, each with its current status
+    void recordAll(OrderEventType type, Collection<Order> orders);
+
+    // Same for a bulk status update that bypassed the entities; orders still carry their old status
+    void recordStatusChanges(Collection<Order> orders, OrderStatus previousStatus, OrderStatus newStatus);
+
+    // Publishes unpublished events on the in-process bus; returns the number delivered
+    int relayPending();
+
+    OutboxStatsDTO getStats();
+}
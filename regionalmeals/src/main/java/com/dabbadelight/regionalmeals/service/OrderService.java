@@ -2,8 +2,13 @@ package com.dabbadelight.regionalmeals.service;
 
 import java.util.List;
 
+import com.dabbadelight.regionalmeals.model.DTO.BulkStatusResultDTO;
+import com.dabbadelight.regionalmeals.model.DTO.OrderItemsPatchDTO;
+import com.dabbadelight.regionalmeals.model.DTO.OrderPageDTO;
+import com.dabbadelight.regionalmeals.model.DTO.OrderPlacementResultDTO;
 import com.dabbadelight.regionalmeals.model.DTO.OrderRequestDTO;
 import com.dabbadelight.regionalmeals.model.DTO.OrderResponseDTO;
+import com.dabbadelight.regionalmeals.model.DTO.OrderSearchCriteria;
 import com.dabbadelight.regionalmeals.model.Orders.Order;
 import com.dabbadelight.regionalmeals.model.enums.OrderStatus;
 
@@ -11,16 +16,35 @@ public interface OrderService {
     
     // Create new order
     OrderResponseDTO createOrder(OrderRequestDTO request);
+
+    // Places several orders with one user lookup, one item lookup and one stock reservation. Invalid
+    // requests get an error result; if the shared reservation falls short the whole call fails.
+    List<OrderPlacementResultDTO> createOrders(List<OrderRequestDTO> requests);
     
     // Get orders
     OrderResponseDTO getOrderById(Long id);
     List<OrderResponseDTO> getAllOrders();
     List<OrderResponseDTO> getOrdersByUserId(Long userId);
     List<OrderResponseDTO> getOrdersByStatus(OrderStatus status);
+    OrderPageDTO getOrdersPage(OrderSearchCriteria criteria, String cursor, Integer size);
     
     // Update orders
     Order updateOrder(Long id, Order order);
     Order updateOrderStatus(Long id, OrderStatus status);
+
+    // Like updateOrderStatus, but only if the order is still in the expected status
+    Order transitionOrderStatus(Long id, OrderStatus expected, OrderStatus status);
+
+    // Kitchen board claim: marks the menu's lines of a CONFIRMED or PREPARING order as started and
+    // moves a CONFIRMED order to PREPARING
+    Order startPreparing(Long orderId, Long menuId);
+
+    // Moves every valid order to status in one transaction; returns one result per distinct id, in request order
+    List<BulkStatusResultDTO> updateOrderStatuses(List<Long> orderIds, OrderStatus status);
+
+    // Kitchen closure: cancels every open order with a line from the menu, whole orders included,
+    // and restocks all their items in the same transaction
+    List<BulkStatusResultDTO> cancelOrdersForMenu(Long menuId);
     
     // Delete order
     void deleteOrder(Long id);
@@ -29,4 +53,7 @@ public interface OrderService {
     Order getOrCreatePendingOrderByUserId(Long userId);
     Order addItemToOrder(Long orderId, Long itemId, int quantity);
     Order removeItemFromOrder(Long orderId, Long orderItemId);
+
+    // Applies every change to a pending order with one item lookup, net stock changes and one save
+    Order updateOrderItems(Long orderId, List<OrderItemsPatchDTO.LineChange> changes);
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.dabbadelight.regionalmeals.service;
+
+import java.util.List;
+
+import com.dabbadelight.regionalmeals.model.DTO.StageTimingDTO;
+
+public interface OrderStageTimingService {
+
+    // One entry per (kitchen, stage) with data in the window, slowest p95 first; menuId null for every kitchen
+    List<StageTimingDTO> getStageTimings(Long menuId);
+}
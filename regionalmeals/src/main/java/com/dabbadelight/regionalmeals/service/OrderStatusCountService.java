@@ -0,0 +1,19 @@
+package com.dabbadelight.regionalmeals.service;
+
+import java.util.List;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.dabbadelight.regionalmeals.model.DTO.OrderStatusCountsDTO;
+
+public interface OrderStatusCountService {
+
+    // Zero counts for a kitchen with no open orders
+    OrderStatusCountsDTO getCounts(Long menuId);
+
+    // Every kitchen that has had open orders since startup
+    List<OrderStatusCountsDTO> getAllCounts();
+
+    // A 'snapshot' event, then a 'counts' event for each kitchen whose counts changed; menuId null for all kitchens
+    SseEmitter subscribe(Long menuId);
+}
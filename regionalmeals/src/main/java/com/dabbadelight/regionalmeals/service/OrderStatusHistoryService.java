@@ -0,0 +1,14 @@
+package com.dabbadelight.regionalmeals.service;
+
+import java.util.List;
+
+import com.dabbadelight.regionalmeals.model.DTO.OrderStatusHistoryDTO;
+
+public interface OrderStatusHistoryService {
+
+    // Oldest first; changes from the last flush interval may not be written yet
+    List<OrderStatusHistoryDTO> getHistory(Long orderId);
+
+    // Writes whatever is queued; returns the number of rows written
+    int flush();
+}
@@ -0,0 +1,11 @@
+package com.dabbadelight.regionalmeals.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface OrderTrackingService {
+
+    // Opens a status stream for the user's orders; lastEventId replays what the client missed, if still buffered
+    SseEmitter subscribe(Long userId, Long lastEventId);
+
+    int getConnectionCount();
+}
@@ -0,0 +1,20 @@
+package com.dabbadelight.regionalmeals.service;
+
+import com.dabbadelight.regionalmeals.model.DTO.PaymentCallbackDTO;
+import com.dabbadelight.regionalmeals.model.DTO.PaymentSessionDTO;
+import com.dabbadelight.regionalmeals.model.enums.PaymentStatus;
+
+// A payment provider. Exactly one implementation is active, picked with payment.gateway.
+public interface PaymentGateway {
+
+    String name();
+
+    // Opens a payment for the order at the provider
+    PaymentSessionDTO createSession(Long orderId, double amount);
+
+    // True when the signature proves the callback was sent by this provider
+    boolean verifyCallback(PaymentCallbackDTO callback, String signature);
+
+    // What the provider currently knows about the order's payment; used by reconciliation
+    PaymentStatus fetchStatus(Long orderId);
+}
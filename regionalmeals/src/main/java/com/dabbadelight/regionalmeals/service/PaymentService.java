@@ -0,0 +1,23 @@
+package com.dabbadelight.regionalmeals.service;
+
+import com.dabbadelight.regionalmeals.model.DTO.PaymentCallbackAckDTO;
+import com.dabbadelight.regionalmeals.model.DTO.PaymentCallbackDTO;
+import com.dabbadelight.regionalmeals.model.DTO.PaymentSessionDTO;
+import com.dabbadelight.regionalmeals.model.DTO.PaymentStatsDTO;
+
+public interface PaymentService {
+
+    // Starts the gateway payment of an ONLINE order whose payment is still pending
+    PaymentSessionDTO startPayment(Long orderId);
+
+    // Verifies and stores a gateway callback; the order is updated later by applyPendingCallbacks
+    PaymentCallbackAckDTO receiveCallback(PaymentCallbackDTO callback, String signature);
+
+    // Applies stored callbacks to their orders in batches; returns the number of orders settled
+    int applyPendingCallbacks();
+
+    // Asks the gateway about every unsettled ONLINE order past the grace period; returns the number settled
+    int reconcile();
+
+    PaymentStatsDTO getStats();
+}
@@ -0,0 +1,25 @@
+package com.dabbadelight.regionalmeals.service;
+
+import java.util.List;
+
+import com.dabbadelight.regionalmeals.model.DTO.PromotionCart;
+import com.dabbadelight.regionalmeals.model.DTO.PromotionResult;
+import com.dabbadelight.regionalmeals.model.Kitchen.Promotion;
+
+public interface PromotionService {
+
+    List<Promotion> getAllPromotions();
+
+    Promotion createPromotion(Promotion promotion);
+
+    Promotion updatePromotion(Long id, Promotion promotion);
+
+    void deletePromotion(Long id);
+
+    // Fills result with the best promotion for the cart from the in-memory rules; no database access.
+    // An unknown coupon code is rejected; a known one the cart doesn't qualify for is just not applied.
+    void evaluate(PromotionCart cart, String couponCode, boolean firstOrder, PromotionResult result);
+
+    // Whether any first-order promotion is live, so callers only look up order history when it matters
+    boolean hasFirstOrderPromotions();
+}
@@ -0,0 +1,15 @@
+package com.dabbadelight.regionalmeals.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.dabbadelight.regionalmeals.model.DTO.SalesRollupDTO;
+import com.dabbadelight.regionalmeals.model.enums.RollupDimension;
+import com.dabbadelight.regionalmeals.model.enums.RollupGranularity;
+
+public interface SalesRollupService {
+
+    // Buckets starting in [from, to), optionally for one menu, item or payment mode ordinal
+    List<SalesRollupDTO> getRollups(RollupDimension dimension, RollupGranularity granularity,
+                                    LocalDateTime from, LocalDateTime to, Long dimensionId);
+}
@@ -0,0 +1,22 @@
+package com.dabbadelight.regionalmeals.service;
+
+import java.util.List;
+import java.util.Map;
+
+import com.dabbadelight.regionalmeals.model.DTO.StockReconciliationDTO;
+
+public interface StockLedgerService {
+
+    // Live stock
+    int getAvailableStock(Long itemId);
+
+    // Reservations (returns ids that were short; nothing is reserved in that case)
+    List<Long> reserve(Map<Long, Integer> quantities);
+    void release(Map<Long, Integer> quantities);
+    void setStock(Long itemId, int newStock);
+    void evict(Long itemId);
+
+    // Write-behind persistence
+    void flush();
+    List<StockReconciliationDTO> reconcile();
+}
@@ -0,0 +1,157 @@
+package com.dabbadelight.regionalmeals.service.impl;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dabbadelight.regionalmeals.model.DTO.CartHoldStatsDTO;
+import com.dabbadelight.regionalmeals.model.Orders.Order;
+import com.dabbadelight.regionalmeals.model.enums.OrderStatus;
+import com.dabbadelight.regionalmeals.repository.OrderItemRepository;
+import com.dabbadelight.regionalmeals.repository.OrderRepository;
+import com.dabbadelight.regionalmeals.service.CartHoldService;
+import com.dabbadelight.regionalmeals.service.ItemService;
+import com.dabbadelight.regionalmeals.service.OrderOutboxService;
+
+// A PENDING order holds its stock until it has gone untouched for the hold TTL. Every cart
+// edit bumps updated_at, which renews the hold. The sweeper walks expired carts by
+// (updated_at, id), cancels them and gives their stock back with one batched update per sweep.
+@Service
+public class CartHoldServiceImpl implements CartHoldService {
+
+    private static final LocalDateTime KEYSET_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final ItemService itemService;
+    private final OrderOutboxService orderOutboxService;
+    private final TransactionTemplate transactionTemplate;
+    private final long holdTtlMinutes;
+    private final int pageSize;
+    private final int maxCartsPerSweep;
+
+    private final AtomicLong sweeps = new AtomicLong();
+    private final AtomicLong cartsReleased = new AtomicLong();
+    private final AtomicLong unitsReleased = new AtomicLong();
+    private volatile LocalDateTime lastSweepAt;
+    private volatile int lastSweepCarts;
+    private volatile long lastSweepMillis;
+
+    public CartHoldServiceImpl(OrderRepository orderRepository, OrderItemRepository orderItemRepository,
+                               ItemService itemService, OrderOutboxService orderOutboxService,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${cart.hold.ttl-minutes:30}") long holdTtlMinutes,
+                               @Value("${cart.hold.page-size:200}") int pageSize,
+                               @Value("${cart.hold.max-carts-per-sweep:2000}") int maxCartsPerSweep) {
+        this.orderRepository = orderRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.itemService = itemService;
+        this.orderOutboxService = orderOutboxService;
+        this.transactionTemplate = transactionTemplate;
+        this.holdTtlMinutes = holdTtlMinutes;
+        this.pageSize = pageSize;
+        this.maxCartsPerSweep = maxCartsPerSweep;
+    }
+
+    @Scheduled(fixedDelayString = "${cart.hold.sweep-interval-ms:60000}")
+    public void scheduledSweep() {
+        try {
+            sweepExpiredHolds();
+        } catch (RuntimeException e) {
+            System.out.println("❌ Cart hold sweep failed: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public int sweepExpiredHolds() {
+        long startedAt = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = now.minusMinutes(holdTtlMinutes);
+
+        long[] released = transactionTemplate.execute(status -> {
+            // Walk expired carts page by page; each page stays locked until the sweep commits
+            List<Long> orderIds = new ArrayList<>();
+            LocalDateTime afterUpdatedAt = KEYSET_START;
+            Long afterId = 0L;
+            while (orderIds.size() < maxCartsPerSweep) {
+                int limit = Math.min(pageSize, maxCartsPerSweep - orderIds.size());
+                List<Object[]> page = orderRepository.lockStaleOrderKeys(
+                        OrderStatus.PENDING.ordinal(), cutoff, afterUpdatedAt, afterId, limit);
+                for (Object[] row : page) {
+                    orderIds.add(((Number) row[0]).longValue());
+                }
+                if (page.size() < limit) {
+                    break;
+                }
+                Object[] last = page.get(page.size() - 1);
+                afterId = ((Number) last[0]).longValue();
+                afterUpdatedAt = toLocalDateTime(last[1]);
+            }
+            if (orderIds.isEmpty()) {
+                return new long[] {0, 0};
+            }
+
+            // One aggregated release for every item held by the expired carts
+            Map<Long, Integer> quantities = new HashMap<>();
+            for (Object[] row : orderItemRepository.sumQuantityByItemForOrders(orderIds)) {
+                quantities.put((Long) row[0], ((Number) row[1]).intValue());
+            }
+            itemService.releaseStock(quantities, "CART_SWEEPER");
+            List<Order> expiredCarts = orderRepository.findWithItemsByIdIn(orderIds);
+            orderRepository.updateStatusByIdIn(orderIds, OrderStatus.CANCELLED, now);
+            orderOutboxService.recordStatusChanges(expiredCarts, OrderStatus.PENDING, OrderStatus.CANCELLED);
+
+            long units = quantities.values().stream().mapToLong(Integer::longValue).sum();
+            return new long[] {orderIds.size(), units};
+        });
+
+        int releasedCarts = (int) released[0];
+        sweeps.incrementAndGet();
+        cartsReleased.addAndGet(releasedCarts);
+        unitsReleased.addAndGet(released[1]);
+        lastSweepAt = now;
+        lastSweepCarts = releasedCarts;
+        lastSweepMillis = System.currentTimeMillis() - startedAt;
+        if (releasedCarts > 0) {
+            System.out.println("🧹 Released stock held by " + releasedCarts + " expired carts");
+        }
+        return releasedCarts;
+    }
+
+    @Override
+    public CartHoldStatsDTO getStats() {
+        LocalDateTime now = LocalDateTime.now();
+        Object[] pending = orderRepository.sumHeldQuantityBefore(OrderStatus.PENDING, now.plusSeconds(1)).get(0);
+        Object[] stale = orderRepository.sumHeldQuantityBefore(OrderStatus.PENDING, now.minusMinutes(holdTtlMinutes)).get(0);
+
+        return CartHoldStatsDTO.builder()
+                .holdTtlMinutes(holdTtlMinutes)
+                .pendingCarts(((Number) pending[0]).longValue())
+                .pendingUnitsHeld(((Number) pending[1]).longValue())
+                .staleCarts(((Number) stale[0]).longValue())
+                .staleUnitsHeld(((Number) stale[1]).longValue())
+                .sweeps(sweeps.get())
+                .cartsReleased(cartsReleased.get())
+                .unitsReleased(unitsReleased.get())
+                .lastSweepAt(lastSweepAt)
+                .lastSweepCarts(lastSweepCarts)
+                .lastSweepMillis(lastSweepMillis)
+                .build();
+    }
+
+    private LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+}
@@ -0,0 +1,309 @@
+package com.dabbadelight.regionalmeals.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.dabbadelight.regionalmeals.exception.SlotFullException;
+import com.dabbadelight.regionalmeals.exception.TooManyRequestsException;
+import com.dabbadelight.regionalmeals.model.DTO.CartCheckoutRequestDTO;
+import com.dabbadelight.regionalmeals.model.DTO.CartDTO;
+import com.dabbadelight.regionalmeals.model.DTO.CartStatsDTO;
+import com.dabbadelight.regionalmeals.model.DTO.CatalogItem;
+import com.dabbadelight.regionalmeals.model.DTO.OrderPlacementResultDTO;
+import com.dabbadelight.regionalmeals.model.DTO.OrderRequestDTO;
+import com.dabbadelight.regionalmeals.model.DTO.OrderResponseDTO;
+import com.dabbadelight.regionalmeals.model.enums.OrderStatus;
+import com.dabbadelight.regionalmeals.model.enums.PaymentMode;
+import com.dabbadelight.regionalmeals.model.enums.PaymentStatus;
+import com.dabbadelight.regionalmeals.service.CartService;
+import com.dabbadelight.regionalmeals.service.ItemCatalogService;
+import com.dabbadelight.regionalmeals.service.OrderService;
+
+// Carts live in memory, one per user, until checkout turns them into an order through the bulk
+// placement path; that is the only database write a cart ever causes. Edits are checked against the
+// cached item catalog, so stock shown here is a hint and the real check is the reservation at
+// checkout. Carts untouched for the TTL are dropped, and are lost on restart, which is fine for
+// something the user has not committed to yet.
+@Service
+public class CartServiceImpl implements CartService {
+
+    private final ItemCatalogService itemCatalogService;
+    private final OrderService orderService;
+    private final int maxCarts;
+    private final int maxLines;
+    private final int maxQuantityPerLine;
+    private final long ttlMinutes;
+    private final long retryAfterSeconds;
+
+    private final ConcurrentHashMap<Long, Cart> carts = new ConcurrentHashMap<>();
+
+    private final AtomicLong edits = new AtomicLong();
+    private final AtomicLong rejectedEdits = new AtomicLong();
+    private final AtomicLong cartsRejected = new AtomicLong();
+    private final AtomicLong cartsExpired = new AtomicLong();
+    private final AtomicLong checkouts = new AtomicLong();
+    private final AtomicLong failedCheckouts = new AtomicLong();
+
+    // Guarded by its own monitor; closed once checked out, cleared or expired, so an edit that
+    // raced with that starts over on a fresh cart instead of writing to a dropped one
+    private static final class Cart {
+        private final Map<Long, Integer> lines = new LinkedHashMap<>();
+        private volatile LocalDateTime updatedAt = LocalDateTime.now();
+        private boolean closed;
+    }
+
+    public CartServiceImpl(ItemCatalogService itemCatalogService, OrderService orderService,
+                           @Value("${cart.store.max-carts:100000}") int maxCarts,
+                           @Value("${cart.store.max-lines:30}") int maxLines,
+                           @Value("${cart.store.max-quantity-per-line:20}") int maxQuantityPerLine,
+                           @Value("${cart.store.ttl-minutes:120}") long ttlMinutes,
+                           @Value("${cart.store.retry-after-seconds:5}") long retryAfterSeconds) {
+        this.itemCatalogService = itemCatalogService;
+        this.orderService = orderService;
+        this.maxCarts = maxCarts;
+        this.maxLines = maxLines;
+        this.maxQuantityPerLine = maxQuantityPerLine;
+        this.ttlMinutes = ttlMinutes;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Scheduled(fixedDelayString = "${cart.store.cleanup-interval-ms:60000}")
+    public void purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(ttlMinutes);
+        int expired = 0;
+        for (Map.Entry<Long, Cart> entry : carts.entrySet()) {
+            Cart cart = entry.getValue();
+            if (!cart.updatedAt.isBefore(cutoff)) {
+                continue;
+            }
+            synchronized (cart) {
+                // Re-checked under the lock in case an edit renewed it meanwhile
+                if (!cart.closed && cart.updatedAt.isBefore(cutoff)) {
+                    close(entry.getKey(), cart);
+                    expired++;
+                }
+            }
+        }
+        if (expired > 0) {
+            cartsExpired.addAndGet(expired);
+            System.out.println("🧹 Dropped " + expired + " expired carts");
+        }
+    }
+
+    @Override
+    public CartDTO getCart(Long userId) {
+        Cart cart = carts.get(userId);
+        if (cart == null) {
+            return emptyCart(userId);
+        }
+        synchronized (cart) {
+            return cart.closed ? emptyCart(userId) : toCartDTO(userId, cart);
+        }
+    }
+
+    @Override
+    public CartDTO addItem(Long userId, Long itemId, int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive for item id: " + itemId);
+        }
+        CatalogItem item = itemCatalogService.getItem(itemId);
+        return edit(userId, true, cart -> setLine(cart, item, cart.lines.getOrDefault(itemId, 0) + quantity));
+    }
+
+    @Override
+    public CartDTO setItemQuantity(Long userId, Long itemId, int quantity) {
+        if (quantity < 0) {
+            throw new IllegalArgumentException("Quantity must not be negative for item id: " + itemId);
+        }
+        if (quantity == 0) {
+            return removeItem(userId, itemId);
+        }
+        CatalogItem item = itemCatalogService.getItem(itemId);
+        return edit(userId, true, cart -> setLine(cart, item, quantity));
+    }
+
+    @Override
+    public CartDTO removeItem(Long userId, Long itemId) {
+        return edit(userId, false, cart -> cart.lines.remove(itemId));
+    }
+
+    @Override
+    public void clearCart(Long userId) {
+        edit(userId, false, cart -> cart.lines.clear());
+    }
+
+    @Override
+    public OrderResponseDTO checkout(Long userId, CartCheckoutRequestDTO request) {
+        Cart cart = carts.get(userId);
+        if (cart == null) {
+            throw new IllegalArgumentException("Cart is empty");
+        }
+        // Edits to this cart wait until the order is placed or has failed
+        synchronized (cart) {
+            if (cart.closed || cart.lines.isEmpty()) {
+                throw new IllegalArgumentException("Cart is empty");
+            }
+            List<OrderRequestDTO.OrderItemRequestDTO> orderItems = new ArrayList<>();
+            cart.lines.forEach((itemId, quantity) -> orderItems.add(OrderRequestDTO.OrderItemRequestDTO.builder()
+                    .itemId(itemId)
+                    .quantity(quantity)
+                    .build()));
+            OrderRequestDTO orderRequest = OrderRequestDTO.builder()
+                    .userId(userId)
+                    .paymentMode(request != null && request.getPaymentMode() != null ? request.getPaymentMode() : PaymentMode.CASH)
+                    .paymentStatus(PaymentStatus.PENDING)
+                    .orderStatus(OrderStatus.CONFIRMED)
+                    .promisedSlot(request != null ? request.getPromisedSlot() : null)
+                    .couponCode(request != null ? request.getCouponCode() : null)
+                    .orderItems(orderItems)
+                    .build();
+
+            OrderPlacementResultDTO result;
+            try {
+                result = orderService.createOrders(List.of(orderRequest)).get(0);
+            } catch (RuntimeException e) {
+                failedCheckouts.incrementAndGet();
+                throw e;
+            }
+            if (result.getError() != null) {
+                failedCheckouts.incrementAndGet();
+                if (result.isSlotFull()) {
+                    throw new SlotFullException(result.getError(), result.getNextAvailableSlot());
+                }
+                throw new IllegalArgumentException(result.getError());
+            }
+            close(userId, cart);
+            checkouts.incrementAndGet();
+            return result.getOrder();
+        }
+    }
+
+    @Override
+    public CartStatsDTO getStats() {
+        return CartStatsDTO.builder()
+                .carts(carts.size())
+                .maxCarts(maxCarts)
+                .ttlMinutes(ttlMinutes)
+                .catalogItems(itemCatalogService.size())
+                .catalogRefreshedAt(itemCatalogService.getRefreshedAt())
+                .edits(edits.get())
+                .rejectedEdits(rejectedEdits.get())
+                .cartsRejected(cartsRejected.get())
+                .cartsExpired(cartsExpired.get())
+                .checkouts(checkouts.get())
+                .failedCheckouts(failedCheckouts.get())
+                .build();
+    }
+
+    // Runs change on the user's cart under its lock; a cart left empty is dropped
+    private CartDTO edit(Long userId, boolean create, Consumer<Cart> change) {
+        while (true) {
+            Cart cart = create ? carts.computeIfAbsent(userId, this::newCart) : carts.get(userId);
+            if (cart == null) {
+                return emptyCart(userId);
+            }
+            synchronized (cart) {
+                if (cart.closed) {
+                    if (!create) {
+                        return emptyCart(userId);
+                    }
+                    continue;
+                }
+                try {
+                    change.accept(cart);
+                } catch (RuntimeException e) {
+                    rejectedEdits.incrementAndGet();
+                    if (cart.lines.isEmpty()) {
+                        close(userId, cart);
+                    }
+                    throw e;
+                }
+                edits.incrementAndGet();
+                if (cart.lines.isEmpty()) {
+                    close(userId, cart);
+                    return emptyCart(userId);
+                }
+                cart.updatedAt = LocalDateTime.now();
+                return toCartDTO(userId, cart);
+            }
+        }
+    }
+
+    private Cart newCart(Long userId) {
+        if (carts.size() >= maxCarts) {
+            cartsRejected.incrementAndGet();
+            throw new TooManyRequestsException("Too many open carts, please retry shortly", retryAfterSeconds);
+        }
+        return new Cart();
+    }
+
+    // Caller holds the cart's lock
+    private void close(Long userId, Cart cart) {
+        cart.closed = true;
+        carts.remove(userId, cart);
+    }
+
+    private void setLine(Cart cart, CatalogItem item, int quantity) {
+        if (!item.isAvailable()) {
+            throw new IllegalArgumentException("Item " + item.getName() + " is not available");
+        }
+        if (quantity > maxQuantityPerLine) {
+            throw new IllegalArgumentException("At most " + maxQuantityPerLine + " of item " + item.getName() + " per order");
+        }
+        if (!cart.lines.containsKey(item.getId()) && cart.lines.size() >= maxLines) {
+            throw new IllegalArgumentException("A cart can hold at most " + maxLines + " different items");
+        }
+        if (item.getStock() < quantity) {
+            throw new IllegalArgumentException("Insufficient stock. Available: " + item.getStock());
+        }
+        cart.lines.put(item.getId(), quantity);
+    }
+
+    // Priced from the catalog as it is now; lines whose item has since been deleted show as unavailable
+    private CartDTO toCartDTO(Long userId, Cart cart) {
+        List<CartDTO.CartLineDTO> lines = new ArrayList<>(cart.lines.size());
+        int totalQuantity = 0;
+        double totalAmount = 0;
+        for (Map.Entry<Long, Integer> line : cart.lines.entrySet()) {
+            CatalogItem item = itemCatalogService.getCachedItem(line.getKey());
+            double unitPrice = item != null ? item.getPrice() : 0;
+            lines.add(CartDTO.CartLineDTO.builder()
+                    .itemId(line.getKey())
+                    .name(item != null ? item.getName() : null)
+                    .menuId(item != null ? item.getMenuId() : null)
+                    .veg(item != null && item.isVeg())
+                    .available(item != null && item.isAvailable())
+                    .quantity(line.getValue())
+                    .unitPrice(unitPrice)
+                    .lineTotal(unitPrice * line.getValue())
+                    .build());
+            totalQuantity += line.getValue();
+            totalAmount += unitPrice * line.getValue();
+        }
+        return CartDTO.builder()
+                .userId(userId)
+                .lines(lines)
+                .totalQuantity(totalQuantity)
+                .totalAmount(totalAmount)
+                .updatedAt(cart.updatedAt)
+                .expiresAt(cart.updatedAt.plusMinutes(ttlMinutes))
+                .build();
+    }
+
+    private CartDTO emptyCart(Long userId) {
+        return CartDTO.builder()
+                .userId(userId)
+                .lines(List.of())
+                .build();
+    }
+}
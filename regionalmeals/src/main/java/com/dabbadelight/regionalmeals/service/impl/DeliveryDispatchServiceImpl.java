@@ -0,0 +1,269 @@
+package com.dabbadelight.regionalmeals.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.dabbadelight.regionalmeals.model.DTO.BulkStatusResultDTO;
+import com.dabbadelight.regionalmeals.model.DTO.DeliveryBatchDTO;
+import com.dabbadelight.regionalmeals.model.DTO.OrderEvent;
+import com.dabbadelight.regionalmeals.model.Orders.Order;
+import com.dabbadelight.regionalmeals.model.Orders.OrderItem;
+import com.dabbadelight.regionalmeals.model.User.Address;
+import com.dabbadelight.regionalmeals.model.enums.OrderEventType;
+import com.dabbadelight.regionalmeals.model.enums.OrderStatus;
+import com.dabbadelight.regionalmeals.repository.AddressRepository;
+import com.dabbadelight.regionalmeals.repository.OrderRepository;
+import com.dabbadelight.regionalmeals.service.DeliveryDispatchService;
+import com.dabbadelight.regionalmeals.service.OrderService;
+
+import jakarta.annotation.PostConstruct;
+
+// Keeps every CONFIRMED and PREPARING order in a bucket per (kitchen, pincode, slot window), so a
+// proposal is a walk over ready-made groups rather than a clustering pass. Like the kitchen boards,
+// the buckets are loaded once at startup and then follow the order outbox events; the only reads
+// afterwards are one address lookup when an order first becomes open. An order spanning several
+// menus is dispatched by the kitchen with the lowest menu id, and goes to the user's first
+// address, the same one order responses show.
+@Service
+public class DeliveryDispatchServiceImpl implements DeliveryDispatchService {
+
+    private static final Comparator<Stop> DISPATCH_ORDER = Comparator
+            .comparing(Stop::dispatchAt)
+            .thenComparing(Stop::createdAt)
+            .thenComparing(Stop::orderId);
+    private static final Comparator<BucketKey> URGENT_FIRST = Comparator
+            .comparing(BucketKey::windowStart)
+            .thenComparing(BucketKey::pincode, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final OrderRepository orderRepository;
+    private final AddressRepository addressRepository;
+    private final OrderService orderService;
+    private final long windowMinutes;
+    private final int maxOrdersPerBatch;
+
+    private final Map<Long, Kitchen> kitchens = new ConcurrentHashMap<>();
+    private final Map<Long, Stop> stopsByOrder = new ConcurrentHashMap<>();
+
+    private record Stop(Long orderId, Long userId, Long menuId, String pincode, OrderStatus status,
+                        LocalDateTime promisedSlot, LocalDateTime createdAt, LocalDateTime windowStart) {
+        // ASAP orders go out in the window they were placed in
+        LocalDateTime dispatchAt() {
+            return promisedSlot != null ? promisedSlot : createdAt;
+        }
+    }
+
+    private record BucketKey(String pincode, LocalDateTime windowStart) {}
+
+    public DeliveryDispatchServiceImpl(OrderRepository orderRepository, AddressRepository addressRepository,
+                                       OrderService orderService,
+                                       @Value("${delivery.batch.slot-window-minutes:30}") long windowMinutes,
+                                       @Value("${delivery.batch.max-orders:8}") int maxOrdersPerBatch) {
+        this.orderRepository = orderRepository;
+        this.addressRepository = addressRepository;
+        this.orderService = orderService;
+        this.windowMinutes = windowMinutes;
+        this.maxOrdersPerBatch = Math.max(1, maxOrdersPerBatch);
+    }
+
+    // Events still in the outbox replay on top of this snapshot and end in the same state
+    @PostConstruct
+    public void loadOpenOrders() {
+        List<Order> open = orderRepository.findWithItemsByOrderStatusIn(
+                List.of(OrderStatus.CONFIRMED, OrderStatus.PREPARING));
+        Set<Long> userIds = open.stream()
+                .map(order -> order.getUser().getId())
+                .collect(Collectors.toSet());
+        Map<Long, String> pincodeByUser = new HashMap<>();
+        if (!userIds.isEmpty()) {
+            for (Address address : addressRepository.findByUserIdInOrderByIdAsc(userIds)) {
+                pincodeByUser.putIfAbsent(address.getUser().getId(), address.getPincode());
+            }
+        }
+        for (Order order : open) {
+            Long menuId = order.getOrderItems().stream()
+                    .map(OrderItem::getItem)
+                    .filter(item -> item.getMenu() != null)
+                    .map(item -> item.getMenu().getId())
+                    .min(Comparator.naturalOrder())
+                    .orElse(null);
+            Long userId = order.getUser().getId();
+            applyOrder(order.getId(), userId, menuId, order.getOrderStatus(), order.getPromisedSlot(),
+                    order.getCreatedAt(), pincodeByUser.get(userId));
+        }
+        System.out.println("🛵 Delivery dispatch loaded with " + open.size() + " open orders");
+    }
+
+    @EventListener
+    public void onOrderEvent(OrderEvent event) {
+        OrderStatus status = event.getType() == OrderEventType.DELETED ? null : event.getOrderStatus();
+        if (!isOpen(status)) {
+            applyOrder(event.getOrderId(), event.getUserId(), null, status, null, null, null);
+            return;
+        }
+        Long menuId = event.getLines() == null ? null : event.getLines().stream()
+                .map(OrderEvent.Line::getMenuId)
+                .filter(Objects::nonNull)
+                .min(Comparator.naturalOrder())
+                .orElse(null);
+        // The address is read once, when the order first shows up here
+        Stop previous = stopsByOrder.get(event.getOrderId());
+        String pincode = previous != null && Objects.equals(previous.userId(), event.getUserId())
+                ? previous.pincode()
+                : pincodeFor(event.getUserId());
+        applyOrder(event.getOrderId(), event.getUserId(), menuId, status, event.getPromisedSlot(),
+                event.getOrderCreatedAt(), pincode);
+    }
+
+    // Serialised, so an order is never in two buckets at once
+    private synchronized void applyOrder(Long orderId, Long userId, Long menuId, OrderStatus status,
+                                         LocalDateTime promisedSlot, LocalDateTime createdAt, String pincode) {
+        Stop previous = stopsByOrder.get(orderId);
+        if (!isOpen(status) || menuId == null || createdAt == null) {
+            if (previous != null) {
+                stopsByOrder.remove(orderId);
+                kitchenFor(previous.menuId()).remove(previous);
+            }
+            return;
+        }
+        LocalDateTime dispatchAt = promisedSlot != null ? promisedSlot : createdAt;
+        Stop stop = new Stop(orderId, userId, menuId, pincode, status, promisedSlot, createdAt, windowStart(dispatchAt));
+        if (stop.equals(previous)) {
+            return;
+        }
+        if (previous != null) {
+            kitchenFor(previous.menuId()).remove(previous);
+        }
+        stopsByOrder.put(orderId, stop);
+        kitchenFor(menuId).add(stop);
+    }
+
+    @Override
+    public List<DeliveryBatchDTO> getBatches(Long menuId) {
+        Kitchen kitchen = kitchens.get(menuId);
+        if (kitchen == null) {
+            return List.of();
+        }
+        List<DeliveryBatchDTO> batches = new ArrayList<>();
+        for (Map.Entry<BucketKey, List<Stop>> bucket : kitchen.snapshot().entrySet()) {
+            BucketKey key = bucket.getKey();
+            List<Stop> stops = bucket.getValue();
+            // Without a pincode there is nothing to share a run with
+            int chunk = key.pincode() == null ? 1 : maxOrdersPerBatch;
+            for (int from = 0, part = 1; from < stops.size(); from += chunk, part++) {
+                List<Stop> batchStops = stops.subList(from, Math.min(from + chunk, stops.size()));
+                String batchId = (key.pincode() == null ? "order-" + batchStops.get(0).orderId() : key.pincode())
+                        + "_" + key.windowStart() + (from == 0 ? "" : "_" + part);
+                batches.add(toBatchDTO(batchId, menuId, key, batchStops));
+            }
+        }
+        return batches;
+    }
+
+    @Override
+    public List<BulkStatusResultDTO> confirmBatch(Long menuId, List<Long> orderIds) {
+        if (orderIds == null || orderIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one order id is required");
+        }
+        for (Long orderId : orderIds) {
+            Stop stop = stopsByOrder.get(orderId);
+            if (stop == null || !stop.menuId().equals(menuId)) {
+                throw new IllegalArgumentException("Order " + orderId + " is not waiting for dispatch at kitchen " + menuId);
+            }
+        }
+
+        List<BulkStatusResultDTO> results = orderService.updateOrderStatuses(orderIds, OrderStatus.OUT_FOR_DELIVERY);
+        // Take dispatched orders out now rather than when their events come round
+        for (BulkStatusResultDTO result : results) {
+            if (result.getOutcome() == BulkStatusResultDTO.Outcome.UPDATED) {
+                applyOrder(result.getOrderId(), null, null, OrderStatus.OUT_FOR_DELIVERY, null, null, null);
+            }
+        }
+        return results;
+    }
+
+    private DeliveryBatchDTO toBatchDTO(String batchId, Long menuId, BucketKey key, List<Stop> stops) {
+        int ready = (int) stops.stream().filter(stop -> stop.status() == OrderStatus.PREPARING).count();
+        return DeliveryBatchDTO.builder()
+                .batchId(batchId)
+                .menuId(menuId)
+                .pincode(key.pincode())
+                .windowStart(key.windowStart())
+                .windowEnd(key.windowStart().plusMinutes(windowMinutes))
+                .orderCount(stops.size())
+                .readyCount(ready)
+                .ready(ready == stops.size())
+                .stops(stops.stream().map(stop -> DeliveryBatchDTO.Stop.builder()
+                        .orderId(stop.orderId())
+                        .userId(stop.userId())
+                        .orderStatus(stop.status())
+                        .promisedSlot(stop.promisedSlot())
+                        .createdAt(stop.createdAt())
+                        .build())
+                    .collect(Collectors.toList()))
+                .build();
+    }
+
+    private boolean isOpen(OrderStatus status) {
+        return status == OrderStatus.CONFIRMED || status == OrderStatus.PREPARING;
+    }
+
+    // Fixed windows from midnight, so a batch keeps its id while orders join and leave it
+    private LocalDateTime windowStart(LocalDateTime at) {
+        LocalDateTime midnight = at.truncatedTo(ChronoUnit.DAYS);
+        long minutes = Duration.between(midnight, at).toMinutes();
+        return midnight.plusMinutes(minutes - minutes % windowMinutes);
+    }
+
+    private String pincodeFor(Long userId) {
+        if (userId == null) {
+            return null;
+        }
+        List<Address> addresses = addressRepository.findByUserIdInOrderByIdAsc(List.of(userId));
+        return addresses.isEmpty() ? null : addresses.get(0).getPincode();
+    }
+
+    private Kitchen kitchenFor(Long menuId) {
+        return kitchens.computeIfAbsent(menuId, id -> new Kitchen());
+    }
+
+    // Reads and writes of one kitchen go through its monitor
+    private static final class Kitchen {
+        final TreeMap<BucketKey, TreeSet<Stop>> buckets = new TreeMap<>(URGENT_FIRST);
+
+        synchronized void add(Stop stop) {
+            buckets.computeIfAbsent(new BucketKey(stop.pincode(), stop.windowStart()), key -> new TreeSet<>(DISPATCH_ORDER))
+                    .add(stop);
+        }
+
+        synchronized void remove(Stop stop) {
+            BucketKey key = new BucketKey(stop.pincode(), stop.windowStart());
+            TreeSet<Stop> bucket = buckets.get(key);
+            if (bucket != null && bucket.remove(stop) && bucket.isEmpty()) {
+                buckets.remove(key);
+            }
+        }
+
+        synchronized Map<BucketKey, List<Stop>> snapshot() {
+            Map<BucketKey, List<Stop>> copy = new LinkedHashMap<>();
+            buckets.forEach((key, stops) -> copy.put(key, new ArrayList<>(stops)));
+            return copy;
+        }
+    }
+}
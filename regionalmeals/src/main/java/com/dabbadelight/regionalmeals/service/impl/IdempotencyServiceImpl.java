@@ -0,0 +1,361 @@
+package com.dabbadelight.regionalmeals.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dabbadelight.regionalmeals.exception.ConflictException;
+import com.dabbadelight.regionalmeals.model.IdempotencyRecord;
+import com.dabbadelight.regionalmeals.repository.IdempotencyRecordRepository;
+import com.dabbadelight.regionalmeals.service.IdempotencyService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// A keyed request first claims a row in idempotency_record (the unique key makes that safe across
+// instances), then runs in one transaction with the write of its response, so the order change
+// and the stored response commit together. Repeats are answered from a bounded in-memory cache,
+// falling back to the table; a repeat that arrives while the first attempt is still running
+// on this instance waits for it and gets the same response. While an action runs, its instance
+// keeps pushing the claim's expiry forward, so a claim only expires once its holder has stopped;
+// only then may another instance take the key over. An attempt that finishes after losing its
+// claim rolls back instead of committing a second time. Renewal runs on its own thread rather than
+// the shared @Scheduled pool, where long archive, reconciliation or relay runs could hold it back
+// past the timeout and let a retry run the action twice.
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 255;
+    // Headers a replay repeats besides status and body; the async intake's 202 points at its handle
+    private static final List<String> REPLAYED_HEADERS = List.of(HttpHeaders.LOCATION);
+    private static final TypeReference<Map<String, List<String>>> HEADERS_TYPE = new TypeReference<>() {};
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final long ttlMinutes;
+    private final long inFlightTimeoutSeconds;
+
+    private final Map<String, StoredResponse> cache;
+    private final Map<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+    // Claims whose action is running here, renewed by heartbeat()
+    private final Set<Long> runningClaims = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "idempotency-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final long heartbeatIntervalMillis;
+
+    public IdempotencyServiceImpl(IdempotencyRecordRepository idempotencyRecordRepository,
+                                  TransactionTemplate transactionTemplate, ObjectMapper objectMapper,
+                                  @Value("${idempotency.ttl-minutes:1440}") long ttlMinutes,
+                                  @Value("${idempotency.in-flight-timeout-seconds:30}") long inFlightTimeoutSeconds,
+                                  @Value("${idempotency.heartbeat-interval-ms:10000}") long heartbeatIntervalMillis,
+                                  @Value("${idempotency.cache.max-entries:10000}") int maxCacheEntries) {
+        // A claim must survive a missed renewal or two, e.g. a slow database round trip
+        if (heartbeatIntervalMillis * 3 > inFlightTimeoutSeconds * 1000) {
+            throw new IllegalArgumentException("idempotency.in-flight-timeout-seconds must cover at least three "
+                    + "idempotency.heartbeat-interval-ms renewals");
+        }
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.ttlMinutes = ttlMinutes;
+        this.inFlightTimeoutSeconds = inFlightTimeoutSeconds;
+        this.heartbeatIntervalMillis = heartbeatIntervalMillis;
+        this.cache = new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+                return size() > maxCacheEntries;
+            }
+        };
+    }
+
+    @PostConstruct
+    public void startHeartbeat() {
+        heartbeats.scheduleWithFixedDelay(this::heartbeat, heartbeatIntervalMillis, heartbeatIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stopHeartbeat() {
+        heartbeats.shutdownNow();
+    }
+
+    @Override
+    public ResponseEntity<?> execute(String idempotencyKey, String operation, Object request,
+                                     Supplier<ResponseEntity<?>> action) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        String keyHash = sha256(callerName() + "|" + operation + "|" + idempotencyKey);
+        String requestHash = sha256(toJson(request));
+
+        StoredResponse cached = cachedResponse(keyHash);
+        if (cached != null) {
+            return replay(cached, requestHash);
+        }
+
+        CompletableFuture<StoredResponse> mine = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(keyHash, mine);
+        if (running != null) {
+            return replay(await(running), requestHash);
+        }
+
+        try {
+            StoredResponse response = claimAndRun(keyHash, requestHash, action);
+            mine.complete(response);
+            // original is set only when this call ran the action
+            if (response.original != null) {
+                return response.original;
+            }
+            return replay(response, requestHash);
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(keyHash, mine);
+        }
+    }
+
+    private StoredResponse claimAndRun(String keyHash, String requestHash, Supplier<ResponseEntity<?>> action) {
+        LocalDateTime now = LocalDateTime.now();
+        Optional<IdempotencyRecord> existing = idempotencyRecordRepository.findByKeyHash(keyHash);
+        if (existing.isPresent()) {
+            IdempotencyRecord record = existing.get();
+            if (record.getExpiresAt().isAfter(now)) {
+                if (!record.isCompleted()) {
+                    throw new ConflictException("A request with this Idempotency-Key is still being processed");
+                }
+                StoredResponse stored = new StoredResponse(record.getRequestHash(), record.getResponseStatus(),
+                        record.getResponseBody(), record.getResponseHeaders(), record.getExpiresAt());
+                remember(keyHash, stored);
+                return stored;
+            }
+            // Expired: either past its TTL, or a claim whose holder stopped renewing it
+            transactionTemplate.executeWithoutResult(status -> idempotencyRecordRepository.deleteIfExpired(record.getId(), now));
+        }
+
+        // Claim the key; it is renewed while the action runs, so only a crashed attempt lets it expire
+        IdempotencyRecord claim = new IdempotencyRecord();
+        claim.setKeyHash(keyHash);
+        claim.setRequestHash(requestHash);
+        claim.setCreatedAt(now);
+        claim.setExpiresAt(now.plusSeconds(inFlightTimeoutSeconds));
+        try {
+            transactionTemplate.executeWithoutResult(status -> idempotencyRecordRepository.saveAndFlush(claim));
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflictException("A request with this Idempotency-Key is still being processed");
+        }
+
+        runningClaims.add(claim.getId());
+        try {
+            StoredResponse response = transactionTemplate.execute(status -> {
+                ResponseEntity<?> result = action.get();
+                if (!result.getStatusCode().is2xxSuccessful()) {
+                    // Nothing worth replaying; free the key for a corrected retry
+                    idempotencyRecordRepository.deleteRecord(claim.getId());
+                    return new StoredResponse(result);
+                }
+                LocalDateTime expiresAt = LocalDateTime.now().plusMinutes(ttlMinutes);
+                String body = toJson(result.getBody());
+                String headers = replayedHeaders(result);
+                if (idempotencyRecordRepository.markCompleted(claim.getId(), result.getStatusCode().value(), body,
+                        headers, expiresAt) == 0) {
+                    // Another instance took the key over; its attempt is the one that counts
+                    throw new ConflictException("A request with this Idempotency-Key is still being processed");
+                }
+                StoredResponse stored = new StoredResponse(requestHash, result.getStatusCode().value(), body, headers,
+                        expiresAt);
+                stored.original = result;
+                return stored;
+            });
+            if (response.body != null) {
+                remember(keyHash, response);
+            }
+            return response;
+        } catch (RuntimeException e) {
+            // The attempt rolled back; release the claim so the client can retry with the same key
+            transactionTemplate.executeWithoutResult(status -> idempotencyRecordRepository.deleteRecord(claim.getId()));
+            throw e;
+        } finally {
+            runningClaims.remove(claim.getId());
+        }
+    }
+
+    public void heartbeat() {
+        if (runningClaims.isEmpty()) {
+            return;
+        }
+        try {
+            LocalDateTime expiresAt = LocalDateTime.now().plusSeconds(inFlightTimeoutSeconds);
+            transactionTemplate.executeWithoutResult(status ->
+                    idempotencyRecordRepository.extendClaims(Set.copyOf(runningClaims), expiresAt));
+        } catch (RuntimeException e) {
+            System.out.println("❌ Idempotency claim heartbeat failed: " + e.getMessage());
+        }
+    }
+
+    private ResponseEntity<?> replay(StoredResponse stored, String requestHash) {
+        if (stored.body == null) {
+            return stored.original;
+        }
+        if (!stored.requestHash.equals(requestHash)) {
+            throw new IllegalArgumentException("Idempotency-Key was already used with a different request");
+        }
+        HttpHeaders headers = new HttpHeaders();
+        if (stored.headers != null) {
+            headers.putAll(fromJson(stored.headers));
+        }
+        return ResponseEntity.status(stored.status)
+                .headers(headers)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Idempotent-Replayed", "true")
+                .body(stored.body);
+    }
+
+    // The REPLAYED_HEADERS the response set, as JSON; null when it set none
+    private String replayedHeaders(ResponseEntity<?> result) {
+        Map<String, List<String>> kept = new LinkedHashMap<>();
+        for (String name : REPLAYED_HEADERS) {
+            List<String> values = result.getHeaders().get(name);
+            if (values != null && !values.isEmpty()) {
+                kept.put(name, values);
+            }
+        }
+        return kept.isEmpty() ? null : toJson(kept);
+    }
+
+    private StoredResponse await(CompletableFuture<StoredResponse> running) {
+        try {
+            return running.get(inFlightTimeoutSeconds, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new ConflictException("A request with this Idempotency-Key is still being processed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("Interrupted while waiting for the original request");
+        }
+    }
+
+    private StoredResponse cachedResponse(String keyHash) {
+        synchronized (cache) {
+            StoredResponse stored = cache.get(keyHash);
+            if (stored != null && stored.expiresAt.isBefore(LocalDateTime.now())) {
+                cache.remove(keyHash);
+                return null;
+            }
+            return stored;
+        }
+    }
+
+    private void remember(String keyHash, StoredResponse stored) {
+        synchronized (cache) {
+            cache.put(keyHash, stored.forCache());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.cleanup-interval-ms:600000}")
+    public void purgeExpired() {
+        try {
+            Integer purged = transactionTemplate.execute(status ->
+                    idempotencyRecordRepository.deleteExpired(LocalDateTime.now()));
+            if (purged != null && purged > 0) {
+                System.out.println("🧹 Purged " + purged + " expired idempotency records");
+            }
+        } catch (RuntimeException e) {
+            System.out.println("❌ Idempotency cleanup failed: " + e.getMessage());
+        }
+    }
+
+    private String callerName() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null ? auth.getName() : "anonymous";
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize idempotent request or response", e);
+        }
+    }
+
+    private Map<String, List<String>> fromJson(String headers) {
+        try {
+            return objectMapper.readValue(headers, HEADERS_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read stored idempotent response headers", e);
+        }
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // A stored response; for a non-2xx result that isn't kept, only the original response
+    private static final class StoredResponse {
+        final String requestHash;
+        final int status;
+        final String body;
+        final String headers;
+        final LocalDateTime expiresAt;
+        ResponseEntity<?> original;
+
+        StoredResponse(String requestHash, int status, String body, String headers, LocalDateTime expiresAt) {
+            this.requestHash = requestHash;
+            this.status = status;
+            this.body = body;
+            this.headers = headers;
+            this.expiresAt = expiresAt;
+        }
+
+        StoredResponse(ResponseEntity<?> original) {
+            this(null, original.getStatusCode().value(), null, null, LocalDateTime.now());
+            this.original = original;
+        }
+
+        StoredResponse forCache() {
+            return new StoredResponse(requestHash, status, body, headers, expiresAt);
+        }
+    }
+}
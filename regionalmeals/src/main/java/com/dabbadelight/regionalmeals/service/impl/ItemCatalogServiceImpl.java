@@ -0,0 +1,74 @@
+package com.dabbadelight.regionalmeals.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.dabbadelight.regionalmeals.exception.ResourceNotFoundException;
+import com.dabbadelight.regionalmeals.model.DTO.CatalogItem;
+import com.dabbadelight.regionalmeals.repository.ItemRepository;
+import com.dabbadelight.regionalmeals.service.ItemCatalogService;
+
+// In-memory copy of the item catalog for hot paths that must not hit the database per request.
+// Reloaded in one projection query every few seconds, so price, availability and stock can lag by
+// that much; anything that commits stock still checks it against the database.
+@Service
+public class ItemCatalogServiceImpl implements ItemCatalogService {
+
+    private final ItemRepository itemRepository;
+
+    private volatile Map<Long, CatalogItem> catalog = new ConcurrentHashMap<>();
+    private volatile LocalDateTime refreshedAt;
+
+    public ItemCatalogServiceImpl(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    @Scheduled(fixedDelayString = "${item.catalog.refresh-interval-ms:30000}")
+    public void refresh() {
+        try {
+            Map<Long, CatalogItem> fresh = new ConcurrentHashMap<>();
+            for (CatalogItem item : itemRepository.findCatalog()) {
+                fresh.put(item.getId(), item);
+            }
+            catalog = fresh;
+            refreshedAt = LocalDateTime.now();
+        } catch (RuntimeException e) {
+            System.out.println("❌ Item catalog refresh failed: " + e.getMessage());
+        }
+    }
+
+    // Items created since the last refresh are kept until the next one
+    @Override
+    public CatalogItem getItem(Long itemId) {
+        if (itemId == null) {
+            throw new IllegalArgumentException("Item id is required");
+        }
+        CatalogItem item = catalog.get(itemId);
+        if (item != null) {
+            return item;
+        }
+        item = itemRepository.findCatalogItemById(itemId)
+                .orElseThrow(() -> new ResourceNotFoundException("Item", "id", itemId));
+        catalog.put(itemId, item);
+        return item;
+    }
+
+    @Override
+    public CatalogItem getCachedItem(Long itemId) {
+        return catalog.get(itemId);
+    }
+
+    @Override
+    public int size() {
+        return catalog.size();
+    }
+
+    @Override
+    public LocalDateTime getRefreshedAt() {
+        return refreshedAt;
+    }
+}
@@ -1,21 +1,29 @@
 package com.dabbadelight.regionalmeals.service.impl;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.dabbadelight.regionalmeals.exception.ResourceNotFoundException;
 import com.dabbadelight.regionalmeals.model.Kitchen.Item;
 import com.dabbadelight.regionalmeals.repository.ItemRepository;
 import com.dabbadelight.regionalmeals.service.ItemService;
+import com.dabbadelight.regionalmeals.service.StockLedgerService;
 
 @Service
 public class ItemServiceImpl implements ItemService {
 
     private final ItemRepository itemRepository;
+    private final StockLedgerService stockLedger; // null unless stock.ledger.enabled=true
 
-    public ItemServiceImpl(ItemRepository itemRepository) {
+    public ItemServiceImpl(ItemRepository itemRepository, ObjectProvider<StockLedgerService> stockLedgerProvider) {
         this.itemRepository = itemRepository;
+        this.stockLedger = stockLedgerProvider.getIfAvailable();
     }
 
     @Override
@@ -39,6 +47,11 @@ public class ItemServiceImpl implements ItemService {
                 .orElseThrow(() -> new ResourceNotFoundException("Item not found with id: " + id));
     }
 
+    @Override
+    public List<Item> getItemsByIds(Collection<Long> ids) {
+        return itemRepository.findAllById(ids);
+    }
+
     @Override
     public List<Item> getAllItems() {
         return itemRepository.findAll();
@@ -67,6 +80,14 @@ public class ItemServiceImpl implements ItemService {
             throw new IllegalArgumentException("Price cannot be negative");
         }
         
+        if (stockLedger != null) {
+            // The ledger owns stock; the row is brought up to date by its next flush
+            LocalDateTime now = LocalDateTime.now();
+            itemRepository.updateDetails(id, itemDetails.getName(), itemDetails.getDetails(), itemDetails.getPrice(),
+                    itemDetails.isVeg(), itemDetails.isAvailable(), itemDetails.getUpdatedBy(), now);
+            stockLedger.setStock(id, itemDetails.getStock());
+            item.setUpdatedAt(now);
+        }
         item.setName(itemDetails.getName());
         item.setDetails(itemDetails.getDetails());
         item.setPrice(itemDetails.getPrice());
@@ -75,21 +96,30 @@ public class ItemServiceImpl implements ItemService {
         item.setAvailable(itemDetails.isAvailable());
         item.setUpdatedBy(itemDetails.getUpdatedBy());
         
-        return itemRepository.save(item);
+        return stockLedger != null ? item : itemRepository.save(item);
     }
 
     @Override
     public Item toggleItemAvailability(Long id, String updatedBy) {
         Item item = getItemById(id);
+        if (stockLedger != null) {
+            LocalDateTime now = LocalDateTime.now();
+            itemRepository.updateAvailability(id, !item.isAvailable(), updatedBy, now);
+            item.setStock(stockLedger.getAvailableStock(id));
+            item.setUpdatedAt(now);
+        }
         item.setAvailable(!item.isAvailable());
         item.setUpdatedBy(updatedBy);
-        return itemRepository.save(item);
+        return stockLedger != null ? item : itemRepository.save(item);
     }
 
     @Override
     public void deleteItem(Long id) {
         Item item = getItemById(id);
         itemRepository.delete(item);
+        if (stockLedger != null) {
+            stockLedger.evict(id);
+        }
     }
 
     @Override
@@ -98,6 +128,11 @@ public class ItemServiceImpl implements ItemService {
         if (newStock < 0) {
             throw new IllegalArgumentException("Stock cannot be negative");
         }
+        if (stockLedger != null) {
+            stockLedger.setStock(id, newStock);
+            item.setStock(newStock);
+            return item;
+        }
         item.setStock(newStock);
         item.setUpdatedBy(updatedBy);
         return itemRepository.save(item);
@@ -109,6 +144,11 @@ public class ItemServiceImpl implements ItemService {
         if (amount <= 0) {
             throw new IllegalArgumentException("Amount must be positive");
         }
+        if (stockLedger != null) {
+            stockLedger.release(Map.of(id, amount));
+            item.setStock(stockLedger.getAvailableStock(id));
+            return item;
+        }
         item.setStock(item.getStock() + amount);
         item.setUpdatedBy(updatedBy);
         return itemRepository.save(item);
@@ -120,6 +160,13 @@ public class ItemServiceImpl implements ItemService {
         if (amount <= 0) {
             throw new IllegalArgumentException("Amount must be positive");
         }
+        if (stockLedger != null) {
+            if (!stockLedger.reserve(Map.of(id, amount)).isEmpty()) {
+                throw new IllegalArgumentException("Insufficient stock. Available: " + stockLedger.getAvailableStock(id));
+            }
+            item.setStock(stockLedger.getAvailableStock(id));
+            return item;
+        }
         int newStock = item.getStock() - amount;
         if (newStock < 0) {
             throw new IllegalArgumentException("Insufficient stock. Available: " + item.getStock());
@@ -129,6 +176,51 @@ public class ItemServiceImpl implements ItemService {
         return itemRepository.save(item);
     }
 
+    @Override
+    @Transactional
+    public void reserveStock(Map<Long, Integer> quantities, String updatedBy) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            if (entry.getValue() <= 0) {
+                throw new IllegalArgumentException("Amount must be positive for item id: " + entry.getKey());
+            }
+        }
+
+        // Any short line fails the whole reservation; the caller's transaction rolls back the rest
+        List<Long> shortItemIds = stockLedger != null
+                ? stockLedger.reserve(quantities)
+                : itemRepository.decrementStock(quantities, updatedBy);
+        if (!shortItemIds.isEmpty()) {
+            throw new IllegalArgumentException("Insufficient stock for item id(s): " + shortItemIds);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void releaseStock(Map<Long, Integer> quantities, String updatedBy) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            if (entry.getValue() <= 0) {
+                throw new IllegalArgumentException("Amount must be positive for item id: " + entry.getKey());
+            }
+        }
+
+        if (stockLedger != null) {
+            stockLedger.release(quantities);
+        } else {
+            itemRepository.applyStockDeltas(quantities, updatedBy);
+        }
+    }
+
+    @Override
+    public int getAvailableStock(Item item) {
+        return stockLedger != null ? stockLedger.getAvailableStock(item.getId()) : item.getStock();
+    }
+
     @Override
     public List<Item> getVegetarianItemsByMenuId(Long menuId) {
         return itemRepository.findByMenuIdAndIsVegTrue(menuId);
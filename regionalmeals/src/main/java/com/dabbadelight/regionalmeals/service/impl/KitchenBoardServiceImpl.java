@@ -0,0 +1,344 @@
+package com.dabbadelight.regionalmeals.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.dabbadelight.regionalmeals.exception.ResourceNotFoundException;
+import com.dabbadelight.regionalmeals.model.DTO.KitchenBoardDTO;
+import com.dabbadelight.regionalmeals.model.DTO.KitchenBoardDeltaDTO;
+import com.dabbadelight.regionalmeals.model.DTO.KitchenTicketDTO;
+import com.dabbadelight.regionalmeals.model.DTO.OrderEvent;
+import com.dabbadelight.regionalmeals.model.Orders.Order;
+import com.dabbadelight.regionalmeals.model.Orders.OrderItem;
+import com.dabbadelight.regionalmeals.model.enums.KitchenTicketStatus;
+import com.dabbadelight.regionalmeals.model.enums.OrderEventType;
+import com.dabbadelight.regionalmeals.model.enums.OrderStatus;
+import com.dabbadelight.regionalmeals.repository.OrderRepository;
+import com.dabbadelight.regionalmeals.service.KitchenBoardService;
+import com.dabbadelight.regionalmeals.service.OrderService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// Each kitchen (menu) has a board of tickets for its CONFIRMED and PREPARING orders, kept in
+// sorted sets by promised slot, then order time. The boards are loaded once at startup and from
+// then on follow the order outbox events, so reading or claiming never touches the orders table
+// beyond the single update a claim makes. A ticket is in progress once its own kitchen has claimed
+// it, not when the order is PREPARING: in a multi-kitchen order each kitchen claims its own part.
+@Service
+public class KitchenBoardServiceImpl implements KitchenBoardService {
+
+    private static final Comparator<KitchenTicketDTO> COOKING_ORDER = Comparator
+            .comparing((KitchenTicketDTO t) -> t.getPromisedSlot() != null ? t.getPromisedSlot() : t.getCreatedAt())
+            .thenComparing(KitchenTicketDTO::getCreatedAt)
+            .thenComparing(KitchenTicketDTO::getOrderId);
+
+    private static final String SNAPSHOT_EVENT = "snapshot";
+    private static final String TICKET_EVENT = "ticket";
+
+    private final OrderRepository orderRepository;
+    private final OrderService orderService;
+    private final long emitterTimeoutMillis;
+    private final int maxQueuedPerConnection;
+
+    private final Map<Long, Board> boards = new ConcurrentHashMap<>();
+    // Kitchens each active order currently has a ticket on
+    private final Map<Long, Set<Long>> menusByOrder = new ConcurrentHashMap<>();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    public KitchenBoardServiceImpl(OrderRepository orderRepository, OrderService orderService,
+                                   @Value("${kitchen.board.emitter-timeout-ms:1800000}") long emitterTimeoutMillis,
+                                   @Value("${kitchen.board.max-queued-per-connection:500}") int maxQueuedPerConnection) {
+        this.orderRepository = orderRepository;
+        this.orderService = orderService;
+        this.emitterTimeoutMillis = emitterTimeoutMillis;
+        this.maxQueuedPerConnection = maxQueuedPerConnection;
+    }
+
+    // Events still in the outbox replay on top of this snapshot and end in the same state
+    @PostConstruct
+    public void loadActiveOrders() {
+        List<Order> active = orderRepository.findWithItemsByOrderStatusIn(
+                List.of(OrderStatus.CONFIRMED, OrderStatus.PREPARING));
+        for (Order order : active) {
+            Map<Long, List<KitchenTicketDTO.Line>> linesByMenu = new LinkedHashMap<>();
+            Set<Long> claimedMenus = new HashSet<>();
+            for (OrderItem orderItem : order.getOrderItems()) {
+                if (orderItem.getItem().getMenu() == null) {
+                    continue;
+                }
+                if (orderItem.getClaimedAt() != null) {
+                    claimedMenus.add(orderItem.getItem().getMenu().getId());
+                }
+                linesByMenu.computeIfAbsent(orderItem.getItem().getMenu().getId(), id -> new ArrayList<>())
+                        .add(KitchenTicketDTO.Line.builder()
+                                .itemId(orderItem.getItem().getId())
+                                .itemName(orderItem.getItem().getName())
+                                .quantity(orderItem.getQuantity())
+                                .build());
+            }
+            applyOrder(order.getId(), order.getOrderStatus(), order.getPromisedSlot(), order.getCreatedAt(),
+                    linesByMenu, claimedMenus);
+        }
+        System.out.println("🍳 Kitchen boards loaded with " + active.size() + " active orders");
+    }
+
+    @EventListener
+    public void onOrderEvent(OrderEvent event) {
+        OrderStatus status = event.getType() == OrderEventType.DELETED ? null : event.getOrderStatus();
+        Map<Long, List<KitchenTicketDTO.Line>> linesByMenu = new LinkedHashMap<>();
+        Set<Long> claimedMenus = new HashSet<>();
+        if (event.getLines() != null) {
+            for (OrderEvent.Line line : event.getLines()) {
+                if (line.getMenuId() == null) {
+                    continue;
+                }
+                if (line.isClaimed()) {
+                    claimedMenus.add(line.getMenuId());
+                }
+                linesByMenu.computeIfAbsent(line.getMenuId(), id -> new ArrayList<>())
+                        .add(KitchenTicketDTO.Line.builder()
+                                .itemId(line.getItemId())
+                                .itemName(line.getItemName())
+                                .quantity(line.getQuantity())
+                                .build());
+            }
+        }
+        applyOrder(event.getOrderId(), status, event.getPromisedSlot(), event.getOrderCreatedAt(),
+                linesByMenu, claimedMenus);
+    }
+
+    private void applyOrder(Long orderId, OrderStatus status, LocalDateTime promisedSlot, LocalDateTime createdAt,
+                            Map<Long, List<KitchenTicketDTO.Line>> linesByMenu, Set<Long> claimedMenus) {
+        boolean onBoard = status == OrderStatus.CONFIRMED || status == OrderStatus.PREPARING;
+        Set<Long> previousMenus = onBoard
+                ? menusByOrder.put(orderId, linesByMenu.keySet())
+                : menusByOrder.remove(orderId);
+
+        if (previousMenus != null) {
+            for (Long menuId : previousMenus) {
+                if (!onBoard || !linesByMenu.containsKey(menuId)) {
+                    Board board = boards.get(menuId);
+                    if (board != null) {
+                        board.remove(orderId);
+                    }
+                }
+            }
+        }
+        if (!onBoard) {
+            return;
+        }
+
+        for (Map.Entry<Long, List<KitchenTicketDTO.Line>> entry : linesByMenu.entrySet()) {
+            boardFor(entry.getKey()).upsert(KitchenTicketDTO.builder()
+                    .orderId(orderId)
+                    .menuId(entry.getKey())
+                    .status(claimedMenus.contains(entry.getKey())
+                            ? KitchenTicketStatus.IN_PROGRESS
+                            : KitchenTicketStatus.WAITING)
+                    .promisedSlot(promisedSlot)
+                    .createdAt(createdAt)
+                    .items(Collections.unmodifiableList(entry.getValue()))
+                    .build());
+        }
+    }
+
+    @Override
+    public KitchenBoardDTO getBoard(Long menuId) {
+        return boardFor(menuId).snapshot();
+    }
+
+    @Override
+    public KitchenTicketDTO claimNext(Long menuId) {
+        KitchenTicketDTO ticket = boardFor(menuId).claimFirst();
+        if (ticket == null) {
+            return null;
+        }
+        return startPreparing(ticket);
+    }
+
+    @Override
+    public KitchenTicketDTO claim(Long menuId, Long orderId) {
+        KitchenTicketDTO ticket = boardFor(menuId).claim(orderId);
+        return startPreparing(ticket);
+    }
+
+    // The board already shows the ticket as taken; if recording the claim fails it goes back to waiting
+    private KitchenTicketDTO startPreparing(KitchenTicketDTO claimed) {
+        try {
+            orderService.startPreparing(claimed.getOrderId(), claimed.getMenuId());
+        } catch (RuntimeException e) {
+            boardFor(claimed.getMenuId()).unclaim(claimed);
+            throw e;
+        }
+        return claimed;
+    }
+
+    @Override
+    public SseEmitter subscribe(Long menuId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        SseConnection connection = new SseConnection(emitter, senders, maxQueuedPerConnection);
+        Board board = boardFor(menuId);
+        board.connect(connection);
+
+        emitter.onCompletion(() -> board.disconnect(connection));
+        emitter.onTimeout(() -> board.disconnect(connection));
+        emitter.onError(e -> board.disconnect(connection));
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${kitchen.board.heartbeat-interval-ms:15000}")
+    public void sendHeartbeats() {
+        for (Board board : boards.values()) {
+            for (SseConnection connection : board.subscribers) {
+                connection.enqueue(SseEmitter.event().comment("heartbeat"));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+    }
+
+    private Board boardFor(Long menuId) {
+        return boards.computeIfAbsent(menuId, Board::new);
+    }
+
+    // All reads and writes of one board go through its monitor; sets give O(log n) insert, remove and claim
+    private static final class Board {
+        final Long menuId;
+        final TreeSet<KitchenTicketDTO> waiting = new TreeSet<>(COOKING_ORDER);
+        final TreeSet<KitchenTicketDTO> inProgress = new TreeSet<>(COOKING_ORDER);
+        final Map<Long, KitchenTicketDTO> byOrder = new HashMap<>();
+        final Set<SseConnection> subscribers = new CopyOnWriteArraySet<>();
+
+        Board(Long menuId) {
+            this.menuId = menuId;
+        }
+
+        synchronized void upsert(KitchenTicketDTO ticket) {
+            KitchenTicketDTO previous = byOrder.get(ticket.getOrderId());
+            // A ticket claimed on this board stays in progress until an event carrying the claim catches up
+            if (previous != null && previous.getStatus() == KitchenTicketStatus.IN_PROGRESS
+                    && ticket.getStatus() == KitchenTicketStatus.WAITING) {
+                ticket = ticket.toBuilder().status(KitchenTicketStatus.IN_PROGRESS).build();
+            }
+            if (ticket.equals(previous)) {
+                return;
+            }
+            if (previous != null) {
+                setFor(previous).remove(previous);
+            }
+            put(ticket);
+        }
+
+        synchronized void remove(Long orderId) {
+            KitchenTicketDTO previous = byOrder.remove(orderId);
+            if (previous == null) {
+                return;
+            }
+            setFor(previous).remove(previous);
+            broadcast(KitchenBoardDeltaDTO.builder()
+                    .type(KitchenBoardDeltaDTO.Type.REMOVED)
+                    .menuId(menuId)
+                    .orderId(orderId)
+                    .build());
+        }
+
+        synchronized KitchenTicketDTO claimFirst() {
+            KitchenTicketDTO first = waiting.pollFirst();
+            if (first == null) {
+                return null;
+            }
+            return markInProgress(first);
+        }
+
+        synchronized KitchenTicketDTO claim(Long orderId) {
+            KitchenTicketDTO ticket = byOrder.get(orderId);
+            if (ticket == null) {
+                throw new ResourceNotFoundException("Kitchen ticket", "orderId", orderId);
+            }
+            if (ticket.getStatus() != KitchenTicketStatus.WAITING) {
+                throw new IllegalArgumentException("Order " + orderId + " is already being prepared");
+            }
+            waiting.remove(ticket);
+            return markInProgress(ticket);
+        }
+
+        synchronized void unclaim(KitchenTicketDTO claimed) {
+            // Only if nothing newer replaced the ticket in the meantime
+            if (claimed.equals(byOrder.get(claimed.getOrderId()))) {
+                inProgress.remove(claimed);
+                put(claimed.toBuilder().status(KitchenTicketStatus.WAITING).build());
+            }
+        }
+
+        synchronized KitchenBoardDTO snapshot() {
+            return KitchenBoardDTO.builder()
+                    .menuId(menuId)
+                    .waiting(new ArrayList<>(waiting))
+                    .inProgress(new ArrayList<>(inProgress))
+                    .build();
+        }
+
+        // The snapshot goes out before any delta, and no delta can slip in between
+        synchronized void connect(SseConnection connection) {
+            connection.enqueue(SseEmitter.event().name(SNAPSHOT_EVENT).data(snapshot(), MediaType.APPLICATION_JSON));
+            subscribers.add(connection);
+        }
+
+        void disconnect(SseConnection connection) {
+            if (connection.markClosed()) {
+                subscribers.remove(connection);
+            }
+        }
+
+        private KitchenTicketDTO markInProgress(KitchenTicketDTO ticket) {
+            KitchenTicketDTO claimed = ticket.toBuilder().status(KitchenTicketStatus.IN_PROGRESS).build();
+            put(claimed);
+            return claimed;
+        }
+
+        private void put(KitchenTicketDTO ticket) {
+            byOrder.put(ticket.getOrderId(), ticket);
+            setFor(ticket).add(ticket);
+            broadcast(KitchenBoardDeltaDTO.builder()
+                    .type(KitchenBoardDeltaDTO.Type.UPSERTED)
+                    .menuId(menuId)
+                    .orderId(ticket.getOrderId())
+                    .ticket(ticket)
+                    .build());
+        }
+
+        private TreeSet<KitchenTicketDTO> setFor(KitchenTicketDTO ticket) {
+            return ticket.getStatus() == KitchenTicketStatus.WAITING ? waiting : inProgress;
+        }
+
+        private void broadcast(KitchenBoardDeltaDTO delta) {
+            for (SseConnection connection : subscribers) {
+                connection.enqueue(SseEmitter.event().name(TICKET_EVENT).data(delta, MediaType.APPLICATION_JSON));
+            }
+        }
+    }
+}
@@ -0,0 +1,369 @@
+package com.dabbadelight.regionalmeals.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.dabbadelight.regionalmeals.exception.SlotFullException;
+import com.dabbadelight.regionalmeals.model.DTO.CatalogItem;
+import com.dabbadelight.regionalmeals.model.DTO.OrderEvent;
+import com.dabbadelight.regionalmeals.model.DTO.SlotReservation;
+import com.dabbadelight.regionalmeals.model.DTO.SlotUtilizationDTO;
+import com.dabbadelight.regionalmeals.model.enums.OrderEventType;
+import com.dabbadelight.regionalmeals.model.enums.OrderStatus;
+import com.dabbadelight.regionalmeals.repository.MenuRepository;
+import com.dabbadelight.regionalmeals.repository.OrderItemRepository;
+import com.dabbadelight.regionalmeals.service.ItemCatalogService;
+import com.dabbadelight.regionalmeals.service.KitchenCapacityService;
+
+import jakarta.annotation.PostConstruct;
+
+// One counter of booked dabbas per (kitchen, slot), bumped with compare-and-set so admission never
+// takes a lock or touches the database: item -> kitchen comes from the cached catalog. Counters are
+// rebuilt from open orders at startup and then kept by placement, line edits, status events and
+// rollbacks. An order's slot is its promised slot; an ASAP order is cooked in the slot it is
+// confirmed in, so an ASAP cart holds no place until then and is booked into that slot on confirmation.
+@Service
+public class KitchenCapacityServiceImpl implements KitchenCapacityService {
+
+    // Pending carts for a promised slot hold their place too, so confirming one never overbooks its slot
+    private static final List<OrderStatus> HELD_STATUSES = List.of(
+            OrderStatus.PENDING, OrderStatus.CONFIRMED, OrderStatus.PREPARING, OrderStatus.OUT_FOR_DELIVERY, OrderStatus.DELIVERED);
+    private static final List<OrderStatus> CONFIRMED_STATUSES = HELD_STATUSES.subList(1, HELD_STATUSES.size());
+    private static final int DEFAULT_SLOTS = 8;
+
+    private final ItemCatalogService itemCatalogService;
+    private final MenuRepository menuRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final long slotMinutes;
+    private final int lookaheadSlots;
+
+    private final Map<Long, Integer> capacities = new ConcurrentHashMap<>();
+    private final Map<SlotKey, AtomicInteger> booked = new ConcurrentHashMap<>();
+    private final Map<Long, SlotReservation> reservationsByOrder = new ConcurrentHashMap<>();
+
+    private record SlotKey(Long menuId, LocalDateTime slotStart) {}
+
+    public KitchenCapacityServiceImpl(ItemCatalogService itemCatalogService, MenuRepository menuRepository,
+                                      OrderItemRepository orderItemRepository,
+                                      @Value("${kitchen.slot.minutes:30}") long slotMinutes,
+                                      @Value("${kitchen.slot.lookahead-slots:48}") int lookaheadSlots) {
+        this.itemCatalogService = itemCatalogService;
+        this.menuRepository = menuRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.slotMinutes = slotMinutes;
+        this.lookaheadSlots = lookaheadSlots;
+    }
+
+    @PostConstruct
+    public void rebuild() {
+        for (Object[] row : menuRepository.findSlotCapacities()) {
+            capacities.put((Long) row[0], (Integer) row[1]);
+        }
+        LocalDateTime from = slotStart(LocalDateTime.now());
+        Map<Long, LocalDateTime> slotByOrder = new HashMap<>();
+        Map<Long, Map<Long, Integer>> unitsByOrder = new HashMap<>();
+        collect(orderItemRepository.sumUnitsByMenuForOrdersPromisedFrom(from, HELD_STATUSES), slotByOrder, unitsByOrder);
+        // An ASAP order placed already confirmed, or a cart confirmed since, both fall in the current slot
+        collect(orderItemRepository.sumUnitsByMenuForAsapOrdersFrom(from, CONFIRMED_STATUSES), slotByOrder, unitsByOrder);
+        collect(orderItemRepository.sumUnitsByMenuForAsapOrdersConfirmedFrom(from, CONFIRMED_STATUSES), slotByOrder, unitsByOrder);
+        unitsByOrder.forEach((orderId, units) -> {
+            SlotReservation reservation = new SlotReservation(slotByOrder.get(orderId), units);
+            book(reservation);
+            attach(orderId, reservation);
+        });
+        System.out.println("🍱 Kitchen slots rebuilt from " + unitsByOrder.size() + " open orders, "
+                + capacities.size() + " kitchens with a limit");
+    }
+
+    @Override
+    public SlotReservation reserve(LocalDateTime promisedSlot, Map<Long, Integer> itemQuantities) {
+        LocalDateTime slotStart = slotStart(promisedSlot != null ? promisedSlot : LocalDateTime.now());
+        Map<Long, Integer> units = unitsByMenu(itemQuantities);
+
+        addAll(slotStart, units);
+
+        SlotReservation reservation = new SlotReservation(slotStart, units);
+        onRollback(() -> release(reservation));
+        return reservation;
+    }
+
+    @Override
+    public void release(SlotReservation reservation) {
+        if (reservation == null || !reservation.markReleased()) {
+            return;
+        }
+        reservation.getUnitsByMenu().forEach((menuId, units) ->
+                counter(new SlotKey(menuId, reservation.getSlotStart())).addAndGet(-units));
+        if (reservation.getOrderId() != null) {
+            reservationsByOrder.remove(reservation.getOrderId(), reservation);
+        }
+    }
+
+    @Override
+    public void attach(Long orderId, SlotReservation reservation) {
+        reservation.setOrderId(orderId);
+        reservationsByOrder.put(orderId, reservation);
+    }
+
+    // Callers hold the order's row lock, so one order is never resized twice at once
+    @Override
+    public void resize(Long orderId, LocalDateTime slotAt, Map<Long, Integer> itemQuantities) {
+        // A slot that has started is past booking, and may already be purged
+        if (slotAt.isBefore(LocalDateTime.now())) {
+            throw new IllegalArgumentException("Order " + orderId + " was promised the " + slotStart(slotAt)
+                    + " slot, which has already started");
+        }
+        SlotReservation current = reservationsByOrder.get(orderId);
+        LocalDateTime slotStart = current != null ? current.getSlotStart() : slotStart(slotAt);
+        Map<Long, Integer> held = current != null ? current.getUnitsByMenu() : Map.of();
+        Map<Long, Integer> units = unitsByMenu(itemQuantities);
+
+        Map<Long, Integer> growth = new LinkedHashMap<>();
+        Map<Long, Integer> shrinkage = new LinkedHashMap<>();
+        Set<Long> menuIds = new TreeSet<>(held.keySet());
+        menuIds.addAll(units.keySet());
+        for (Long menuId : menuIds) {
+            int delta = units.getOrDefault(menuId, 0) - held.getOrDefault(menuId, 0);
+            if (delta > 0) {
+                growth.put(menuId, delta);
+            } else if (delta < 0) {
+                shrinkage.put(menuId, -delta);
+            }
+        }
+        if (growth.isEmpty() && shrinkage.isEmpty()) {
+            return;
+        }
+        addAll(slotStart, growth);
+        shrinkage.forEach((menuId, delta) -> counter(new SlotKey(menuId, slotStart)).addAndGet(-delta));
+
+        // The new reservation takes over the old one's units, so the old one must never give them back
+        if (current != null) {
+            current.markReleased();
+        }
+        SlotReservation resized = new SlotReservation(slotStart, units);
+        attach(orderId, resized);
+        onRollback(() -> {
+            if (!resized.markReleased()) {
+                return;
+            }
+            SlotReservation restored = new SlotReservation(slotStart, held);
+            units.forEach((menuId, count) -> counter(new SlotKey(menuId, slotStart)).addAndGet(-count));
+            reservationsByOrder.remove(orderId, resized);
+            if (current != null) {
+                book(restored);
+                attach(orderId, restored);
+            }
+        });
+    }
+
+    @Override
+    public void updateCapacity(Long menuId, Integer capacity) {
+        if (capacity == null) {
+            capacities.remove(menuId);
+        } else {
+            capacities.put(menuId, capacity);
+        }
+    }
+
+    @Override
+    public List<SlotUtilizationDTO> getUtilization(Long menuId, LocalDateTime from, Integer slots) {
+        int count = slots == null ? DEFAULT_SLOTS : slots;
+        if (count <= 0 || count > lookaheadSlots) {
+            throw new IllegalArgumentException("slots must be between 1 and " + lookaheadSlots);
+        }
+        LocalDateTime first = slotStart(from != null ? from : LocalDateTime.now());
+        Set<Long> menuIds = new TreeSet<>();
+        if (menuId != null) {
+            menuIds.add(menuId);
+        } else {
+            menuIds.addAll(capacities.keySet());
+            booked.forEach((key, counter) -> {
+                if (counter.get() > 0) {
+                    menuIds.add(key.menuId());
+                }
+            });
+        }
+
+        List<SlotUtilizationDTO> utilization = new ArrayList<>();
+        for (Long id : menuIds) {
+            Integer capacity = capacities.get(id);
+            for (int i = 0; i < count; i++) {
+                LocalDateTime slotStart = first.plusMinutes(i * slotMinutes);
+                AtomicInteger counter = booked.get(new SlotKey(id, slotStart));
+                int reserved = counter == null ? 0 : counter.get();
+                utilization.add(SlotUtilizationDTO.builder()
+                        .menuId(id)
+                        .slotStart(slotStart)
+                        .slotEnd(slotStart.plusMinutes(slotMinutes))
+                        .capacity(capacity)
+                        .reserved(reserved)
+                        .remaining(capacity == null ? null : Math.max(0, capacity - reserved))
+                        .utilization(capacity == null || capacity == 0 ? null : (double) reserved / capacity)
+                        .build());
+            }
+        }
+        return utilization;
+    }
+
+    // Cancelled and deleted orders hand their dabbas back. Orders that start holding a place outside
+    // placement and line edits (a confirmed ASAP cart, an admin reopening an order) still take it,
+    // without being turned away, and never in a slot that has already ended.
+    @EventListener
+    public void onOrderEvent(OrderEvent event) {
+        if (event.getType() == OrderEventType.DELETED || event.getOrderStatus() == OrderStatus.CANCELLED) {
+            release(reservationsByOrder.get(event.getOrderId()));
+            return;
+        }
+        if (event.getType() != OrderEventType.STATUS_CHANGED
+                || !HELD_STATUSES.contains(event.getOrderStatus())
+                || reservationsByOrder.containsKey(event.getOrderId())
+                || event.getLines() == null) {
+            return;
+        }
+        boolean asapConfirmed = event.getPromisedSlot() == null && event.getPreviousStatus() == OrderStatus.PENDING;
+        if (HELD_STATUSES.contains(event.getPreviousStatus()) && !asapConfirmed) {
+            return;
+        }
+        Map<Long, Integer> units = new LinkedHashMap<>();
+        for (OrderEvent.Line line : event.getLines()) {
+            if (line.getMenuId() != null) {
+                units.merge(line.getMenuId(), line.getQuantity(), Integer::sum);
+            }
+        }
+        LocalDateTime slotAt = event.getPromisedSlot() != null ? event.getPromisedSlot() : event.getOccurredAt();
+        if (units.isEmpty() || slotAt == null) {
+            return;
+        }
+        LocalDateTime current = slotStart(LocalDateTime.now());
+        LocalDateTime slotStart = slotStart(slotAt);
+        SlotReservation reservation = new SlotReservation(slotStart.isBefore(current) ? current : slotStart, units);
+        book(reservation);
+        attach(event.getOrderId(), reservation);
+    }
+
+    // Slots that have ended can no longer be booked or freed
+    @Scheduled(fixedDelayString = "${kitchen.slot.cleanup-interval-ms:300000}")
+    public void purgePastSlots() {
+        LocalDateTime current = slotStart(LocalDateTime.now());
+        booked.keySet().removeIf(key -> key.slotStart().isBefore(current));
+        reservationsByOrder.values().removeIf(reservation -> reservation.getSlotStart().isBefore(current));
+    }
+
+    // An order already read by an earlier query is booked once
+    private void collect(List<Object[]> rows, Map<Long, LocalDateTime> slotByOrder,
+                         Map<Long, Map<Long, Integer>> unitsByOrder) {
+        Map<Long, Map<Long, Integer>> units = new HashMap<>();
+        for (Object[] row : rows) {
+            Long orderId = (Long) row[0];
+            if (unitsByOrder.containsKey(orderId)) {
+                continue;
+            }
+            slotByOrder.put(orderId, slotStart((LocalDateTime) row[2]));
+            units.computeIfAbsent(orderId, id -> new HashMap<>())
+                    .merge((Long) row[1], ((Number) row[3]).intValue(), Integer::sum);
+        }
+        unitsByOrder.putAll(units);
+    }
+
+    // Kitchen -> dabbas for the order; items without a kitchen don't count against one
+    private Map<Long, Integer> unitsByMenu(Map<Long, Integer> itemQuantities) {
+        Map<Long, Integer> units = new LinkedHashMap<>();
+        itemQuantities.forEach((itemId, quantity) -> {
+            CatalogItem item = itemCatalogService.getItem(itemId);
+            if (item.getMenuId() != null) {
+                units.merge(item.getMenuId(), quantity, Integer::sum);
+            }
+        });
+        return units;
+    }
+
+    // All or nothing: a kitchen without room undoes the ones already taken
+    private void addAll(LocalDateTime slotStart, Map<Long, Integer> units) {
+        List<Long> taken = new ArrayList<>();
+        for (Map.Entry<Long, Integer> entry : units.entrySet()) {
+            if (!tryAdd(new SlotKey(entry.getKey(), slotStart), entry.getValue())) {
+                taken.forEach(menuId -> counter(new SlotKey(menuId, slotStart)).addAndGet(-units.get(menuId)));
+                LocalDateTime next = nextAvailableSlot(units, slotStart);
+                throw new SlotFullException("Kitchen " + entry.getKey() + " is fully booked for the " + slotStart
+                        + " slot" + (next != null ? "; next available slot is " + next : ""), next);
+            }
+            taken.add(entry.getKey());
+        }
+    }
+
+    private void onRollback(Runnable undo) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        undo.run();
+                    }
+                }
+            });
+        }
+    }
+
+    private boolean tryAdd(SlotKey key, int units) {
+        Integer capacity = capacities.get(key.menuId());
+        AtomicInteger counter = counter(key);
+        while (true) {
+            int current = counter.get();
+            if (capacity != null && current + units > capacity) {
+                return false;
+            }
+            if (counter.compareAndSet(current, current + units)) {
+                return true;
+            }
+        }
+    }
+
+    // Counted whatever the capacity says, for orders that are already live
+    private void book(SlotReservation reservation) {
+        reservation.getUnitsByMenu().forEach((menuId, units) ->
+                counter(new SlotKey(menuId, reservation.getSlotStart())).addAndGet(units));
+    }
+
+    private LocalDateTime nextAvailableSlot(Map<Long, Integer> units, LocalDateTime slotStart) {
+        for (int i = 1; i <= lookaheadSlots; i++) {
+            LocalDateTime candidate = slotStart.plusMinutes(i * slotMinutes);
+            boolean fits = units.entrySet().stream().allMatch(entry -> {
+                Integer capacity = capacities.get(entry.getKey());
+                AtomicInteger counter = booked.get(new SlotKey(entry.getKey(), candidate));
+                return capacity == null || (counter == null ? 0 : counter.get()) + entry.getValue() <= capacity;
+            });
+            if (fits) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private AtomicInteger counter(SlotKey key) {
+        return booked.computeIfAbsent(key, k -> new AtomicInteger());
+    }
+
+    // Fixed slots from midnight, like the delivery windows
+    private LocalDateTime slotStart(LocalDateTime at) {
+        LocalDateTime midnight = at.truncatedTo(ChronoUnit.DAYS);
+        long minutes = Duration.between(midnight, at).toMinutes();
+        return midnight.plusMinutes(minutes - minutes % slotMinutes);
+    }
+}
@@ -7,15 +7,18 @@ import org.springframework.stereotype.Service;
 import com.dabbadelight.regionalmeals.exception.ResourceNotFoundException;
 import com.dabbadelight.regionalmeals.model.Kitchen.Menu;
 import com.dabbadelight.regionalmeals.repository.MenuRepository;
+import com.dabbadelight.regionalmeals.service.KitchenCapacityService;
 import com.dabbadelight.regionalmeals.service.MenuService;
 
 @Service
 public class MenuServiceImpl implements MenuService {
 
     private final MenuRepository menuRepository;
+    private final KitchenCapacityService kitchenCapacityService;
 
-    public MenuServiceImpl(MenuRepository menuRepository) {
+    public MenuServiceImpl(MenuRepository menuRepository, KitchenCapacityService kitchenCapacityService) {
         this.menuRepository = menuRepository;
+        this.kitchenCapacityService = kitchenCapacityService;
     }
 
     @Override
@@ -24,13 +27,16 @@ public class MenuServiceImpl implements MenuService {
         if (menu.getRating() < 0 || menu.getRating() > 5) {
             throw new IllegalArgumentException("Rating must be between 0 and 5");
         }
+        validateSlotCapacity(menu.getSlotCapacity());
         
         // Set default values if not provided
         if (menu.getRating() == 0) {
             menu.setRating(0);
         }
         
-        return menuRepository.save(menu);
+        Menu savedMenu = menuRepository.save(menu);
+        kitchenCapacityService.updateCapacity(savedMenu.getId(), savedMenu.getSlotCapacity());
+        return savedMenu;
     }
 
     @Override
@@ -57,14 +63,18 @@ public class MenuServiceImpl implements MenuService {
         if (menuDetails.getRating() < 0 || menuDetails.getRating() > 5) {
             throw new IllegalArgumentException("Rating must be between 0 and 5");
         }
+        validateSlotCapacity(menuDetails.getSlotCapacity());
         
         menu.setName(menuDetails.getName());
         menu.setDetails(menuDetails.getDetails());
         menu.setRating(menuDetails.getRating());
         menu.setActive(menuDetails.isActive());
+        menu.setSlotCapacity(menuDetails.getSlotCapacity());
         menu.setUpdatedBy(menuDetails.getUpdatedBy());
         
-        return menuRepository.save(menu);
+        Menu savedMenu = menuRepository.save(menu);
+        kitchenCapacityService.updateCapacity(savedMenu.getId(), savedMenu.getSlotCapacity());
+        return savedMenu;
     }
 
     @Override
@@ -81,6 +91,7 @@ public class MenuServiceImpl implements MenuService {
         // You might want to check if there are any items associated with this menu
         // and handle them accordingly (cascade delete or prevent deletion)
         menuRepository.delete(menu);
+        kitchenCapacityService.updateCapacity(id, null);
     }
 
     @Override
@@ -100,4 +111,10 @@ public class MenuServiceImpl implements MenuService {
         menu.setUpdatedBy(updatedBy);
         return menuRepository.save(menu);
     }
-}
\ No newline at end of file
+
+    private void validateSlotCapacity(Integer slotCapacity) {
+        if (slotCapacity != null && slotCapacity < 0) {
+            throw new IllegalArgumentException("Slot capacity must be non-negative");
+        }
+    }
+}
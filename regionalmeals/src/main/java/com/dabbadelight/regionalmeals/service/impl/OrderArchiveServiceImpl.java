@@ -0,0 +1,131 @@
+package com.dabbadelight.regionalmeals.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dabbadelight.regionalmeals.model.DTO.OrderArchiveStatsDTO;
+import com.dabbadelight.regionalmeals.model.enums.OrderStatus;
+import com.dabbadelight.regionalmeals.repository.ArchivedOrderRepository;
+import com.dabbadelight.regionalmeals.repository.OrderRepository;
+import com.dabbadelight.regionalmeals.service.OrderArchiveService;
+
+// Keeps orders and order_item down to live and recent orders. Finished orders older than the
+// archive age are moved to orders_archive / order_item_archive one chunk per transaction, so
+// row locks are held for one small chunk at a time and rows busy elsewhere are left for the
+// next run. Reads that cover order history go to both tables (see OrderServiceImpl).
+@Service
+public class OrderArchiveServiceImpl implements OrderArchiveService {
+
+    private static final List<OrderStatus> ARCHIVABLE_STATUSES = List.of(OrderStatus.DELIVERED, OrderStatus.CANCELLED);
+
+    private final OrderRepository orderRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long archiveAfterDays;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+    private final long pauseBetweenChunksMs;
+
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong ordersArchived = new AtomicLong();
+    private final AtomicLong linesArchived = new AtomicLong();
+    private volatile LocalDateTime lastRunAt;
+    private volatile int lastRunOrders;
+    private volatile long lastRunMillis;
+
+    public OrderArchiveServiceImpl(OrderRepository orderRepository, ArchivedOrderRepository archivedOrderRepository,
+                                   TransactionTemplate transactionTemplate,
+                                   @Value("${order.archive.after-days:90}") long archiveAfterDays,
+                                   @Value("${order.archive.chunk-size:500}") int chunkSize,
+                                   @Value("${order.archive.max-chunks-per-run:200}") int maxChunksPerRun,
+                                   @Value("${order.archive.pause-between-chunks-ms:50}") long pauseBetweenChunksMs) {
+        this.orderRepository = orderRepository;
+        this.archivedOrderRepository = archivedOrderRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.archiveAfterDays = archiveAfterDays;
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+        this.pauseBetweenChunksMs = pauseBetweenChunksMs;
+    }
+
+    @Scheduled(cron = "${order.archive.cron:0 30 3 * * *}")
+    public void scheduledArchive() {
+        try {
+            archiveEligibleOrders();
+        } catch (RuntimeException e) {
+            System.out.println("❌ Order archiving failed: " + e.getMessage());
+        }
+    }
+
+    // One run at a time; a manual run waits for the scheduled one
+    @Override
+    public synchronized int archiveEligibleOrders() {
+        long startedAt = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = now.minusDays(archiveAfterDays);
+
+        int movedOrders = 0;
+        int chunks = 0;
+        for (OrderStatus status : ARCHIVABLE_STATUSES) {
+            while (chunks < maxChunksPerRun) {
+                int[] moved = transactionTemplate.execute(tx -> {
+                    List<Long> orderIds = orderRepository.lockArchivableIds(status.ordinal(), cutoff, chunkSize);
+                    if (orderIds.isEmpty()) {
+                        return new int[] {0, 0};
+                    }
+                    int lines = archivedOrderRepository.moveToArchive(orderIds, now);
+                    return new int[] {orderIds.size(), lines};
+                });
+                chunks++;
+                movedOrders += moved[0];
+                ordersArchived.addAndGet(moved[0]);
+                linesArchived.addAndGet(moved[1]);
+                if (moved[0] < chunkSize) {
+                    break;
+                }
+                pause();
+            }
+        }
+
+        runs.incrementAndGet();
+        lastRunAt = now;
+        lastRunOrders = movedOrders;
+        lastRunMillis = System.currentTimeMillis() - startedAt;
+        if (movedOrders > 0) {
+            System.out.println("🗄️ Archived " + movedOrders + " orders older than " + archiveAfterDays + " days");
+        }
+        return movedOrders;
+    }
+
+    @Override
+    public OrderArchiveStatsDTO getStats() {
+        return OrderArchiveStatsDTO.builder()
+                .archiveAfterDays(archiveAfterDays)
+                .chunkSize(chunkSize)
+                .runs(runs.get())
+                .ordersArchived(ordersArchived.get())
+                .linesArchived(linesArchived.get())
+                .lastRunAt(lastRunAt)
+                .lastRunOrders(lastRunOrders)
+                .lastRunMillis(lastRunMillis)
+                .build();
+    }
+
+    // Gives replicas and other writers room between chunks
+    private void pause() {
+        if (pauseBetweenChunksMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(pauseBetweenChunksMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.dabbadelight.regionalmeals.service.impl;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.dabbadelight.regionalmeals.model.DTO.OrderExportRow;
+import com.dabbadelight.regionalmeals.model.DTO.OrderSearchCriteria;
+import com.dabbadelight.regionalmeals.repository.OrderRepository;
+import com.dabbadelight.regionalmeals.repository.OrderSpecifications;
+import com.dabbadelight.regionalmeals.service.OrderExportService;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Exports read order lines from a forward-only cursor and write them out as they arrive,
+// so memory stays flat no matter how many orders match. Rows come ordered by order id,
+// which lets NDJSON nest each order's items without buffering more than the current order.
+// Only the export statement streams: on MySQL its fetch size is Integer.MIN_VALUE, which keeps
+// the connection busy until the rows are consumed, so nothing else queries inside the loop.
+@Service
+public class OrderExportServiceImpl implements OrderExportService {
+
+    private static final String CSV_HEADER =
+            "order_id,created_at,order_status,payment_mode,payment_status,total_amount,user_id,"
+            + "item_id,item_name,menu_id,quantity,price_at_purchase";
+
+    private final OrderRepository orderRepository;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+    private final int flushEvery;
+
+    public OrderExportServiceImpl(OrderRepository orderRepository, ObjectMapper objectMapper,
+                                  @Value("${order.export.fetch-size:-2147483648}") int fetchSize,
+                                  @Value("${order.export.flush-every:1000}") int flushEvery) {
+        this.orderRepository = orderRepository;
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+        this.flushEvery = flushEvery;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportNdjson(OrderSearchCriteria criteria, Long menuId, OutputStream out) throws IOException {
+        long orders = 0;
+        try (Stream<OrderExportRow> rows = orderRepository.streamExportRows(
+                    OrderSpecifications.matching(criteria, null), menuId, fetchSize);
+             JsonGenerator json = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.setRootValueSeparator(null); // lines are separated by the newline written after each order
+            Long currentOrderId = null;
+            Iterator<OrderExportRow> it = rows.iterator();
+            while (it.hasNext()) {
+                OrderExportRow row = it.next();
+                if (!Objects.equals(row.getOrderId(), currentOrderId)) {
+                    if (currentOrderId != null) {
+                        endOrder(json);
+                        if (++orders % flushEvery == 0) {
+                            json.flush();
+                        }
+                    }
+                    startOrder(json, row);
+                    currentOrderId = row.getOrderId();
+                }
+                json.writeStartObject();
+                json.writeNumberField("itemId", row.getItemId());
+                json.writeStringField("itemName", row.getItemName());
+                json.writeNumberField("menuId", row.getMenuId());
+                json.writeNumberField("quantity", row.getQuantity());
+                json.writeNumberField("priceAtPurchase", row.getPriceAtPurchase());
+                json.writeEndObject();
+            }
+            if (currentOrderId != null) {
+                endOrder(json);
+                orders++;
+            }
+        }
+        return orders;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportCsv(OrderSearchCriteria criteria, Long menuId, OutputStream out) throws IOException {
+        long lines = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try (Stream<OrderExportRow> rows = orderRepository.streamExportRows(
+                OrderSpecifications.matching(criteria, null), menuId, fetchSize)) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+            Iterator<OrderExportRow> it = rows.iterator();
+            while (it.hasNext()) {
+                OrderExportRow row = it.next();
+                writer.write(String.valueOf(row.getOrderId()));
+                writer.write(',');
+                writer.write(String.valueOf(row.getCreatedAt()));
+                writer.write(',');
+                writer.write(String.valueOf(row.getOrderStatus()));
+                writer.write(',');
+                writer.write(String.valueOf(row.getPaymentMode()));
+                writer.write(',');
+                writer.write(String.valueOf(row.getPaymentStatus()));
+                writer.write(',');
+                writer.write(String.valueOf(row.getTotalAmount()));
+                writer.write(',');
+                writer.write(String.valueOf(row.getUserId()));
+                writer.write(',');
+                writer.write(String.valueOf(row.getItemId()));
+                writer.write(',');
+                writer.write(csvField(row.getItemName()));
+                writer.write(',');
+                writer.write(String.valueOf(row.getMenuId()));
+                writer.write(',');
+                writer.write(String.valueOf(row.getQuantity()));
+                writer.write(',');
+                writer.write(String.valueOf(row.getPriceAtPurchase()));
+                writer.write('\n');
+                if (++lines % flushEvery == 0) {
+                    writer.flush();
+                }
+            }
+        } finally {
+            writer.flush();
+        }
+        return lines;
+    }
+
+    private void startOrder(JsonGenerator json, OrderExportRow row) throws IOException {
+        json.writeStartObject();
+        json.writeNumberField("orderId", row.getOrderId());
+        json.writeStringField("createdAt", String.valueOf(row.getCreatedAt()));
+        json.writeStringField("orderStatus", String.valueOf(row.getOrderStatus()));
+        json.writeStringField("paymentMode", String.valueOf(row.getPaymentMode()));
+        json.writeStringField("paymentStatus", String.valueOf(row.getPaymentStatus()));
+        json.writeNumberField("totalAmount", row.getTotalAmount());
+        json.writeNumberField("userId", row.getUserId());
+        json.writeArrayFieldStart("items");
+    }
+
+    private void endOrder(JsonGenerator json) throws IOException {
+        json.writeEndArray();
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    private String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
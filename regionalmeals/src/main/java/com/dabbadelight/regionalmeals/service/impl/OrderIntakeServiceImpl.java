@@ -0,0 +1,248 @@
+package com.dabbadelight.regionalmeals.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.dabbadelight.regionalmeals.exception.ResourceNotFoundException;
+import com.dabbadelight.regionalmeals.exception.TooManyRequestsException;
+import com.dabbadelight.regionalmeals.model.DTO.OrderIntakeDTO;
+import com.dabbadelight.regionalmeals.model.DTO.OrderIntakeStatsDTO;
+import com.dabbadelight.regionalmeals.model.DTO.OrderPlacementResultDTO;
+import com.dabbadelight.regionalmeals.model.DTO.OrderRequestDTO;
+import com.dabbadelight.regionalmeals.model.DTO.OrderResponseDTO;
+import com.dabbadelight.regionalmeals.model.enums.OrderIntakeStatus;
+import com.dabbadelight.regionalmeals.service.OrderIntakeService;
+import com.dabbadelight.regionalmeals.service.OrderService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// Accepts order requests into a bounded in-memory queue and places them from a small pool of
+// workers, several requests per transaction. A full queue is answered with 429 instead of
+// letting request threads pile up behind the database. Queued requests are lost if the process
+// dies, so this mode is off unless order.intake.async.enabled is set.
+@Service
+@ConditionalOnProperty(name = "order.intake.async.enabled", havingValue = "true")
+public class OrderIntakeServiceImpl implements OrderIntakeService {
+
+    private final OrderService orderService;
+    private final BlockingQueue<Submission> queue;
+    private final int queueCapacity;
+    private final int workerCount;
+    private final int microBatchSize;
+    private final long retryAfterSeconds;
+    private final Duration resultTtl;
+
+    // Every handle handed out and not yet expired, queued or finished
+    private final ConcurrentHashMap<String, OrderIntakeDTO> intakes = new ConcurrentHashMap<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong placed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong batchedRequests = new AtomicLong();
+    private final AtomicLong totalWaitMillis = new AtomicLong();
+    private final AtomicLong maxWaitMillis = new AtomicLong();
+
+    private record Submission(String handle, OrderRequestDTO request, long enqueuedAtNanos) {}
+
+    public OrderIntakeServiceImpl(OrderService orderService,
+                                  @Value("${order.intake.queue-capacity:1000}") int queueCapacity,
+                                  @Value("${order.intake.workers:2}") int workerCount,
+                                  @Value("${order.intake.micro-batch-size:20}") int microBatchSize,
+                                  @Value("${order.intake.retry-after-seconds:2}") long retryAfterSeconds,
+                                  @Value("${order.intake.result-ttl-minutes:30}") long resultTtlMinutes) {
+        this.orderService = orderService;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.queueCapacity = queueCapacity;
+        this.workerCount = workerCount;
+        this.microBatchSize = Math.max(1, microBatchSize);
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.resultTtl = Duration.ofMinutes(resultTtlMinutes);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::runWorker, "order-intake-" + i);
+            worker.start();
+            workers.add(worker);
+        }
+        System.out.println("📥 Order intake started with " + workerCount + " workers, queue capacity " + queueCapacity);
+    }
+
+    // Stop taking requests and let the workers finish what is already queued
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        for (Thread worker : workers) {
+            worker.join(TimeUnit.SECONDS.toMillis(30));
+        }
+        if (!queue.isEmpty()) {
+            System.err.println("❌ Order intake stopped with " + queue.size() + " requests still queued");
+        }
+    }
+
+    @Override
+    public OrderIntakeDTO submit(OrderRequestDTO request) {
+        validate(request);
+        if (!running) {
+            rejected.incrementAndGet();
+            throw new TooManyRequestsException("Order intake is shutting down", retryAfterSeconds);
+        }
+
+        String handle = UUID.randomUUID().toString();
+        OrderIntakeDTO intake = OrderIntakeDTO.builder()
+                .handle(handle)
+                .status(OrderIntakeStatus.QUEUED)
+                .acceptedAt(LocalDateTime.now())
+                .build();
+        // Registered first so a worker that is quick to finish always finds the handle
+        intakes.put(handle, intake);
+        if (!queue.offer(new Submission(handle, request, System.nanoTime()))) {
+            intakes.remove(handle);
+            rejected.incrementAndGet();
+            throw new TooManyRequestsException("Order queue is full, please retry shortly", retryAfterSeconds);
+        }
+        accepted.incrementAndGet();
+        return intake;
+    }
+
+    @Override
+    public OrderIntakeDTO getStatus(String handle) {
+        OrderIntakeDTO intake = intakes.get(handle);
+        if (intake == null) {
+            throw new ResourceNotFoundException("Order intake", "handle", handle);
+        }
+        return intake;
+    }
+
+    @Override
+    public OrderIntakeStatsDTO getStats() {
+        long batchCount = batches.get();
+        long done = placed.get() + failed.get();
+        Submission oldest = queue.peek();
+        return OrderIntakeStatsDTO.builder()
+                .queueDepth(queue.size())
+                .queueCapacity(queueCapacity)
+                .oldestQueuedMillis(oldest == null ? 0 : elapsedMillis(oldest))
+                .workers(workerCount)
+                .accepted(accepted.get())
+                .rejected(rejected.get())
+                .placed(placed.get())
+                .failed(failed.get())
+                .batches(batchCount)
+                .avgBatchSize(batchCount == 0 ? 0 : (double) batchedRequests.get() / batchCount)
+                .avgWaitMillis(done == 0 ? 0 : (double) totalWaitMillis.get() / done)
+                .maxWaitMillis(maxWaitMillis.get())
+                .build();
+    }
+
+    // Finished handles are kept for polling until the TTL runs out
+    @Scheduled(fixedDelayString = "${order.intake.cleanup-interval-ms:60000}")
+    public void purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(resultTtl);
+        intakes.values().removeIf(intake -> intake.getCompletedAt() != null && intake.getCompletedAt().isBefore(cutoff));
+    }
+
+    // Shape checks only; stock, users and items are checked when the order is placed
+    private void validate(OrderRequestDTO request) {
+        if (request.getUserId() == null) {
+            throw new IllegalArgumentException("User id is required");
+        }
+        if (request.getOrderItems() == null || request.getOrderItems().isEmpty()) {
+            throw new IllegalArgumentException("Order must contain at least one item");
+        }
+        for (OrderRequestDTO.OrderItemRequestDTO reqItem : request.getOrderItems()) {
+            if (reqItem.getItemId() == null) {
+                throw new IllegalArgumentException("Item id is required for every order line");
+            }
+            if (reqItem.getQuantity() <= 0) {
+                throw new IllegalArgumentException("Quantity must be positive for item id: " + reqItem.getItemId());
+            }
+        }
+        if (request.getPromisedSlot() != null && request.getPromisedSlot().isBefore(LocalDateTime.now())) {
+            throw new IllegalArgumentException("Promised slot must not be in the past");
+        }
+    }
+
+    private void runWorker() {
+        List<Submission> batch = new ArrayList<>(microBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Submission first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, microBatchSize - 1);
+                place(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                System.err.println("❌ Order intake worker error: " + e.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void place(List<Submission> batch) {
+        batches.incrementAndGet();
+        batchedRequests.addAndGet(batch.size());
+
+        List<OrderRequestDTO> requests = batch.stream().map(Submission::request).toList();
+        try {
+            List<OrderPlacementResultDTO> results = orderService.createOrders(requests);
+            for (int i = 0; i < batch.size(); i++) {
+                complete(batch.get(i), results.get(i).getOrder(), results.get(i).getError());
+            }
+        } catch (RuntimeException e) {
+            // The shared reservation fell short (or the batch hit some other error): place one by one
+            // so a single oversized order does not fail the requests queued next to it
+            for (Submission submission : batch) {
+                try {
+                    complete(submission, orderService.createOrder(submission.request()), null);
+                } catch (RuntimeException single) {
+                    complete(submission, null, single.getMessage());
+                }
+            }
+        }
+    }
+
+    private void complete(Submission submission, OrderResponseDTO order, String error) {
+        long waited = elapsedMillis(submission);
+        totalWaitMillis.addAndGet(waited);
+        maxWaitMillis.accumulateAndGet(waited, Math::max);
+        (order != null ? placed : failed).incrementAndGet();
+
+        intakes.computeIfPresent(submission.handle(), (handle, intake) -> intake.toBuilder()
+                .status(order != null ? OrderIntakeStatus.PLACED : OrderIntakeStatus.FAILED)
+                .completedAt(LocalDateTime.now())
+                .order(order)
+                .error(error)
+                .build());
+    }
+
+    private long elapsedMillis(Submission submission) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - submission.enqueuedAtNanos());
+    }
+}
@@ -0,0 +1,318 @@
+package com.dabbadelight.regionalmeals.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dabbadelight.regionalmeals.model.DTO.OrderEvent;
+import com.dabbadelight.regionalmeals.model.DTO.OutboxStatsDTO;
+import com.dabbadelight.regionalmeals.model.Orders.Order;
+import com.dabbadelight.regionalmeals.model.Orders.OrderItem;
+import com.dabbadelight.regionalmeals.model.Orders.OutboxEvent;
+import com.dabbadelight.regionalmeals.model.enums.OrderEventType;
+import com.dabbadelight.regionalmeals.model.enums.OrderStatus;
+import com.dabbadelight.regionalmeals.repository.OutboxEventRepository;
+import com.dabbadelight.regionalmeals.service.OrderOutboxService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+
+// Order changes are written to outbox_event in the same transaction as the change, so an event
+// exists if and only if the change committed. A single relay publishes them in id order as
+// OrderEvent application events; listeners subscribe with @EventListener. Delivery is
+// at-least-once: an event is marked published only after every listener returned, so a crash or
+// a failing listener means redelivery, and listeners use the dedupe key to ignore repeats.
+@Service
+public class OrderOutboxServiceImpl implements OrderOutboxService {
+
+    private static final int RECENT_KEYS = 10_000;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final int maxAttempts;
+    private final long retentionHours;
+
+    // Dedupe keys delivered recently, in case marking them published failed after delivery
+    private final Map<String, Boolean> recentlyDelivered = new LinkedHashMap<>(1024, 0.75f, false) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > RECENT_KEYS;
+        }
+    };
+
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong failedAttempts = new AtomicLong();
+    private final AtomicLong deadLettered = new AtomicLong();
+    private final AtomicLong duplicatesSkipped = new AtomicLong();
+    private final AtomicLong relayRuns = new AtomicLong();
+    private final AtomicLong relayBusyMillis = new AtomicLong();
+    private volatile long lastDeliveryLagMillis;
+    private volatile LocalDateTime lastRunAt;
+    private volatile int lastRunEvents;
+    private volatile long lastRunMillis;
+
+    public OrderOutboxServiceImpl(OutboxEventRepository outboxEventRepository, ApplicationEventPublisher eventPublisher,
+                                  ObjectMapper objectMapper, EntityManager entityManager,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${outbox.relay.batch-size:200}") int batchSize,
+                                  @Value("${outbox.relay.max-batches-per-run:10}") int maxBatchesPerRun,
+                                  @Value("${outbox.relay.max-attempts:10}") int maxAttempts,
+                                  @Value("${outbox.retention-hours:24}") long retentionHours) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.maxAttempts = maxAttempts;
+        this.retentionHours = retentionHours;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(OrderEventType type, Order order, OrderStatus previousStatus) {
+        append(List.of(toOrderEvent(type, order, previousStatus, order.getOrderStatus())));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(OrderEventType type, Collection<Order> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        List<OrderEvent> events = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            events.add(toOrderEvent(type, order, null, order.getOrderStatus()));
+        }
+        append(events);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordStatusChanges(Collection<Order> orders, OrderStatus previousStatus, OrderStatus newStatus) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        List<OrderEvent> events = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            events.add(toOrderEvent(OrderEventType.STATUS_CHANGED, order, previousStatus, newStatus));
+        }
+        append(events);
+    }
+
+    private void append(List<OrderEvent> events) {
+        // Flush the order change first: its row lock is then held before the outbox ids are taken,
+        // so two transactions touching the same order write their events in commit order
+        entityManager.flush();
+
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> rows = new ArrayList<>(events.size());
+        for (OrderEvent event : events) {
+            OutboxEvent row = new OutboxEvent();
+            row.setOrderId(event.getOrderId());
+            row.setEventType(event.getType());
+            row.setDedupeKey(UUID.randomUUID().toString());
+            row.setPayload(toJson(event));
+            row.setCreatedAt(now);
+            rows.add(row);
+        }
+        outboxEventRepository.appendAll(rows);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:500}")
+    public void scheduledRelay() {
+        try {
+            relayPending();
+        } catch (RuntimeException e) {
+            System.out.println("❌ Outbox relay failed: " + e.getMessage());
+        }
+    }
+
+    // One relay at a time: events are delivered strictly in id order
+    @Override
+    public synchronized int relayPending() {
+        long startedAt = System.currentTimeMillis();
+        int deliveredThisRun = 0;
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            List<OutboxEvent> batch = outboxEventRepository.findByPublishedAtIsNullOrderByIdAsc(Limit.of(batchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+            int completed = deliverBatch(batch);
+            deliveredThisRun += completed;
+            if (batch.size() < batchSize || completed == 0) {
+                break;
+            }
+        }
+
+        long elapsed = System.currentTimeMillis() - startedAt;
+        relayRuns.incrementAndGet();
+        if (deliveredThisRun > 0) {
+            relayBusyMillis.addAndGet(elapsed);
+        }
+        lastRunAt = LocalDateTime.now();
+        lastRunEvents = deliveredThisRun;
+        lastRunMillis = elapsed;
+        return deliveredThisRun;
+    }
+
+    // Returns how many events of the batch were completed (delivered, skipped as duplicate or dead-lettered)
+    private int deliverBatch(List<OutboxEvent> batch) {
+        Set<Long> blockedOrders = new HashSet<>();
+        List<Long> completedIds = new ArrayList<>();
+        int deliveredCount = 0;
+
+        for (OutboxEvent row : batch) {
+            // A failed event holds back the rest of its order until it goes through
+            if (blockedOrders.contains(row.getOrderId())) {
+                continue;
+            }
+            if (recentlyDelivered.containsKey(row.getDedupeKey())) {
+                duplicatesSkipped.incrementAndGet();
+                completedIds.add(row.getId());
+                continue;
+            }
+            try {
+                OrderEvent event = objectMapper.readValue(row.getPayload(), OrderEvent.class);
+                event.setEventId(row.getId());
+                event.setDedupeKey(row.getDedupeKey());
+                eventPublisher.publishEvent(event);
+
+                recentlyDelivered.put(row.getDedupeKey(), Boolean.TRUE);
+                completedIds.add(row.getId());
+                deliveredCount++;
+                lastDeliveryLagMillis = Duration.between(row.getCreatedAt(), LocalDateTime.now()).toMillis();
+            } catch (Exception e) {
+                blockedOrders.add(row.getOrderId());
+                failedAttempts.incrementAndGet();
+                if (recordFailure(row, e)) {
+                    completedIds.add(row.getId());
+                }
+            }
+        }
+
+        if (!completedIds.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status ->
+                    outboxEventRepository.markPublished(completedIds, LocalDateTime.now()));
+        }
+        delivered.addAndGet(deliveredCount);
+        return completedIds.size();
+    }
+
+    // Returns true when the event has used up its attempts and is set aside
+    private boolean recordFailure(OutboxEvent row, Exception e) {
+        String message = e.getClass().getSimpleName() + ": " + e.getMessage();
+        String error = message.length() > 500 ? message.substring(0, 500) : message;
+        boolean deadLetter = row.getAttempts() + 1 >= maxAttempts;
+
+        transactionTemplate.executeWithoutResult(status ->
+                outboxEventRepository.recordFailure(row.getId(), error));
+        if (deadLetter) {
+            deadLettered.incrementAndGet();
+            System.out.println("❌ Outbox event " + row.getId() + " for order " + row.getOrderId()
+                    + " gave up after " + maxAttempts + " attempts: " + error);
+        } else {
+            System.out.println("⚠️ Outbox event " + row.getId() + " for order " + row.getOrderId()
+                    + " failed, will retry: " + error);
+        }
+        return deadLetter;
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.cleanup-interval-ms:3600000}")
+    public void purgePublished() {
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+            Integer purged = transactionTemplate.execute(status -> outboxEventRepository.deletePublishedBefore(cutoff));
+            if (purged != null && purged > 0) {
+                System.out.println("🧹 Purged " + purged + " published outbox events");
+            }
+        } catch (RuntimeException e) {
+            System.out.println("❌ Outbox cleanup failed: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public OutboxStatsDTO getStats() {
+        LocalDateTime oldestPending = outboxEventRepository.findOldestUnpublishedCreatedAt();
+        long busyMillis = relayBusyMillis.get();
+
+        return OutboxStatsDTO.builder()
+                .pendingEvents(outboxEventRepository.countByPublishedAtIsNull())
+                .oldestPendingAgeMillis(oldestPending == null ? 0
+                        : Duration.between(oldestPending, LocalDateTime.now()).toMillis())
+                .delivered(delivered.get())
+                .failedAttempts(failedAttempts.get())
+                .deadLettered(deadLettered.get())
+                .duplicatesSkipped(duplicatesSkipped.get())
+                .lastDeliveryLagMillis(lastDeliveryLagMillis)
+                .eventsPerSecond(busyMillis == 0 ? 0 : delivered.get() * 1000.0 / busyMillis)
+                .relayRuns(relayRuns.get())
+                .lastRunAt(lastRunAt)
+                .lastRunEvents(lastRunEvents)
+                .lastRunMillis(lastRunMillis)
+                .build();
+    }
+
+    private OrderEvent toOrderEvent(OrderEventType type, Order order, OrderStatus previousStatus, OrderStatus status) {
+        List<OrderEvent.Line> lines = new ArrayList<>();
+        List<OrderItem> orderItems = order.getOrderItems() == null ? Collections.emptyList() : order.getOrderItems();
+        for (OrderItem orderItem : orderItems) {
+            lines.add(OrderEvent.Line.builder()
+                    .itemId(orderItem.getItem().getId())
+                    .itemName(orderItem.getItem().getName())
+                    .menuId(orderItem.getItem().getMenu() != null ? orderItem.getItem().getMenu().getId() : null)
+                    .quantity(orderItem.getQuantity())
+                    .price(orderItem.getPriceAtPurchase())
+                    .claimed(orderItem.getClaimedAt() != null)
+                    .build());
+        }
+
+        return OrderEvent.builder()
+                .type(type)
+                .orderId(order.getId())
+                .userId(order.getUser().getId())
+                .previousStatus(previousStatus)
+                .orderStatus(status)
+                .paymentMode(order.getPaymentMode())
+                .paymentStatus(order.getPaymentStatus())
+                .totalAmount(order.getTotalAmount())
+                .promisedSlot(order.getPromisedSlot())
+                .orderCreatedAt(order.getCreatedAt())
+                .occurredAt(LocalDateTime.now())
+                .lines(lines)
+                .build();
+    }
+
+    private String toJson(OrderEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize order event for order " + event.getOrderId(), e);
+        }
+    }
+}
@@ -1,127 +1,428 @@
 package com.dabbadelight.regionalmeals.service.impl;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.dabbadelight.regionalmeals.exception.ResourceNotFoundException;
+import com.dabbadelight.regionalmeals.exception.SlotFullException;
+import com.dabbadelight.regionalmeals.model.DTO.BulkStatusResultDTO;
+import com.dabbadelight.regionalmeals.model.DTO.OrderCursor;
+import com.dabbadelight.regionalmeals.model.DTO.OrderItemsPatchDTO;
+import com.dabbadelight.regionalmeals.model.DTO.OrderPageDTO;
+import com.dabbadelight.regionalmeals.model.DTO.OrderPlacementResultDTO;
 import com.dabbadelight.regionalmeals.model.DTO.OrderRequestDTO;
 import com.dabbadelight.regionalmeals.model.DTO.OrderResponseDTO;
+import com.dabbadelight.regionalmeals.model.DTO.OrderSearchCriteria;
+import com.dabbadelight.regionalmeals.model.DTO.PromotionCart;
+import com.dabbadelight.regionalmeals.model.DTO.PromotionResult;
+import com.dabbadelight.regionalmeals.model.DTO.SlotReservation;
 import com.dabbadelight.regionalmeals.model.Kitchen.Item;
+import com.dabbadelight.regionalmeals.model.Orders.ArchivedOrder;
 import com.dabbadelight.regionalmeals.model.Orders.Order;
 import com.dabbadelight.regionalmeals.model.Orders.OrderItem;
 import com.dabbadelight.regionalmeals.model.User.Address;
 import com.dabbadelight.regionalmeals.model.User.User;
+import com.dabbadelight.regionalmeals.model.enums.OrderEventType;
 import com.dabbadelight.regionalmeals.model.enums.OrderStatus;
 import com.dabbadelight.regionalmeals.model.enums.PaymentMode;
 import com.dabbadelight.regionalmeals.model.enums.PaymentStatus;
 import com.dabbadelight.regionalmeals.repository.AddressRepository;
+import com.dabbadelight.regionalmeals.repository.ArchivedOrderRepository;
 import com.dabbadelight.regionalmeals.repository.OrderItemRepository;
 import com.dabbadelight.regionalmeals.repository.OrderRepository;
+import com.dabbadelight.regionalmeals.repository.OrderSpecifications;
 import com.dabbadelight.regionalmeals.repository.UserRepository;
 import com.dabbadelight.regionalmeals.service.ItemService;
+import com.dabbadelight.regionalmeals.service.KitchenCapacityService;
+import com.dabbadelight.regionalmeals.service.OrderOutboxService;
 import com.dabbadelight.regionalmeals.service.OrderService;
+import com.dabbadelight.regionalmeals.service.PromotionService;
 
 @Service
 public class OrderServiceImpl implements OrderService {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_BULK_STATUS_ORDERS = 500;
+    private static final int MAX_ORDER_ITEM_CHANGES = 100;
+    private static final List<OrderStatus> CANCELLABLE_STATUSES =
+            List.of(OrderStatus.PENDING, OrderStatus.CONFIRMED, OrderStatus.PREPARING);
+    // Open carts and cancelled orders don't use up a user's first order
+    private static final List<OrderStatus> NOT_PLACED_STATUSES = List.of(OrderStatus.PENDING, OrderStatus.CANCELLED);
+    private static final Comparator<Order> NEWEST_FIRST =
+            Comparator.comparing(Order::getCreatedAt).thenComparing(Order::getId).reversed();
+    private static final Comparator<OrderCursor> NEWEST_KEY_FIRST =
+            Comparator.comparing(OrderCursor::getCreatedAt).thenComparing(OrderCursor::getId).reversed();
+
     private final OrderRepository orderRepository;
     private final UserRepository userRepository;
     private final AddressRepository addressRepository;
     private final OrderItemRepository orderItemRepository;
     private final ItemService itemService; // Use ItemService instead of ItemRepository directly
+    private final OrderOutboxService orderOutboxService;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final KitchenCapacityService kitchenCapacityService;
+    private final PromotionService promotionService;
 
     public OrderServiceImpl(OrderRepository orderRepository, UserRepository userRepository, 
                           AddressRepository addressRepository, OrderItemRepository orderItemRepository, 
-                          ItemService itemService) {
+                          ItemService itemService, OrderOutboxService orderOutboxService,
+                          ArchivedOrderRepository archivedOrderRepository,
+                          KitchenCapacityService kitchenCapacityService, PromotionService promotionService) {
         this.orderRepository = orderRepository;
         this.userRepository = userRepository;
         this.addressRepository = addressRepository;
         this.orderItemRepository = orderItemRepository;
         this.itemService = itemService;
+        this.orderOutboxService = orderOutboxService;
+        this.archivedOrderRepository = archivedOrderRepository;
+        this.kitchenCapacityService = kitchenCapacityService;
+        this.promotionService = promotionService;
     }
 
     @Override
     @Transactional
     public OrderResponseDTO createOrder(OrderRequestDTO request) {
-        User user = userRepository.findById(request.getUserId())
-                .orElseThrow(() -> new ResourceNotFoundException("User", "id", request.getUserId()));
+        Map<Long, Integer> quantities = requestedQuantities(request);
+        // A full slot is turned away before any database work; a rollback gives the dabbas back
+        SlotReservation reservation = reserveSlot(request, quantities);
+
+        User user = request.getUserId() == null ? null : loadUsers(List.of(request.getUserId())).get(request.getUserId());
+        if (user == null) {
+            throw new ResourceNotFoundException("User", "id", request.getUserId());
+        }
+
+        // Load all requested items in one query and validate against that snapshot
+        Map<Long, Item> items = itemService.getItemsByIds(quantities.keySet()).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        checkItems(quantities, items, new HashMap<>());
+        // Priced, with its promotion, before stock is touched, so a bad coupon costs no writes
+        Order order = buildOrder(request, user, items, !firstOrderUsers(List.of(user.getId())).isEmpty());
+
+        // One batched conditional update for all lines; a short line rolls back the whole order
+        itemService.reserveStock(quantities, "SYSTEM");
+
+        Order savedOrder = orderRepository.save(order);
+        if (reservation != null) {
+            kitchenCapacityService.attach(savedOrder.getId(), reservation);
+        }
+        orderOutboxService.record(OrderEventType.CREATED, savedOrder, null);
+
+        return toOrderResponseDTO(savedOrder);
+    }
+
+    @Override
+    @Transactional
+    public List<OrderPlacementResultDTO> createOrders(List<OrderRequestDTO> requests) {
+        OrderPlacementResultDTO[] results = new OrderPlacementResultDTO[requests.size()];
+        List<Map<Long, Integer>> requestQuantities = new ArrayList<>();
+        SlotReservation[] reservations = new SlotReservation[requests.size()];
+        // Slot admission first, so requests for full slots cost no database work
+        for (int i = 0; i < requests.size(); i++) {
+            Map<Long, Integer> quantities = null;
+            try {
+                quantities = requestedQuantities(requests.get(i));
+                reservations[i] = reserveSlot(requests.get(i), quantities);
+            } catch (IllegalArgumentException | ResourceNotFoundException e) {
+                results[i] = OrderPlacementResultDTO.builder().error(e.getMessage()).build();
+            } catch (SlotFullException e) {
+                results[i] = OrderPlacementResultDTO.builder()
+                        .error(e.getMessage())
+                        .slotFull(true)
+                        .nextAvailableSlot(e.getNextAvailableSlot())
+                        .build();
+            }
+            requestQuantities.add(quantities);
+        }
+
+        // One lookup for every user and every item in the batch
+        Set<Long> userIds = requests.stream()
+                .map(OrderRequestDTO::getUserId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, User> users = loadUsers(userIds);
+        Set<Long> firstOrderUsers = firstOrderUsers(users.keySet());
+        Set<Long> itemIds = requestQuantities.stream()
+                .filter(Objects::nonNull)
+                .flatMap(quantities -> quantities.keySet().stream())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Item> items = itemService.getItemsByIds(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        // Requests are checked in order against the stock left by the ones accepted before them
+        Map<Long, Integer> remaining = new HashMap<>();
+        Map<Long, Integer> totalQuantities = new HashMap<>();
+        List<Order> orders = new ArrayList<>();
+        List<Integer> orderPositions = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            OrderRequestDTO request = requests.get(i);
+            try {
+                User user = users.get(request.getUserId());
+                if (user == null) {
+                    throw new ResourceNotFoundException("User", "id", request.getUserId());
+                }
+                Map<Long, Integer> quantities = requestQuantities.get(i);
+                checkItems(quantities, items, remaining);
+                Order order = buildOrder(request, user, items, firstOrderUsers.contains(user.getId()));
+                quantities.forEach((itemId, qty) -> {
+                    remaining.merge(itemId, -qty, Integer::sum);
+                    totalQuantities.merge(itemId, qty, Integer::sum);
+                });
+                // Only the first of a new user's orders in the batch counts as their first order
+                firstOrderUsers.remove(user.getId());
+                orders.add(order);
+                orderPositions.add(i);
+            } catch (IllegalArgumentException | ResourceNotFoundException e) {
+                kitchenCapacityService.release(reservations[i]);
+                results[i] = OrderPlacementResultDTO.builder().error(e.getMessage()).build();
+            }
+        }
+        if (orders.isEmpty()) {
+            return Arrays.asList(results);
+        }
+
+        // One reservation for the whole batch; if stock moved underneath, the batch fails as a unit
+        itemService.reserveStock(totalQuantities, "SYSTEM");
+        List<Order> savedOrders = orderRepository.saveAll(orders);
+        for (int k = 0; k < savedOrders.size(); k++) {
+            SlotReservation reservation = reservations[orderPositions.get(k)];
+            if (reservation != null) {
+                kitchenCapacityService.attach(savedOrders.get(k).getId(), reservation);
+            }
+        }
+        orderOutboxService.recordAll(OrderEventType.CREATED, savedOrders);
+
+        List<OrderResponseDTO> placed = toOrderResponseDTOs(savedOrders);
+        for (int k = 0; k < placed.size(); k++) {
+            results[orderPositions.get(k)] = OrderPlacementResultDTO.builder().order(placed.get(k)).build();
+        }
+        return Arrays.asList(results);
+    }
 
-        // Validate all items exist and have sufficient stock
-        for (OrderRequestDTO.OrderItemRequestDTO reqItem : request.getOrderItems()) {
-            Item item = itemService.getItemById(reqItem.getItemId());
+    // Total quantity per item, so repeated lines are checked and reserved together
+    private Map<Long, Integer> requestedQuantities(OrderRequestDTO request) {
+        List<OrderRequestDTO.OrderItemRequestDTO> requestedItems = request.getOrderItems();
+        if (requestedItems == null || requestedItems.isEmpty()) {
+            throw new IllegalArgumentException("Order must contain at least one item");
+        }
+        if (request.getPromisedSlot() != null && request.getPromisedSlot().isBefore(LocalDateTime.now())) {
+            throw new IllegalArgumentException("Promised slot must not be in the past");
+        }
+
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (OrderRequestDTO.OrderItemRequestDTO reqItem : requestedItems) {
+            if (reqItem.getQuantity() <= 0) {
+                throw new IllegalArgumentException("Quantity must be positive for item id: " + reqItem.getItemId());
+            }
+            quantities.merge(reqItem.getItemId(), reqItem.getQuantity(), Integer::sum);
+        }
+        return quantities;
+    }
+
+    // Every open order takes its place in the slot, carts for a promised slot included, so confirming one
+    // can't overbook it. An ASAP cart has no slot until it is confirmed, and is booked then.
+    private SlotReservation reserveSlot(OrderRequestDTO request, Map<Long, Integer> quantities) {
+        OrderStatus status = request.getOrderStatus();
+        if (status == null || status == OrderStatus.CANCELLED
+                || (status == OrderStatus.PENDING && request.getPromisedSlot() == null)) {
+            return null;
+        }
+        return kitchenCapacityService.reserve(request.getPromisedSlot(), quantities);
+    }
+
+    // available caches stock per item, so a batch can keep drawing it down
+    private void checkItems(Map<Long, Integer> quantities, Map<Long, Item> items, Map<Long, Integer> available) {
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            Item item = items.get(entry.getKey());
+            if (item == null) {
+                throw new ResourceNotFoundException("Item not found with id: " + entry.getKey());
+            }
             if (!item.isAvailable()) {
                 throw new IllegalArgumentException("Item " + item.getName() + " is not available");
             }
-            if (item.getStock() < reqItem.getQuantity()) {
+            int availableStock = available.computeIfAbsent(item.getId(), id -> itemService.getAvailableStock(item));
+            if (availableStock < entry.getValue()) {
                 throw new IllegalArgumentException("Insufficient stock for item " + item.getName() + 
-                    ". Available: " + item.getStock() + ", Requested: " + reqItem.getQuantity());
+                    ". Available: " + availableStock + ", Requested: " + entry.getValue());
             }
         }
+    }
 
+    private Order buildOrder(OrderRequestDTO request, User user, Map<Long, Item> items, boolean firstOrder) {
         Order order = new Order();
         order.setUser(user);
         order.setPaymentMode(request.getPaymentMode());
-        order.setPaymentStatus(request.getPaymentStatus());
+        // Online payments are settled by the gateway's callback, never by the client
+        order.setPaymentStatus(request.getPaymentMode() == PaymentMode.ONLINE ? PaymentStatus.PENDING : request.getPaymentStatus());
         order.setOrderStatus(request.getOrderStatus());
+        order.setPromisedSlot(request.getPromisedSlot());
 
         List<OrderItem> orderItems = request.getOrderItems().stream().map(reqItem -> {
-            Item item = itemService.getItemById(reqItem.getItemId());
+            Item item = items.get(reqItem.getItemId());
 
             OrderItem orderItem = new OrderItem();
             orderItem.setOrder(order);
             orderItem.setItem(item);
             orderItem.setQuantity(reqItem.getQuantity());
-            orderItem.setPriceAtPurchase(reqItem.getPriceAtPurchase());
+            orderItem.setPriceAtPurchase(item.getPrice());
             return orderItem;
         }).collect(Collectors.toList());
 
         order.setOrderItems(orderItems);
+        String couponCode = request.getCouponCode();
+        order.setCouponCode(couponCode == null || couponCode.isBlank() ? null : couponCode.trim());
+        order.setFirstOrder(firstOrder);
+        applyPromotion(order, true);
+        return order;
+    }
+
+    // Evaluated in memory against the compiled rules, from the order's current lines and the coupon and
+    // first-order flag it was placed with. An unknown coupon fails placement; once placed, a coupon
+    // whose promotion has since been removed just stops applying.
+    private void applyPromotion(Order order, boolean placing) {
+        order.setDiscountAmount(0);
+        order.setPromotionId(null);
+        if (order.getOrderItems() != null && !order.getOrderItems().isEmpty()) {
+            PromotionCart cart = new PromotionCart(order.getOrderItems().size());
+            for (OrderItem orderItem : order.getOrderItems()) {
+                Item item = orderItem.getItem();
+                cart.add(item.getId(), item.getMenu() != null ? item.getMenu().getId() : 0,
+                        orderItem.getQuantity(), orderItem.getPriceAtPurchase());
+            }
+            PromotionResult result = new PromotionResult();
+            try {
+                promotionService.evaluate(cart, order.getCouponCode(), order.isFirstOrder(), result);
+            } catch (IllegalArgumentException e) {
+                if (placing) {
+                    throw e;
+                }
+                promotionService.evaluate(cart, null, order.isFirstOrder(), result);
+            }
+            if (result.isApplied()) {
+                order.setDiscountAmount(result.getDiscount());
+                order.setPromotionId(result.getPromotionId());
+            }
+        }
         order.calculateTotalAmount();
+    }
 
-        Order savedOrder = orderRepository.save(order);
+    // With a first-order promotion live, the users' rows are locked before anything else is read, so a
+    // concurrent placement for the same user waits here and then finds this one in its history check
+    private Map<Long, User> loadUsers(Collection<Long> userIds) {
+        List<User> users = promotionService.hasFirstOrderPromotions()
+                ? userRepository.findAllByIdForUpdate(userIds)
+                : userRepository.findAllById(userIds);
+        return users.stream().collect(Collectors.toMap(User::getId, Function.identity()));
+    }
 
-        // Update stock for all items
-        for (OrderRequestDTO.OrderItemRequestDTO reqItem : request.getOrderItems()) {
-            Item item = itemService.getItemById(reqItem.getItemId());
-            int newStock = item.getStock() - reqItem.getQuantity();
-            itemService.updateStock(item.getId(), newStock, "SYSTEM");
+    // Users among userIds who have never placed an order and hold no open first order; only looked up
+    // while a first-order promotion is live
+    private Set<Long> firstOrderUsers(Collection<Long> userIds) {
+        Set<Long> firstOrderUsers = new HashSet<>();
+        if (userIds.isEmpty() || !promotionService.hasFirstOrderPromotions()) {
+            return firstOrderUsers;
         }
-
-        return toOrderResponseDTO(savedOrder);
+        firstOrderUsers.addAll(userIds);
+        firstOrderUsers.removeAll(orderRepository.findUserIdsPastFirstOrder(userIds, NOT_PLACED_STATUSES, OrderStatus.CANCELLED));
+        if (!firstOrderUsers.isEmpty()) {
+            firstOrderUsers.removeAll(archivedOrderRepository.findUserIdsWithOrders(firstOrderUsers, NOT_PLACED_STATUSES));
+        }
+        return firstOrderUsers;
     }
 
     @Override
     public OrderResponseDTO getOrderById(Long id) {
-        Order order = orderRepository.findById(id)
+        Optional<Order> order = orderRepository.findById(id);
+        if (order.isPresent()) {
+            return toOrderResponseDTO(order.get());
+        }
+        // Finished orders past the archive age live in orders_archive
+        ArchivedOrder archived = archivedOrderRepository.findWithItemsByIdIn(List.of(id)).stream()
+                .findFirst()
                 .orElseThrow(() -> new ResourceNotFoundException("Order", "id", id));
-        return toOrderResponseDTO(order);
+        OrderResponseDTO dto = toOrderResponseDTO(fromArchive(archived));
+        dto.setArchived(true);
+        return dto;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<OrderResponseDTO> getAllOrders() {
-        return orderRepository.findAll().stream()
-                .map(this::toOrderResponseDTO)
-                .collect(Collectors.toList());
+        return toOrderResponseDTOs(orderRepository.findAllWithItems());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<OrderResponseDTO> getOrdersByUserId(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
-        return orderRepository.findByUserOrderByCreatedAtDesc(user).stream()
-                .map(this::toOrderResponseDTO)
-                .collect(Collectors.toList());
+        List<Order> orders = new ArrayList<>(orderRepository.findByUserOrderByCreatedAtDesc(user));
+        Set<Long> archivedIds = new HashSet<>();
+        for (ArchivedOrder archived : archivedOrderRepository.findWithItemsByUserIdOrderByCreatedAtDesc(userId)) {
+            orders.add(fromArchive(archived));
+            archivedIds.add(archived.getId());
+        }
+        if (!archivedIds.isEmpty()) {
+            orders.sort(NEWEST_FIRST);
+        }
+        return markArchived(toOrderResponseDTOs(orders), archivedIds);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<OrderResponseDTO> getOrdersByStatus(OrderStatus status) {
-        return orderRepository.findByOrderStatusOrderByCreatedAtDesc(status).stream()
-                .map(this::toOrderResponseDTO)
-                .collect(Collectors.toList());
+        return toOrderResponseDTOs(orderRepository.findByOrderStatusOrderByCreatedAtDesc(status));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public OrderPageDTO getOrdersPage(OrderSearchCriteria criteria, String cursor, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : size;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (criteria.getMinAmount() != null && criteria.getMaxAmount() != null
+                && criteria.getMinAmount() > criteria.getMaxAmount()) {
+            throw new IllegalArgumentException("minAmount must not be greater than maxAmount");
+        }
+        OrderCursor after = cursor == null || cursor.isBlank() ? null : OrderCursor.decode(cursor);
+
+        // Keyset over (created_at, id): one extra key tells us whether another page exists
+        List<OrderCursor> keys = new ArrayList<>(
+                orderRepository.findKeysByKeyset(OrderSpecifications.matching(criteria, after), pageSize + 1));
+        boolean archiveKeys = readsArchive(criteria);
+        if (archiveKeys) {
+            // Same keyset over the archive, merged; both reads share this transaction's snapshot,
+            // so an order being archived right now shows up exactly once
+            keys.addAll(archivedOrderRepository.findKeysByKeyset(OrderSpecifications.matching(criteria, after), pageSize + 1));
+            keys.sort(NEWEST_KEY_FIRST);
+        }
+        boolean hasMore = keys.size() > pageSize;
+        List<OrderCursor> pageKeys = hasMore ? keys.subList(0, pageSize) : keys;
+
+        return toOrderPageDTO(pageKeys, hasMore, archiveKeys);
     }
 
     @Override
@@ -129,13 +430,25 @@ public class OrderServiceImpl implements OrderService {
     public Order updateOrder(Long id, Order orderDetails) {
         Order existingOrder = orderRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Order", "id", id));
+        OrderStatus previousStatus = existingOrder.getOrderStatus();
         
+        // Same for updates: an online order keeps the status the gateway gave it
+        if (orderDetails.getPaymentMode() != PaymentMode.ONLINE) {
+            existingOrder.setPaymentStatus(orderDetails.getPaymentStatus());
+        } else if (existingOrder.getPaymentMode() != PaymentMode.ONLINE) {
+            existingOrder.setPaymentStatus(PaymentStatus.PENDING);
+        }
         existingOrder.setPaymentMode(orderDetails.getPaymentMode());
-        existingOrder.setPaymentStatus(orderDetails.getPaymentStatus());
         existingOrder.setOrderStatus(orderDetails.getOrderStatus());
         existingOrder.calculateTotalAmount();
         
-        return orderRepository.save(existingOrder);
+        Order savedOrder = orderRepository.save(existingOrder);
+        if (previousStatus != savedOrder.getOrderStatus()) {
+            orderOutboxService.record(OrderEventType.STATUS_CHANGED, savedOrder, previousStatus);
+        } else {
+            orderOutboxService.record(OrderEventType.UPDATED, savedOrder, null);
+        }
+        return savedOrder;
     }
 
     @Override
@@ -144,19 +457,143 @@ public class OrderServiceImpl implements OrderService {
         Order order = orderRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Order", "id", id));
         
+        OrderStatus previousStatus = order.getOrderStatus();
+        
         // If order is being cancelled, restore stock
-        if (status == OrderStatus.CANCELLED && order.getOrderStatus() != OrderStatus.CANCELLED) {
-            for (OrderItem orderItem : order.getOrderItems()) {
-                Item item = orderItem.getItem();
-                int newStock = item.getStock() + orderItem.getQuantity();
-                itemService.updateStock(item.getId(), newStock, "SYSTEM");
-            }
+        if (status == OrderStatus.CANCELLED && previousStatus != OrderStatus.CANCELLED) {
+            itemService.releaseStock(quantitiesByItem(order), "SYSTEM");
         }
         
         order.setOrderStatus(status);
+        Order savedOrder = orderRepository.save(order);
+        if (previousStatus != status) {
+            orderOutboxService.record(OrderEventType.STATUS_CHANGED, savedOrder, previousStatus);
+        }
+        return savedOrder;
+    }
+
+    @Override
+    @Transactional
+    public Order transitionOrderStatus(Long id, OrderStatus expected, OrderStatus status) {
+        // Row lock, so a concurrent change can't slip in between the check and the update
+        Order order = orderRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Order", "id", id));
+        if (order.getOrderStatus() != expected) {
+            throw new IllegalArgumentException("Order " + id + " is " + order.getOrderStatus() + ", expected " + expected);
+        }
+        return updateOrderStatus(id, status);
+    }
+
+    @Override
+    @Transactional
+    public Order startPreparing(Long orderId, Long menuId) {
+        // Row lock, so two kitchens claiming the same order see each other's claims
+        Order order = orderRepository.findByIdForUpdate(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order", "id", orderId));
+        OrderStatus status = order.getOrderStatus();
+        if (status != OrderStatus.CONFIRMED && status != OrderStatus.PREPARING) {
+            throw new IllegalArgumentException("Order " + orderId + " is " + status + ", expected CONFIRMED or PREPARING");
+        }
+
+        List<OrderItem> lines = order.getOrderItems().stream()
+                .filter(orderItem -> orderItem.getItem().getMenu() != null
+                        && menuId.equals(orderItem.getItem().getMenu().getId()))
+                .toList();
+        if (lines.isEmpty()) {
+            throw new ResourceNotFoundException("Kitchen ticket", "orderId", orderId);
+        }
+        if (lines.stream().allMatch(orderItem -> orderItem.getClaimedAt() != null)) {
+            throw new IllegalArgumentException("Order " + orderId + " is already being prepared");
+        }
+        LocalDateTime claimedAt = LocalDateTime.now();
+        lines.forEach(orderItem -> orderItem.setClaimedAt(claimedAt));
+
+        // The first kitchen to start moves the whole order; later kitchens only mark their own lines
+        if (status == OrderStatus.CONFIRMED) {
+            return updateOrderStatus(orderId, OrderStatus.PREPARING);
+        }
         return orderRepository.save(order);
     }
 
+    @Override
+    @Transactional
+    public List<BulkStatusResultDTO> updateOrderStatuses(List<Long> orderIds, OrderStatus status) {
+        if (status == null) {
+            throw new IllegalArgumentException("Target status is required");
+        }
+        if (orderIds == null || orderIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one order id is required");
+        }
+        Set<Long> ids = new LinkedHashSet<>(orderIds);
+        if (ids.size() > MAX_BULK_STATUS_ORDERS) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_STATUS_ORDERS + " orders can be updated at once");
+        }
+        return applyStatusChange(ids, status, "BULK_STATUS");
+    }
+
+    @Override
+    @Transactional
+    public List<BulkStatusResultDTO> cancelOrdersForMenu(Long menuId) {
+        if (menuId == null) {
+            throw new IllegalArgumentException("Menu id is required");
+        }
+        List<Long> orderIds = orderItemRepository.findOrderIdsByMenuAndStatuses(menuId, CANCELLABLE_STATUSES);
+        if (orderIds.isEmpty()) {
+            return List.of();
+        }
+        return applyStatusChange(new LinkedHashSet<>(orderIds), OrderStatus.CANCELLED, "MENU_CANCEL");
+    }
+
+    // Moves the orders to status in the caller's transaction. Cancelling gives back the stock of all
+    // of them in one release, summed per item, as relative stock = stock + ? updates.
+    private List<BulkStatusResultDTO> applyStatusChange(Set<Long> ids, OrderStatus status, String updatedBy) {
+        // Lock every row first so the checks below still hold when the batch runs
+        orderRepository.lockIdsIn(ids);
+        Map<Long, Order> ordersById = orderRepository.findWithItemsByIdIn(ids).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+
+        Map<Long, BulkStatusResultDTO> results = new LinkedHashMap<>();
+        Map<Long, OrderStatus> expectedById = new HashMap<>();
+        Map<OrderStatus, List<Order>> acceptedByPreviousStatus = new HashMap<>();
+        for (Long id : ids) {
+            Order order = ordersById.get(id);
+            if (order == null) {
+                results.put(id, bulkResult(id, BulkStatusResultDTO.Outcome.NOT_FOUND, null, null, "Order not found"));
+                continue;
+            }
+            OrderStatus previousStatus = order.getOrderStatus();
+            if (previousStatus == status) {
+                results.put(id, bulkResult(id, BulkStatusResultDTO.Outcome.UNCHANGED, previousStatus, status, null));
+            } else if (!previousStatus.canTransitionTo(status)) {
+                results.put(id, bulkResult(id, BulkStatusResultDTO.Outcome.REJECTED, previousStatus, previousStatus,
+                        "Cannot move order from " + previousStatus + " to " + status));
+            } else {
+                expectedById.put(id, previousStatus);
+                acceptedByPreviousStatus.computeIfAbsent(previousStatus, s -> new ArrayList<>()).add(order);
+                results.put(id, bulkResult(id, BulkStatusResultDTO.Outcome.UPDATED, previousStatus, status, null));
+            }
+        }
+        if (expectedById.isEmpty()) {
+            return new ArrayList<>(results.values());
+        }
+
+        // One release for every item held by the orders being cancelled
+        if (status == OrderStatus.CANCELLED) {
+            List<Order> cancelled = new ArrayList<>();
+            acceptedByPreviousStatus.values().forEach(cancelled::addAll);
+            itemService.releaseStock(quantitiesByItem(cancelled), updatedBy);
+        }
+
+        List<Long> staleIds = orderRepository.transitionStatuses(expectedById, status);
+        if (!staleIds.isEmpty()) {
+            throw new IllegalStateException("Orders changed during bulk status update: " + staleIds);
+        }
+        acceptedByPreviousStatus.forEach((previousStatus, orders) ->
+                orderOutboxService.recordStatusChanges(orders, previousStatus, status));
+
+        return new ArrayList<>(results.values());
+    }
+
     @Override
     @Transactional
     public void deleteOrder(Long id) {
@@ -165,17 +602,15 @@ public class OrderServiceImpl implements OrderService {
         
         // Restore stock when deleting order
         if (order.getOrderStatus() != OrderStatus.CANCELLED) {
-            for (OrderItem orderItem : order.getOrderItems()) {
-                Item item = orderItem.getItem();
-                int newStock = item.getStock() + orderItem.getQuantity();
-                itemService.updateStock(item.getId(), newStock, "SYSTEM");
-            }
+            itemService.releaseStock(quantitiesByItem(order), "SYSTEM");
         }
         
         orderRepository.delete(order);
+        orderOutboxService.record(OrderEventType.DELETED, order, null);
     }
 
     @Override
+    @Transactional
     public Order getOrCreatePendingOrderByUserId(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
@@ -191,15 +626,16 @@ public class OrderServiceImpl implements OrderService {
             newOrder.setPaymentMode(PaymentMode.CASH);
             newOrder.setPaymentStatus(PaymentStatus.PENDING);
             newOrder.setTotalAmount(0);
-            return orderRepository.save(newOrder);
+            Order savedOrder = orderRepository.save(newOrder);
+            orderOutboxService.record(OrderEventType.CREATED, savedOrder, null);
+            return savedOrder;
         }
     }
 
     @Override
     @Transactional
     public Order addItemToOrder(Long orderId, Long itemId, int quantity) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new ResourceNotFoundException("Order", "id", orderId));
+        Order order = lockPendingOrder(orderId);
         
         Item item = itemService.getItemById(itemId);
         
@@ -211,26 +647,33 @@ public class OrderServiceImpl implements OrderService {
                 .filter(oi -> oi.getItem().getId().equals(itemId))
                 .findFirst();
 
+        Map<Long, Integer> quantities = quantitiesByItem(order);
+        quantities.put(itemId, quantity);
+        resizeSlot(order, quantities);
+
         if (existingOrderItem.isPresent()) {
             OrderItem orderItem = existingOrderItem.get();
             int oldQuantity = orderItem.getQuantity();
             int quantityDifference = quantity - oldQuantity;
             
-            if (quantityDifference > 0 && item.getStock() < quantityDifference) {
-                throw new IllegalArgumentException("Insufficient stock. Available: " + item.getStock());
+            int availableStock = itemService.getAvailableStock(item);
+            if (quantityDifference > 0 && availableStock < quantityDifference) {
+                throw new IllegalArgumentException("Insufficient stock. Available: " + availableStock);
             }
             
             orderItem.setQuantity(quantity);
             orderItemRepository.save(orderItem);
             
             // Update stock
-            if (quantityDifference != 0) {
-                int newStock = item.getStock() - quantityDifference;
-                itemService.updateStock(item.getId(), newStock, "SYSTEM");
+            if (quantityDifference > 0) {
+                itemService.reserveStock(Map.of(item.getId(), quantityDifference), "SYSTEM");
+            } else if (quantityDifference < 0) {
+                itemService.releaseStock(Map.of(item.getId(), -quantityDifference), "SYSTEM");
             }
         } else {
-            if (item.getStock() < quantity) {
-                throw new IllegalArgumentException("Insufficient stock. Available: " + item.getStock());
+            int availableStock = itemService.getAvailableStock(item);
+            if (availableStock < quantity) {
+                throw new IllegalArgumentException("Insufficient stock. Available: " + availableStock);
             }
             
             OrderItem newOrderItem = new OrderItem();
@@ -241,19 +684,20 @@ public class OrderServiceImpl implements OrderService {
             order.getOrderItems().add(newOrderItem);
             
             // Update stock
-            int newStock = item.getStock() - quantity;
-            itemService.updateStock(item.getId(), newStock, "SYSTEM");
+            itemService.reserveStock(Map.of(item.getId(), quantity), "SYSTEM");
         }
         
-        order.calculateTotalAmount();
-        return orderRepository.save(order);
+        applyPromotion(order, false);
+        order.setUpdatedAt(LocalDateTime.now()); // renews the cart's stock hold
+        Order savedOrder = orderRepository.save(order);
+        orderOutboxService.record(OrderEventType.UPDATED, savedOrder, null);
+        return savedOrder;
     }
 
     @Override
     @Transactional
     public Order removeItemFromOrder(Long orderId, Long orderItemId) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new ResourceNotFoundException("Order", "id", orderId));
+        Order order = lockPendingOrder(orderId);
         
         OrderItem orderItemToRemove = orderItemRepository.findById(orderItemId)
                 .orElseThrow(() -> new ResourceNotFoundException("OrderItem", "id", orderItemId));
@@ -263,19 +707,256 @@ public class OrderServiceImpl implements OrderService {
         }
         
         // Restore stock
-        Item item = orderItemToRemove.getItem();
-        int newStock = item.getStock() + orderItemToRemove.getQuantity();
-        itemService.updateStock(item.getId(), newStock, "SYSTEM");
+        itemService.releaseStock(Map.of(orderItemToRemove.getItem().getId(), orderItemToRemove.getQuantity()), "SYSTEM");
+        resizeSlot(order, quantitiesByItem(order));
         
         orderItemRepository.delete(orderItemToRemove);
-        order.calculateTotalAmount();
-        return orderRepository.save(order);
+        applyPromotion(order, false);
+        order.setUpdatedAt(LocalDateTime.now()); // renews the cart's stock hold
+        Order savedOrder = orderRepository.save(order);
+        orderOutboxService.record(OrderEventType.UPDATED, savedOrder, null);
+        return savedOrder;
+    }
+
+    @Override
+    @Transactional
+    public Order updateOrderItems(Long orderId, List<OrderItemsPatchDTO.LineChange> changes) {
+        if (changes == null || changes.isEmpty()) {
+            throw new IllegalArgumentException("At least one change is required");
+        }
+        if (changes.size() > MAX_ORDER_ITEM_CHANGES) {
+            throw new IllegalArgumentException("At most " + MAX_ORDER_ITEM_CHANGES + " changes can be applied at once");
+        }
+        Order order = lockPendingOrder(orderId);
+
+        // Replay the changes on quantities alone, so only the final quantity per item counts
+        Map<Long, Integer> current = quantitiesByItem(order);
+        Map<Long, Integer> target = new LinkedHashMap<>(current);
+        for (OrderItemsPatchDTO.LineChange change : changes) {
+            if (change.getOp() == null || change.getItemId() == null) {
+                throw new IllegalArgumentException("Every change needs an op and an item id");
+            }
+            if (change.getOp() == OrderItemsPatchDTO.Operation.SET && change.getQuantity() < 0) {
+                throw new IllegalArgumentException("Quantity must not be negative for item id: " + change.getItemId());
+            }
+            if (change.getOp() == OrderItemsPatchDTO.Operation.REMOVE || change.getQuantity() == 0) {
+                target.remove(change.getItemId());
+            } else {
+                target.put(change.getItemId(), change.getQuantity());
+            }
+        }
+
+        Map<Long, Integer> increases = new LinkedHashMap<>();
+        Map<Long, Integer> decreases = new LinkedHashMap<>();
+        Set<Long> touchedIds = new LinkedHashSet<>(current.keySet());
+        touchedIds.addAll(target.keySet());
+        for (Long itemId : touchedIds) {
+            int delta = target.getOrDefault(itemId, 0) - current.getOrDefault(itemId, 0);
+            if (delta > 0) {
+                increases.put(itemId, delta);
+            } else if (delta < 0) {
+                decreases.put(itemId, -delta);
+            }
+        }
+        if (increases.isEmpty() && decreases.isEmpty()) {
+            return order;
+        }
+
+        // Only items that are new to the order or grow need loading and checking
+        Map<Long, Item> items = itemService.getItemsByIds(increases.keySet()).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        checkItems(increases, items, new HashMap<>());
+        resizeSlot(order, target);
+        itemService.reserveStock(increases, "SYSTEM");
+        itemService.releaseStock(decreases, "SYSTEM");
+
+        // Changed items end up with a single line at their final quantity; orphan removal deletes the rest
+        Map<Long, OrderItem> keptLines = new HashMap<>();
+        Iterator<OrderItem> lines = order.getOrderItems().iterator();
+        while (lines.hasNext()) {
+            OrderItem line = lines.next();
+            Long itemId = line.getItem().getId();
+            if (!increases.containsKey(itemId) && !decreases.containsKey(itemId)) {
+                continue;
+            }
+            Integer quantity = target.get(itemId);
+            if (quantity == null || keptLines.containsKey(itemId)) {
+                lines.remove();
+            } else {
+                line.setQuantity(quantity);
+                keptLines.put(itemId, line);
+            }
+        }
+        for (Long itemId : increases.keySet()) {
+            if (!keptLines.containsKey(itemId)) {
+                Item item = items.get(itemId);
+                OrderItem newOrderItem = new OrderItem();
+                newOrderItem.setOrder(order);
+                newOrderItem.setItem(item);
+                newOrderItem.setQuantity(target.get(itemId));
+                newOrderItem.setPriceAtPurchase(item.getPrice());
+                order.getOrderItems().add(newOrderItem);
+            }
+        }
+
+        applyPromotion(order, false);
+        order.setUpdatedAt(LocalDateTime.now()); // renews the cart's stock hold
+        Order savedOrder = orderRepository.save(order);
+        orderOutboxService.record(OrderEventType.UPDATED, savedOrder, null);
+        return savedOrder;
+    }
+
+    // A cart's place in its promised slot follows its lines; growth a full slot can't take is turned away.
+    // ASAP carts hold no place to resize.
+    private void resizeSlot(Order order, Map<Long, Integer> quantities) {
+        if (order.getPromisedSlot() != null) {
+            kitchenCapacityService.resize(order.getId(), order.getPromisedSlot(), quantities);
+        }
+    }
+
+    // Row lock, so two concurrent edits can't both work out their deltas from the same lines, and
+    // an edit racing the stale-cart sweep sees the cancellation instead of saving over it
+    private Order lockPendingOrder(Long orderId) {
+        Order order = orderRepository.findByIdForUpdate(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order", "id", orderId));
+        if (order.getOrderStatus() != OrderStatus.PENDING) {
+            throw new IllegalArgumentException("Only pending orders can be edited, order " + orderId + " is " + order.getOrderStatus());
+        }
+        return order;
+    }
+
+    private BulkStatusResultDTO bulkResult(Long orderId, BulkStatusResultDTO.Outcome outcome,
+                                           OrderStatus previousStatus, OrderStatus orderStatus, String message) {
+        return BulkStatusResultDTO.builder()
+                .orderId(orderId)
+                .outcome(outcome)
+                .previousStatus(previousStatus)
+                .orderStatus(orderStatus)
+                .message(message)
+                .build();
+    }
+
+    // Total quantity per item across all lines of the order
+    private Map<Long, Integer> quantitiesByItem(Order order) {
+        return quantitiesByItem(List.of(order));
+    }
+
+    // Summed across all the orders, so a restock is one relative update per item
+    private Map<Long, Integer> quantitiesByItem(Collection<Order> orders) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (Order order : orders) {
+            for (OrderItem orderItem : order.getOrderItems()) {
+                quantities.merge(orderItem.getItem().getId(), orderItem.getQuantity(), Integer::sum);
+            }
+        }
+        return quantities;
+    }
+
+    // Loads the orders for a page of ids with their lines and returns them in id-list order
+    private OrderPageDTO toOrderPageDTO(List<OrderCursor> pageKeys, boolean hasMore, boolean archiveKeys) {
+        List<Long> pageIds = pageKeys.stream().map(OrderCursor::getId).collect(Collectors.toList());
+        Map<Long, Order> ordersById = new HashMap<>();
+        if (!pageIds.isEmpty()) {
+            for (Order order : orderRepository.findWithItemsByIdIn(pageIds)) {
+                ordersById.put(order.getId(), order);
+            }
+        }
+        // Whatever is not in the hot table came from the archive
+        Set<Long> archivedIds = new HashSet<>();
+        if (archiveKeys && ordersById.size() < pageIds.size()) {
+            List<Long> missingIds = pageIds.stream()
+                    .filter(id -> !ordersById.containsKey(id))
+                    .collect(Collectors.toList());
+            for (ArchivedOrder archived : archivedOrderRepository.findWithItemsByIdIn(missingIds)) {
+                ordersById.put(archived.getId(), fromArchive(archived));
+                archivedIds.add(archived.getId());
+            }
+        }
+        List<Order> orders = pageIds.stream()
+                .map(ordersById::get)
+                .collect(Collectors.toList());
+
+        String nextCursor = null;
+        if (hasMore) {
+            Order last = orders.get(orders.size() - 1);
+            nextCursor = new OrderCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return OrderPageDTO.builder()
+                .orders(markArchived(toOrderResponseDTOs(orders), archivedIds))
+                .size(orders.size())
+                .hasMore(hasMore)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    // Only finished orders are ever archived, so a search for a live status skips the archive
+    private boolean readsArchive(OrderSearchCriteria criteria) {
+        return criteria.getStatus() == null
+                || criteria.getStatus() == OrderStatus.DELIVERED
+                || criteria.getStatus() == OrderStatus.CANCELLED;
+    }
+
+    // Detached Order view of an archived order, so it renders through the same DTO mapping
+    private Order fromArchive(ArchivedOrder archived) {
+        Order order = new Order();
+        order.setId(archived.getId());
+        order.setPaymentMode(archived.getPaymentMode());
+        order.setPaymentStatus(archived.getPaymentStatus());
+        order.setOrderStatus(archived.getOrderStatus());
+        order.setUser(archived.getUser());
+        order.setTotalAmount(archived.getTotalAmount());
+        order.setDiscountAmount(archived.getDiscountAmount());
+        order.setPromotionId(archived.getPromotionId());
+        order.setCouponCode(archived.getCouponCode());
+        order.setFirstOrder(archived.isFirstOrder());
+        order.setPromisedSlot(archived.getPromisedSlot());
+        order.setCreatedAt(archived.getCreatedAt());
+        order.setUpdatedAt(archived.getUpdatedAt());
+        order.setOrderItems(archived.getOrderItems().stream().map(line -> {
+            OrderItem orderItem = new OrderItem();
+            orderItem.setId(line.getId());
+            orderItem.setOrder(order);
+            orderItem.setItem(line.getItem());
+            orderItem.setQuantity(line.getQuantity());
+            orderItem.setPriceAtPurchase(line.getPriceAtPurchase());
+            return orderItem;
+        }).collect(Collectors.toList()));
+        return order;
+    }
+
+    private List<OrderResponseDTO> markArchived(List<OrderResponseDTO> dtos, Set<Long> archivedIds) {
+        if (!archivedIds.isEmpty()) {
+            dtos.forEach(dto -> dto.setArchived(archivedIds.contains(dto.getOrderId())));
+        }
+        return dtos;
+    }
+
+    // Orders must come with their lines and items already fetched; addresses are loaded in one query
+    private List<OrderResponseDTO> toOrderResponseDTOs(List<Order> orders) {
+        Set<Long> userIds = orders.stream()
+                .map(order -> order.getUser().getId())
+                .collect(Collectors.toSet());
+
+        Map<Long, Address> addressByUserId = new HashMap<>();
+        if (!userIds.isEmpty()) {
+            for (Address address : addressRepository.findByUserIdInOrderByIdAsc(userIds)) {
+                addressByUserId.putIfAbsent(address.getUser().getId(), address);
+            }
+        }
+
+        return orders.stream()
+                .map(order -> toOrderResponseDTO(order, addressByUserId.get(order.getUser().getId())))
+                .collect(Collectors.toList());
     }
 
     private OrderResponseDTO toOrderResponseDTO(Order order) {
+        List<Address> addresses = addressRepository.findByUserId(order.getUser().getId());
+        return toOrderResponseDTO(order, addresses.isEmpty() ? null : addresses.get(0));
+    }
+
+    private OrderResponseDTO toOrderResponseDTO(Order order, Address address) {
         User user = order.getUser();
-        List<Address> addresses = addressRepository.findByUserId(user.getId());
-        Address address = addresses.isEmpty() ? null : addresses.get(0);
 
         List<OrderResponseDTO.OrderItemDTO> orderItemDTOs = order.getOrderItems()
                 .stream()
@@ -296,6 +977,9 @@ public class OrderServiceImpl implements OrderService {
                 .pincode(address != null ? address.getPincode() : null)
                 .items(orderItemDTOs)
                 .totalAmount(order.getTotalAmount())
+                .discountAmount(order.getDiscountAmount())
+                .promotionId(order.getPromotionId())
+                .promisedSlot(order.getPromisedSlot())
                 .createdAt(order.getCreatedAt())
                 .updatedAt(order.getUpdatedAt())
                 .build();
@@ -0,0 +1,159 @@
+package com.dabbadelight.regionalmeals.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.dabbadelight.regionalmeals.model.DTO.OrderEvent;
+import com.dabbadelight.regionalmeals.model.DTO.StageTimingDTO;
+import com.dabbadelight.regionalmeals.model.Orders.Order;
+import com.dabbadelight.regionalmeals.model.enums.OrderStatus;
+import com.dabbadelight.regionalmeals.repository.OrderRepository;
+import com.dabbadelight.regionalmeals.repository.OrderStatusHistoryRepository;
+import com.dabbadelight.regionalmeals.service.OrderStageTimingService;
+
+import jakarta.annotation.PostConstruct;
+
+// Time-in-stage percentiles per kitchen, kept incrementally from the order outbox events. Each
+// open order is tracked with the stage it is in and when it got there; when it leaves the stage
+// the elapsed time goes into that (kitchen, stage) histogram. Nothing reads order history to
+// answer a query, so the numbers stay cheap to ask for during the rush. An order spanning
+// several menus counts towards each of them.
+@Service
+public class OrderStageTimingServiceImpl implements OrderStageTimingService {
+
+    private static final Set<OrderStatus> OPEN_STATUSES = EnumSet.of(
+            OrderStatus.PENDING, OrderStatus.CONFIRMED, OrderStatus.PREPARING, OrderStatus.OUT_FOR_DELIVERY);
+    private static final int SEED_CHUNK = 1000;
+
+    private final OrderRepository orderRepository;
+    private final OrderStatusHistoryRepository orderStatusHistoryRepository;
+    private final long windowMillis;
+    private final int slices;
+
+    private final Map<Long, Tracked> openOrders = new ConcurrentHashMap<>();
+    private final Map<StageKey, StageHistogram> histograms = new ConcurrentHashMap<>();
+
+    private record Tracked(OrderStatus status, LocalDateTime enteredAt, Set<Long> menuIds) {}
+
+    private record StageKey(Long menuId, OrderStatus stage) {}
+
+    public OrderStageTimingServiceImpl(OrderRepository orderRepository,
+                                       OrderStatusHistoryRepository orderStatusHistoryRepository,
+                                       @Value("${order.stage-timings.window-minutes:60}") long windowMinutes,
+                                       @Value("${order.stage-timings.slices:12}") int slices) {
+        this.orderRepository = orderRepository;
+        this.orderStatusHistoryRepository = orderStatusHistoryRepository;
+        this.windowMillis = windowMinutes * 60_000;
+        this.slices = Math.max(1, slices);
+    }
+
+    // Orders already open resume from their last recorded change; orders older than the history
+    // table fall back to their last update
+    @PostConstruct
+    public void loadOpenOrders() {
+        List<Order> open = orderRepository.findWithItemsByOrderStatusIn(OPEN_STATUSES);
+        Map<Long, LocalDateTime> lastChange = new HashMap<>();
+        List<Long> ids = open.stream().map(Order::getId).collect(Collectors.toList());
+        for (int from = 0; from < ids.size(); from += SEED_CHUNK) {
+            for (Object[] row : orderStatusHistoryRepository.findLastChangeByOrderIdIn(
+                    ids.subList(from, Math.min(from + SEED_CHUNK, ids.size())))) {
+                lastChange.put((Long) row[0], (LocalDateTime) row[1]);
+            }
+        }
+        for (Order order : open) {
+            Set<Long> menuIds = order.getOrderItems().stream()
+                    .filter(orderItem -> orderItem.getItem().getMenu() != null)
+                    .map(orderItem -> orderItem.getItem().getMenu().getId())
+                    .collect(Collectors.toSet());
+            LocalDateTime enteredAt = lastChange.getOrDefault(order.getId(),
+                    order.getUpdatedAt() != null ? order.getUpdatedAt() : order.getCreatedAt());
+            openOrders.putIfAbsent(order.getId(), new Tracked(order.getOrderStatus(), enteredAt, menuIds));
+        }
+        System.out.println("⏱️ Stage timings tracking " + open.size() + " open orders");
+    }
+
+    @EventListener
+    public void onOrderEvent(OrderEvent event) {
+        Long orderId = event.getOrderId();
+        switch (event.getType()) {
+            case CREATED -> {
+                LocalDateTime at = event.getOrderCreatedAt() != null ? event.getOrderCreatedAt() : event.getOccurredAt();
+                if (OPEN_STATUSES.contains(event.getOrderStatus())) {
+                    openOrders.putIfAbsent(orderId, new Tracked(event.getOrderStatus(), at, menuIds(event)));
+                }
+            }
+            case STATUS_CHANGED -> openOrders.compute(orderId, (id, tracked) -> {
+                // Only a change out of the stage we saw it enter is timed, so replays count once
+                if (tracked != null && tracked.status() == event.getPreviousStatus() && event.getOccurredAt() != null) {
+                    long seconds = Duration.between(tracked.enteredAt(), event.getOccurredAt()).toSeconds();
+                    long now = System.currentTimeMillis();
+                    for (Long menuId : tracked.menuIds()) {
+                        histograms.computeIfAbsent(new StageKey(menuId, tracked.status()),
+                                key -> new StageHistogram(windowMillis, slices)).record(seconds, now);
+                    }
+                } else if (tracked != null && tracked.status() == event.getOrderStatus()) {
+                    return tracked;
+                }
+                return OPEN_STATUSES.contains(event.getOrderStatus())
+                        ? new Tracked(event.getOrderStatus(), event.getOccurredAt(), menuIds(event))
+                        : null;
+            });
+            case UPDATED -> openOrders.computeIfPresent(orderId,
+                    (id, tracked) -> new Tracked(tracked.status(), tracked.enteredAt(), menuIds(event)));
+            case DELETED -> openOrders.remove(orderId);
+            default -> { }
+        }
+    }
+
+    @Override
+    public List<StageTimingDTO> getStageTimings(Long menuId) {
+        long now = System.currentTimeMillis();
+        List<StageTimingDTO> timings = new ArrayList<>();
+        histograms.forEach((key, histogram) -> {
+            if (menuId != null && !menuId.equals(key.menuId())) {
+                return;
+            }
+            StageHistogram.Snapshot snapshot = histogram.snapshot(now);
+            if (snapshot == null) {
+                return;
+            }
+            timings.add(StageTimingDTO.builder()
+                    .menuId(key.menuId())
+                    .stage(key.stage())
+                    .count(snapshot.count())
+                    .p50Seconds(snapshot.p50())
+                    .p95Seconds(snapshot.p95())
+                    .p99Seconds(snapshot.p99())
+                    .maxSeconds(snapshot.max())
+                    .build());
+        });
+        timings.sort(Comparator.comparingLong(StageTimingDTO::getP95Seconds).reversed()
+                .thenComparing(StageTimingDTO::getMenuId)
+                .thenComparing(StageTimingDTO::getStage));
+        return timings;
+    }
+
+    private Set<Long> menuIds(OrderEvent event) {
+        if (event.getLines() == null) {
+            return Set.of();
+        }
+        return event.getLines().stream()
+                .map(OrderEvent.Line::getMenuId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+}
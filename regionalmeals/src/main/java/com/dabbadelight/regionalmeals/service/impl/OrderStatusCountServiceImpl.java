@@ -0,0 +1,214 @@
+package com.dabbadelight.regionalmeals.service.impl;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.dabbadelight.regionalmeals.model.DTO.OrderEvent;
+import com.dabbadelight.regionalmeals.model.DTO.OrderStatusCountsDTO;
+import com.dabbadelight.regionalmeals.model.enums.OrderEventType;
+import com.dabbadelight.regionalmeals.model.enums.OrderStatus;
+import com.dabbadelight.regionalmeals.repository.OrderItemRepository;
+import com.dabbadelight.regionalmeals.service.OrderStatusCountService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// A (kitchen, status) matrix of LongAdders for open orders, so dashboards read counts instead of
+// listing orders. Loaded at startup and then moved by the order outbox events, which every status
+// change in OrderServiceImpl records. Each open order's current (status, kitchens) is remembered,
+// so an event moves the order out of its old cells and into the new ones, and a replayed event
+// changes nothing. Finished orders leave the matrix.
+@Service
+public class OrderStatusCountServiceImpl implements OrderStatusCountService {
+
+    private static final List<OrderStatus> OPEN_STATUSES = List.of(
+            OrderStatus.PENDING, OrderStatus.CONFIRMED, OrderStatus.PREPARING, OrderStatus.OUT_FOR_DELIVERY);
+    private static final String SNAPSHOT_EVENT = "snapshot";
+    private static final String COUNTS_EVENT = "counts";
+
+    private final OrderItemRepository orderItemRepository;
+    private final long emitterTimeoutMillis;
+    private final int maxQueuedPerConnection;
+
+    // menu id -> one adder per OrderStatus ordinal
+    private final Map<Long, LongAdder[]> counters = new ConcurrentHashMap<>();
+    private final Map<Long, Tracked> openOrders = new ConcurrentHashMap<>();
+    // Kitchens changed since the last push
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    // Subscriber -> its kitchen, or ALL_KITCHENS
+    private final Map<SseConnection, Long> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    private static final Long ALL_KITCHENS = -1L;
+
+    private record Tracked(OrderStatus status, Set<Long> menuIds) {}
+
+    public OrderStatusCountServiceImpl(OrderItemRepository orderItemRepository,
+                                       @Value("${order.counts.emitter-timeout-ms:1800000}") long emitterTimeoutMillis,
+                                       @Value("${order.counts.max-queued-per-connection:100}") int maxQueuedPerConnection) {
+        this.orderItemRepository = orderItemRepository;
+        this.emitterTimeoutMillis = emitterTimeoutMillis;
+        this.maxQueuedPerConnection = maxQueuedPerConnection;
+    }
+
+    // Events still in the outbox replay on top of this snapshot and end in the same state
+    @PostConstruct
+    public void loadOpenOrders() {
+        Map<Long, OrderStatus> statusByOrder = new HashMap<>();
+        Map<Long, Set<Long>> menusByOrder = new HashMap<>();
+        for (Object[] row : orderItemRepository.findMenusForOrdersInStatuses(OPEN_STATUSES)) {
+            Long orderId = (Long) row[0];
+            statusByOrder.put(orderId, (OrderStatus) row[1]);
+            menusByOrder.computeIfAbsent(orderId, id -> new HashSet<>()).add((Long) row[2]);
+        }
+        statusByOrder.forEach((orderId, status) -> apply(orderId, status, menusByOrder.get(orderId)));
+        System.out.println("📊 Order status counts loaded with " + statusByOrder.size() + " open orders");
+    }
+
+    @EventListener
+    public void onOrderEvent(OrderEvent event) {
+        OrderStatus status = event.getType() == OrderEventType.DELETED ? null : event.getOrderStatus();
+        Set<Long> menuIds = new HashSet<>();
+        if (event.getLines() != null) {
+            for (OrderEvent.Line line : event.getLines()) {
+                if (line.getMenuId() != null) {
+                    menuIds.add(line.getMenuId());
+                }
+            }
+        }
+        apply(event.getOrderId(), status, menuIds);
+    }
+
+    // compute() serialises changes to one order; the adders take concurrent changes to different orders
+    private void apply(Long orderId, OrderStatus status, Set<Long> menuIds) {
+        openOrders.compute(orderId, (id, previous) -> {
+            Tracked next = status != null && OPEN_STATUSES.contains(status) && !menuIds.isEmpty()
+                    ? new Tracked(status, Set.copyOf(menuIds))
+                    : null;
+            if (Objects.equals(previous, next)) {
+                return previous;
+            }
+            if (previous != null) {
+                add(previous, -1);
+            }
+            if (next != null) {
+                add(next, 1);
+            }
+            return next;
+        });
+    }
+
+    private void add(Tracked tracked, int delta) {
+        for (Long menuId : tracked.menuIds()) {
+            counters.computeIfAbsent(menuId, id -> newAdders())[tracked.status().ordinal()].add(delta);
+            dirty.add(menuId);
+        }
+    }
+
+    @Override
+    public OrderStatusCountsDTO getCounts(Long menuId) {
+        return toCountsDTO(menuId, counters.get(menuId));
+    }
+
+    @Override
+    public List<OrderStatusCountsDTO> getAllCounts() {
+        List<OrderStatusCountsDTO> all = new ArrayList<>();
+        new TreeMap<>(counters).forEach((menuId, adders) -> all.add(toCountsDTO(menuId, adders)));
+        return all;
+    }
+
+    @Override
+    public SseEmitter subscribe(Long menuId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        SseConnection connection = new SseConnection(emitter, senders, maxQueuedPerConnection);
+        Object snapshot = menuId == null ? getAllCounts() : getCounts(menuId);
+        connection.enqueue(SseEmitter.event().name(SNAPSHOT_EVENT).data(snapshot, MediaType.APPLICATION_JSON));
+        subscribers.put(connection, menuId == null ? ALL_KITCHENS : menuId);
+
+        Runnable disconnect = () -> {
+            if (connection.markClosed()) {
+                subscribers.remove(connection);
+            }
+        };
+        emitter.onCompletion(disconnect);
+        emitter.onTimeout(disconnect);
+        emitter.onError(e -> disconnect.run());
+        return emitter;
+    }
+
+    // Changes are coalesced: a busy kitchen sends one event per interval, not one per order
+    @Scheduled(fixedDelayString = "${order.counts.push-interval-ms:1000}")
+    public void pushChanges() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+        List<OrderStatusCountsDTO> changed = new ArrayList<>();
+        for (Long menuId : new ArrayList<>(dirty)) {
+            dirty.remove(menuId);
+            changed.add(getCounts(menuId));
+        }
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        for (OrderStatusCountsDTO counts : changed) {
+            for (Map.Entry<SseConnection, Long> subscriber : subscribers.entrySet()) {
+                if (subscriber.getValue().equals(ALL_KITCHENS) || subscriber.getValue().equals(counts.getMenuId())) {
+                    subscriber.getKey().enqueue(SseEmitter.event().name(COUNTS_EVENT).data(counts, MediaType.APPLICATION_JSON));
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${order.counts.heartbeat-interval-ms:15000}")
+    public void sendHeartbeats() {
+        for (SseConnection connection : subscribers.keySet()) {
+            connection.enqueue(SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+    }
+
+    private OrderStatusCountsDTO toCountsDTO(Long menuId, LongAdder[] adders) {
+        Map<OrderStatus, Long> counts = new EnumMap<>(OrderStatus.class);
+        long total = 0;
+        for (OrderStatus status : OPEN_STATUSES) {
+            long count = adders == null ? 0 : adders[status.ordinal()].sum();
+            counts.put(status, count);
+            total += count;
+        }
+        return OrderStatusCountsDTO.builder()
+                .menuId(menuId)
+                .counts(counts)
+                .total(total)
+                .build();
+    }
+
+    private static LongAdder[] newAdders() {
+        LongAdder[] adders = new LongAdder[OrderStatus.values().length];
+        for (int i = 0; i < adders.length; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+}
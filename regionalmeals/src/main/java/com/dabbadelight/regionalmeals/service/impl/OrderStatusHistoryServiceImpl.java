@@ -0,0 +1,131 @@
+package com.dabbadelight.regionalmeals.service.impl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dabbadelight.regionalmeals.model.DTO.OrderEvent;
+import com.dabbadelight.regionalmeals.model.DTO.OrderStatusHistoryDTO;
+import com.dabbadelight.regionalmeals.model.Orders.OrderStatusHistory;
+import com.dabbadelight.regionalmeals.model.enums.OrderEventType;
+import com.dabbadelight.regionalmeals.repository.OrderStatusHistoryRepository;
+import com.dabbadelight.regionalmeals.service.OrderStatusHistoryService;
+
+import jakarta.annotation.PreDestroy;
+
+// Appends a history row for every order creation and status change. The outbox relay only
+// enqueues here; a scheduled flush writes the queue in JDBC batches, one transaction each, so the
+// relay never waits on history writes. Rows carry the event's dedupe key and are inserted with
+// INSERT IGNORE, which makes redelivered events harmless. Rows still queued when the process dies
+// are lost; the orders themselves are not affected.
+@Service
+public class OrderStatusHistoryServiceImpl implements OrderStatusHistoryService {
+
+    private final OrderStatusHistoryRepository orderStatusHistoryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxQueued;
+
+    private final Queue<OrderStatusHistory> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public OrderStatusHistoryServiceImpl(OrderStatusHistoryRepository orderStatusHistoryRepository,
+                                         TransactionTemplate transactionTemplate,
+                                         @Value("${order.history.batch-size:500}") int batchSize,
+                                         @Value("${order.history.max-queued:50000}") int maxQueued) {
+        this.orderStatusHistoryRepository = orderStatusHistoryRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxQueued = maxQueued;
+    }
+
+    @EventListener
+    public void onOrderEvent(OrderEvent event) {
+        if (event.getType() != OrderEventType.CREATED && event.getType() != OrderEventType.STATUS_CHANGED) {
+            return;
+        }
+        // Bounded, so a database outage can't grow the queue without limit
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            if (dropped.incrementAndGet() % 1000 == 1) {
+                System.out.println("❌ Order status history queue full, " + dropped.get() + " changes dropped so far");
+            }
+            return;
+        }
+        OrderStatusHistory row = new OrderStatusHistory();
+        row.setOrderId(event.getOrderId());
+        row.setFromStatus(event.getType() == OrderEventType.CREATED ? null : event.getPreviousStatus());
+        row.setToStatus(event.getOrderStatus());
+        row.setChangedAt(event.getOccurredAt());
+        row.setDedupeKey(event.getDedupeKey());
+        queue.add(row);
+    }
+
+    @Scheduled(fixedDelayString = "${order.history.flush-interval-ms:1000}")
+    public void scheduledFlush() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            System.out.println("❌ Order status history flush failed: " + e.getMessage());
+        }
+    }
+
+    // A failed batch goes back on the queue and is retried by the next flush
+    @Override
+    public synchronized int flush() {
+        int written = 0;
+        while (true) {
+            List<OrderStatusHistory> batch = new ArrayList<>(batchSize);
+            OrderStatusHistory row;
+            while (batch.size() < batchSize && (row = queue.poll()) != null) {
+                batch.add(row);
+            }
+            if (batch.isEmpty()) {
+                return written;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(tx -> orderStatusHistoryRepository.appendAll(batch));
+            } catch (RuntimeException e) {
+                queue.addAll(batch);
+                throw e;
+            }
+            queued.addAndGet(-batch.size());
+            written += batch.size();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        scheduledFlush();
+    }
+
+    @Override
+    public List<OrderStatusHistoryDTO> getHistory(Long orderId) {
+        List<OrderStatusHistoryDTO> timeline = new ArrayList<>();
+        OrderStatusHistory previous = null;
+        for (OrderStatusHistory row : orderStatusHistoryRepository.findByOrderIdOrderByChangedAtAscIdAsc(orderId)) {
+            Long seconds = previous != null && previous.getToStatus() == row.getFromStatus()
+                    ? Duration.between(previous.getChangedAt(), row.getChangedAt()).toSeconds()
+                    : null;
+            timeline.add(OrderStatusHistoryDTO.builder()
+                    .fromStatus(row.getFromStatus())
+                    .toStatus(row.getToStatus())
+                    .changedAt(row.getChangedAt())
+                    .secondsInFromStatus(seconds)
+                    .build());
+            previous = row;
+        }
+        return timeline;
+    }
+}
@@ -0,0 +1,188 @@
+package com.dabbadelight.regionalmeals.service.impl;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.dabbadelight.regionalmeals.model.DTO.OrderEvent;
+import com.dabbadelight.regionalmeals.model.DTO.OrderStatusUpdateDTO;
+import com.dabbadelight.regionalmeals.model.enums.OrderEventType;
+import com.dabbadelight.regionalmeals.repository.OutboxEventRepository;
+import com.dabbadelight.regionalmeals.service.OrderTrackingService;
+
+import jakarta.annotation.PreDestroy;
+
+// Pushes status changes to customers over SSE. Emitters are async servlet responses, so an idle
+// connection holds no thread; writes go through SseConnection's queue drained on a virtual
+// thread, so a slow client never stalls the outbox relay. SSE event ids are outbox
+// event ids, which only grow, so a reconnect's Last-Event-ID tells us exactly what to replay.
+@Service
+public class OrderTrackingServiceImpl implements OrderTrackingService {
+
+    private static final String STATUS_EVENT = "order-status";
+    private static final String RESYNC_EVENT = "resync";
+
+    private final long emitterTimeoutMillis;
+    private final int replayBufferSize;
+    private final int maxQueuedPerConnection;
+    private final long replayTtlMillis;
+
+    private final Map<Long, UserChannel> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicLong latestEventId = new AtomicLong();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    // Events up to this id were delivered before this process started and are not in any buffer
+    private final long startupEventId;
+
+    public OrderTrackingServiceImpl(OutboxEventRepository outboxEventRepository,
+                                    @Value("${order.tracking.emitter-timeout-ms:1800000}") long emitterTimeoutMillis,
+                                    @Value("${order.tracking.replay-buffer-size:50}") int replayBufferSize,
+                                    @Value("${order.tracking.max-queued-per-connection:100}") int maxQueuedPerConnection,
+                                    @Value("${order.tracking.replay-ttl-ms:600000}") long replayTtlMillis) {
+        this.emitterTimeoutMillis = emitterTimeoutMillis;
+        this.replayBufferSize = replayBufferSize;
+        this.maxQueuedPerConnection = maxQueuedPerConnection;
+        this.replayTtlMillis = replayTtlMillis;
+        Long maxPublishedId = outboxEventRepository.findMaxPublishedId();
+        this.startupEventId = maxPublishedId == null ? 0 : maxPublishedId;
+        this.latestEventId.set(startupEventId);
+    }
+
+    @Override
+    public SseEmitter subscribe(Long userId, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        SseConnection connection = new SseConnection(emitter, senders, maxQueuedPerConnection);
+
+        // Replay and registration happen inside compute, so no live event for this user slips in between
+        UserChannel channel = channels.compute(userId, (id, existing) -> {
+            UserChannel ch = existing != null ? existing : newChannel();
+            ch.lastActivity = System.currentTimeMillis();
+            if (lastEventId != null) {
+                if (lastEventId < startupEventId || lastEventId < ch.evictedUpTo) {
+                    // Part of what the client missed is no longer buffered; it has to re-fetch its orders
+                    connection.enqueue(SseEmitter.event().name(RESYNC_EVENT).data("{}", MediaType.APPLICATION_JSON));
+                } else {
+                    for (OrderStatusUpdateDTO update : ch.recent) {
+                        if (update.getEventId() > lastEventId) {
+                            connection.enqueue(toSseEvent(update));
+                        }
+                    }
+                }
+            }
+            ch.connections.add(connection);
+            return ch;
+        });
+        connections.incrementAndGet();
+
+        emitter.onCompletion(() -> disconnect(channel, connection));
+        emitter.onTimeout(() -> disconnect(channel, connection));
+        emitter.onError(e -> disconnect(channel, connection));
+        return emitter;
+    }
+
+    @EventListener
+    public void onOrderEvent(OrderEvent event) {
+        if (event.getType() != OrderEventType.STATUS_CHANGED) {
+            return;
+        }
+        OrderStatusUpdateDTO update = OrderStatusUpdateDTO.builder()
+                .eventId(event.getEventId())
+                .orderId(event.getOrderId())
+                .previousStatus(event.getPreviousStatus())
+                .orderStatus(event.getOrderStatus())
+                .occurredAt(event.getOccurredAt())
+                .build();
+
+        channels.compute(event.getUserId(), (id, existing) -> {
+            UserChannel ch = existing != null ? existing : newChannel();
+            // The relay delivers in id order, so an id we've already seen is a redelivery
+            if (update.getEventId() <= ch.lastEventId) {
+                return ch;
+            }
+            ch.lastEventId = update.getEventId();
+            ch.lastActivity = System.currentTimeMillis();
+            ch.recent.addLast(update);
+            if (ch.recent.size() > replayBufferSize) {
+                ch.evictedUpTo = ch.recent.removeFirst().getEventId();
+            }
+            for (SseConnection connection : ch.connections) {
+                connection.enqueue(toSseEvent(update));
+            }
+            return ch;
+        });
+        latestEventId.accumulateAndGet(update.getEventId(), Math::max);
+    }
+
+    // Keeps proxies from closing idle streams and finds connections that went away
+    @Scheduled(fixedDelayString = "${order.tracking.heartbeat-interval-ms:15000}")
+    public void sendHeartbeats() {
+        long idleCutoff = System.currentTimeMillis() - replayTtlMillis;
+        for (Long userId : channels.keySet()) {
+            // Channels nobody listens to are dropped once their replay buffer is too old to matter
+            UserChannel channel = channels.computeIfPresent(userId, (id, ch) ->
+                    ch.connections.isEmpty() && ch.lastActivity < idleCutoff ? null : ch);
+            if (channel == null) {
+                continue;
+            }
+            for (SseConnection connection : channel.connections) {
+                connection.enqueue(SseEmitter.event().comment("heartbeat"));
+            }
+        }
+    }
+
+    @Override
+    public int getConnectionCount() {
+        return connections.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+    }
+
+    private void disconnect(UserChannel channel, SseConnection connection) {
+        if (connection.markClosed()) {
+            channel.connections.remove(connection);
+            channel.lastActivity = System.currentTimeMillis();
+            connections.decrementAndGet();
+        }
+    }
+
+    // A fresh channel has no history, so anything before the latest event may have been missed
+    private UserChannel newChannel() {
+        UserChannel channel = new UserChannel();
+        channel.evictedUpTo = latestEventId.get();
+        channel.lastEventId = latestEventId.get();
+        return channel;
+    }
+
+    private SseEmitter.SseEventBuilder toSseEvent(OrderStatusUpdateDTO update) {
+        return SseEmitter.event()
+                .id(String.valueOf(update.getEventId()))
+                .name(STATUS_EVENT)
+                .data(update, MediaType.APPLICATION_JSON);
+    }
+
+    private static final class UserChannel {
+        final Set<SseConnection> connections = new CopyOnWriteArraySet<>();
+        final Deque<OrderStatusUpdateDTO> recent = new ArrayDeque<>();
+        long lastEventId;
+        long evictedUpTo;
+        volatile long lastActivity;
+    }
+}
@@ -0,0 +1,302 @@
+package com.dabbadelight.regionalmeals.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dabbadelight.regionalmeals.exception.ConflictException;
+import com.dabbadelight.regionalmeals.exception.ResourceNotFoundException;
+import com.dabbadelight.regionalmeals.model.DTO.PaymentCallbackAckDTO;
+import com.dabbadelight.regionalmeals.model.DTO.PaymentCallbackDTO;
+import com.dabbadelight.regionalmeals.model.DTO.PaymentSessionDTO;
+import com.dabbadelight.regionalmeals.model.DTO.PaymentStatsDTO;
+import com.dabbadelight.regionalmeals.model.Orders.Order;
+import com.dabbadelight.regionalmeals.model.Payment.PaymentCallback;
+import com.dabbadelight.regionalmeals.model.enums.OrderEventType;
+import com.dabbadelight.regionalmeals.model.enums.OrderStatus;
+import com.dabbadelight.regionalmeals.model.enums.PaymentMode;
+import com.dabbadelight.regionalmeals.model.enums.PaymentStatus;
+import com.dabbadelight.regionalmeals.repository.OrderRepository;
+import com.dabbadelight.regionalmeals.repository.PaymentCallbackRepository;
+import com.dabbadelight.regionalmeals.service.OrderOutboxService;
+import com.dabbadelight.regionalmeals.service.PaymentGateway;
+import com.dabbadelight.regionalmeals.service.PaymentService;
+
+// Gateway callbacks never touch the order on the request thread: a callback is verified, checked
+// against a bounded in-memory set of recent event ids, then stored with INSERT IGNORE on the
+// unique event id, which is the durable half of the dedupe. A single scheduled applier then
+// settles the orders of stored callbacks that pay the exact order total (the rest are kept as
+// rejected) with one id-sorted JDBC batch per transaction, so a storm of callbacks after a
+// gateway outage queues up as rows instead of as threads waiting on order row locks. Reconciliation walks unsettled ONLINE orders in keyset chunks and settles the ones
+// the gateway reports paid through the same batch path.
+@Service
+public class PaymentServiceImpl implements PaymentService {
+
+    private static final int MAX_EVENT_ID_LENGTH = 128;
+    // Totals are doubles in rupees; anything under half a paisa is rounding
+    private static final double AMOUNT_TOLERANCE = 0.005;
+
+    private final OrderRepository orderRepository;
+    private final PaymentCallbackRepository paymentCallbackRepository;
+    private final OrderOutboxService orderOutboxService;
+    private final PaymentGateway paymentGateway;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int reconcileChunkSize;
+    private final long reconcileMinAgeMinutes;
+
+    private final Map<String, Boolean> recentEventIds;
+    private final Object reconcileLock = new Object();
+
+    private final AtomicLong callbacksReceived = new AtomicLong();
+    private final AtomicLong duplicateCallbacks = new AtomicLong();
+    private final AtomicLong rejectedCallbacks = new AtomicLong();
+    private final AtomicLong ordersSettled = new AtomicLong();
+    private final AtomicLong ordersReconciled = new AtomicLong();
+    private volatile LocalDateTime lastReconciledAt;
+
+    public PaymentServiceImpl(OrderRepository orderRepository, PaymentCallbackRepository paymentCallbackRepository,
+                              OrderOutboxService orderOutboxService, PaymentGateway paymentGateway,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${payment.callbacks.batch-size:500}") int batchSize,
+                              @Value("${payment.callbacks.dedupe-cache-size:100000}") int dedupeCacheSize,
+                              @Value("${payment.reconcile.chunk-size:500}") int reconcileChunkSize,
+                              @Value("${payment.reconcile.min-age-minutes:15}") long reconcileMinAgeMinutes) {
+        this.orderRepository = orderRepository;
+        this.paymentCallbackRepository = paymentCallbackRepository;
+        this.orderOutboxService = orderOutboxService;
+        this.paymentGateway = paymentGateway;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.reconcileChunkSize = reconcileChunkSize;
+        this.reconcileMinAgeMinutes = reconcileMinAgeMinutes;
+        this.recentEventIds = new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > dedupeCacheSize;
+            }
+        };
+    }
+
+    @Override
+    public PaymentSessionDTO startPayment(Long orderId) {
+        Order order = orderRepository.findById(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order", "id", orderId));
+        if (order.getPaymentMode() != PaymentMode.ONLINE) {
+            throw new IllegalArgumentException("Order " + orderId + " is not paid online");
+        }
+        if (order.getOrderStatus() == OrderStatus.CANCELLED) {
+            throw new IllegalArgumentException("Order " + orderId + " is cancelled");
+        }
+        if (order.getPaymentStatus() == PaymentStatus.COMPLETED) {
+            throw new ConflictException("Order " + orderId + " is already paid");
+        }
+        return paymentGateway.createSession(orderId, order.getTotalAmount());
+    }
+
+    @Override
+    public PaymentCallbackAckDTO receiveCallback(PaymentCallbackDTO callback, String signature) {
+        if (callback == null || callback.getEventId() == null || callback.getEventId().isBlank()
+                || callback.getEventId().length() > MAX_EVENT_ID_LENGTH) {
+            throw new IllegalArgumentException("Payment callback needs an event id of 1 to " + MAX_EVENT_ID_LENGTH + " characters");
+        }
+        if (callback.getOrderId() == null || callback.getStatus() == null) {
+            throw new IllegalArgumentException("Payment callback needs an order id and a status");
+        }
+        if (!paymentGateway.verifyCallback(callback, signature)) {
+            throw new IllegalArgumentException("Invalid payment callback signature");
+        }
+        callbacksReceived.incrementAndGet();
+
+        if (seen(callback.getEventId())) {
+            duplicateCallbacks.incrementAndGet();
+            return ack(callback, true);
+        }
+        PaymentCallback row = new PaymentCallback();
+        row.setEventId(callback.getEventId());
+        row.setOrderId(callback.getOrderId());
+        row.setPaymentStatus(callback.getStatus());
+        row.setAmount(callback.getAmount());
+        row.setReceivedAt(LocalDateTime.now());
+        boolean inserted = paymentCallbackRepository.insertIfAbsent(row);
+        remember(callback.getEventId());
+        if (!inserted) {
+            duplicateCallbacks.incrementAndGet();
+        }
+        return ack(callback, !inserted);
+    }
+
+    @Scheduled(fixedDelayString = "${payment.callbacks.apply-interval-ms:500}")
+    public void scheduledApply() {
+        try {
+            applyPendingCallbacks();
+        } catch (RuntimeException e) {
+            System.out.println("❌ Applying payment callbacks failed: " + e.getMessage());
+        }
+    }
+
+    // One applier at a time; a failed batch rolls back and its callbacks are picked up again next run
+    @Override
+    public synchronized int applyPendingCallbacks() {
+        int settled = 0;
+        while (true) {
+            List<PaymentCallback> batch = paymentCallbackRepository.findByAppliedAtIsNullOrderByIdAsc(Limit.of(batchSize));
+            if (batch.isEmpty()) {
+                return settled;
+            }
+            // Callbacks reporting anything but a completed payment are recorded and left alone
+            List<PaymentCallback> paid = batch.stream()
+                    .filter(callback -> callback.getPaymentStatus() == PaymentStatus.COMPLETED)
+                    .collect(Collectors.toList());
+            List<Long> callbackIds = batch.stream().map(PaymentCallback::getId).collect(Collectors.toList());
+            Integer count = transactionTemplate.execute(status -> {
+                Set<Long> paidOrderIds = acceptedOrderIds(paid);
+                int n = settle(paidOrderIds);
+                paymentCallbackRepository.markApplied(callbackIds, LocalDateTime.now());
+                return n;
+            });
+            settled += count != null ? count : 0;
+            if (batch.size() < batchSize) {
+                return settled;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${payment.reconcile.interval-ms:300000}")
+    public void scheduledReconcile() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            System.out.println("❌ Payment reconciliation failed: " + e.getMessage());
+        }
+    }
+
+    // Only one chunk of ids is held at a time; gateway lookups run outside any transaction
+    @Override
+    public int reconcile() {
+        synchronized (reconcileLock) {
+            LocalDateTime cutoff = LocalDateTime.now().minusMinutes(reconcileMinAgeMinutes);
+            long afterId = 0;
+            int settled = 0;
+            while (true) {
+                List<Long> ids = orderRepository.findIdsByPayment(PaymentStatus.PENDING, PaymentMode.ONLINE,
+                        OrderStatus.CANCELLED, cutoff, afterId, Limit.of(reconcileChunkSize));
+                if (ids.isEmpty()) {
+                    break;
+                }
+                afterId = ids.get(ids.size() - 1);
+                List<Long> paid = ids.stream()
+                        .filter(id -> paymentGateway.fetchStatus(id) == PaymentStatus.COMPLETED)
+                        .collect(Collectors.toList());
+                if (!paid.isEmpty()) {
+                    Integer count = transactionTemplate.execute(status -> settle(paid));
+                    settled += count != null ? count : 0;
+                }
+                if (ids.size() < reconcileChunkSize) {
+                    break;
+                }
+            }
+            ordersReconciled.addAndGet(settled);
+            lastReconciledAt = LocalDateTime.now();
+            if (settled > 0) {
+                System.out.println("💳 Reconciliation settled " + settled + " online payments");
+            }
+            return settled;
+        }
+    }
+
+    @Override
+    public PaymentStatsDTO getStats() {
+        return PaymentStatsDTO.builder()
+                .gateway(paymentGateway.name())
+                .pendingCallbacks(paymentCallbackRepository.countByAppliedAtIsNull())
+                .callbacksReceived(callbacksReceived.get())
+                .duplicateCallbacks(duplicateCallbacks.get())
+                .rejectedCallbacks(rejectedCallbacks.get())
+                .ordersSettled(ordersSettled.get())
+                .ordersReconciled(ordersReconciled.get())
+                .lastReconciledAt(lastReconciledAt)
+                .build();
+    }
+
+    // Runs inside the caller's transaction. The batch update settles only orders still pending,
+    // so a callback and reconciliation settling the same order count it once.
+    private int settle(Collection<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return 0;
+        }
+        List<Long> settled = orderRepository.settlePayments(orderIds);
+        if (!settled.isEmpty()) {
+            // Read after the update, so the events carry the settled payment status
+            orderOutboxService.recordAll(OrderEventType.UPDATED, orderRepository.findWithItemsByIdIn(settled));
+            ordersSettled.addAndGet(settled.size());
+        }
+        return settled.size();
+    }
+
+    // Orders whose completed callback pays exactly their total. The totals are locked until the
+    // settle commits; any other callback is kept, marked rejected, and settles nothing.
+    private Set<Long> acceptedOrderIds(List<PaymentCallback> paid) {
+        Set<Long> accepted = new HashSet<>();
+        if (paid.isEmpty()) {
+            return accepted;
+        }
+        Map<Long, Double> totals = new HashMap<>();
+        for (Object[] row : orderRepository.lockTotalsIn(paid.stream().map(PaymentCallback::getOrderId).collect(Collectors.toSet()))) {
+            totals.put(((Number) row[0]).longValue(), ((Number) row[1]).doubleValue());
+        }
+        int rejected = 0;
+        for (PaymentCallback callback : paid) {
+            Double total = totals.get(callback.getOrderId());
+            String reason = null;
+            if (total == null) {
+                reason = "No order " + callback.getOrderId();
+            } else if (Math.abs(total - callback.getAmount()) >= AMOUNT_TOLERANCE) {
+                reason = "Amount " + callback.getAmount() + " does not match order total " + total;
+            }
+            if (reason == null) {
+                accepted.add(callback.getOrderId());
+            } else {
+                paymentCallbackRepository.markRejected(callback.getId(), reason);
+                rejected++;
+            }
+        }
+        if (rejected > 0) {
+            rejectedCallbacks.addAndGet(rejected);
+            System.out.println("⚠️ Rejected " + rejected + " payment callbacks that don't match their orders");
+        }
+        return accepted;
+    }
+
+    private boolean seen(String eventId) {
+        synchronized (recentEventIds) {
+            return recentEventIds.get(eventId) != null;
+        }
+    }
+
+    private void remember(String eventId) {
+        synchronized (recentEventIds) {
+            recentEventIds.put(eventId, Boolean.TRUE);
+        }
+    }
+
+    private PaymentCallbackAckDTO ack(PaymentCallbackDTO callback, boolean duplicate) {
+        return PaymentCallbackAckDTO.builder()
+                .eventId(callback.getEventId())
+                .duplicate(duplicate)
+                .build();
+    }
+}
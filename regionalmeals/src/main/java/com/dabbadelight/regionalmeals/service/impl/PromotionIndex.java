@@ -0,0 +1,248 @@
+package com.dabbadelight.regionalmeals.service.impl;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.dabbadelight.regionalmeals.model.DTO.PromotionCart;
+import com.dabbadelight.regionalmeals.model.DTO.PromotionResult;
+import com.dabbadelight.regionalmeals.model.Kitchen.Promotion;
+import com.dabbadelight.regionalmeals.model.enums.PromotionType;
+
+// Active promotions compiled for checkout: order-wide rules in one array, menu and item rules in
+// arrays reached through primitive long -> slot tables, so evaluating a cart walks its lines once
+// per scope, boxes no ids and allocates nothing. Immutable once built; a changed rule set is
+// compiled into a new index and swapped in whole.
+final class PromotionIndex {
+
+    static final PromotionIndex EMPTY = compile(List.of(), ZoneId.systemDefault());
+
+    private record Rule(long id, PromotionType type, String code, double value, double minAmount,
+                        double maxDiscount, long startsAtMillis, long endsAtMillis) {}
+
+    private final Rule[] orderRules;
+    private final LongSlots menuSlots;
+    private final Rule[][] menuRules;
+    private final LongSlots itemSlots;
+    private final Rule[][] itemRules;
+    private final String[] codes;
+    private final boolean hasFirstOrderRules;
+    private final int size;
+
+    private PromotionIndex(Rule[] orderRules, LongSlots menuSlots, Rule[][] menuRules, LongSlots itemSlots,
+                           Rule[][] itemRules, String[] codes, boolean hasFirstOrderRules, int size) {
+        this.orderRules = orderRules;
+        this.menuSlots = menuSlots;
+        this.menuRules = menuRules;
+        this.itemSlots = itemSlots;
+        this.itemRules = itemRules;
+        this.codes = codes;
+        this.hasFirstOrderRules = hasFirstOrderRules;
+        this.size = size;
+    }
+
+    // Inactive promotions and ones missing the menu or item they need are left out
+    static PromotionIndex compile(List<Promotion> promotions, ZoneId zone) {
+        List<Rule> orderRules = new ArrayList<>();
+        Map<Long, List<Rule>> byMenu = new LinkedHashMap<>();
+        Map<Long, List<Rule>> byItem = new LinkedHashMap<>();
+        List<String> codes = new ArrayList<>();
+        boolean hasFirstOrderRules = false;
+        int size = 0;
+        for (Promotion promotion : promotions) {
+            if (!promotion.isActive() || promotion.getType() == null) {
+                continue;
+            }
+            Rule rule = new Rule(promotion.getId(), promotion.getType(),
+                    promotion.getCode(),
+                    promotion.getValue(), promotion.getMinOrderAmount(), promotion.getMaxDiscount(),
+                    promotion.getStartsAt() != null ? promotion.getStartsAt().atZone(zone).toInstant().toEpochMilli() : Long.MIN_VALUE,
+                    promotion.getEndsAt() != null ? promotion.getEndsAt().atZone(zone).toInstant().toEpochMilli() : Long.MAX_VALUE);
+            switch (promotion.getType()) {
+                case FLAT_OFF -> orderRules.add(rule);
+                case FIRST_ORDER -> {
+                    orderRules.add(rule);
+                    hasFirstOrderRules = true;
+                }
+                case MENU_PERCENT_OFF -> {
+                    if (promotion.getMenuId() == null) {
+                        continue;
+                    }
+                    byMenu.computeIfAbsent(promotion.getMenuId(), id -> new ArrayList<>()).add(rule);
+                }
+                case FREE_ITEM -> {
+                    if (promotion.getItemId() == null) {
+                        continue;
+                    }
+                    byItem.computeIfAbsent(promotion.getItemId(), id -> new ArrayList<>()).add(rule);
+                }
+            }
+            if (rule.code() != null) {
+                codes.add(rule.code());
+            }
+            size++;
+        }
+
+        LongSlots menuSlots = new LongSlots(byMenu.size());
+        Rule[][] menuRules = new Rule[byMenu.size()][];
+        int slot = 0;
+        for (Map.Entry<Long, List<Rule>> entry : byMenu.entrySet()) {
+            menuSlots.put(entry.getKey(), slot);
+            menuRules[slot++] = entry.getValue().toArray(new Rule[0]);
+        }
+        LongSlots itemSlots = new LongSlots(byItem.size());
+        Rule[][] itemRules = new Rule[byItem.size()][];
+        slot = 0;
+        for (Map.Entry<Long, List<Rule>> entry : byItem.entrySet()) {
+            itemSlots.put(entry.getKey(), slot);
+            itemRules[slot++] = entry.getValue().toArray(new Rule[0]);
+        }
+        return new PromotionIndex(orderRules.toArray(new Rule[0]), menuSlots, menuRules, itemSlots, itemRules,
+                codes.toArray(new String[0]), hasFirstOrderRules, size);
+    }
+
+    static String normalizeCode(String code) {
+        return code == null || code.isBlank() ? null : code.trim().toUpperCase(Locale.ROOT);
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean hasFirstOrderRules() {
+        return hasFirstOrderRules;
+    }
+
+    // Whether code belongs to a compiled promotion, regardless of whether a cart qualifies
+    boolean hasCode(String code) {
+        for (String known : codes) {
+            if (known.equalsIgnoreCase(code)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Picks the single largest discount among the promotions the cart qualifies for
+    void evaluate(PromotionCart cart, String code, boolean firstOrder, long nowMillis, PromotionResult result) {
+        result.clear();
+        int lines = cart.size();
+        double subtotal = 0;
+        for (int i = 0; i < lines; i++) {
+            subtotal += cart.lineTotal(i);
+        }
+        if (subtotal <= 0) {
+            return;
+        }
+
+        for (Rule rule : orderRules) {
+            if (rule.type() == PromotionType.FIRST_ORDER && !firstOrder) {
+                continue;
+            }
+            consider(rule, subtotal, rule.value(), subtotal, code, nowMillis, result);
+        }
+
+        if (menuRules.length > 0) {
+            for (int i = 0; i < lines; i++) {
+                long menuId = cart.menuId(i);
+                int slot = menuSlots.get(menuId);
+                if (slot < 0 || seenBefore(cart, i, menuId)) {
+                    continue;
+                }
+                double menuSubtotal = 0;
+                for (int j = i; j < lines; j++) {
+                    if (cart.menuId(j) == menuId) {
+                        menuSubtotal += cart.lineTotal(j);
+                    }
+                }
+                for (Rule rule : menuRules[slot]) {
+                    consider(rule, menuSubtotal, menuSubtotal * rule.value() / 100, subtotal, code, nowMillis, result);
+                }
+            }
+        }
+
+        if (itemRules.length > 0) {
+            for (int i = 0; i < lines; i++) {
+                int slot = itemSlots.get(cart.itemId(i));
+                if (slot < 0) {
+                    continue;
+                }
+                for (Rule rule : itemRules[slot]) {
+                    consider(rule, subtotal, cart.unitPrice(i), subtotal, code, nowMillis, result);
+                }
+            }
+        }
+    }
+
+    private static void consider(Rule rule, double qualifyingAmount, double discount, double subtotal,
+                                 String code, long nowMillis, PromotionResult result) {
+        if (qualifyingAmount < rule.minAmount()
+                || nowMillis < rule.startsAtMillis() || nowMillis >= rule.endsAtMillis()
+                || (rule.code() != null && !rule.code().equalsIgnoreCase(code))) {
+            return;
+        }
+        if (rule.maxDiscount() > 0) {
+            discount = Math.min(discount, rule.maxDiscount());
+        }
+        discount = Math.min(discount, subtotal);
+        if (discount > result.getDiscount()) {
+            result.set(rule.id(), discount);
+        }
+    }
+
+    // Carts are a few lines long, so rescanning is cheaper than tracking which menus were seen
+    private static boolean seenBefore(PromotionCart cart, int line, long menuId) {
+        for (int j = 0; j < line; j++) {
+            if (cart.menuId(j) == menuId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Open-addressing long -> slot table; ids are positive, so 0 marks an empty bucket
+    private static final class LongSlots {
+        private final long[] keys;
+        private final int[] slots;
+        private final int mask;
+
+        LongSlots(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(2, expected * 2 - 1)) << 1;
+            keys = new long[capacity];
+            slots = new int[capacity];
+            mask = capacity - 1;
+        }
+
+        void put(long key, int slot) {
+            int i = hash(key) & mask;
+            while (keys[i] != 0 && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            slots[i] = slot;
+        }
+
+        // -1 when absent
+        int get(long key) {
+            if (key == 0) {
+                return -1;
+            }
+            int i = hash(key) & mask;
+            while (keys[i] != 0) {
+                if (keys[i] == key) {
+                    return slots[i];
+                }
+                i = (i + 1) & mask;
+            }
+            return -1;
+        }
+
+        private static int hash(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
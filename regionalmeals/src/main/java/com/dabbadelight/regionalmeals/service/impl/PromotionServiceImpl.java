@@ -0,0 +1,161 @@
+package com.dabbadelight.regionalmeals.service.impl;
+
+import java.time.ZoneId;
+import java.util.List;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.dabbadelight.regionalmeals.exception.ConflictException;
+import com.dabbadelight.regionalmeals.exception.ResourceNotFoundException;
+import com.dabbadelight.regionalmeals.model.DTO.PromotionCart;
+import com.dabbadelight.regionalmeals.model.DTO.PromotionResult;
+import com.dabbadelight.regionalmeals.model.Kitchen.Promotion;
+import com.dabbadelight.regionalmeals.model.enums.PromotionType;
+import com.dabbadelight.regionalmeals.repository.PromotionRepository;
+import com.dabbadelight.regionalmeals.service.PromotionService;
+
+import jakarta.annotation.PostConstruct;
+
+// Checkout evaluates promotions against a compiled PromotionIndex held in one volatile field.
+// Every admin change recompiles the whole active set and swaps the reference, so an evaluation
+// sees either the old rules or the new ones, never a mix. A periodic refresh picks up changes
+// made through other instances.
+@Service
+public class PromotionServiceImpl implements PromotionService {
+
+    private final PromotionRepository promotionRepository;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    private volatile PromotionIndex index = PromotionIndex.EMPTY;
+
+    public PromotionServiceImpl(PromotionRepository promotionRepository) {
+        this.promotionRepository = promotionRepository;
+    }
+
+    @PostConstruct
+    public void loadPromotions() {
+        recompile();
+        System.out.println("🏷️ Promotion engine loaded with " + index.size() + " active promotions");
+    }
+
+    @Scheduled(fixedDelayString = "${promotions.refresh-interval-ms:60000}")
+    public void scheduledRefresh() {
+        try {
+            recompile();
+        } catch (RuntimeException e) {
+            System.out.println("❌ Promotion refresh failed, keeping the current rules: " + e.getMessage());
+        }
+    }
+
+    // Serialised, so a slow compile can't overwrite a newer one
+    private synchronized void recompile() {
+        index = PromotionIndex.compile(promotionRepository.findByIsActiveTrue(), zone);
+    }
+
+    @Override
+    public List<Promotion> getAllPromotions() {
+        return promotionRepository.findAll();
+    }
+
+    @Override
+    public Promotion createPromotion(Promotion promotion) {
+        validate(promotion);
+        promotion.setId(null);
+        promotion.setCode(PromotionIndex.normalizeCode(promotion.getCode()));
+        checkCodeFree(promotion.getCode(), null);
+        Promotion saved = promotionRepository.save(promotion);
+        recompileAfterCommit();
+        return saved;
+    }
+
+    @Override
+    public Promotion updatePromotion(Long id, Promotion details) {
+        Promotion existing = promotionRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Promotion", "id", id));
+        validate(details);
+        existing.setName(details.getName());
+        existing.setCode(PromotionIndex.normalizeCode(details.getCode()));
+        checkCodeFree(existing.getCode(), id);
+        existing.setType(details.getType());
+        existing.setMenuId(details.getMenuId());
+        existing.setItemId(details.getItemId());
+        existing.setValue(details.getValue());
+        existing.setMinOrderAmount(details.getMinOrderAmount());
+        existing.setMaxDiscount(details.getMaxDiscount());
+        existing.setActive(details.isActive());
+        existing.setStartsAt(details.getStartsAt());
+        existing.setEndsAt(details.getEndsAt());
+        existing.setUpdatedBy(details.getUpdatedBy());
+        Promotion saved = promotionRepository.save(existing);
+        recompileAfterCommit();
+        return saved;
+    }
+
+    @Override
+    public void deletePromotion(Long id) {
+        Promotion existing = promotionRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Promotion", "id", id));
+        promotionRepository.delete(existing);
+        recompileAfterCommit();
+    }
+
+    @Override
+    public void evaluate(PromotionCart cart, String couponCode, boolean firstOrder, PromotionResult result) {
+        PromotionIndex current = index;
+        if (couponCode != null && !couponCode.isBlank() && !current.hasCode(couponCode.trim())) {
+            throw new IllegalArgumentException("Coupon code " + couponCode + " is not valid");
+        }
+        current.evaluate(cart, couponCode != null ? couponCode.trim() : null, firstOrder, System.currentTimeMillis(), result);
+    }
+
+    @Override
+    public boolean hasFirstOrderPromotions() {
+        return index.hasFirstOrderRules();
+    }
+
+    // Inside a caller's transaction the new rules go live only once it commits
+    private void recompileAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recompile();
+                }
+            });
+        } else {
+            recompile();
+        }
+    }
+
+    private void checkCodeFree(String code, Long promotionId) {
+        if (code == null) {
+            return;
+        }
+        promotionRepository.findByCode(code)
+                .filter(other -> !other.getId().equals(promotionId))
+                .ifPresent(other -> {
+                    throw new ConflictException("Coupon code " + code + " is already used by promotion " + other.getId());
+                });
+    }
+
+    private void validate(Promotion promotion) {
+        if (promotion.getType() == PromotionType.MENU_PERCENT_OFF) {
+            if (promotion.getMenuId() == null) {
+                throw new IllegalArgumentException("A menu percent-off promotion needs a menuId");
+            }
+            if (promotion.getValue() > 100) {
+                throw new IllegalArgumentException("Percent off cannot exceed 100");
+            }
+        }
+        if (promotion.getType() == PromotionType.FREE_ITEM && promotion.getItemId() == null) {
+            throw new IllegalArgumentException("A free-item promotion needs an itemId");
+        }
+        if (promotion.getStartsAt() != null && promotion.getEndsAt() != null
+                && !promotion.getEndsAt().isAfter(promotion.getStartsAt())) {
+            throw new IllegalArgumentException("Promotion must end after it starts");
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.dabbadelight.regionalmeals.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dabbadelight.regionalmeals.model.DTO.OrderEvent;
+import com.dabbadelight.regionalmeals.model.DTO.SalesRollupDTO;
+import com.dabbadelight.regionalmeals.model.Kitchen.Item;
+import com.dabbadelight.regionalmeals.model.Kitchen.Menu;
+import com.dabbadelight.regionalmeals.model.Orders.SalesRollup;
+import com.dabbadelight.regionalmeals.model.enums.OrderStatus;
+import com.dabbadelight.regionalmeals.model.enums.PaymentMode;
+import com.dabbadelight.regionalmeals.model.enums.RollupDimension;
+import com.dabbadelight.regionalmeals.model.enums.RollupGranularity;
+import com.dabbadelight.regionalmeals.repository.ItemRepository;
+import com.dabbadelight.regionalmeals.repository.MenuRepository;
+import com.dabbadelight.regionalmeals.repository.SalesRollupRepository;
+import com.dabbadelight.regionalmeals.service.SalesRollupService;
+
+// Hourly and daily sales per menu, item and payment mode, kept up to date from the order event
+// stream. An order counts as a sale when it is placed (or leaves the cart) in a live status and
+// as a cancellation when a sale is later cancelled; both land in the bucket of when they
+// happened. Abandoned carts never count. Each event is applied at most once, guarded by its
+// outbox id in the same transaction as the counter updates. Amounts are line prices before any
+// promotion in every dimension; the order's discount is kept apart and spread over its lines in
+// proportion to their amounts, so menu and item rows add up to the payment mode rows.
+@Service
+public class SalesRollupServiceImpl implements SalesRollupService {
+
+    private static final Duration MAX_HOURLY_RANGE = Duration.ofDays(31);
+    private static final Duration MAX_DAILY_RANGE = Duration.ofDays(366);
+
+    private final SalesRollupRepository salesRollupRepository;
+    private final MenuRepository menuRepository;
+    private final ItemRepository itemRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long appliedEventRetentionHours;
+
+    private record BucketKey(RollupDimension dimension, Long dimensionId, RollupGranularity granularity, LocalDateTime bucketStart) {}
+
+    public SalesRollupServiceImpl(SalesRollupRepository salesRollupRepository, MenuRepository menuRepository,
+                                  ItemRepository itemRepository, TransactionTemplate transactionTemplate,
+                                  @Value("${rollup.applied-event-retention-hours:48}") long appliedEventRetentionHours) {
+        this.salesRollupRepository = salesRollupRepository;
+        this.menuRepository = menuRepository;
+        this.itemRepository = itemRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.appliedEventRetentionHours = appliedEventRetentionHours;
+    }
+
+    @EventListener
+    public void on(OrderEvent event) {
+        boolean sale;
+        boolean cancellation;
+        switch (event.getType()) {
+            case CREATED -> {
+                sale = isLive(event.getOrderStatus());
+                cancellation = false;
+            }
+            case STATUS_CHANGED -> {
+                sale = event.getPreviousStatus() == OrderStatus.PENDING && isLive(event.getOrderStatus());
+                cancellation = isLive(event.getPreviousStatus()) && event.getOrderStatus() == OrderStatus.CANCELLED;
+            }
+            default -> {
+                return;
+            }
+        }
+        if (!sale && !cancellation) {
+            return;
+        }
+
+        Map<BucketKey, SalesRollup> deltas = deltas(event, cancellation);
+        transactionTemplate.executeWithoutResult(status -> {
+            if (event.getEventId() != null && !salesRollupRepository.markApplied(event.getEventId(), LocalDateTime.now())) {
+                return;
+            }
+            salesRollupRepository.accumulate(deltas.values());
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SalesRollupDTO> getRollups(RollupDimension dimension, RollupGranularity granularity,
+                                           LocalDateTime from, LocalDateTime to, Long dimensionId) {
+        if (dimension == null || granularity == null) {
+            throw new IllegalArgumentException("Dimension and granularity are required");
+        }
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from
+                : granularity == RollupGranularity.HOUR ? end.minusHours(24) : end.minusDays(30);
+        if (!start.isBefore(end)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        Duration maxRange = granularity == RollupGranularity.HOUR ? MAX_HOURLY_RANGE : MAX_DAILY_RANGE;
+        if (Duration.between(start, end).compareTo(maxRange) > 0) {
+            throw new IllegalArgumentException("Range too large for " + granularity + " buckets, at most "
+                    + maxRange.toDays() + " days");
+        }
+
+        List<SalesRollup> rows = dimensionId == null
+                ? salesRollupRepository.findByDimensionAndGranularityAndBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStartAscDimensionIdAsc(
+                        dimension, granularity, start, end)
+                : salesRollupRepository.findByDimensionAndGranularityAndDimensionIdAndBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStartAsc(
+                        dimension, granularity, dimensionId, start, end);
+
+        Map<Long, String> labels = labels(dimension, rows);
+        return rows.stream().map(row -> SalesRollupDTO.builder()
+                .dimension(row.getDimension())
+                .dimensionId(row.getDimensionId())
+                .label(labels.get(row.getDimensionId()))
+                .granularity(row.getGranularity())
+                .bucketStart(row.getBucketStart())
+                .orderCount(row.getOrderCount())
+                .quantity(row.getQuantity())
+                .grossAmount(row.getGrossAmount())
+                .discountAmount(row.getDiscountAmount())
+                .cancelledCount(row.getCancelledCount())
+                .cancelledQuantity(row.getCancelledQuantity())
+                .cancelledAmount(row.getCancelledAmount())
+                .cancelledDiscountAmount(row.getCancelledDiscountAmount())
+                .netAmount(row.getGrossAmount() - row.getDiscountAmount()
+                        - (row.getCancelledAmount() - row.getCancelledDiscountAmount()))
+                .build())
+            .collect(Collectors.toList());
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.cleanup-interval-ms:3600000}")
+    public void purgeAppliedEvents() {
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minusHours(appliedEventRetentionHours);
+            Integer purged = transactionTemplate.execute(status -> salesRollupRepository.deleteAppliedBefore(cutoff));
+            if (purged != null && purged > 0) {
+                System.out.println("🧹 Purged " + purged + " applied sales rollup events");
+            }
+        } catch (RuntimeException e) {
+            System.out.println("❌ Sales rollup cleanup failed: " + e.getMessage());
+        }
+    }
+
+    // Not a cart and not cancelled
+    private boolean isLive(OrderStatus status) {
+        return status != null && status != OrderStatus.PENDING && status != OrderStatus.CANCELLED;
+    }
+
+    // One row per (dimension, id) for each granularity; order lines are summed per menu and per item
+    private Map<BucketKey, SalesRollup> deltas(OrderEvent event, boolean cancellation) {
+        LocalDateTime at = event.getOccurredAt() != null ? event.getOccurredAt() : event.getOrderCreatedAt();
+        List<OrderEvent.Line> lines = event.getLines() != null ? event.getLines() : List.of();
+        long totalQuantity = lines.stream().mapToLong(OrderEvent.Line::getQuantity).sum();
+        double gross = lines.stream().mapToDouble(line -> line.getPrice() * line.getQuantity()).sum();
+        // totalAmount is the lines less the discount, floored at zero, so this is the discount applied
+        double discount = Math.max(0, gross - event.getTotalAmount());
+
+        Map<BucketKey, SalesRollup> deltas = new HashMap<>();
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            LocalDateTime bucketStart = granularity == RollupGranularity.HOUR
+                    ? at.truncatedTo(ChronoUnit.HOURS)
+                    : at.truncatedTo(ChronoUnit.DAYS);
+
+            if (event.getPaymentMode() != null) {
+                add(deltas, new BucketKey(RollupDimension.PAYMENT_MODE, (long) event.getPaymentMode().ordinal(), granularity, bucketStart),
+                        cancellation, totalQuantity, gross, discount, true);
+            }
+            Set<Long> menusCounted = new HashSet<>();
+            Set<Long> itemsCounted = new HashSet<>();
+            for (OrderEvent.Line line : lines) {
+                double amount = line.getPrice() * line.getQuantity();
+                double lineDiscount = gross > 0 ? discount * amount / gross : 0;
+                if (line.getMenuId() != null) {
+                    add(deltas, new BucketKey(RollupDimension.MENU, line.getMenuId(), granularity, bucketStart),
+                            cancellation, line.getQuantity(), amount, lineDiscount, menusCounted.add(line.getMenuId()));
+                }
+                if (line.getItemId() != null) {
+                    add(deltas, new BucketKey(RollupDimension.ITEM, line.getItemId(), granularity, bucketStart),
+                            cancellation, line.getQuantity(), amount, lineDiscount, itemsCounted.add(line.getItemId()));
+                }
+            }
+        }
+        return deltas;
+    }
+
+    // countOrder is false for further lines of an order already counted in this bucket
+    private void add(Map<BucketKey, SalesRollup> deltas, BucketKey key, boolean cancellation,
+                     long quantity, double amount, double discount, boolean countOrder) {
+        SalesRollup row = deltas.computeIfAbsent(key, k -> {
+            SalesRollup delta = new SalesRollup();
+            delta.setDimension(k.dimension());
+            delta.setDimensionId(k.dimensionId());
+            delta.setGranularity(k.granularity());
+            delta.setBucketStart(k.bucketStart());
+            return delta;
+        });
+        if (cancellation) {
+            row.setCancelledCount(row.getCancelledCount() + (countOrder ? 1 : 0));
+            row.setCancelledQuantity(row.getCancelledQuantity() + quantity);
+            row.setCancelledAmount(row.getCancelledAmount() + amount);
+            row.setCancelledDiscountAmount(row.getCancelledDiscountAmount() + discount);
+        } else {
+            row.setOrderCount(row.getOrderCount() + (countOrder ? 1 : 0));
+            row.setQuantity(row.getQuantity() + quantity);
+            row.setGrossAmount(row.getGrossAmount() + amount);
+            row.setDiscountAmount(row.getDiscountAmount() + discount);
+        }
+    }
+
+    private Map<Long, String> labels(RollupDimension dimension, List<SalesRollup> rows) {
+        Set<Long> ids = rows.stream().map(SalesRollup::getDimensionId).collect(Collectors.toSet());
+        return switch (dimension) {
+            case MENU -> menuRepository.findAllById(ids).stream()
+                    .collect(Collectors.toMap(Menu::getId, Menu::getName));
+            case ITEM -> itemRepository.findAllById(ids).stream()
+                    .collect(Collectors.toMap(Item::getId, Item::getName));
+            case PAYMENT_MODE -> ids.stream()
+                    .filter(id -> id >= 0 && id < PaymentMode.values().length)
+                    .collect(Collectors.toMap(Function.identity(), id -> PaymentMode.values()[id.intValue()].name()));
+        };
+    }
+}
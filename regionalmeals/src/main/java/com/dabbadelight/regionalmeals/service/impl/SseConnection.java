@@ -0,0 +1,67 @@
+package com.dabbadelight.regionalmeals.service.impl;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+// One open SSE stream. Producers only enqueue; a single drainer at a time writes to the response
+// on the given executor, so events keep their order and a slow client never blocks the producer.
+class SseConnection {
+
+    private final SseEmitter emitter;
+    private final Executor senders;
+    private final int maxQueued;
+
+    private final Queue<SseEmitter.SseEventBuilder> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    SseConnection(SseEmitter emitter, Executor senders, int maxQueued) {
+        this.emitter = emitter;
+        this.senders = senders;
+        this.maxQueued = maxQueued;
+    }
+
+    void enqueue(SseEmitter.SseEventBuilder event) {
+        if (closed.get()) {
+            return;
+        }
+        // A client this far behind is not reading; drop it and let it reconnect
+        if (queued.incrementAndGet() > maxQueued) {
+            emitter.complete();
+            return;
+        }
+        queue.add(event);
+        if (draining.compareAndSet(false, true)) {
+            senders.execute(this::drain);
+        }
+    }
+
+    // Returns true only for the first call, so callers can release what the connection held exactly once
+    boolean markClosed() {
+        return closed.compareAndSet(false, true);
+    }
+
+    private void drain() {
+        do {
+            SseEmitter.SseEventBuilder event;
+            while ((event = queue.poll()) != null) {
+                queued.decrementAndGet();
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    emitter.completeWithError(e);
+                    queue.clear();
+                    return;
+                }
+            }
+            draining.set(false);
+        } while (!queue.isEmpty() && draining.compareAndSet(false, true));
+    }
+}
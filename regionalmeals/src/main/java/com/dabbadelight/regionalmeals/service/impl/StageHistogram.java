@@ -0,0 +1,117 @@
+package com.dabbadelight.regionalmeals.service.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Streaming histogram of durations in seconds over a sliding window. Buckets are log-spaced about
+// 10% apart, so recording is one atomic increment and a percentile is a walk over ~170 counters.
+// The window is cut into slices that are reused as they age out, so old data leaves slice by
+// slice without any per-sample bookkeeping.
+class StageHistogram {
+
+    // Upper bound, in seconds, of each bucket; the last bucket takes everything beyond 30 days
+    private static final long[] BOUNDS;
+
+    static {
+        List<Long> bounds = new ArrayList<>();
+        long bound = 1;
+        while (bound < 30L * 24 * 3600) {
+            bounds.add(bound);
+            bound = Math.max(bound + 1, (long) Math.ceil(bound * 1.1));
+        }
+        bounds.add(Long.MAX_VALUE);
+        BOUNDS = bounds.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private final long sliceMillis;
+    private final Slice[] slices;
+
+    private static final class Slice {
+        volatile long start = -1;
+        final AtomicLongArray counts = new AtomicLongArray(BOUNDS.length);
+    }
+
+    record Snapshot(long count, long p50, long p95, long p99, long max) {}
+
+    StageHistogram(long windowMillis, int sliceCount) {
+        this.sliceMillis = Math.max(1, windowMillis / sliceCount);
+        this.slices = new Slice[sliceCount];
+        for (int i = 0; i < sliceCount; i++) {
+            slices[i] = new Slice();
+        }
+    }
+
+    void record(long seconds, long nowMillis) {
+        sliceFor(nowMillis).counts.incrementAndGet(bucket(Math.max(0, seconds)));
+    }
+
+    // Null when nothing was recorded in the window
+    Snapshot snapshot(long nowMillis) {
+        long oldest = nowMillis - nowMillis % sliceMillis - (slices.length - 1) * sliceMillis;
+        long[] merged = new long[BOUNDS.length];
+        long count = 0;
+        for (Slice slice : slices) {
+            if (slice.start < oldest) {
+                continue;
+            }
+            for (int i = 0; i < merged.length; i++) {
+                long c = slice.counts.get(i);
+                merged[i] += c;
+                count += c;
+            }
+        }
+        if (count == 0) {
+            return null;
+        }
+        int last = merged.length - 1;
+        while (merged[last] == 0) {
+            last--;
+        }
+        return new Snapshot(count, percentile(merged, count, 0.50), percentile(merged, count, 0.95),
+                percentile(merged, count, 0.99), BOUNDS[last]);
+    }
+
+    private Slice sliceFor(long nowMillis) {
+        long start = nowMillis - nowMillis % sliceMillis;
+        Slice slice = slices[(int) ((start / sliceMillis) % slices.length)];
+        if (slice.start != start) {
+            synchronized (slice) {
+                // A slice last used a whole window ago is cleared before reuse
+                if (slice.start != start) {
+                    for (int i = 0; i < BOUNDS.length; i++) {
+                        slice.counts.set(i, 0);
+                    }
+                    slice.start = start;
+                }
+            }
+        }
+        return slice;
+    }
+
+    private static long percentile(long[] counts, long total, double quantile) {
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return BOUNDS[i];
+            }
+        }
+        return BOUNDS[counts.length - 1];
+    }
+
+    private static int bucket(long seconds) {
+        int low = 0;
+        int high = BOUNDS.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (BOUNDS[mid] >= seconds) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,490 @@
+package com.dabbadelight.regionalmeals.service.impl;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dabbadelight.regionalmeals.exception.ResourceNotFoundException;
+import com.dabbadelight.regionalmeals.model.DTO.StockReconciliationDTO;
+import com.dabbadelight.regionalmeals.model.Kitchen.StockLedgerCheckpoint;
+import com.dabbadelight.regionalmeals.repository.ItemRepository;
+import com.dabbadelight.regionalmeals.repository.StockLedgerCheckpointRepository;
+import com.dabbadelight.regionalmeals.service.StockLedgerService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// Keeps available stock per item in memory so order placement, cart edits and cancellations
+// never wait on item row locks. Committed changes are queued and written to a local journal in
+// batches, and the net delta per item is flushed to the item table in one batch. Each flush seals
+// one numbered journal segment and advances stock_ledger_checkpoint to that number in the same
+// transaction as the deltas, so on start only segments above the checkpoint are replayed. A crash
+// can lose at most the last journal interval of changes, which reconcile() then reports.
+@Service
+@ConditionalOnProperty(name = "stock.ledger.enabled", havingValue = "true")
+public class StockLedgerServiceImpl implements StockLedgerService {
+
+    private static final String LEDGER_USER = "STOCK_LEDGER";
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final Long CHECKPOINT_ID = 1L;
+
+    private final ItemRepository itemRepository;
+    private final StockLedgerCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Path journalDir;
+
+    // Available quantity per item id, changed with CAS so reservations never block each other
+    private final ConcurrentHashMap<Long, AtomicInteger> available = new ConcurrentHashMap<>();
+    // Net committed change per item id since the last successful flush
+    private final ConcurrentHashMap<Long, AtomicInteger> pendingDeltas = new ConcurrentHashMap<>();
+    // Units taken by reservations whose transaction has not finished; journalled only on commit
+    private final ConcurrentHashMap<Long, AtomicInteger> uncommitted = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<JournalEntry> journalQueue = new ConcurrentLinkedQueue<>();
+
+    // Stock changes share the read lock; a flush takes the write lock only to drain deltas and roll the
+    // journal, and an absolute stock reset to read the available and reserved counts together
+    private final ReentrantReadWriteLock epochLock = new ReentrantReadWriteLock();
+    // Guards the journal file; taken by the batch writer and when rolling, never by stock changes
+    private final Object journalMonitor = new Object();
+    private final Object flushMonitor = new Object();
+    private final List<Path> sealedSegments = new ArrayList<>();
+
+    private BufferedWriter journal;
+    private long activeFlushId;
+
+    private record JournalEntry(long itemId, int delta) {}
+
+    public StockLedgerServiceImpl(ItemRepository itemRepository, StockLedgerCheckpointRepository checkpointRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${stock.ledger.journal-dir:stock-ledger}") String journalDir) {
+        this.itemRepository = itemRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.journalDir = Paths.get(journalDir);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        Files.createDirectories(journalDir);
+        long checkpoint = loadCheckpoint();
+        long lastSegment = replayJournal(checkpoint);
+        activeFlushId = Math.max(checkpoint, lastSegment) + 1;
+        openSegment();
+
+        for (Object[] row : itemRepository.findAllStockLevels()) {
+            available.put((Long) row[0], new AtomicInteger((Integer) row[1]));
+        }
+        System.out.println("📦 Stock ledger started with " + available.size() + " items at flush " + activeFlushId);
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        flush();
+        synchronized (journalMonitor) {
+            writeQueuedEntries();
+            journal.close();
+        }
+    }
+
+    @Override
+    public int getAvailableStock(Long itemId) {
+        return counter(itemId).get();
+    }
+
+    @Override
+    public List<Long> reserve(Map<Long, Integer> quantities) {
+        Map<Long, Integer> taken = new LinkedHashMap<>();
+        List<Long> shortItemIds = new ArrayList<>();
+
+        Map<Long, AtomicInteger> counters = new TreeMap<>();
+        quantities.keySet().forEach(itemId -> counters.put(itemId, counter(itemId)));
+        boolean inTransaction = TransactionSynchronizationManager.isSynchronizationActive();
+
+        epochLock.readLock().lock();
+        try {
+            for (Map.Entry<Long, Integer> entry : new TreeMap<>(quantities).entrySet()) {
+                if (tryTake(counters.get(entry.getKey()), entry.getValue())) {
+                    taken.put(entry.getKey(), entry.getValue());
+                } else {
+                    shortItemIds.add(entry.getKey());
+                }
+            }
+
+            if (!shortItemIds.isEmpty()) {
+                taken.forEach((itemId, quantity) -> counters.get(itemId).addAndGet(quantity));
+                return shortItemIds;
+            }
+            if (!inTransaction) {
+                record(negate(taken));
+                return shortItemIds;
+            }
+            taken.forEach((itemId, quantity) -> uncommittedCounter(itemId).addAndGet(quantity));
+        } finally {
+            epochLock.readLock().unlock();
+        }
+
+        // Journalled once the surrounding order transaction commits; given back if it does not
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                settle(taken, status == STATUS_COMMITTED);
+            }
+        });
+        return shortItemIds;
+    }
+
+    @Override
+    public void release(Map<Long, Integer> quantities) {
+        // Released units only become available once the cancellation has committed
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            Map<Long, Integer> released = new HashMap<>(quantities);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyRelease(released);
+                }
+            });
+        } else {
+            applyRelease(quantities);
+        }
+    }
+
+    @Override
+    public void setStock(Long itemId, int newStock) {
+        AtomicInteger counter = counter(itemId);
+        // The new value counts units held by unfinished orders as still on hand, so those units stay
+        // out of the available figure and a rollback hands them back on top of exactly newStock.
+        // The write lock keeps a reservation from landing between the two reads.
+        epochLock.writeLock().lock();
+        try {
+            int reserved = valueOf(uncommitted.get(itemId));
+            int oldStock = counter.getAndSet(newStock - reserved) + reserved;
+            if (newStock != oldStock) {
+                record(Map.of(itemId, newStock - oldStock));
+            }
+        } finally {
+            epochLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void evict(Long itemId) {
+        epochLock.writeLock().lock();
+        try {
+            available.remove(itemId);
+            pendingDeltas.remove(itemId);
+            uncommitted.remove(itemId);
+        } finally {
+            epochLock.writeLock().unlock();
+        }
+    }
+
+    // Group commit for the journal: one write and one flush for everything queued since the last run
+    @Scheduled(fixedDelayString = "${stock.ledger.journal-interval-ms:100}")
+    public void writeJournal() {
+        synchronized (journalMonitor) {
+            writeQueuedEntries();
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${stock.ledger.flush-interval-ms:1000}")
+    public void flush() {
+        synchronized (flushMonitor) {
+            Map<Long, Integer> deltas = new HashMap<>();
+            long flushId;
+
+            // Most of the queue is written before the write lock, so stock changes wait only for the tail
+            writeJournal();
+            epochLock.writeLock().lock();
+            try {
+                pendingDeltas.forEach((itemId, counter) -> {
+                    int delta = counter.getAndSet(0);
+                    if (delta != 0) {
+                        deltas.put(itemId, delta);
+                    }
+                });
+                if (deltas.isEmpty()) {
+                    return;
+                }
+                flushId = rollSegment();
+            } finally {
+                epochLock.writeLock().unlock();
+            }
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    itemRepository.applyStockDeltas(deltas, LEDGER_USER);
+                    checkpointRepository.advance(CHECKPOINT_ID, flushId, LocalDateTime.now());
+                });
+            } catch (RuntimeException e) {
+                // Retry on the next cycle; sealed segments stay on disk until a later flush id commits
+                deltas.forEach((itemId, delta) -> pendingDelta(itemId).addAndGet(delta));
+                System.out.println("❌ Stock ledger flush " + flushId + " failed, will retry: " + e.getMessage());
+                return;
+            }
+
+            // A crash before these are gone is harmless: the checkpoint already covers them
+            for (Path segment : sealedSegments) {
+                try {
+                    Files.deleteIfExists(segment);
+                } catch (IOException e) {
+                    System.out.println("❌ Could not delete stock ledger segment " + segment + ": " + e.getMessage());
+                }
+            }
+            sealedSegments.clear();
+        }
+    }
+
+    @Override
+    public List<StockReconciliationDTO> reconcile() {
+        // Holding the flush monitor keeps the item table still while it is compared with the ledger
+        synchronized (flushMonitor) {
+            Map<Long, Integer> databaseStock = new HashMap<>();
+            for (Object[] row : itemRepository.findAllStockLevels()) {
+                databaseStock.put((Long) row[0], (Integer) row[1]);
+            }
+
+            List<StockReconciliationDTO> mismatches = new ArrayList<>();
+            epochLock.writeLock().lock();
+            try {
+                available.forEach((itemId, counter) -> {
+                    int pendingDelta = valueOf(pendingDeltas.get(itemId));
+                    int reserved = valueOf(uncommitted.get(itemId));
+                    Integer persisted = databaseStock.get(itemId);
+                    boolean consistent = persisted != null && persisted + pendingDelta - reserved == counter.get();
+                    if (!consistent) {
+                        mismatches.add(StockReconciliationDTO.builder()
+                                .itemId(itemId)
+                                .ledgerStock(counter.get())
+                                .pendingDelta(pendingDelta)
+                                .uncommitted(reserved)
+                                .databaseStock(persisted)
+                                .consistent(false)
+                                .build());
+                    }
+                });
+            } finally {
+                epochLock.writeLock().unlock();
+            }
+            return mismatches;
+        }
+    }
+
+    private void settle(Map<Long, Integer> taken, boolean committed) {
+        epochLock.readLock().lock();
+        try {
+            taken.forEach((itemId, quantity) -> uncommittedCounter(itemId).addAndGet(-quantity));
+            if (committed) {
+                record(negate(taken));
+            } else {
+                taken.forEach((itemId, quantity) -> counter(itemId).addAndGet(quantity));
+            }
+        } finally {
+            epochLock.readLock().unlock();
+        }
+    }
+
+    private void applyRelease(Map<Long, Integer> quantities) {
+        epochLock.readLock().lock();
+        try {
+            quantities.forEach((itemId, quantity) -> counter(itemId).addAndGet(quantity));
+            record(quantities);
+        } finally {
+            epochLock.readLock().unlock();
+        }
+    }
+
+    private boolean tryTake(AtomicInteger counter, int quantity) {
+        while (true) {
+            int current = counter.get();
+            if (current < quantity) {
+                return false;
+            }
+            if (counter.compareAndSet(current, current - quantity)) {
+                return true;
+            }
+        }
+    }
+
+    private AtomicInteger counter(Long itemId) {
+        AtomicInteger counter = available.get(itemId);
+        if (counter != null) {
+            return counter;
+        }
+        // Items created after startup are loaded on first use
+        int stock = itemRepository.findStockById(itemId)
+                .orElseThrow(() -> new ResourceNotFoundException("Item not found with id: " + itemId));
+        AtomicInteger existing = available.putIfAbsent(itemId, new AtomicInteger(stock));
+        return existing != null ? existing : available.get(itemId);
+    }
+
+    private AtomicInteger pendingDelta(Long itemId) {
+        return pendingDeltas.computeIfAbsent(itemId, id -> new AtomicInteger());
+    }
+
+    private AtomicInteger uncommittedCounter(Long itemId) {
+        return uncommitted.computeIfAbsent(itemId, id -> new AtomicInteger());
+    }
+
+    private static int valueOf(AtomicInteger counter) {
+        return counter != null ? counter.get() : 0;
+    }
+
+    private static Map<Long, Integer> negate(Map<Long, Integer> quantities) {
+        Map<Long, Integer> deltas = new HashMap<>();
+        quantities.forEach((itemId, quantity) -> deltas.put(itemId, -quantity));
+        return deltas;
+    }
+
+    // Caller holds the read lock, so the delta and its journal entry always land in the same flush
+    private void record(Map<Long, Integer> deltas) {
+        deltas.forEach((itemId, delta) -> {
+            pendingDelta(itemId).addAndGet(delta);
+            journalQueue.add(new JournalEntry(itemId, delta));
+        });
+    }
+
+    // Caller holds the journal monitor
+    private void writeQueuedEntries() {
+        JournalEntry entry = journalQueue.poll();
+        if (entry == null) {
+            return;
+        }
+        try {
+            for (; entry != null; entry = journalQueue.poll()) {
+                journal.write(entry.itemId() + "," + entry.delta());
+                journal.newLine();
+            }
+            journal.flush();
+        } catch (IOException e) {
+            System.out.println("❌ Stock ledger journal write failed: " + e.getMessage());
+        }
+    }
+
+    private void openSegment() throws IOException {
+        journal = Files.newBufferedWriter(segmentPath(activeFlushId), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    // Caller holds the write lock; seals the active segment under its flush id and starts the next one
+    private long rollSegment() {
+        synchronized (journalMonitor) {
+            long sealedId = activeFlushId;
+            try {
+                writeQueuedEntries();
+                journal.close();
+                activeFlushId++;
+                openSegment();
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not roll stock ledger journal", e);
+            }
+            sealedSegments.add(segmentPath(sealedId));
+            return sealedId;
+        }
+    }
+
+    private Path segmentPath(long flushId) {
+        return journalDir.resolve(SEGMENT_PREFIX + flushId + SEGMENT_SUFFIX);
+    }
+
+    private long loadCheckpoint() {
+        return checkpointRepository.findById(CHECKPOINT_ID)
+                .map(StockLedgerCheckpoint::getLastFlushId)
+                .orElseGet(() -> checkpointRepository
+                        .save(new StockLedgerCheckpoint(CHECKPOINT_ID, 0, LocalDateTime.now()))
+                        .getLastFlushId());
+    }
+
+    // Applies segments above the checkpoint and advances it in the same transaction; returns the
+    // highest segment id seen so flush ids keep increasing across restarts
+    private long replayJournal(long checkpoint) throws IOException {
+        Map<Long, Path> segments = new TreeMap<>();
+        try (Stream<Path> files = Files.list(journalDir)) {
+            files.forEach(path -> {
+                long flushId = flushIdOf(path);
+                if (flushId > 0) {
+                    segments.put(flushId, path);
+                }
+            });
+        }
+        if (segments.isEmpty()) {
+            return 0;
+        }
+
+        long lastSegment = 0;
+        int replayed = 0;
+        Map<Long, Integer> deltas = new HashMap<>();
+        for (Map.Entry<Long, Path> segment : segments.entrySet()) {
+            lastSegment = segment.getKey();
+            if (segment.getKey() <= checkpoint) {
+                continue; // committed before the crash, only the delete was lost
+            }
+            replayed++;
+            for (String line : Files.readAllLines(segment.getValue())) {
+                String[] parts = line.split(",");
+                if (parts.length != 2) {
+                    continue; // torn write from a crash
+                }
+                try {
+                    deltas.merge(Long.valueOf(parts[0]), Integer.valueOf(parts[1]), Integer::sum);
+                } catch (NumberFormatException e) {
+                    // torn write from a crash
+                }
+            }
+        }
+        deltas.values().removeIf(delta -> delta == 0);
+
+        if (replayed > 0) {
+            long replayedUpTo = lastSegment;
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!deltas.isEmpty()) {
+                    itemRepository.applyStockDeltas(deltas, LEDGER_USER);
+                }
+                checkpointRepository.advance(CHECKPOINT_ID, replayedUpTo, LocalDateTime.now());
+            });
+        }
+        for (Path segment : segments.values()) {
+            Files.delete(segment);
+        }
+        System.out.println("📦 Replayed " + deltas.size() + " unflushed stock deltas from " + replayed
+                + " journal segments above flush " + checkpoint);
+        return lastSegment;
+    }
+
+    private static long flushIdOf(Path path) {
+        String name = path.getFileName().toString();
+        if (!name.startsWith(SEGMENT_PREFIX) || !name.endsWith(SEGMENT_SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            System.out.println("❌ Ignoring unrecognised stock ledger file " + path);
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.dabbadelight.regionalmeals.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.dabbadelight.regionalmeals.model.DTO.PaymentCallbackDTO;
+import com.dabbadelight.regionalmeals.model.DTO.PaymentSessionDTO;
+import com.dabbadelight.regionalmeals.model.enums.PaymentStatus;
+import com.dabbadelight.regionalmeals.service.PaymentGateway;
+
+// Local stand-in for a real provider, for development and tests. Payments are "completed" by
+// calling complete(), which also returns the signed callback the provider would have sent.
+// Callbacks are signed with HMAC-SHA256 over eventId|orderId|status|amount; with no secret
+// configured every callback is refused, since anyone could otherwise mark any order paid.
+@Component
+@ConditionalOnProperty(name = "payment.gateway", havingValue = "stub", matchIfMissing = true)
+public class StubPaymentGateway implements PaymentGateway {
+
+    private final String secret;
+    private final Map<Long, PaymentStatus> payments = new ConcurrentHashMap<>();
+
+    public StubPaymentGateway(@Value("${payment.gateway.stub.secret:}") String secret) {
+        this.secret = secret;
+        if (secret.isEmpty()) {
+            System.out.println("⚠️ Stub payment gateway has no payment.gateway.stub.secret; every callback will be refused");
+        }
+    }
+
+    @Override
+    public String name() {
+        return "stub";
+    }
+
+    @Override
+    public PaymentSessionDTO createSession(Long orderId, double amount) {
+        payments.putIfAbsent(orderId, PaymentStatus.PENDING);
+        return PaymentSessionDTO.builder()
+                .orderId(orderId)
+                .gateway(name())
+                .reference("stub-" + orderId)
+                .amount(amount)
+                .build();
+    }
+
+    @Override
+    public boolean verifyCallback(PaymentCallbackDTO callback, String signature) {
+        if (secret.isEmpty()) {
+            return false;
+        }
+        return signature != null && MessageDigest.isEqual(
+                sign(callback).getBytes(StandardCharsets.UTF_8), signature.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public PaymentStatus fetchStatus(Long orderId) {
+        return payments.getOrDefault(orderId, PaymentStatus.PENDING);
+    }
+
+    // Marks the order paid and returns the callback for it, with its signature
+    public Map.Entry<PaymentCallbackDTO, String> complete(Long orderId, double amount, String eventId) {
+        payments.put(orderId, PaymentStatus.COMPLETED);
+        PaymentCallbackDTO callback = PaymentCallbackDTO.builder()
+                .eventId(eventId)
+                .orderId(orderId)
+                .status(PaymentStatus.COMPLETED)
+                .amount(amount)
+                .build();
+        return Map.entry(callback, secret.isEmpty() ? "" : sign(callback));
+    }
+
+    private String sign(PaymentCallbackDTO callback) {
+        String payload = callback.getEventId() + "|" + callback.getOrderId() + "|" + callback.getStatus()
+                + "|" + callback.getAmount();
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return HexFormat.of().formatHex(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
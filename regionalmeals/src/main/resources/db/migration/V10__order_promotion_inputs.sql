@@ -0,0 +1,6 @@
+-- What an order's promotion is priced from, kept so it can be re-priced whenever a pending
+-- order's lines change: the coupon it was placed with and whether it was the user's first order
+alter table orders add column coupon_code varchar(64);
+alter table orders add column first_order bit not null default 0;
+alter table orders_archive add column coupon_code varchar(64);
+alter table orders_archive add column first_order bit not null default 0;
@@ -0,0 +1,3 @@
+-- When a kitchen claimed its part of the order on the kitchen board; null until claimed. Kept per
+-- line so each kitchen of a multi-kitchen order shows its own ticket state, also after a restart.
+alter table order_item add column claimed_at datetime(6);
@@ -0,0 +1,3 @@
+-- Response headers a replay has to repeat (Location of an async intake), as a JSON object of
+-- header name to values; null when the response had none of them
+alter table idempotency_record add column response_headers TEXT;
@@ -0,0 +1,3 @@
+-- Promotion discounts next to the undiscounted gross, so every dimension rolls up on the same basis
+alter table sales_rollup add column discount_amount float(53) not null default 0;
+alter table sales_rollup add column cancelled_discount_amount float(53) not null default 0;
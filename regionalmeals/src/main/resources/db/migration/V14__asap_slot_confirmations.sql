@@ -0,0 +1,3 @@
+-- OrderItemRepository.sumUnitsByMenuForAsapOrdersConfirmedFrom: ASAP carts confirmed since the
+-- current slot started, which KitchenCapacityServiceImpl books into that slot at startup
+create index idx_order_status_history_transition_changed_at on order_status_history (to_status, from_status, changed_at);
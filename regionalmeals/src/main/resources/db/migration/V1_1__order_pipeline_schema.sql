@@ -0,0 +1,98 @@
+-- Tables and columns the order pipeline gained while the schema was still managed by ddl-auto:
+-- promised slots, the order archive, the outbox, idempotency records and sales rollups.
+
+alter table orders add column promised_slot datetime(6);
+
+-- Rows written before created_at was copied into updated_at on insert; the sweepers and the
+-- archiver select on updated_at
+update orders set updated_at = created_at where updated_at is null;
+
+create index idx_orders_status_updated_at on orders (order_status, updated_at, id);
+create index idx_orders_user_created_at on orders (user_id, created_at, id);
+create index idx_orders_status_created_at on orders (order_status, created_at, id);
+create index idx_orders_created_at on orders (created_at, id);
+
+create table orders_archive (
+    id bigint not null,
+    payment_mode tinyint not null,
+    payment_status tinyint not null,
+    order_status tinyint not null,
+    user_id bigint,
+    total_amount float(53) not null,
+    promised_slot datetime(6),
+    created_at datetime(6) not null,
+    updated_at datetime(6),
+    archived_at datetime(6) not null,
+    primary key (id),
+    constraint FKqsvqv7d2mm075yy2r98d45d45 foreign key (user_id) references user (id)
+) engine=InnoDB;
+
+create index idx_orders_archive_user_created_at on orders_archive (user_id, created_at, id);
+create index idx_orders_archive_status_created_at on orders_archive (order_status, created_at, id);
+create index idx_orders_archive_created_at on orders_archive (created_at, id);
+
+create table order_item_archive (
+    id bigint not null,
+    order_id bigint not null,
+    item_id bigint not null,
+    quantity integer not null,
+    price_at_purchase float(53) not null,
+    primary key (id),
+    constraint FKq5pn5doy7t418lk1u23gnsqwo foreign key (order_id) references orders_archive (id),
+    constraint FK8kxo8ph5ts5n33q6kh822fxm0 foreign key (item_id) references item (id)
+) engine=InnoDB;
+
+create table outbox_event (
+    id bigint not null auto_increment,
+    order_id bigint not null,
+    event_type tinyint not null,
+    dedupe_key varchar(64) not null,
+    payload TEXT not null,
+    created_at datetime(6) not null,
+    published_at datetime(6),
+    attempts integer not null,
+    last_error varchar(500),
+    primary key (id),
+    constraint uk_outbox_event_dedupe_key unique (dedupe_key)
+) engine=InnoDB;
+
+create index idx_outbox_event_published_at on outbox_event (published_at, id);
+
+create table idempotency_record (
+    id bigint not null auto_increment,
+    key_hash varchar(64) not null,
+    request_hash varchar(64) not null,
+    completed bit not null,
+    response_status integer,
+    response_body TEXT,
+    created_at datetime(6) not null,
+    expires_at datetime(6) not null,
+    primary key (id),
+    constraint uk_idempotency_record_key_hash unique (key_hash)
+) engine=InnoDB;
+
+create index idx_idempotency_record_expires_at on idempotency_record (expires_at);
+
+create table sales_rollup (
+    id bigint not null auto_increment,
+    dimension tinyint not null,
+    dimension_id bigint not null,
+    granularity tinyint not null,
+    bucket_start datetime(6) not null,
+    order_count bigint not null,
+    quantity bigint not null,
+    gross_amount float(53) not null,
+    cancelled_count bigint not null,
+    cancelled_quantity bigint not null,
+    cancelled_amount float(53) not null,
+    primary key (id),
+    constraint uk_sales_rollup_bucket unique (dimension, granularity, bucket_start, dimension_id)
+) engine=InnoDB;
+
+create table sales_rollup_applied_event (
+    event_id bigint not null,
+    applied_at datetime(6) not null,
+    primary key (event_id)
+) engine=InnoDB;
+
+create index idx_sales_rollup_applied_event_applied_at on sales_rollup_applied_event (applied_at);
@@ -0,0 +1,105 @@
+-- Schema as Hibernate's ddl-auto=update left it before migrations were introduced, and nothing
+-- more. Databases that already have these tables are baselined at version 1
+-- (spring.flyway.baseline-on-migrate) and get everything added since from V1_1 onwards.
+
+create table user (
+    id bigint not null auto_increment,
+    name varchar(50) not null,
+    phone varchar(10) not null,
+    email varchar(100) not null,
+    created_at datetime(6) not null,
+    updated_at datetime(6),
+    password varchar(255) not null,
+    role tinyint not null,
+    primary key (id),
+    constraint UK589idila9li6a4arw1t8ht1gx unique (phone),
+    constraint UKob8kqyqqgmefl0aco34akdtpe unique (email)
+) engine=InnoDB;
+
+create table address (
+    id bigint not null auto_increment,
+    address_line1 varchar(100) not null,
+    address_line2 varchar(100),
+    landmark varchar(100) not null,
+    flat_or_block varchar(50) not null,
+    city varchar(50) not null,
+    pincode varchar(6) not null,
+    user_id bigint,
+    primary key (id),
+    constraint FKda8tuywtf0gb6sedwk7la1pgi foreign key (user_id) references user (id)
+) engine=InnoDB;
+
+create table otp (
+    id bigint not null auto_increment,
+    otp varchar(10) not null,
+    expires_at datetime(6) not null,
+    user_id bigint not null,
+    primary key (id),
+    constraint FKdrrkob03otk15fxe9b0bkkp35 foreign key (user_id) references user (id)
+) engine=InnoDB;
+
+create table menu (
+    id bigint not null auto_increment,
+    name varchar(100) not null,
+    details varchar(500) not null,
+    rating integer not null,
+    is_active bit not null,
+    created_by varchar(255) not null,
+    updated_by varchar(255),
+    created_at datetime(6) not null,
+    updated_at datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+create table kitchen_address (
+    id bigint not null auto_increment,
+    address_line1 varchar(100) not null,
+    address_line2 varchar(100),
+    landmark varchar(100) not null,
+    city varchar(50) not null,
+    pincode varchar(6) not null,
+    menu_id bigint,
+    primary key (id),
+    constraint FKm8o52f7og7vx23lms7by3nbn7 foreign key (menu_id) references menu (id)
+) engine=InnoDB;
+
+create table item (
+    id bigint not null auto_increment,
+    name varchar(100) not null,
+    details varchar(500) not null,
+    price float(53) not null,
+    stock integer not null,
+    is_veg bit not null,
+    is_available bit not null,
+    created_by varchar(255) not null,
+    updated_by varchar(255),
+    created_at datetime(6) not null,
+    updated_at datetime(6),
+    menu_id bigint not null,
+    primary key (id),
+    constraint FKimdwniosg0e3m5t5qksxyd5vb foreign key (menu_id) references menu (id)
+) engine=InnoDB;
+
+create table orders (
+    id bigint not null auto_increment,
+    payment_mode tinyint not null,
+    payment_status tinyint not null,
+    order_status tinyint not null,
+    user_id bigint,
+    total_amount float(53) not null,
+    created_at datetime(6) not null,
+    updated_at datetime(6),
+    primary key (id),
+    constraint FKel9kyl84ego2otj2accfd8mr7 foreign key (user_id) references user (id)
+) engine=InnoDB;
+
+create table order_item (
+    id bigint not null auto_increment,
+    order_id bigint not null,
+    item_id bigint not null,
+    quantity integer not null,
+    price_at_purchase float(53) not null,
+    primary key (id),
+    constraint FKt4dc2r9nbvbujrljv3e23iibt foreign key (order_id) references orders (id),
+    constraint FKija6hjjiit8dprnmvtvgdp6ru foreign key (item_id) references item (id)
+) engine=InnoDB;
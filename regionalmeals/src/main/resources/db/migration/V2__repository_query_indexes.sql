@@ -0,0 +1,32 @@
+-- Indexes for the lookups the repositories actually run. Each is checked by RepositoryIndexUsageTests.
+
+-- OrderRepository.findByUserAndOrderStatus (cart lookup)
+create index idx_orders_user_status on orders (user_id, order_status);
+
+-- OrderItemRepository.sumQuantityByItemForOrders, answered from the index alone
+create index idx_order_item_order_item_quantity on order_item (order_id, item_id, quantity);
+
+-- ItemRepository: per-menu listings and findAvailableItemsWithStockByMenuId
+create index idx_item_menu_available_stock on item (menu_id, is_available, stock);
+-- ItemRepository: catalogue listings by availability, veg flag, creation time, price and stock
+create index idx_item_available_veg_created_at on item (is_available, is_veg, created_at);
+create index idx_item_available_created_at on item (is_available, created_at);
+create index idx_item_available_price on item (is_available, price);
+create index idx_item_available_stock on item (is_available, stock);
+create index idx_item_created_by_created_at on item (created_by, created_at);
+
+-- MenuRepository: active and per-creator listings, rating filters
+create index idx_menu_active_created_at on menu (is_active, created_at);
+create index idx_menu_active_rating on menu (is_active, rating);
+create index idx_menu_created_by_created_at on menu (created_by, is_active, created_at);
+create index idx_menu_rating on menu (rating);
+
+-- OtpRepository: latest valid code per user, and the expiry cleanup
+create index idx_otp_user_expires_at on otp (user_id, expires_at);
+create index idx_otp_expires_at on otp (expires_at);
+
+-- UserRepository.findByRole
+create index idx_user_role on user (role);
+
+-- address.user_id, kitchen_address.menu_id and order_item_archive.order_id are already indexed by
+-- the index InnoDB creates for their foreign keys (which also carries the primary key)
@@ -0,0 +1,5 @@
+-- Dabbas a kitchen can cook per slot; null means no limit
+alter table menu add column slot_capacity integer;
+
+-- OrderItemRepository.sumUnitsByMenuForOrdersPromisedFrom, rebuilding slot counters at startup
+create index idx_orders_promised_slot on orders (promised_slot);
@@ -0,0 +1,13 @@
+-- Indexes behind the support order search (OrderSpecifications), for the filters the
+-- existing orders indexes don't already cover
+
+-- pincode -> customers, then their orders through idx_orders_user_created_at
+create index idx_address_pincode_user on address (pincode, user_id);
+
+-- item -> orders containing it, hot and archived
+create index idx_order_item_item_order on order_item (item_id, order_id);
+create index idx_order_item_archive_item_order on order_item_archive (item_id, order_id);
+
+-- amount ranges
+create index idx_orders_total_amount on orders (total_amount);
+create index idx_orders_archive_total_amount on orders_archive (total_amount);
@@ -0,0 +1,15 @@
+-- Append-only log of order status changes, written from the order outbox events. No foreign key
+-- to orders: the history outlives archiving and deletion of the order itself.
+create table order_status_history (
+    id bigint not null auto_increment,
+    order_id bigint not null,
+    from_status tinyint,
+    to_status tinyint not null,
+    changed_at datetime(6) not null,
+    dedupe_key varchar(64) not null,
+    primary key (id),
+    constraint uk_order_status_history_dedupe_key unique (dedupe_key)
+) engine=InnoDB;
+
+-- OrderStatusHistoryRepository: an order's timeline, and the last change of open orders at startup
+create index idx_order_status_history_order_changed_at on order_status_history (order_id, changed_at, id);
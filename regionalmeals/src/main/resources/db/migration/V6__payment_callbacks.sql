@@ -0,0 +1,20 @@
+-- Payment gateway callbacks, one row per gateway event id; the unique key is what makes a
+-- redelivered callback harmless. Rows are applied to orders in batches and then kept as the
+-- record of what the gateway told us.
+create table payment_callback (
+    id bigint not null auto_increment,
+    event_id varchar(128) not null,
+    order_id bigint not null,
+    payment_status tinyint not null,
+    amount float(53) not null,
+    received_at datetime(6) not null,
+    applied_at datetime(6),
+    primary key (id),
+    constraint uk_payment_callback_event_id unique (event_id)
+) engine=InnoDB;
+
+-- PaymentCallbackRepository: callbacks not yet applied, oldest first
+create index idx_payment_callback_applied_at on payment_callback (applied_at, id);
+
+-- OrderRepository.findIdsByPayment: reconciliation keyset over unsettled online orders
+create index idx_orders_payment_pending on orders (payment_status, payment_mode, id);
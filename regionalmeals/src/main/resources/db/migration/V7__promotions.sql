@@ -0,0 +1,30 @@
+-- Promotions and coupons. Rules are compiled into memory, so this table is only read on refresh.
+create table promotion (
+    id bigint not null auto_increment,
+    name varchar(100) not null,
+    code varchar(64),
+    type tinyint not null,
+    menu_id bigint,
+    item_id bigint,
+    value float(53) not null,
+    min_order_amount float(53) not null,
+    max_discount float(53) not null,
+    is_active bit not null,
+    starts_at datetime(6),
+    ends_at datetime(6),
+    created_by varchar(255) not null,
+    updated_by varchar(255),
+    created_at datetime(6) not null,
+    updated_at datetime(6),
+    primary key (id),
+    constraint uk_promotion_code unique (code)
+) engine=InnoDB;
+
+-- PromotionRepository.findByIsActiveTrue: the rules compiled on every refresh
+create index idx_promotion_active on promotion (is_active, id);
+
+-- The discount an order was placed with; total_amount is what the customer pays after it
+alter table orders add column discount_amount float(53) not null default 0;
+alter table orders add column promotion_id bigint;
+alter table orders_archive add column discount_amount float(53) not null default 0;
+alter table orders_archive add column promotion_id bigint;
@@ -0,0 +1,10 @@
+-- High-water mark of the in-memory stock ledger: the id of the last journal flush whose deltas
+-- are committed to item.stock. Updated in the same transaction as the deltas.
+create table stock_ledger_checkpoint (
+    id bigint not null,
+    last_flush_id bigint not null,
+    updated_at datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+insert into stock_ledger_checkpoint (id, last_flush_id, updated_at) values (1, 0, current_timestamp(6));
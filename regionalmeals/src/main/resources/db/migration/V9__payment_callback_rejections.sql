@@ -0,0 +1,3 @@
+-- Callbacks whose amount doesn't match the order total are kept, applied without settling the
+-- order, with the reason here; null for callbacks that were accepted.
+alter table payment_callback add column rejected_reason varchar(255);
@@ -0,0 +1,428 @@
+package com.dabbadelight.regionalmeals.repository;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.dabbadelight.regionalmeals.model.DTO.OrderSearchCriteria;
+import com.dabbadelight.regionalmeals.model.User.User;
+import com.dabbadelight.regionalmeals.model.enums.OrderStatus;
+import com.dabbadelight.regionalmeals.model.enums.PaymentMode;
+import com.dabbadelight.regionalmeals.model.enums.PaymentStatus;
+import com.dabbadelight.regionalmeals.model.enums.Role;
+import com.dabbadelight.regionalmeals.model.enums.RollupDimension;
+import com.dabbadelight.regionalmeals.model.enums.RollupGranularity;
+
+// Builds the schema from the Flyway migrations on H2 (MySQL mode), lets Hibernate validate it
+// against the entities, then calls each repository method, records every SELECT/UPDATE/DELETE it
+// sends to the driver and EXPLAINs that exact statement with the same bind values, failing on any
+// full table scan. Statements are what Hibernate and the JDBC fragments really send, so joins
+// and predicates added by derived queries are checked too; enums bind as ordinals.
+//
+// Not listed, because no index can serve them: the *ContainingIgnoreCase finders and
+// searchAvailableItems (leading-wildcard LIKE), findAllStockLevels, findCatalog, findSlotCapacities
+// and the unfiltered findAll listings, which read every row by design.
+@DataJpaTest(properties = {
+	"spring.datasource.url=jdbc:h2:mem:index-usage;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE",
+	"spring.datasource.driver-class-name=org.h2.Driver",
+	"spring.jpa.hibernate.ddl-auto=validate"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class RepositoryIndexUsageTests {
+
+	private static final LocalDateTime FROM = LocalDateTime.of(2024, 1, 1, 0, 0);
+	private static final LocalDateTime TO = LocalDateTime.of(2024, 2, 1, 0, 0);
+	private static final List<Long> IDS = List.of(1L, 2L, 3L);
+	private static final List<OrderStatus> SETTLED = List.of(OrderStatus.PENDING, OrderStatus.CANCELLED);
+	private static final List<OrderStatus> LIVE = List.of(OrderStatus.CONFIRMED, OrderStatus.PREPARING,
+		OrderStatus.OUT_FOR_DELIVERY, OrderStatus.DELIVERED);
+
+	@Autowired private JdbcTemplate jdbcTemplate;
+	@Autowired private StatementRecorder recorder;
+
+	@Autowired OrderRepository orders;
+	@Autowired OrderItemRepository orderItems;
+	@Autowired OrderStatusHistoryRepository statusHistory;
+	@Autowired ItemRepository items;
+	@Autowired MenuRepository menus;
+	@Autowired OtpRepository otps;
+	@Autowired AddressRepository addresses;
+	@Autowired KitchenAddressRepository kitchenAddresses;
+	@Autowired UserRepository users;
+	@Autowired OutboxEventRepository outbox;
+	@Autowired PaymentCallbackRepository paymentCallbacks;
+	@Autowired IdempotencyRecordRepository idempotency;
+	@Autowired SalesRollupRepository salesRollups;
+	@Autowired ArchivedOrderRepository archivedOrders;
+	@Autowired PromotionRepository promotions;
+
+	User user;
+
+	@BeforeEach
+	void saveUser() {
+		user = new User();
+		user.setName("Index Check");
+		user.setPhone("9999999999");
+		user.setEmail("index@check.test");
+		user.setPassword("secret");
+		user.setRole(Role.USER);
+		user = users.saveAndFlush(user);
+	}
+
+	@Test
+	void migrationsMatchEntities() {
+		// ddl-auto=validate has already compared every entity with the migrated schema at startup
+	}
+
+	@ParameterizedTest(name = "{0}")
+	@MethodSource("repositoryQueries")
+	void queryUsesAnIndex(String query, RepositoryCall call) throws Exception {
+		List<RecordedStatement> statements = recorder.record(() -> call.run(this));
+		assertFalse(statements.isEmpty(), query + " sent no SELECT, UPDATE or DELETE");
+		for (RecordedStatement statement : statements) {
+			String plan = explain(statement);
+			assertFalse(plan.contains("tableScan"), query + " scans a whole table:\n" + statement.sql() + "\n" + plan);
+		}
+	}
+
+	private String explain(RecordedStatement statement) {
+		return jdbcTemplate.query("EXPLAIN " + statement.sql(), ps -> {
+			for (Binding binding : statement.bindings()) {
+				binding.applyTo(ps);
+			}
+		}, rs -> {
+			List<String> lines = new ArrayList<>();
+			while (rs.next()) {
+				lines.add(rs.getString(1));
+			}
+			return String.join("\n", lines);
+		});
+	}
+
+	static Stream<Arguments> repositoryQueries() {
+		return Stream.of(
+			// OrderRepository
+			call("OrderRepository.findByUserAndOrderStatus", r -> r.orders.findByUserAndOrderStatus(r.user, OrderStatus.PENDING)),
+			call("OrderRepository.findByUserOrderByCreatedAtDesc", r -> r.orders.findByUserOrderByCreatedAtDesc(r.user)),
+			call("OrderRepository.findByOrderStatus", r -> r.orders.findByOrderStatus(OrderStatus.CANCELLED)),
+			call("OrderRepository.findByOrderStatusOrderByCreatedAtDesc",
+				r -> r.orders.findByOrderStatusOrderByCreatedAtDesc(OrderStatus.CANCELLED)),
+			call("OrderRepository.findWithItemsByOrderStatusIn", r -> r.orders.findWithItemsByOrderStatusIn(SETTLED)),
+			call("OrderRepository.findWithItemsByIdIn", r -> r.orders.findWithItemsByIdIn(IDS)),
+			call("OrderRepository.lockIdsIn", r -> r.orders.lockIdsIn(IDS)),
+			call("OrderRepository.lockTotalsIn", r -> r.orders.lockTotalsIn(IDS)),
+			call("OrderRepository.findIdsByPayment", r -> r.orders.findIdsByPayment(PaymentStatus.PENDING, PaymentMode.ONLINE,
+				OrderStatus.CANCELLED, FROM, 0L, Limit.of(500))),
+			call("OrderRepository.findUserIdsPastFirstOrder",
+				r -> r.orders.findUserIdsPastFirstOrder(IDS, SETTLED, OrderStatus.CANCELLED)),
+			call("OrderPaymentBatchRepository.settlePayments", r -> r.orders.settlePayments(IDS)),
+			call("OrderRepository.lockStaleOrderKeys", r -> r.orders.lockStaleOrderKeys(OrderStatus.PENDING.ordinal(), TO,
+				FROM, 5L, 200)),
+			call("OrderRepository.lockArchivableIds", r -> r.orders.lockArchivableIds(OrderStatus.DELIVERED.ordinal(), FROM, 500)),
+			call("OrderRepository.updateStatusByIdIn", r -> r.orders.updateStatusByIdIn(IDS, OrderStatus.DELIVERED, FROM)),
+			call("OrderRepository.sumHeldQuantityBefore", r -> r.orders.sumHeldQuantityBefore(OrderStatus.PENDING, FROM)),
+			call("OrderKeysetRepository.findKeysByKeyset (user)",
+				r -> r.orders.findKeysByKeyset(OrderSpecifications.matching(criteria().userId(1L).build(), null), 21)),
+			call("OrderKeysetRepository.findKeysByKeyset (status)",
+				r -> r.orders.findKeysByKeyset(OrderSpecifications.matching(criteria().status(OrderStatus.CANCELLED).build(), null), 21)),
+			call("OrderKeysetRepository.findKeysByKeyset (date range)",
+				r -> r.orders.findKeysByKeyset(OrderSpecifications.matching(criteria().from(FROM).to(TO).build(), null), 21)),
+			call("OrderKeysetRepository.findKeysByKeyset (phone)",
+				r -> r.orders.findKeysByKeyset(OrderSpecifications.matching(criteria().phone("9876543210").build(), null), 21)),
+			call("OrderKeysetRepository.findKeysByKeyset (pincode)",
+				r -> r.orders.findKeysByKeyset(OrderSpecifications.matching(criteria().pincode("411001").build(), null), 21)),
+			call("OrderKeysetRepository.findKeysByKeyset (item)",
+				r -> r.orders.findKeysByKeyset(OrderSpecifications.matching(criteria().itemId(1L).build(), null), 21)),
+			call("OrderKeysetRepository.findKeysByKeyset (amount)",
+				r -> r.orders.findKeysByKeyset(OrderSpecifications.matching(criteria().minAmount(100.0).maxAmount(500.0).build(), null), 21)),
+			call("OrderExportRepository.streamExportRows (user)", r -> {
+				try (Stream<?> rows = r.orders.streamExportRows(OrderSpecifications.matching(criteria().userId(1L).build(), null), null, 500)) {
+					rows.count();
+				}
+			}),
+			call("OrderExportRepository.streamExportRows (status, menu)", r -> {
+				try (Stream<?> rows = r.orders.streamExportRows(
+						OrderSpecifications.matching(criteria().status(OrderStatus.CANCELLED).build(), null), 1L, 500)) {
+					rows.count();
+				}
+			}),
+			call("OrderStatusBatchRepository.transitionStatuses",
+				r -> r.orders.transitionStatuses(Map.of(1L, OrderStatus.PENDING), OrderStatus.CONFIRMED)),
+
+			// OrderItemRepository
+			call("OrderItemRepository.sumQuantityByItemForOrders", r -> r.orderItems.sumQuantityByItemForOrders(IDS)),
+			call("OrderItemRepository.sumUnitsByMenuForOrdersPromisedFrom", r -> r.orderItems.sumUnitsByMenuForOrdersPromisedFrom(FROM, LIVE)),
+			call("OrderItemRepository.sumUnitsByMenuForAsapOrdersFrom", r -> r.orderItems.sumUnitsByMenuForAsapOrdersFrom(FROM, LIVE)),
+			call("OrderItemRepository.sumUnitsByMenuForAsapOrdersConfirmedFrom",
+				r -> r.orderItems.sumUnitsByMenuForAsapOrdersConfirmedFrom(FROM, LIVE)),
+			call("OrderItemRepository.findMenusForOrdersInStatuses", r -> r.orderItems.findMenusForOrdersInStatuses(List.of(
+				OrderStatus.PENDING, OrderStatus.CONFIRMED, OrderStatus.PREPARING, OrderStatus.OUT_FOR_DELIVERY))),
+			call("OrderItemRepository.findOrderIdsByMenuAndStatuses", r -> r.orderItems.findOrderIdsByMenuAndStatuses(1L,
+				List.of(OrderStatus.PENDING, OrderStatus.CONFIRMED, OrderStatus.PREPARING))),
+
+			// OrderStatusHistoryRepository
+			call("OrderStatusHistoryRepository.findByOrderIdOrderByChangedAtAscIdAsc",
+				r -> r.statusHistory.findByOrderIdOrderByChangedAtAscIdAsc(1L)),
+			call("OrderStatusHistoryRepository.findLastChangeByOrderIdIn", r -> r.statusHistory.findLastChangeByOrderIdIn(IDS)),
+
+			// ItemRepository
+			call("ItemRepository.findByMenuId", r -> r.items.findByMenuId(1L)),
+			call("ItemRepository.findByMenuIdAndIsAvailableTrue", r -> r.items.findByMenuIdAndIsAvailableTrue(1L)),
+			call("ItemRepository.findByMenuIdAndIsVegTrue", r -> r.items.findByMenuIdAndIsVegTrue(1L)),
+			call("ItemRepository.findByMenuIdAndIsVegFalse", r -> r.items.findByMenuIdAndIsVegFalse(1L)),
+			call("ItemRepository.findByIsAvailableTrueOrderByCreatedAtDesc", r -> r.items.findByIsAvailableTrueOrderByCreatedAtDesc()),
+			call("ItemRepository.findByIsAvailableFalseOrderByCreatedAtDesc", r -> r.items.findByIsAvailableFalseOrderByCreatedAtDesc()),
+			call("ItemRepository.findByCreatedByOrderByCreatedAtDesc", r -> r.items.findByCreatedByOrderByCreatedAtDesc("admin")),
+			call("ItemRepository.findByCreatedByAndIsAvailableTrueOrderByCreatedAtDesc",
+				r -> r.items.findByCreatedByAndIsAvailableTrueOrderByCreatedAtDesc("admin")),
+			call("ItemRepository.findByPriceBetweenAndIsAvailableTrueOrderByPriceAsc",
+				r -> r.items.findByPriceBetweenAndIsAvailableTrueOrderByPriceAsc(50, 150)),
+			call("ItemRepository.findByPriceLessThanEqualAndIsAvailableTrueOrderByPriceAsc",
+				r -> r.items.findByPriceLessThanEqualAndIsAvailableTrueOrderByPriceAsc(150)),
+			call("ItemRepository.findByPriceGreaterThanEqualAndIsAvailableTrueOrderByPriceAsc",
+				r -> r.items.findByPriceGreaterThanEqualAndIsAvailableTrueOrderByPriceAsc(50)),
+			call("ItemRepository.findByStockLessThanAndIsAvailableTrueOrderByStockAsc",
+				r -> r.items.findByStockLessThanAndIsAvailableTrueOrderByStockAsc(5)),
+			call("ItemRepository.findByStockGreaterThanAndIsAvailableTrueOrderByStockDesc",
+				r -> r.items.findByStockGreaterThanAndIsAvailableTrueOrderByStockDesc(5)),
+			call("ItemRepository.findByStockEqualsAndIsAvailableTrue", r -> r.items.findByStockEqualsAndIsAvailableTrue(0)),
+			call("ItemRepository.findByIsVegTrueAndIsAvailableTrueOrderByCreatedAtDesc",
+				r -> r.items.findByIsVegTrueAndIsAvailableTrueOrderByCreatedAtDesc()),
+			call("ItemRepository.findByIsVegFalseAndIsAvailableTrueOrderByCreatedAtDesc",
+				r -> r.items.findByIsVegFalseAndIsAvailableTrueOrderByCreatedAtDesc()),
+			call("ItemRepository.findByMenuIdAndIsVegAndIsAvailableTrueOrderByCreatedAtDesc",
+				r -> r.items.findByMenuIdAndIsVegAndIsAvailableTrueOrderByCreatedAtDesc(1L, true)),
+			call("ItemRepository.findByMenuIdAndPriceLessThanEqualAndIsAvailableTrueOrderByPriceAsc",
+				r -> r.items.findByMenuIdAndPriceLessThanEqualAndIsAvailableTrueOrderByPriceAsc(1L, 100)),
+			call("ItemRepository.findAvailableItemsWithStockByMenuId", r -> r.items.findAvailableItemsWithStockByMenuId(1L)),
+			call("ItemRepository.findLowStockItems", r -> r.items.findLowStockItems(5)),
+			call("ItemRepository.countAvailableItemsByMenuId", r -> r.items.countAvailableItemsByMenuId(1L)),
+			call("ItemRepository.getAveragePriceByMenuId", r -> r.items.getAveragePriceByMenuId(1L)),
+			call("ItemRepository.findCatalogItemById", r -> r.items.findCatalogItemById(1L)),
+			call("ItemStockRepository.decrementStock", r -> r.items.decrementStock(Map.of(1L, 1), "SYSTEM")),
+
+			// MenuRepository
+			call("MenuRepository.findByIsActiveTrueOrderByCreatedAtDesc", r -> r.menus.findByIsActiveTrueOrderByCreatedAtDesc()),
+			call("MenuRepository.findByCreatedByOrderByCreatedAtDesc", r -> r.menus.findByCreatedByOrderByCreatedAtDesc("admin")),
+			call("MenuRepository.findByCreatedByAndIsActiveTrueOrderByCreatedAtDesc",
+				r -> r.menus.findByCreatedByAndIsActiveTrueOrderByCreatedAtDesc("admin")),
+			call("MenuRepository.findByRatingBetweenOrderByRatingDesc", r -> r.menus.findByRatingBetweenOrderByRatingDesc(3, 5)),
+			call("MenuRepository.findByIsActiveTrueAndRatingGreaterThanEqualOrderByRatingDesc",
+				r -> r.menus.findByIsActiveTrueAndRatingGreaterThanEqualOrderByRatingDesc(4)),
+			call("MenuRepository.findActiveMenusWithItems", r -> r.menus.findActiveMenusWithItems()),
+			call("MenuRepository.countActiveMenusByCreatedBy", r -> r.menus.countActiveMenusByCreatedBy("admin")),
+
+			// OtpRepository
+			call("OtpRepository.findByUserAndExpiresAtAfter", r -> r.otps.findByUserAndExpiresAtAfter(r.user, FROM)),
+			call("OtpRepository.findByUserId", r -> r.otps.findByUserId(1L)),
+			call("OtpRepository.findByUser", r -> r.otps.findByUser(r.user)),
+			call("OtpRepository.countValidOtpsByUser", r -> r.otps.countValidOtpsByUser(r.user, FROM)),
+			call("OtpRepository.deleteByUser", r -> r.otps.deleteByUser(r.user)),
+			call("OtpRepository.deleteByExpiresAtBefore", r -> r.otps.deleteByExpiresAtBefore(FROM)),
+
+			// AddressRepository, KitchenAddressRepository
+			call("AddressRepository.findByUserId", r -> r.addresses.findByUserId(1L)),
+			call("AddressRepository.findByUserIdInOrderByIdAsc", r -> r.addresses.findByUserIdInOrderByIdAsc(IDS)),
+			call("KitchenAddressRepository.findByMenuId", r -> r.kitchenAddresses.findByMenuId(1L)),
+
+			// UserRepository
+			call("UserRepository.findByRole", r -> r.users.findByRole(Role.ADMIN)),
+			call("UserRepository.findByEmail", r -> r.users.findByEmail("a@b.c")),
+			call("UserRepository.findByPhone", r -> r.users.findByPhone("9999999999")),
+			call("UserRepository.findByEmailOrPhone", r -> r.users.findByEmailOrPhone("a@b.c", "9999999999")),
+			call("UserRepository.existsByPhoneOrEmail", r -> r.users.existsByPhoneOrEmail("9999999999", "a@b.c")),
+			call("UserRepository.existsByEmail", r -> r.users.existsByEmail("a@b.c")),
+			call("UserRepository.existsByPhone", r -> r.users.existsByPhone("9999999999")),
+			call("UserRepository.findAllByIdForUpdate", r -> r.users.findAllByIdForUpdate(IDS)),
+
+			// OutboxEventRepository
+			call("OutboxEventRepository.findByPublishedAtIsNullOrderByIdAsc",
+				r -> r.outbox.findByPublishedAtIsNullOrderByIdAsc(Limit.of(200))),
+			call("OutboxEventRepository.countByPublishedAtIsNull", r -> r.outbox.countByPublishedAtIsNull()),
+			call("OutboxEventRepository.findOldestUnpublishedCreatedAt", r -> r.outbox.findOldestUnpublishedCreatedAt()),
+			call("OutboxEventRepository.deletePublishedBefore", r -> r.outbox.deletePublishedBefore(FROM)),
+
+			// PaymentCallbackRepository
+			call("PaymentCallbackRepository.findByAppliedAtIsNullOrderByIdAsc",
+				r -> r.paymentCallbacks.findByAppliedAtIsNullOrderByIdAsc(Limit.of(500))),
+			call("PaymentCallbackRepository.countByAppliedAtIsNull", r -> r.paymentCallbacks.countByAppliedAtIsNull()),
+
+			// IdempotencyRecordRepository
+			call("IdempotencyRecordRepository.findByKeyHash", r -> r.idempotency.findByKeyHash("abc")),
+			call("IdempotencyRecordRepository.extendClaims", r -> r.idempotency.extendClaims(IDS, TO)),
+			call("IdempotencyRecordRepository.deleteIfExpired", r -> r.idempotency.deleteIfExpired(1L, FROM)),
+			call("IdempotencyRecordRepository.deleteExpired", r -> r.idempotency.deleteExpired(FROM)),
+
+			// SalesRollupRepository
+			call("SalesRollupRepository.findByDimensionAndGranularityAndBucketStart...",
+				r -> r.salesRollups.findByDimensionAndGranularityAndBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStartAscDimensionIdAsc(
+					RollupDimension.MENU, RollupGranularity.DAY, FROM, TO)),
+			call("SalesRollupRepository.findByDimensionAndGranularityAndDimensionIdAndBucketStart...",
+				r -> r.salesRollups.findByDimensionAndGranularityAndDimensionIdAndBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStartAsc(
+					RollupDimension.ITEM, RollupGranularity.HOUR, 7L, FROM, TO)),
+			call("SalesRollupWriteRepository.deleteAppliedBefore", r -> r.salesRollups.deleteAppliedBefore(FROM)),
+
+			// ArchivedOrderRepository
+			call("ArchivedOrderRepository.findWithItemsByUserIdOrderByCreatedAtDesc",
+				r -> r.archivedOrders.findWithItemsByUserIdOrderByCreatedAtDesc(1L)),
+			call("ArchivedOrderKeysetRepository.findKeysByKeyset (user)",
+				r -> r.archivedOrders.findKeysByKeyset(OrderSpecifications.matching(criteria().userId(1L).build(), null), 21)),
+			call("ArchivedOrderKeysetRepository.findKeysByKeyset (item)",
+				r -> r.archivedOrders.findKeysByKeyset(OrderSpecifications.matching(criteria().itemId(1L).build(), null), 21)),
+			call("ArchivedOrderKeysetRepository.findKeysByKeyset (amount)",
+				r -> r.archivedOrders.findKeysByKeyset(OrderSpecifications.matching(criteria().minAmount(100.0).maxAmount(500.0).build(), null), 21)),
+			call("ArchivedOrderRepository.findUserIdsWithOrders", r -> r.archivedOrders.findUserIdsWithOrders(IDS, SETTLED)),
+
+			// PromotionRepository
+			call("PromotionRepository.findByIsActiveTrue", r -> r.promotions.findByIsActiveTrue()),
+			call("PromotionRepository.findByCode", r -> r.promotions.findByCode("DABBA10"))
+		);
+	}
+
+	private static Arguments call(String query, RepositoryCall call) {
+		return Arguments.of(query, call);
+	}
+
+	private static OrderSearchCriteria.OrderSearchCriteriaBuilder criteria() {
+		return OrderSearchCriteria.builder();
+	}
+
+	@FunctionalInterface
+	interface RepositoryCall {
+		void run(RepositoryIndexUsageTests repositories);
+	}
+
+	record RecordedStatement(String sql, List<Binding> bindings) {
+	}
+
+	// One setXxx(index, ...) call on a prepared statement, replayed onto the EXPLAIN statement
+	record Binding(Method setter, Object[] args) {
+		void applyTo(PreparedStatement ps) throws java.sql.SQLException {
+			try {
+				setter.invoke(ps, args);
+			} catch (ReflectiveOperationException e) {
+				throw new IllegalStateException("Could not replay " + setter.getName(), e);
+			}
+		}
+	}
+
+	@TestConfiguration
+	static class RecorderConfig {
+		@Bean
+		static StatementRecorder statementRecorder() {
+			return new StatementRecorder();
+		}
+	}
+
+	// Wraps the DataSource so every prepared statement executed while recording is kept with its bind values
+	static class StatementRecorder implements BeanPostProcessor {
+
+		private final List<RecordedStatement> recorded = new CopyOnWriteArrayList<>();
+		private volatile boolean recording;
+
+		List<RecordedStatement> record(Runnable action) {
+			recorded.clear();
+			recording = true;
+			try {
+				action.run();
+			} finally {
+				recording = false;
+			}
+			return List.copyOf(recorded);
+		}
+
+		@Override
+		public Object postProcessAfterInitialization(Object bean, String beanName) {
+			if (!(bean instanceof DataSource dataSource)) {
+				return bean;
+			}
+			return proxy(DataSource.class, dataSource, (method, args) -> {
+				Object result = invoke(dataSource, method, args);
+				return result instanceof Connection connection ? wrap(connection) : result;
+			});
+		}
+
+		private Connection wrap(Connection connection) {
+			return proxy(Connection.class, connection, (method, args) -> {
+				Object result = invoke(connection, method, args);
+				if (method.getName().equals("prepareStatement") && result instanceof PreparedStatement ps) {
+					return wrap(ps, (String) args[0]);
+				}
+				return result;
+			});
+		}
+
+		private PreparedStatement wrap(PreparedStatement statement, String sql) {
+			Map<Integer, Binding> bindings = new TreeMap<>();
+			return proxy(PreparedStatement.class, statement, (method, args) -> {
+				String name = method.getName();
+				if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+					bindings.put(index, new Binding(method, args.clone()));
+				} else if (name.equals("clearParameters")) {
+					bindings.clear();
+				} else if (recording && isExecution(name, args) && isExplainable(sql)) {
+					recorded.add(new RecordedStatement(sql, List.copyOf(bindings.values())));
+				}
+				return invoke(statement, method, args);
+			});
+		}
+
+		private static boolean isExecution(String name, Object[] args) {
+			return (args == null || args.length == 0)
+				&& (name.startsWith("execute") || name.equals("addBatch"));
+		}
+
+		private static boolean isExplainable(String sql) {
+			String verb = sql.stripLeading().toLowerCase(Locale.ROOT);
+			return verb.startsWith("select") || verb.startsWith("update") || verb.startsWith("delete")
+				|| verb.startsWith("with");
+		}
+
+		private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+			try {
+				return method.invoke(target, args);
+			} catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		private static <T> T proxy(Class<T> type, T target, Handler handler) {
+			return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+				(proxy, method, args) -> handler.handle(method, args));
+		}
+
+		@FunctionalInterface
+		private interface Handler {
+			Object handle(Method method, Object[] args) throws Throwable;
+		}
+	}
+}
@@ -0,0 +1,129 @@
+package com.dabbadelight.regionalmeals.service.impl;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.dabbadelight.regionalmeals.model.DTO.PromotionCart;
+import com.dabbadelight.regionalmeals.model.DTO.PromotionResult;
+import com.dabbadelight.regionalmeals.model.Kitchen.Promotion;
+import com.dabbadelight.regionalmeals.model.enums.PromotionType;
+
+// Checkout-path cost of PromotionIndex.evaluate for carts of different sizes against a rule set
+// the size of a busy city. Not run by the test suite; after `mvn test-compile` run the main
+// method with the test classpath. The GC profiler's gc.alloc.rate.norm should stay at ~0 B/op.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PromotionEngineBenchmark {
+
+	private static final int MENUS = 300;
+	private static final int ITEMS_PER_MENU = 40;
+
+	@Param({ "1", "5", "15", "30" })
+	int lines;
+
+	@Param({ "false", "true" })
+	boolean withCoupon;
+
+	private PromotionIndex index;
+	private PromotionCart cart;
+	private final PromotionResult result = new PromotionResult();
+	private String couponCode;
+	private long now;
+
+	@Setup(Level.Trial)
+	public void compileRules() {
+		List<Promotion> promotions = new ArrayList<>();
+		long id = 1;
+		for (int flat = 0; flat < 5; flat++) {
+			promotions.add(promotion(id++, PromotionType.FLAT_OFF, null, null, 20 + flat * 10, 200 + flat * 100, 0));
+		}
+		promotions.add(promotion(id++, PromotionType.FIRST_ORDER, null, null, 75, 150, 0));
+		// A percent-off rule on every other kitchen, and a free item in every fifth kitchen
+		for (long menu = 1; menu <= MENUS; menu += 2) {
+			promotions.add(promotion(id++, PromotionType.MENU_PERCENT_OFF, menu, null, 10, 100, 60));
+		}
+		for (long menu = 1; menu <= MENUS; menu += 5) {
+			promotions.add(promotion(id++, PromotionType.FREE_ITEM, null, itemId(menu, 0), 0, 250, 0));
+		}
+		for (int coupon = 0; coupon < 50; coupon++) {
+			Promotion promotion = promotion(id++, PromotionType.FLAT_OFF, null, null, 40, 300, 0);
+			promotion.setCode("DABBA" + coupon);
+			promotions.add(promotion);
+		}
+		index = PromotionIndex.compile(promotions, ZoneId.systemDefault());
+		now = System.currentTimeMillis();
+		couponCode = withCoupon ? "dabba42" : null;
+
+		// Carts draw from a handful of kitchens, like real ones do
+		Random random = new Random(42);
+		cart = new PromotionCart(lines);
+		for (int line = 0; line < lines; line++) {
+			long menu = 1 + random.nextInt(3) * 7 + line % 2;
+			cart.add(itemId(menu, random.nextInt(ITEMS_PER_MENU)), menu, 1 + random.nextInt(3), 40 + random.nextInt(160));
+		}
+	}
+
+	@Benchmark
+	public double evaluate() {
+		index.evaluate(cart, couponCode, false, now, result);
+		return result.getDiscount();
+	}
+
+	@Benchmark
+	public double evaluateFirstOrder() {
+		index.evaluate(cart, couponCode, true, now, result);
+		return result.getDiscount();
+	}
+
+	private static long itemId(long menu, int item) {
+		return menu * 1000 + item + 1;
+	}
+
+	private static Promotion promotion(long id, PromotionType type, Long menuId, Long itemId, double value,
+			double minOrderAmount, double maxDiscount) {
+		Promotion promotion = new Promotion();
+		promotion.setId(id);
+		promotion.setName(type + " " + id);
+		promotion.setType(type);
+		promotion.setMenuId(menuId);
+		promotion.setItemId(itemId);
+		promotion.setValue(value);
+		promotion.setMinOrderAmount(minOrderAmount);
+		promotion.setMaxDiscount(maxDiscount);
+		promotion.setActive(true);
+		promotion.setStartsAt(LocalDateTime.now().minusDays(1));
+		return promotion;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(PromotionEngineBenchmark.class.getSimpleName())
+				.addProfiler(GCProfiler.class)
+				.build()).run();
+	}
+}
@@ -0,0 +1,314 @@
+package com.dabbadelight.regionalmeals.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.dabbadelight.regionalmeals.model.DTO.PromotionCart;
+import com.dabbadelight.regionalmeals.model.DTO.PromotionResult;
+import com.dabbadelight.regionalmeals.model.Kitchen.Promotion;
+import com.dabbadelight.regionalmeals.model.enums.PromotionType;
+import com.dabbadelight.regionalmeals.repository.PromotionRepository;
+
+// What customers pay: the discount PromotionIndex picks for a cart, checked without a Spring context
+class PromotionIndexTests {
+
+	private static final ZoneId ZONE = ZoneId.of("Asia/Kolkata");
+	private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+	private static final long NOW_MILLIS = millis(NOW);
+
+	private static final long MENU_A = 1;
+	private static final long MENU_B = 2;
+
+	private final PromotionResult result = new PromotionResult();
+
+	@Test
+	void emptyCartGetsNothing() {
+		evaluate(index(promotion(1, PromotionType.FLAT_OFF, 50, 0, 0)), new PromotionCart(1), null, false);
+
+		assertFalse(result.isApplied());
+		assertEquals(0, result.getDiscount());
+	}
+
+	@Test
+	void picksTheLargestDiscountAcrossScopes() {
+		PromotionIndex index = index(
+				promotion(1, PromotionType.FLAT_OFF, 40, 0, 0),
+				menuPercentOff(2, MENU_A, 20, 0, 0),
+				freeItem(3, 11, 0));
+		PromotionCart cart = cart(line(11, MENU_A, 2, 100), line(21, MENU_B, 1, 50));
+
+		evaluate(index, cart, null, false);
+
+		// flat 40, 20% of menu A's 200 = 40, one free unit of item 11 = 100
+		assertEquals(3, result.getPromotionId());
+		assertEquals(100, result.getDiscount(), 0.001);
+	}
+
+	@Test
+	void tieKeepsTheRuleFoundFirst() {
+		PromotionIndex index = index(
+				promotion(1, PromotionType.FLAT_OFF, 40, 0, 0),
+				menuPercentOff(2, MENU_A, 20, 0, 0));
+
+		evaluate(index, cart(line(11, MENU_A, 2, 100)), null, false);
+
+		assertEquals(1, result.getPromotionId());
+		assertEquals(40, result.getDiscount(), 0.001);
+	}
+
+	@Test
+	void maxDiscountCapsTheRule() {
+		PromotionIndex index = index(menuPercentOff(1, MENU_A, 50, 0, 60));
+
+		evaluate(index, cart(line(11, MENU_A, 4, 100)), null, false);
+
+		assertEquals(1, result.getPromotionId());
+		assertEquals(60, result.getDiscount(), 0.001);
+	}
+
+	@Test
+	void zeroMaxDiscountMeansNoCap() {
+		PromotionIndex index = index(menuPercentOff(1, MENU_A, 50, 0, 0));
+
+		evaluate(index, cart(line(11, MENU_A, 4, 100)), null, false);
+
+		assertEquals(200, result.getDiscount(), 0.001);
+	}
+
+	@Test
+	void discountNeverExceedsTheCart() {
+		PromotionIndex index = index(promotion(1, PromotionType.FLAT_OFF, 500, 0, 0));
+
+		evaluate(index, cart(line(11, MENU_A, 1, 120)), null, false);
+
+		assertEquals(120, result.getDiscount(), 0.001);
+	}
+
+	@Test
+	void minAmountIsInclusive() {
+		PromotionIndex index = index(promotion(1, PromotionType.FLAT_OFF, 30, 300, 0));
+
+		evaluate(index, cart(line(11, MENU_A, 2, 149.99)), null, false);
+		assertFalse(result.isApplied());
+
+		evaluate(index, cart(line(11, MENU_A, 2, 150)), null, false);
+		assertEquals(1, result.getPromotionId());
+		assertEquals(30, result.getDiscount(), 0.001);
+	}
+
+	@Test
+	void menuMinimumCountsOnlyThatMenusLines() {
+		PromotionIndex index = index(menuPercentOff(1, MENU_A, 10, 200, 0));
+
+		// 400 in the order, but only 150 from menu A
+		evaluate(index, cart(line(11, MENU_A, 1, 150), line(21, MENU_B, 1, 250)), null, false);
+
+		assertFalse(result.isApplied());
+	}
+
+	@Test
+	void menuSubtotalAddsUpRepeatedMenuLinesOnce() {
+		PromotionIndex index = index(menuPercentOff(1, MENU_A, 10, 120, 0));
+		PromotionCart cart = cart(
+				line(11, MENU_A, 1, 100),
+				line(21, MENU_B, 1, 300),
+				line(12, MENU_A, 1, 50),
+				line(11, MENU_A, 2, 100));
+
+		evaluate(index, cart, null, false);
+
+		// menu A is 100 + 50 + 200 = 350, qualifying and discounted once, not once per line
+		assertEquals(1, result.getPromotionId());
+		assertEquals(35, result.getDiscount(), 0.001);
+	}
+
+	@Test
+	void menuRuleIgnoresOtherMenus() {
+		PromotionIndex index = index(menuPercentOff(1, MENU_A, 10, 0, 0));
+
+		evaluate(index, cart(line(21, MENU_B, 3, 100)), null, false);
+
+		assertFalse(result.isApplied());
+	}
+
+	@Test
+	void freeItemGivesOneUnitAtItsPrice() {
+		PromotionIndex index = index(freeItem(1, 11, 0));
+
+		evaluate(index, cart(line(11, MENU_A, 3, 80), line(21, MENU_B, 1, 40)), null, false);
+
+		assertEquals(1, result.getPromotionId());
+		assertEquals(80, result.getDiscount(), 0.001);
+	}
+
+	@Test
+	void freeItemNeedsTheOrderMinimumAndTheItem() {
+		PromotionIndex index = index(freeItem(1, 11, 250));
+
+		evaluate(index, cart(line(11, MENU_A, 1, 80), line(21, MENU_B, 1, 100)), null, false);
+		assertFalse(result.isApplied());
+
+		evaluate(index, cart(line(12, MENU_A, 2, 80), line(21, MENU_B, 1, 100)), null, false);
+		assertFalse(result.isApplied());
+
+		evaluate(index, cart(line(11, MENU_A, 1, 80), line(21, MENU_B, 2, 100)), null, false);
+		assertEquals(80, result.getDiscount(), 0.001);
+	}
+
+	@Test
+	void couponRuleAppliesOnlyWithItsCode() {
+		Promotion coupon = promotion(1, PromotionType.FLAT_OFF, 90, 0, 0);
+		coupon.setCode("DABBA90");
+		PromotionIndex index = index(coupon, promotion(2, PromotionType.FLAT_OFF, 20, 0, 0));
+		PromotionCart cart = cart(line(11, MENU_A, 2, 100));
+
+		evaluate(index, cart, null, false);
+		assertEquals(2, result.getPromotionId());
+
+		evaluate(index, cart, "OTHER", false);
+		assertEquals(2, result.getPromotionId());
+
+		evaluate(index, cart, "dabba90", false);
+		assertEquals(1, result.getPromotionId());
+		assertEquals(90, result.getDiscount(), 0.001);
+	}
+
+	@Test
+	void knowsItsCodesIgnoringCase() {
+		Promotion coupon = promotion(1, PromotionType.FLAT_OFF, 90, 0, 0);
+		coupon.setCode("DABBA90");
+		Promotion inactive = promotion(2, PromotionType.FLAT_OFF, 90, 0, 0);
+		inactive.setCode("OLD");
+		inactive.setActive(false);
+		PromotionIndex index = index(coupon, inactive);
+
+		assertTrue(index.hasCode("dabba90"));
+		assertFalse(index.hasCode("OLD"));
+		assertFalse(index.hasCode("NOPE"));
+		assertEquals("DABBA90", PromotionIndex.normalizeCode("  dabba90 "));
+		assertEquals(null, PromotionIndex.normalizeCode("  "));
+	}
+
+	@Test
+	void serviceRejectsUnknownCouponsButNotUnqualifiedOnes() {
+		Promotion coupon = promotion(1, PromotionType.FLAT_OFF, 90, 500, 0);
+		coupon.setCode("DABBA90");
+		PromotionRepository repository = mock(PromotionRepository.class);
+		when(repository.findByIsActiveTrue()).thenReturn(List.of(coupon));
+		PromotionServiceImpl service = new PromotionServiceImpl(repository);
+		service.loadPromotions();
+		PromotionCart cart = cart(line(11, MENU_A, 1, 100));
+
+		assertThrows(IllegalArgumentException.class, () -> service.evaluate(cart, "NOPE", false, result));
+
+		service.evaluate(cart, " dabba90 ", false, result);
+		assertFalse(result.isApplied());
+	}
+
+	@Test
+	void firstOrderRuleNeedsAFirstOrder() {
+		PromotionIndex index = index(promotion(1, PromotionType.FIRST_ORDER, 75, 0, 0));
+		PromotionCart cart = cart(line(11, MENU_A, 2, 100));
+
+		assertTrue(index.hasFirstOrderRules());
+		evaluate(index, cart, null, false);
+		assertFalse(result.isApplied());
+
+		evaluate(index, cart, null, true);
+		assertEquals(75, result.getDiscount(), 0.001);
+	}
+
+	@Test
+	void windowIncludesItsStartAndExcludesItsEnd() {
+		Promotion windowed = promotion(1, PromotionType.FLAT_OFF, 50, 0, 0);
+		windowed.setStartsAt(NOW);
+		windowed.setEndsAt(NOW.plusHours(2));
+		PromotionIndex index = PromotionIndex.compile(List.of(windowed), ZONE);
+		PromotionCart cart = cart(line(11, MENU_A, 2, 100));
+
+		index.evaluate(cart, null, false, NOW_MILLIS - 1, result);
+		assertFalse(result.isApplied());
+
+		index.evaluate(cart, null, false, NOW_MILLIS, result);
+		assertEquals(1, result.getPromotionId());
+
+		index.evaluate(cart, null, false, millis(NOW.plusHours(2)) - 1, result);
+		assertEquals(1, result.getPromotionId());
+
+		index.evaluate(cart, null, false, millis(NOW.plusHours(2)), result);
+		assertFalse(result.isApplied());
+	}
+
+	@Test
+	void skipsInactiveAndIncompleteRules() {
+		Promotion inactive = promotion(1, PromotionType.FLAT_OFF, 50, 0, 0);
+		inactive.setActive(false);
+		Promotion noMenu = promotion(2, PromotionType.MENU_PERCENT_OFF, 50, 0, 0);
+		Promotion noItem = promotion(3, PromotionType.FREE_ITEM, 0, 0, 0);
+		PromotionIndex index = index(inactive, noMenu, noItem);
+
+		evaluate(index, cart(line(11, MENU_A, 2, 100)), null, false);
+
+		assertEquals(0, index.size());
+		assertFalse(result.isApplied());
+	}
+
+	private void evaluate(PromotionIndex index, PromotionCart cart, String code, boolean firstOrder) {
+		index.evaluate(cart, code, firstOrder, NOW_MILLIS, result);
+	}
+
+	private static PromotionIndex index(Promotion... promotions) {
+		return PromotionIndex.compile(List.of(promotions), ZONE);
+	}
+
+	private static PromotionCart cart(double[]... lines) {
+		PromotionCart cart = new PromotionCart(lines.length);
+		for (double[] line : lines) {
+			cart.add((long) line[0], (long) line[1], (int) line[2], line[3]);
+		}
+		return cart;
+	}
+
+	private static double[] line(long itemId, long menuId, int quantity, double unitPrice) {
+		return new double[] { itemId, menuId, quantity, unitPrice };
+	}
+
+	private static Promotion menuPercentOff(long id, long menuId, double percent, double minMenuAmount, double maxDiscount) {
+		Promotion promotion = promotion(id, PromotionType.MENU_PERCENT_OFF, percent, minMenuAmount, maxDiscount);
+		promotion.setMenuId(menuId);
+		return promotion;
+	}
+
+	private static Promotion freeItem(long id, long itemId, double minOrderAmount) {
+		Promotion promotion = promotion(id, PromotionType.FREE_ITEM, 0, minOrderAmount, 0);
+		promotion.setItemId(itemId);
+		return promotion;
+	}
+
+	private static Promotion promotion(long id, PromotionType type, double value, double minOrderAmount,
+			double maxDiscount) {
+		Promotion promotion = new Promotion();
+		promotion.setId(id);
+		promotion.setName(type + " " + id);
+		promotion.setType(type);
+		promotion.setValue(value);
+		promotion.setMinOrderAmount(minOrderAmount);
+		promotion.setMaxDiscount(maxDiscount);
+		promotion.setActive(true);
+		return promotion;
+	}
+
+	private static long millis(LocalDateTime at) {
+		return at.atZone(ZONE).toInstant().toEpochMilli();
+	}
+}